@@ -0,0 +1,17 @@
+package com.berailktrk.eShopping.application.event;
+
+import java.util.UUID;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+//Kategori ağacı değişiklik event'i - CategoryService tarafından yayınlanır
+//Bellek içi kategori ağacı bu event'i transaction commit'inden sonra dinleyip yeniden yüklenir
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class CategoryChangedEvent {
+
+    private final UUID categoryId;
+}
@@ -0,0 +1,38 @@
+package com.berailktrk.eShopping.application.event;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.berailktrk.eShopping.domain.model.Order;
+import com.berailktrk.eShopping.domain.model.OrderItem;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+//Sipariş oluşturuldu event'i - OrderService.createOrderFromCart tarafından sipariş kalemleri kaydedildikten sonra yayınlanır
+//Dinleyiciler (best-seller sayaçları vb.) transaction commit'inden sonra çalışır
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class OrderPlacedEvent {
+
+    private final UUID orderId;
+    private final UUID userId;
+    private final Instant placedAt;
+    private final List<Line> lines;
+
+    //Sipariş kalemi - ürün ve adet
+    public record Line(UUID productId, int quantity) {
+    }
+
+    //placedAt siparişin oluşturulma zamanıdır - OrderVoidedEvent aynı saatlik kovadan düşebilsin diye
+    public static OrderPlacedEvent of(Order order, UUID userId, List<OrderItem> orderItems) {
+        List<Line> lines = orderItems.stream()
+                .map(item -> new Line(item.getProduct().getId(), item.getQty()))
+                .toList();
+        return new OrderPlacedEvent(order.getId(), userId, order.getCreatedAt(), lines);
+    }
+}
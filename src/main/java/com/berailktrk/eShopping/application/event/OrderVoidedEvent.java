@@ -0,0 +1,34 @@
+package com.berailktrk.eShopping.application.event;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.berailktrk.eShopping.domain.model.Order;
+import com.berailktrk.eShopping.domain.model.OrderItem;
+import com.berailktrk.eShopping.domain.model.OrderStatus;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+//Sipariş geçersiz kılındı event'i - OrderService.cancelOrder (CANCELLED) ve markAsFailed (FAILED) tarafından yayınlanır
+//OrderPlacedEvent ile sayılan kalemler bu event ile geri düşülür; placedAt siparişin oluşturulma zamanıdır
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class OrderVoidedEvent {
+
+    private final UUID orderId;
+    private final OrderStatus status;
+    private final Instant placedAt;
+    private final List<OrderPlacedEvent.Line> lines;
+
+    public static OrderVoidedEvent of(Order order, List<OrderItem> orderItems) {
+        List<OrderPlacedEvent.Line> lines = orderItems.stream()
+                .map(item -> new OrderPlacedEvent.Line(item.getProduct().getId(), item.getQty()))
+                .toList();
+        return new OrderVoidedEvent(order.getId(), order.getStatus(), order.getCreatedAt(), lines);
+    }
+}
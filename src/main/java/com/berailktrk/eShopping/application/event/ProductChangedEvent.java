@@ -0,0 +1,48 @@
+package com.berailktrk.eShopping.application.event;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+//Ürün değişiklik event'i - ProductService ve InventoryService tarafından yayınlanır
+//Bellek içi okuma modelleri (cache vb.) bu event'i transaction commit'inden sonra dinler
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProductChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DEACTIVATED,
+        STOCK_CHANGED
+    }
+
+    private final ChangeType changeType;
+
+    //productIds ve skus aynı sırada, aynı uzunlukta
+    private final List<UUID> productIds;
+    private final List<String> skus;
+
+    //Tek ürün için event oluştur
+    public static ProductChangedEvent of(ChangeType changeType, UUID productId, String sku) {
+        return new ProductChangedEvent(changeType, List.of(productId), List.of(sku));
+    }
+
+    //Birden fazla ürün için event oluştur
+    public static ProductChangedEvent ofAll(ChangeType changeType, List<UUID> productIds, List<String> skus) {
+        if (productIds.size() != skus.size()) {
+            throw new IllegalArgumentException("Product id and SKU lists must have the same size");
+        }
+        return new ProductChangedEvent(changeType, List.copyOf(productIds), List.copyOf(skus));
+    }
+
+    //Sadece stok değişikliği mi (ürün alanları aynı kaldı)
+    public boolean isStockOnly() {
+        return changeType == ChangeType.STOCK_CHANGED;
+    }
+}
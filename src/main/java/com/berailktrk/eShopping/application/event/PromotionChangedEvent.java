@@ -0,0 +1,17 @@
+package com.berailktrk.eShopping.application.event;
+
+import java.util.UUID;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+//Promosyon değişiklik event'i - PromotionService tarafından yayınlanır
+//Derlenmiş promosyon indeksi bu event'i transaction commit'inden sonra dinleyip yeniden kurulur
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class PromotionChangedEvent {
+
+    private final UUID promotionId;
+}
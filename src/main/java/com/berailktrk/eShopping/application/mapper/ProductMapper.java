@@ -3,6 +3,7 @@ package com.berailktrk.eShopping.application.mapper;
 import org.springframework.stereotype.Component;
 
 import com.berailktrk.eShopping.domain.model.Product;
+import com.berailktrk.eShopping.domain.model.ProductStockView;
 import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
 
 // Product Entity -> DTO Mapper
@@ -33,5 +34,23 @@ public class ProductMapper {
         response.setReservedStock(reservedStock);
         return response;
     }
-}
 
+    // Ürün + stok projeksiyonundan ProductResponse oluştur (stok kaydı yoksa stok alanları null)
+    public ProductResponse toResponse(ProductStockView view) {
+        return ProductResponse.builder()
+                .id(view.getId())
+                .sku(view.getSku())
+                .name(view.getName())
+                .description(view.getDescription())
+                .price(view.getPrice())
+                .currency(view.getCurrency())
+                .isActive(view.getIsActive())
+                .version(view.getVersion())
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt())
+                .metadata(view.getMetadata())
+                .availableStock(view.getQuantity())
+                .reservedStock(view.getReserved())
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.berailktrk.eShopping.application.support;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+//Akış tabanlı CSV okuyucu (RFC 4180) - dosyanın tamamını belleğe almadan kayıt kayıt okur
+//Tırnaklı alanlar, kaçışlı tırnak ("") ve tırnak içindeki satır sonları desteklenir
+public class CsvRecordReader {
+
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+
+    private final Reader reader;
+    private int pushedBack = -2;
+    private long lineNumber = 1;
+    private long recordLineNumber = 0;
+    private boolean firstChar = true;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    //Sonraki kaydı oku, dosya sonunda null döner
+    public List<String> next() throws IOException {
+        int c = read();
+        //Boş satırları atla
+        while (c == '\r' || c == '\n') {
+            c = read();
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        recordLineNumber = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean afterQuote = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IllegalArgumentException("Unterminated quoted field starting at line " + recordLineNumber);
+                }
+                if (c == QUOTE) {
+                    int nextChar = read();
+                    if (nextChar == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        quoted = false;
+                        afterQuote = true;
+                        c = nextChar;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == DELIMITER) {
+                fields.add(field.toString());
+                field.setLength(0);
+                afterQuote = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int nextChar = read();
+                    if (nextChar != '\n') {
+                        unread(nextChar);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c == QUOTE && field.length() == 0 && !afterQuote) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    //Son okunan kaydın başladığı satır numarası (1'den başlar)
+    public long getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != -2) {
+            c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        c = reader.read();
+        //UTF-8 BOM'u atla
+        if (firstChar) {
+            firstChar = false;
+            if (c == '\uFEFF') {
+                c = reader.read();
+            }
+        }
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
@@ -0,0 +1,33 @@
+package com.berailktrk.eShopping.application.support;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+//Keyset pagination cursor'u - (zaman damgası, id) çiftini opak bir token olarak taşır
+//İstemci token'ın içeriğini yorumlamaz, sadece bir sonraki istekte geri gönderir
+public record KeysetCursor(Instant timestamp, UUID id) {
+
+    //Cursor'u URL-safe opak token'a çevir
+    public String encode() {
+        String raw = timestamp.getEpochSecond() + ":" + timestamp.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //Token'ı çöz - geçersiz token için IllegalArgumentException
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            Instant timestamp = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new KeysetCursor(timestamp, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | java.time.DateTimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
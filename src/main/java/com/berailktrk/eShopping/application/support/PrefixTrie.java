@@ -0,0 +1,309 @@
+package com.berailktrk.eShopping.application.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+//Değiştirilemez, dizi tabanlı sıkıştırılmış önek ağacı (radix trie) - her düğümde o önekle başlayan en iyi k kayıt
+//hazır tutulur. Kayıtlar sıra numarası (rank) ile temsil edilir, küçük rank daha iyidir.
+//Tek çocuklu zincirler tek kenarda birleştirildiği için düğüm sayısı anahtar sayısının en fazla iki katıdır;
+//düğümler nesne yerine paralel dizilerde tutulur. Sorgu maliyeti önek uzunluğu kadardır, katalog büyüklüğünden bağımsızdır
+public final class PrefixTrie {
+
+    private static final int[] EMPTY = new int[0];
+
+    //Düğüm i'ye gelen kenarın etiketi: labelPool[labelStart[i] .. labelStart[i] + labelLength[i])
+    private final char[] labelPool;
+    private final int[] labelStart;
+    private final int[] labelLength;
+    //Düğüm i'nin çocukları ardışıktır ve etiketlerinin ilk karakterine göre sıralıdır
+    private final int[] firstChild;
+    private final int[] childCount;
+    //Düğüm i'nin top-k listesi: topPool[topStart[i] .. topStart[i] + topLength[i])
+    private final int[] topPool;
+    private final int[] topStart;
+    private final int[] topLength;
+
+    private PrefixTrie(Builder builder) {
+        this.labelPool = builder.labelPool.toArray();
+        this.labelStart = builder.labelStart.toArray();
+        this.labelLength = builder.labelLength.toArray();
+        this.firstChild = builder.firstChild.toArray();
+        this.childCount = builder.childCount.toArray();
+        this.topPool = builder.topPool.toArray();
+        this.topStart = builder.topStart.toArray();
+        this.topLength = builder.topLength.toArray();
+    }
+
+    public static Builder builder(int topK) {
+        return new Builder(topK);
+    }
+
+    //Önekle başlayan anahtarlardaki en iyi kayıtlar (rank sırasında, en fazla limit adet)
+    public int[] lookup(String prefix, int limit) {
+        int node = 0;
+        int position = 0;
+        while (position < prefix.length()) {
+            node = findChild(node, prefix.charAt(position));
+            if (node < 0) {
+                return EMPTY;
+            }
+            //Önek kenarın ortasında bitebilir - o durumda kenarın altındaki düğüm sonuçtur
+            int length = Math.min(labelLength[node], prefix.length() - position);
+            int start = labelStart[node];
+            for (int i = 0; i < length; i++) {
+                if (labelPool[start + i] != prefix.charAt(position + i)) {
+                    return EMPTY;
+                }
+            }
+            position += length;
+        }
+        int length = Math.min(topLength[node], limit);
+        return Arrays.copyOfRange(topPool, topStart[node], topStart[node] + length);
+    }
+
+    public int getNodeCount() {
+        return labelStart.length;
+    }
+
+    private int findChild(int node, char c) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = labelPool[labelStart[mid]];
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    //Trie oluşturucu - anahtarlar eklenir, build() sıralı anahtarlardan trie'ı tek geçişte kurar
+    public static final class Builder {
+
+        private final int topK;
+        private final List<Entry> entries = new ArrayList<>();
+
+        private String[] keys;
+        private int[][] terminals;
+
+        private final CharList labelPool = new CharList();
+        private final IntList labelStart = new IntList();
+        private final IntList labelLength = new IntList();
+        private final IntList firstChild = new IntList();
+        private final IntList childCount = new IntList();
+        private final IntList topPool = new IntList();
+        private final IntList topStart = new IntList();
+        private final IntList topLength = new IntList();
+
+        private Builder(int topK) {
+            if (topK <= 0) {
+                throw new IllegalArgumentException("topK must be positive");
+            }
+            this.topK = topK;
+        }
+
+        //Anahtarı kayıt sırasıyla ekle (aynı kayıt birden fazla anahtarla eklenebilir)
+        public Builder add(String key, int rank) {
+            entries.add(new Entry(key, rank));
+            return this;
+        }
+
+        public PrefixTrie build() {
+            entries.sort(Comparator.comparing(Entry::key).thenComparingInt(Entry::rank));
+            groupDistinctKeys();
+            entries.clear();
+
+            int root = newNode(0, 0);
+            fill(root, 0, keys.length, 0);
+            return new PrefixTrie(this);
+        }
+
+        //Aynı anahtarı paylaşan kayıtları tek anahtar altında topla
+        private void groupDistinctKeys() {
+            List<String> distinct = new ArrayList<>();
+            List<int[]> ranks = new ArrayList<>();
+            int i = 0;
+            while (i < entries.size()) {
+                String key = entries.get(i).key();
+                int j = i;
+                while (j < entries.size() && entries.get(j).key().equals(key)) {
+                    j++;
+                }
+                int[] keyRanks = new int[j - i];
+                for (int k = i; k < j; k++) {
+                    keyRanks[k - i] = entries.get(k).rank();
+                }
+                distinct.add(key);
+                ranks.add(topDistinct(keyRanks));
+                i = j;
+            }
+            keys = distinct.toArray(new String[0]);
+            terminals = ranks.toArray(new int[0][]);
+        }
+
+        //keys[low, high) aralığındaki anahtarlar ilk depth karakteri paylaşır; düğümün alt ağacını kur ve top-k döndür
+        private int[] fill(int node, int low, int high, int depth) {
+            IntList candidates = new IntList();
+            if (low < high && keys[low].length() == depth) {
+                candidates.addAll(terminals[low]);
+                low++;
+            }
+
+            //Sonraki karaktere göre gruplar - her grup bir çocuk
+            IntList groupEnds = new IntList();
+            for (int i = low; i < high; ) {
+                char c = keys[i].charAt(depth);
+                int j = i + 1;
+                while (j < high && keys[j].charAt(depth) == c) {
+                    j++;
+                }
+                groupEnds.add(j);
+                i = j;
+            }
+
+            int children = groupEnds.size();
+            int first = labelStart.size();
+            for (int g = 0; g < children; g++) {
+                newNode(0, 0);
+            }
+            firstChild.set(node, first);
+            childCount.set(node, children);
+
+            int[] singleChildTop = null;
+            int groupStart = low;
+            for (int g = 0; g < children; g++) {
+                int groupEnd = groupEnds.get(g);
+                //Sıralı olduğu için grubun ortak öneki ilk ve son anahtarın ortak önekidir
+                int prefixEnd = commonPrefixLength(keys[groupStart], keys[groupEnd - 1], depth);
+                int child = first + g;
+                labelStart.set(child, labelPool.size());
+                labelLength.set(child, prefixEnd - depth);
+                labelPool.append(keys[groupStart], depth, prefixEnd);
+
+                int[] childTop = fill(child, groupStart, groupEnd, prefixEnd);
+                candidates.addAll(childTop);
+                singleChildTop = childTop;
+                groupStart = groupEnd;
+            }
+
+            int[] top;
+            if (children == 1 && candidates.size() == singleChildTop.length) {
+                //Kendinde kayıt bitmeyen tek çocuklu düğüm - çocuğun listesi paylaşılır
+                top = singleChildTop;
+                topStart.set(node, topStart.get(first));
+            } else {
+                top = topDistinct(candidates.toArray());
+                topStart.set(node, topPool.size());
+                topPool.addAll(top);
+            }
+            topLength.set(node, top.length);
+            return top;
+        }
+
+        private int newNode(int start, int length) {
+            labelStart.add(start);
+            labelLength.add(length);
+            firstChild.add(0);
+            childCount.add(0);
+            topStart.add(0);
+            topLength.add(0);
+            return labelStart.size() - 1;
+        }
+
+        private int commonPrefixLength(String a, String b, int from) {
+            int max = Math.min(a.length(), b.length());
+            int i = from;
+            while (i < max && a.charAt(i) == b.charAt(i)) {
+                i++;
+            }
+            return i;
+        }
+
+        //En küçük k farklı rank, sıralı
+        private int[] topDistinct(int[] ranks) {
+            Arrays.sort(ranks);
+            int[] top = new int[Math.min(ranks.length, topK)];
+            int size = 0;
+            for (int i = 0; i < ranks.length && size < top.length; i++) {
+                if (size == 0 || top[size - 1] != ranks[i]) {
+                    top[size++] = ranks[i];
+                }
+            }
+            return size == top.length ? top : Arrays.copyOf(top, size);
+        }
+    }
+
+    private record Entry(String key, int rank) {
+    }
+
+    //Kutulamasız büyüyebilen int listesi
+    private static final class IntList {
+
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            ensureCapacity(size + 1);
+            values[size++] = value;
+        }
+
+        void addAll(int[] source) {
+            ensureCapacity(size + source.length);
+            System.arraycopy(source, 0, values, size, source.length);
+            size += source.length;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        void set(int index, int value) {
+            values[index] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, capacity));
+            }
+        }
+    }
+
+    //Kutulamasız büyüyebilen char listesi
+    private static final class CharList {
+
+        private char[] values = new char[64];
+        private int size;
+
+        void append(String source, int from, int to) {
+            int length = to - from;
+            if (size + length > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + length));
+            }
+            source.getChars(from, to, values, size);
+            size += length;
+        }
+
+        int size() {
+            return size;
+        }
+
+        char[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
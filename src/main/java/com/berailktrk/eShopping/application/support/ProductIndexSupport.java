@@ -0,0 +1,223 @@
+package com.berailktrk.eShopping.application.support;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.berailktrk.eShopping.application.event.ProductChangedEvent;
+import com.berailktrk.eShopping.application.mapper.ProductMapper;
+import com.berailktrk.eShopping.domain.model.ProductStockView;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.infrastructure.datasource.DataSourceRouting;
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+
+//Aktif ürünlerden kurulan bellek içi indekslerin (arama, facet) ortak yaşam döngüsü:
+//açılışta tam oluşturma, commit sonrası ProductChangedEvent ile artımlı güncelleme ve
+//oluşturma sürerken gelen değişikliklerin oluşturma bitince uygulanması. Diğer node'lardaki değişiklikler event
+//üretmediği için delta senkronizasyonla aynı (updated_at, id) cursor'u ile periyodik olarak yakalanır; son
+//safety-window saniyedeki değişiklikler bir sonraki kontrole kalır (geç commit edilenler atlanmasın diye).
+//Alt sınıf indeks yapısını tanımlar; clear/upsert/remove write lock altında çağrılır, okumalar read lock alır
+public abstract class ProductIndexSupport {
+
+    //Catch-up'ta tek sorguda okunan en fazla değişiklik
+    private static final int CATCH_UP_BATCH_SIZE = 500;
+
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    protected final ProductRepository productRepository;
+    protected final ProductMapper productMapper;
+
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Duration safetyWindow;
+
+    private volatile boolean ready = false;
+
+    //İndeks oluşturulurken gelen değişiklikler, oluşturma bitince tekrar uygulanır (write lock altında)
+    private final Set<UUID> pendingDuringBuild = new HashSet<>();
+
+    //Catch-up cursor'u - bu noktaya kadarki değişiklikler indekste (catchUp ve buildIndex this üzerinde senkronize)
+    private Instant caughtUpAt;
+    private UUID caughtUpId = MIN_ID;
+
+    protected ProductIndexSupport(ProductRepository productRepository, ProductMapper productMapper, long safetyWindowSeconds) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.safetyWindow = Duration.ofSeconds(safetyWindowSeconds);
+    }
+
+    //İndeks adı (log mesajları için)
+    protected abstract String indexName();
+
+    //Oluşturma sonrası log'a eklenecek özet (örn. trigram sayısı)
+    protected abstract String summary();
+
+    //İndeksi boşalt (write lock altında)
+    protected abstract void clear();
+
+    //Ürünü indekse ekle veya güncelle (write lock altında)
+    protected abstract void upsert(ProductResponse product);
+
+    //Ürünü indeksten çıkar (write lock altında)
+    protected abstract void remove(UUID productId);
+
+    protected boolean isReady() {
+        return ready;
+    }
+
+    //Uygulama açılışında tüm aktif ürünlerden indeksi oluştur
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void buildIndex() {
+        long start = System.currentTimeMillis();
+        //Okumadan önceki son safety-window içinde commit edilenler de catch-up'ta tekrar uygulanır
+        Instant buildHorizon = Instant.now().minus(safetyWindow);
+        List<ProductStockView> products = productRepository.findActiveStockViews();
+        List<UUID> pending;
+        String summary;
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            products.forEach(product -> upsert(toIndexedResponse(product)));
+            //ready ve bekleyenlerin alınması aynı kilit altında - onProductChanged ya buradan önce
+            //bekleyenlere ekler ya da ready'yi görüp kendisi uygular, arada kaybolan değişiklik olmaz
+            ready = true;
+            pending = new ArrayList<>(pendingDuringBuild);
+            pendingDuringBuild.clear();
+            summary = summary();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        caughtUpAt = buildHorizon;
+        caughtUpId = MIN_ID;
+        log.info("{} built - {} products, {} in {} ms",
+                indexName(), products.size(), summary, System.currentTimeMillis() - start);
+
+        if (!pending.isEmpty()) {
+            reindex(pending);
+        }
+    }
+
+    //Ürün değişikliklerini indekse uygula (commit sonrası)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isStockOnly()) {
+            return;
+        }
+        if (!ready && deferUntilBuilt(event.getProductIds())) {
+            return;
+        }
+        reindex(event.getProductIds());
+        log.debug("{} updated: {}", indexName(), event);
+    }
+
+    //Diğer node'larda değişen ürünleri cursor'dan itibaren indekse uygula - bu node'un kendi değişiklikleri de
+    //bir kez daha uygulanır (aynı sonuç). Eski okunan bir satır yeni bir event'in üstüne yazılırsa, satırın
+    //updated_at'i cursor'un ilerisinde kaldığı için sonraki kontrolde düzelir
+    @Scheduled(fixedDelayString = "${product.index.refresh-seconds:5}",
+               initialDelayString = "${product.index.refresh-seconds:5}",
+               timeUnit = TimeUnit.SECONDS)
+    public synchronized void catchUp() {
+        if (!ready) {
+            return;
+        }
+        Instant horizon = Instant.now().minus(safetyWindow);
+        int applied = 0;
+        while (true) {
+            Instant after = caughtUpAt;
+            UUID afterId = caughtUpId;
+            List<ProductStockView> changed = DataSourceRouting.onPrimary(() ->
+                    productRepository.findChangesAfter(after, afterId, horizon, Limit.of(CATCH_UP_BATCH_SIZE)));
+            if (changed.isEmpty()) {
+                break;
+            }
+            apply(changed);
+            ProductStockView last = changed.get(changed.size() - 1);
+            caughtUpAt = last.getUpdatedAt();
+            caughtUpId = last.getId();
+            applied += changed.size();
+            if (changed.size() < CATCH_UP_BATCH_SIZE) {
+                break;
+            }
+        }
+        if (applied > 0) {
+            log.debug("{} caught up with {} changed products", indexName(), applied);
+        }
+    }
+
+    //İndeks henüz hazır değilse değişikliği oluşturma sonrasına bırak - kontrol, oluşturmanın
+    //bekleyenleri aldığı kilit altında tekrarlanır
+    private boolean deferUntilBuilt(List<UUID> productIds) {
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                return false;
+            }
+            pendingDuringBuild.addAll(productIds);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Verilen ürünleri veritabanından okuyup indekste güncelle
+    private void reindex(List<UUID> productIds) {
+        //Değişiklik az önce commit edildi - replica gecikmesi yüzünden kaçırılmaması için primary'den okunur
+        List<ProductStockView> products = DataSourceRouting.onPrimary(() -> productRepository.findStockViewsByIdIn(productIds));
+        Set<UUID> found = new HashSet<>();
+
+        lock.writeLock().lock();
+        try {
+            apply(products);
+            products.forEach(product -> found.add(product.getId()));
+            //Veritabanında artık olmayan ürünler
+            productIds.stream()
+                    .filter(id -> !found.contains(id))
+                    .forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //Aktif ürünleri indekse ekle/güncelle, pasifleri çıkar (write lock reentrant - reindex altında da çağrılır)
+    private void apply(List<ProductStockView> products) {
+        lock.writeLock().lock();
+        try {
+            for (ProductStockView product : products) {
+                if (Boolean.TRUE.equals(product.getIsActive())) {
+                    upsert(toIndexedResponse(product));
+                } else {
+                    remove(product.getId());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //İndekste stok tutulmaz - stok değişiklikleri indeksi güncellemediği için eskiyecek değer saklanmaz
+    private ProductResponse toIndexedResponse(ProductStockView view) {
+        ProductResponse response = productMapper.toResponse(view);
+        response.setAvailableStock(null);
+        response.setReservedStock(null);
+        return response;
+    }
+}
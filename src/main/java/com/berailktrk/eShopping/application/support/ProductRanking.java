@@ -0,0 +1,77 @@
+package com.berailktrk.eShopping.application.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+
+//Sayaç tabanlı ürün sıralamaları (en çok satanlar, birlikte satın alınanlar) için ortak adımlar:
+//ürün -> sayı haritasından en büyük k kaydı sınırlı heap ile seçmek ve sıralamayı aktif ürünlerle doldurmak
+public final class ProductRanking {
+
+    //Yükseltilen sıra: sayı artan, eşitlikte ürün ID azalan - tersi sonuç sırasıdır (sayı azalan, ID artan)
+    private static final Comparator<Entry> ASCENDING = Comparator.comparingLong(Entry::count)
+            .thenComparing(Entry::productId, Comparator.reverseOrder());
+
+    private ProductRanking() {
+    }
+
+    //Sayısı pozitif en büyük k ürün, sayıya göre azalan - sınırlı min-heap (en küçük tepede), O(n log k)
+    public static <R> List<R> top(Map<UUID, Long> counts, int k, BiFunction<UUID, Long, R> factory) {
+        PriorityQueue<Entry> heap = new PriorityQueue<>(k + 1, ASCENDING);
+        counts.forEach((productId, count) -> {
+            if (count <= 0) {
+                return;
+            }
+            Entry candidate = new Entry(productId, count);
+            if (heap.size() < k) {
+                heap.add(candidate);
+            } else if (ASCENDING.compare(candidate, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(candidate);
+            }
+        });
+
+        List<Entry> entries = new ArrayList<>(heap);
+        entries.sort(ASCENDING.reversed());
+        List<R> ranked = new ArrayList<>(entries.size());
+        entries.forEach(entry -> ranked.add(factory.apply(entry.productId(), entry.count())));
+        return List.copyOf(ranked);
+    }
+
+    //Sıralamayı ürün bilgisiyle doldur - bulunamayan (silinmiş) ve pasif ürünler atlanır, sıra numarası 1'den başlar
+    public static <R, T> List<T> hydrateActive(List<R> ranked, int limit, Function<R, UUID> productIdOf,
+                                               Function<UUID, ProductResponse> loader, Hydrator<R, T> hydrator) {
+        List<T> result = new ArrayList<>(limit);
+        for (R item : ranked) {
+            if (result.size() == limit) {
+                break;
+            }
+            ProductResponse product;
+            try {
+                product = loader.apply(productIdOf.apply(item));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                result.add(hydrator.build(result.size() + 1, item, product));
+            }
+        }
+        return result;
+    }
+
+    //Sıra numarası, sıralama kaydı ve ürün bilgisinden yanıt üretir
+    @FunctionalInterface
+    public interface Hydrator<R, T> {
+        T build(int rank, R ranked, ProductResponse product);
+    }
+
+    private record Entry(UUID productId, long count) {
+    }
+}
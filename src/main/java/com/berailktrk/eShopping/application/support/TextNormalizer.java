@@ -0,0 +1,50 @@
+package com.berailktrk.eShopping.application.support;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+//Arama ve öneri indeksleri için metin normalizasyonu
+//Türkçe locale ile küçük harfe çevirir (İ -> i, I -> ı), aksanları (ş, ğ, ç, ö, ü) ve ı/i farkını katlar,
+//böylece "IŞIK", "ışık" ve "isik" yazımları aynı terimlere indirgenir
+public final class TextNormalizer {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr-TR");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    //Metni karşılaştırma formuna getir (null -> boş string)
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String lower = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(TURKISH);
+        //Ayrıştırılmış formda birleşen işaretler (ş -> s + çengel) atılır
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+        return folded.replace('ı', 'i').trim();
+    }
+
+    //Normalize edilmiş metni harf/rakam dışı karakterlerden kelimelere böl
+    public static List<String> tokenize(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+}
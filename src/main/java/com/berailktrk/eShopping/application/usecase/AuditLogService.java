@@ -29,6 +29,17 @@ public class AuditLogService {
     public static final String ACTION_PRODUCT_DELETED = "PRODUCT_DELETED";
     public static final String ACTION_PRODUCT_ACTIVATED = "PRODUCT_ACTIVATED";
     public static final String ACTION_PRODUCT_DEACTIVATED = "PRODUCT_DEACTIVATED";
+    public static final String ACTION_PRODUCT_BULK_IMPORTED = "PRODUCT_BULK_IMPORTED";
+    public static final String ACTION_PRODUCT_BULK_PRICE_UPDATED = "PRODUCT_BULK_PRICE_UPDATED";
+    
+    public static final String ACTION_CATEGORY_CREATED = "CATEGORY_CREATED";
+    public static final String ACTION_CATEGORY_UPDATED = "CATEGORY_UPDATED";
+    public static final String ACTION_CATEGORY_DELETED = "CATEGORY_DELETED";
+    public static final String ACTION_CATEGORY_PRODUCTS_ASSIGNED = "CATEGORY_PRODUCTS_ASSIGNED";
+    public static final String ACTION_CATEGORY_PRODUCT_REMOVED = "CATEGORY_PRODUCT_REMOVED";
+
+    public static final String ACTION_PROMOTION_CREATED = "PROMOTION_CREATED";
+    public static final String ACTION_PROMOTION_DEACTIVATED = "PROMOTION_DEACTIVATED";
     
     public static final String ACTION_INVENTORY_UPDATED = "INVENTORY_UPDATED";
     public static final String ACTION_INVENTORY_STOCK_ADDED = "INVENTORY_STOCK_ADDED";
@@ -55,6 +66,8 @@ public class AuditLogService {
     public static final String RESOURCE_USER = "USER";
     public static final String RESOURCE_PRODUCT = "PRODUCT";
     public static final String RESOURCE_INVENTORY = "INVENTORY";
+    public static final String RESOURCE_CATEGORY = "CATEGORY";
+    public static final String RESOURCE_PROMOTION = "PROMOTION";
     public static final String RESOURCE_ORDER = "ORDER";
     public static final String RESOURCE_CART = "CART";
     public static final String RESOURCE_PAYMENT = "PAYMENT";
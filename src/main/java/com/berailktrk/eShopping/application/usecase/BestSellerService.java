@@ -0,0 +1,385 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.application.event.OrderPlacedEvent;
+import com.berailktrk.eShopping.application.event.OrderVoidedEvent;
+import com.berailktrk.eShopping.application.support.ProductRanking;
+import com.berailktrk.eShopping.domain.model.OrderStatus;
+import com.berailktrk.eShopping.domain.model.ProductSalesHourly;
+import com.berailktrk.eShopping.domain.model.ProductSalesStats;
+import com.berailktrk.eShopping.domain.repository.ProductSalesHourlyRepository;
+import com.berailktrk.eShopping.domain.repository.ProductSalesStatsRepository;
+import com.berailktrk.eShopping.presentation.dto.response.BestSellerResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+//Best-seller service - ürün başına satış sayaçları (tüm zamanlar, son 24 saat, son 7 gün)
+//Sayaçlar sipariş oluşturulduğunda (OrderPlacedEvent, commit sonrası) bellekte artırılır, sipariş iptal edildiğinde
+//veya ödemesi başarısız olduğunda (OrderVoidedEvent) aynı saatlik kovadan geri düşülür - böylece canlı sayaçlar
+//geçmişten doldurma ile aynı kuralı izler (CANCELLED ve FAILED siparişler sayılmaz). Sıralama bellekteki
+//sayaçlardan sınırlı bir heap ile çıkarılır ve değişene kadar saklanır. Okuma yolu order_items'ı toplamaz.
+//Kayan pencereler saatlik kovalarla tutulur: pencere dışına çıkan kova pencere toplamından düşülür.
+//Artışlar delta olarak biriktirilir ve periyodik olarak upsert ile product_sales_* tablolarına yazılır
+@Service
+@Slf4j
+public class BestSellerService {
+
+    public enum Window {
+        DAY(24),
+        WEEK(168),
+        ALL_TIME(0);
+
+        private final int hours;
+
+        Window(int hours) {
+            this.hours = hours;
+        }
+
+        public boolean isRolling() {
+            return hours > 0;
+        }
+
+        //İstek parametresinden pencere (büyük/küçük harf duyarsız)
+        public static Window parse(String value) {
+            for (Window window : values()) {
+                if (window.name().equalsIgnoreCase(value)) {
+                    return window;
+                }
+            }
+            throw new IllegalArgumentException("Unknown best-seller window: " + value + " (expected DAY, WEEK or ALL_TIME)");
+        }
+    }
+
+    //Tutulan en uzun pencere (saat)
+    private static final int HOURS_KEPT = Window.WEEK.hours;
+
+    //Sayılmayan siparişler - canlı sayaçlarda OrderVoidedEvent ile düşülür, doldurmada sorgudan dışlanır
+    private static final List<String> EXCLUDED_ORDER_STATUSES =
+            List.of(OrderStatus.CANCELLED.name(), OrderStatus.FAILED.name());
+
+    private static final String UPSERT_TOTAL_SQL =
+            "INSERT INTO product_sales_stats (product_id, sold_total, updated_at) " +
+            "VALUES (:productId, :quantity, :updatedAt) " +
+            "ON CONFLICT (product_id) DO UPDATE SET " +
+            "sold_total = product_sales_stats.sold_total + EXCLUDED.sold_total, updated_at = EXCLUDED.updated_at";
+
+    private static final String UPSERT_HOURLY_SQL =
+            "INSERT INTO product_sales_hourly (id, product_id, hour_start, quantity) " +
+            "VALUES (:id, :productId, :hourStart, :quantity) " +
+            "ON CONFLICT (product_id, hour_start) DO UPDATE SET " +
+            "quantity = product_sales_hourly.quantity + EXCLUDED.quantity";
+
+    //İlk kurulumda geçmiş siparişlerden tek seferlik doldurma (okuma yolunda kullanılmaz)
+    private static final String BACKFILL_TOTALS_SQL =
+            "SELECT oi.product_id, SUM(oi.qty) AS quantity FROM order_items oi " +
+            "JOIN orders o ON o.id = oi.order_id WHERE o.status NOT IN (:excludedStatuses) " +
+            "GROUP BY oi.product_id";
+
+    private static final String BACKFILL_HOURLY_SQL =
+            "SELECT oi.product_id, FLOOR(EXTRACT(EPOCH FROM oi.created_at) / 3600) AS hour, SUM(oi.qty) AS quantity " +
+            "FROM order_items oi JOIN orders o ON o.id = oi.order_id " +
+            "WHERE o.status NOT IN (:excludedStatuses) AND oi.created_at >= :since " +
+            "GROUP BY oi.product_id, FLOOR(EXTRACT(EPOCH FROM oi.created_at) / 3600)";
+
+    private final ProductSalesStatsRepository productSalesStatsRepository;
+    private final ProductSalesHourlyRepository productSalesHourlyRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductService productService;
+    private final int maxRanked;
+
+    //Aşağıdaki tüm durum this üzerinde senkronize
+    private final Map<UUID, Long> totals = new HashMap<>();
+    //saat (epoch saat) -> ürün -> adet
+    private final NavigableMap<Long, Map<UUID, Long>> hourlyBuckets = new TreeMap<>();
+    //kayan pencere -> ürün -> pencere toplamı
+    private final Map<Window, Map<UUID, Long>> windowSums = new EnumMap<>(Window.class);
+    //kayan pencere -> toplamdan düşülmüş son saat
+    private final Map<Window, Long> expiredThrough = new EnumMap<>(Window.class);
+    //pencere -> hesaplanmış sıralama (değişiklikte temizlenir)
+    private final Map<Window, List<RankedProduct>> rankings = new EnumMap<>(Window.class);
+
+    //Henüz yazılmamış artışlar
+    private Map<UUID, Long> pendingTotals = new HashMap<>();
+    private Map<HourKey, Long> pendingHourly = new HashMap<>();
+
+    public BestSellerService(
+            ProductSalesStatsRepository productSalesStatsRepository,
+            ProductSalesHourlyRepository productSalesHourlyRepository,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ProductService productService,
+            @Value("${product.best-sellers.max-ranked:100}") int maxRanked) {
+        this.productSalesStatsRepository = productSalesStatsRepository;
+        this.productSalesHourlyRepository = productSalesHourlyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.productService = productService;
+        this.maxRanked = maxRanked;
+
+        long hour = currentHour();
+        for (Window window : Window.values()) {
+            if (window.isRolling()) {
+                windowSums.put(window, new HashMap<>());
+                expiredThrough.put(window, hour - window.hours);
+            }
+        }
+    }
+
+    //Penceredeki en çok satan aktif ürünler - ürün bilgisi product cache'ten gelir, pasif/silinmiş ürünler atlanır
+    public List<BestSellerResponse> getBestSellers(Window window, int limit) {
+        if (limit <= 0 || limit > maxRanked) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxRanked);
+        }
+        return ProductRanking.hydrateActive(getTopSellers(window), limit, RankedProduct::productId,
+                productService::getProductById, (rank, ranked, product) -> BestSellerResponse.builder()
+                        .rank(rank)
+                        .soldQuantity(ranked.soldQuantity())
+                        .product(product)
+                        .build());
+    }
+
+    //Penceredeki en çok satanlar - en fazla max-ranked adet, satış adedine göre azalan
+    public synchronized List<RankedProduct> getTopSellers(Window window) {
+        advance(currentHour());
+        return rankings.computeIfAbsent(window, this::rank);
+    }
+
+    //Sipariş kalemlerini sayaçlara ekle (commit sonrası)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        long hour = toHour(event.getPlacedAt());
+        synchronized (this) {
+            advance(currentHour());
+            for (OrderPlacedEvent.Line line : event.getLines()) {
+                record(line.productId(), hour, line.quantity());
+                pendingTotals.merge(line.productId(), (long) line.quantity(), Long::sum);
+                pendingHourly.merge(new HourKey(line.productId(), hour), (long) line.quantity(), Long::sum);
+            }
+            rankings.clear();
+        }
+        log.debug("Best-seller counters updated for order: {}", event.getOrderId());
+    }
+
+    //İptal edilen / ödemesi başarısız siparişin kalemlerini sayaçlardan düş (commit sonrası)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderVoided(OrderVoidedEvent event) {
+        long hour = toHour(event.getPlacedAt());
+        synchronized (this) {
+            advance(currentHour());
+            for (OrderPlacedEvent.Line line : event.getLines()) {
+                record(line.productId(), hour, -line.quantity());
+                pendingTotals.merge(line.productId(), (long) -line.quantity(), Long::sum);
+                if (hour > currentHour() - HOURS_KEPT) {
+                    pendingHourly.merge(new HourKey(line.productId(), hour), (long) -line.quantity(), Long::sum);
+                }
+            }
+            rankings.clear();
+        }
+        log.debug("Best-seller counters reverted for {} order: {}", event.getStatus(), event.getOrderId());
+    }
+
+    //Uygulama açılışında kalıcı sayaçları yükle (ilk kurulumda geçmiş siparişlerden doldur)
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCounters() {
+        long start = System.currentTimeMillis();
+        if (productSalesStatsRepository.count() == 0) {
+            backfillFromOrders();
+        }
+
+        List<ProductSalesStats> stats = productSalesStatsRepository.findAll();
+        long firstHour = currentHour() - HOURS_KEPT + 1;
+        List<ProductSalesHourly> hourly = productSalesHourlyRepository
+                .findByHourStartGreaterThanEqual(Instant.ofEpochSecond(firstHour * 3600));
+
+        //Yükleme sırasında gelen siparişlerin üzerine eklenir
+        synchronized (this) {
+            advance(currentHour());
+            stats.forEach(row -> totals.merge(row.getProductId(), row.getSoldTotal(), Long::sum));
+            hourly.forEach(row -> record(row.getProductId(), toHour(row.getHourStart()), row.getQuantity(), false));
+            rankings.clear();
+        }
+        log.info("Best-seller counters loaded - {} products, {} hourly buckets in {} ms",
+                stats.size(), hourly.size(), System.currentTimeMillis() - start);
+    }
+
+    //Biriken artışları delta upsert ile yaz, pencere dışına çıkan saatleri sil
+    @Scheduled(fixedDelayString = "${product.best-sellers.flush-interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void flush() {
+        Map<UUID, Long> totalDeltas;
+        Map<HourKey, Long> hourlyDeltas;
+        synchronized (this) {
+            advance(currentHour());
+            totalDeltas = pendingTotals;
+            hourlyDeltas = pendingHourly;
+            pendingTotals = new HashMap<>();
+            pendingHourly = new HashMap<>();
+        }
+
+        Instant expiredBefore = Instant.ofEpochSecond((currentHour() - HOURS_KEPT + 1) * 3600);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!totalDeltas.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPSERT_TOTAL_SQL, toTotalParameters(totalDeltas));
+                }
+                if (!hourlyDeltas.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPSERT_HOURLY_SQL, toHourlyParameters(hourlyDeltas));
+                }
+                productSalesHourlyRepository.deleteByHourStartBefore(expiredBefore);
+            });
+        } catch (RuntimeException e) {
+            //Yazılamayan deltalar bir sonraki denemeye geri eklenir
+            synchronized (this) {
+                totalDeltas.forEach((productId, quantity) -> pendingTotals.merge(productId, quantity, Long::sum));
+                hourlyDeltas.forEach((key, quantity) -> pendingHourly.merge(key, quantity, Long::sum));
+            }
+            log.error("Best-seller counter flush failed, will retry: {}", e.getMessage());
+            return;
+        }
+
+        if (!totalDeltas.isEmpty()) {
+            log.debug("Best-seller counters flushed - {} products, {} hourly buckets", totalDeltas.size(), hourlyDeltas.size());
+        }
+    }
+
+    //Sayaçlara ekle (this üzerinde senkronize çağrılır)
+    private void record(UUID productId, long hour, long quantity) {
+        record(productId, hour, quantity, true);
+    }
+
+    //Negatif adet (geri düşme) sıfıra inen sayacı kaldırır
+    private void record(UUID productId, long hour, long quantity, boolean countTotal) {
+        if (countTotal) {
+            add(totals, productId, quantity);
+        }
+        if (hour <= currentHour() - HOURS_KEPT) {
+            return;
+        }
+        Map<UUID, Long> bucket = hourlyBuckets.computeIfAbsent(hour, key -> new HashMap<>());
+        add(bucket, productId, quantity);
+        if (bucket.isEmpty()) {
+            hourlyBuckets.remove(hour);
+        }
+        windowSums.forEach((window, sums) -> {
+            if (hour > expiredThrough.get(window)) {
+                add(sums, productId, quantity);
+            }
+        });
+    }
+
+    private static void add(Map<UUID, Long> counts, UUID productId, long quantity) {
+        counts.compute(productId, (key, current) -> {
+            long sum = (current == null ? 0 : current) + quantity;
+            return sum > 0 ? sum : null;
+        });
+    }
+
+    //Saat ilerledikçe pencereden çıkan kovaları pencere toplamlarından düş
+    private void advance(long hour) {
+        boolean changed = false;
+        for (Map.Entry<Window, Map<UUID, Long>> entry : windowSums.entrySet()) {
+            Window window = entry.getKey();
+            long newExpiredThrough = hour - window.hours;
+            long oldExpiredThrough = expiredThrough.get(window);
+            if (newExpiredThrough <= oldExpiredThrough) {
+                continue;
+            }
+            Map<UUID, Long> sums = entry.getValue();
+            hourlyBuckets.subMap(oldExpiredThrough, false, newExpiredThrough, true).values()
+                    .forEach(bucket -> bucket.forEach((productId, quantity) ->
+                            sums.computeIfPresent(productId, (key, sum) -> sum - quantity > 0 ? sum - quantity : null)));
+            expiredThrough.put(window, newExpiredThrough);
+            changed = true;
+        }
+        hourlyBuckets.headMap(hour - HOURS_KEPT, true).clear();
+        if (changed) {
+            rankings.clear();
+        }
+    }
+
+    //En çok satan max-ranked ürün
+    private List<RankedProduct> rank(Window window) {
+        Map<UUID, Long> counts = window.isRolling() ? windowSums.get(window) : totals;
+        return ProductRanking.top(counts, maxRanked, RankedProduct::new);
+    }
+
+    private void backfillFromOrders() {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("excludedStatuses", EXCLUDED_ORDER_STATUSES)
+                .addValue("since", Timestamp.from(Instant.ofEpochSecond((currentHour() - HOURS_KEPT + 1) * 3600)));
+        transactionTemplate.executeWithoutResult(status -> {
+            List<SqlParameterSource> totalRows = jdbcTemplate.query(BACKFILL_TOTALS_SQL, parameters, (rs, rowNum) ->
+                    new MapSqlParameterSource()
+                            .addValue("productId", rs.getObject("product_id", UUID.class))
+                            .addValue("quantity", rs.getLong("quantity"))
+                            .addValue("updatedAt", Timestamp.from(Instant.now())));
+            List<SqlParameterSource> hourlyRows = jdbcTemplate.query(BACKFILL_HOURLY_SQL, parameters, (rs, rowNum) ->
+                    new MapSqlParameterSource()
+                            .addValue("id", UUID.randomUUID())
+                            .addValue("productId", rs.getObject("product_id", UUID.class))
+                            .addValue("hourStart", Timestamp.from(Instant.ofEpochSecond(rs.getLong("hour") * 3600)))
+                            .addValue("quantity", rs.getLong("quantity")));
+            if (!totalRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_TOTAL_SQL, totalRows.toArray(new SqlParameterSource[0]));
+                jdbcTemplate.batchUpdate(UPSERT_HOURLY_SQL, hourlyRows.toArray(new SqlParameterSource[0]));
+                log.info("Best-seller counters backfilled from order history - {} products", totalRows.size());
+            }
+        });
+    }
+
+    private SqlParameterSource[] toTotalParameters(Map<UUID, Long> deltas) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return deltas.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("productId", entry.getKey())
+                        .addValue("quantity", entry.getValue())
+                        .addValue("updatedAt", now))
+                .toArray(SqlParameterSource[]::new);
+    }
+
+    private SqlParameterSource[] toHourlyParameters(Map<HourKey, Long> deltas) {
+        return deltas.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("id", UUID.randomUUID())
+                        .addValue("productId", entry.getKey().productId())
+                        .addValue("hourStart", Timestamp.from(Instant.ofEpochSecond(entry.getKey().hour() * 3600)))
+                        .addValue("quantity", entry.getValue()))
+                .toArray(SqlParameterSource[]::new);
+    }
+
+    private static long currentHour() {
+        return toHour(Instant.now());
+    }
+
+    private static long toHour(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), 3600);
+    }
+
+    //Sıralamadaki ürün ve penceredeki satış adedi
+    public record RankedProduct(UUID productId, long soldQuantity) {
+    }
+
+    private record HourKey(UUID productId, long hour) {
+    }
+}
@@ -2,10 +2,12 @@ package com.berailktrk.eShopping.application.usecase;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
 
 import org.springframework.stereotype.Service;
@@ -42,6 +44,8 @@ public class CartService {
     private final InventoryService inventoryService;
     private final AuditLogService auditLogService;
     private final AuditLogRepository auditLogRepository;
+    private final PromotionService promotionService;
+    private final StockReservationService stockReservationService;
 
     //Kullanıcının sepetini getir veya oluştur
     
@@ -107,7 +111,10 @@ public class CartService {
             }
             
             cartItem.setQty(newQuantity);
-            CartItem updatedItem = cartItemRepository.save(cartItem);
+            CartItem updatedItem = cartItemRepository.saveAndFlush(cartItem);
+            
+            // Rezervasyon ledger'ı stoktan önce yazılır (kilit sırası: sepet kalemi -> ledger -> inventory)
+            stockReservationService.recordReserved(updatedItem, productSku, quantity);
             
             // Stok rezervasyonu yap
             boolean reserved = inventoryService.reserveStock(productSku, quantity, null);
@@ -146,7 +153,10 @@ public class CartService {
                     .createdAt(Instant.now())
                     .build();
 
-            CartItem savedItem = cartItemRepository.save(newItem);
+            CartItem savedItem = cartItemRepository.saveAndFlush(newItem);
+            
+            // Rezervasyon ledger'ı stoktan önce yazılır (kilit sırası: sepet kalemi -> ledger -> inventory)
+            stockReservationService.recordReserved(savedItem, productSku, quantity);
             
             // Stok rezervasyonu yap
             boolean reserved = inventoryService.reserveStock(productSku, quantity, null);
@@ -177,8 +187,78 @@ public class CartService {
         }
     }
 
+    //Sepete birden fazla ürün ekle (SKU -> miktar) - hepsi eklenir ya da hiçbiri
+    //Kalemler ve ledger kayıtları SKU sırasıyla yazılır, stok tek toplu rezervasyonla (InventoryService.reserveStockBatch)
+    //alınır; örtüşen SKU'ları ters sırada ekleyen iki sepet kilitlenmeye girmez. Yetersiz SKU varsa transaction geri alınır
+    public List<CartItem> addItemsToCart(UUID userId, Map<String, Integer> quantities) {
+        log.info("Adding {} products to cart - User: {}", quantities.size(), userId);
+
+        if (quantities.isEmpty()) {
+            throw new IllegalArgumentException("At least one product is required");
+        }
+        TreeMap<String, Integer> sorted = new TreeMap<>(quantities);
+        sorted.forEach((productSku, quantity) -> {
+            if (quantity == null || quantity <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive for product: " + productSku);
+            }
+        });
+
+        Cart cart = getOrCreateCart(userId);
+        List<CartItem> items = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : sorted.entrySet()) {
+            String productSku = entry.getKey();
+            Product product = productRepository.findBySku(productSku)
+                    .orElseThrow(() -> new IllegalArgumentException("Product not found with SKU: " + productSku));
+            if (!product.getIsActive()) {
+                throw new IllegalArgumentException("Product is not active: " + productSku);
+            }
+
+            CartItem cartItem = cartItemRepository.findByCartIdAndProductId(cart.getId(), product.getId())
+                    .map(existing -> {
+                        existing.setQty(existing.getQty() + entry.getValue());
+                        return existing;
+                    })
+                    .orElseGet(() -> CartItem.builder()
+                            .cart(cart)
+                            .product(product)
+                            .qty(entry.getValue())
+                            .unitPriceSnapshot(product.getPrice())
+                            .addedAt(Instant.now())
+                            .createdAt(Instant.now())
+                            .build());
+            CartItem savedItem = cartItemRepository.saveAndFlush(cartItem);
+
+            // Rezervasyon ledger'ı stoktan önce yazılır (kilit sırası: sepet kalemi -> ledger -> inventory)
+            stockReservationService.recordReserved(savedItem, productSku, entry.getValue());
+            items.add(savedItem);
+        }
+
+        InventoryService.StockBatchResult reserved = inventoryService.reserveStockBatch(sorted, null);
+        if (!reserved.applied()) {
+            throw new IllegalArgumentException("Insufficient stock for products: " + reserved.shortfalls());
+        }
+
+        // Audit log kaydet
+        Map<String, Object> details = new HashMap<>();
+        details.put("quantities", sorted);
+        details.put("action", "add_items_batch");
+
+        AuditLog cartLog = auditLogService.createLogWithDetails(
+            null, // Sistem işlemi
+            "CART_ITEMS_ADDED",
+            AuditLogService.RESOURCE_CART,
+            cart.getId(),
+            String.format("Sepete toplu ürün eklendi: %d ürün", sorted.size()),
+            details
+        );
+        auditLogRepository.save(cartLog);
+
+        cartRepository.updateCartTimestamp(userId);
+        return items;
+    }
+
     //Kullanıcının sepetindeki tüm ürünleri getir
-    
+
     @Transactional(readOnly = true)
     public List<CartItem> getCartItems(UUID userId) {
         log.info("Getting cart items for user: {}", userId);
@@ -192,7 +272,7 @@ public class CartService {
     }
 
     
-    //Sepet toplam tutarını hesapla
+    //Sepet toplam tutarını hesapla (otomatik promosyonlar düşülmüş)
     
     @Transactional(readOnly = true)
     public BigDecimal getCartTotal(UUID userId) {
@@ -200,9 +280,7 @@ public class CartService {
         
         List<CartItem> cartItems = getCartItems(userId);
         
-        return cartItems.stream()
-                .map(item -> item.getUnitPriceSnapshot().multiply(BigDecimal.valueOf(item.getQty())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return priceCart(cartItems, null).total();
     }
 
     //Sepetten ürün çıkar
@@ -224,7 +302,7 @@ public class CartService {
             // Tamamını çıkar
             Integer removedQuantity = cartItem.getQty();
             cartItemRepository.deleteByCartIdAndProductId(cart.getId(), product.getId());
-            inventoryService.cancelReservation(productSku, removedQuantity);
+            releaseReservation(cartItem, productSku, removedQuantity);
             
             // Audit log kaydet
             Map<String, Object> details = new HashMap<>();
@@ -245,8 +323,8 @@ public class CartService {
             // Kısmi çıkarma
             Integer newQuantity = cartItem.getQty() - quantity;
             cartItem.setQty(newQuantity);
-            cartItemRepository.save(cartItem);
-            inventoryService.cancelReservation(productSku, quantity);
+            cartItemRepository.saveAndFlush(cartItem);
+            releaseReservation(cartItem, productSku, quantity);
             
             // Audit log kaydet
             Map<String, Object> details = new HashMap<>();
@@ -297,10 +375,11 @@ public class CartService {
 
         // Miktar güncelle
         existingItem.setQty(newQuantity);
-        CartItem updatedItem = cartItemRepository.save(existingItem);
+        CartItem updatedItem = cartItemRepository.saveAndFlush(existingItem);
 
-        // Stok rezervasyonu güncelle
+        // Stok rezervasyonu güncelle (ledger stoktan önce)
         if (quantityDifference > 0) {
+            stockReservationService.recordReserved(updatedItem, productSku, quantityDifference);
             boolean reserved = inventoryService.reserveStock(productSku, quantityDifference, null);
             if (!reserved) {
                 existingItem.setQty(oldQuantity);
@@ -308,7 +387,7 @@ public class CartService {
                 throw new IllegalStateException("Failed to reserve additional stock for product: " + productSku);
             }
         } else if (quantityDifference < 0) {
-            inventoryService.cancelReservation(productSku, Math.abs(quantityDifference));
+            releaseReservation(existingItem, productSku, Math.abs(quantityDifference));
         }
 
         cartRepository.updateCartTimestamp(userId);
@@ -340,11 +419,12 @@ public class CartService {
         
         int removedItemCount = cartItems.size();
         
-        // NOT: Rezervasyonlar zaten sipariş oluşturma sırasında iptal edilmiş olmalı
-        // Bu noktada sadece cart item'ları temizliyoruz
+        // NOT: Checkout'ta onaylanan rezervasyonlar ledger'dan zaten alınmıştır
+        // Kalanlar (kullanıcı sepeti temizlediyse) burada stoğa geri bırakılır
 
         // Tüm cart item'ları sil
         cartItemRepository.deleteByCartId(cart.getId());
+        int releasedQuantity = stockReservationService.releaseCart(cart.getId());
         
         // Audit log kaydet
         Map<String, Object> details = new HashMap<>();
@@ -371,6 +451,7 @@ public class CartService {
         }
         
         details.put("totalQuantity", totalQuantity);
+        details.put("releasedQuantity", releasedQuantity);
         details.put("action", "clear_all");
         
         AuditLog cartLog = auditLogService.createLogWithDetails(
@@ -426,6 +507,24 @@ public class CartService {
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    //Sepeti promosyonlarla fiyatla - couponCode opsiyonel
+    public PromotionService.PricedCart priceCart(List<CartItem> cartItems, String couponCode) {
+        List<PromotionService.PricingLine> lines = cartItems.stream()
+                .map(item -> new PromotionService.PricingLine(
+                        item.getProduct().getSku(), item.getUnitPriceSnapshot(), item.getQty()))
+                .toList();
+        return promotionService.priceCart(lines, couponCode);
+    }
+
+    //Sepet kalemi rezervasyonunu bırak - sadece ledger'da hâlâ duran miktar stoğa döner (süresi dolanı sweeper bırakmıştır)
+    //Sepetin kalan rezervasyonlarının süresi de yenilenir
+    private void releaseReservation(CartItem cartItem, String productSku, int quantity) {
+        int heldQuantity = stockReservationService.recordReleased(cartItem, quantity);
+        if (heldQuantity > 0) {
+            inventoryService.cancelReservation(productSku, heldQuantity);
+        }
+    }
+
     // ==================== CHECKOUT HELPER METHODS ====================
 
     //Stok kontrolü yap (checkout için)
@@ -437,4 +536,16 @@ public class CartService {
     public boolean confirmStockReservation(String sku, Integer quantity) {
         return inventoryService.confirmReservation(sku, quantity);
     }
+
+    //Sepetin tüm stok rezervasyonlarını tek seferde onayla (checkout için) - SKU sırasıyla, hepsi ya da hiçbiri
+    //Önce ledger'daki kayıtlar alınır, süresi dolmuş miktar yeniden rezerve edilir; stok yetmiyorsa IllegalStateException
+    public InventoryService.StockBatchResult confirmStockReservations(List<CartItem> cartItems) {
+        stockReservationService.claimForCheckout(cartItems.get(0).getCart().getId(), cartItems);
+
+        Map<String, Integer> quantities = new HashMap<>();
+        for (CartItem cartItem : cartItems) {
+            quantities.merge(cartItem.getProduct().getSku(), cartItem.getQty(), Integer::sum);
+        }
+        return inventoryService.confirmReservationBatch(quantities);
+    }
 }
\ No newline at end of file
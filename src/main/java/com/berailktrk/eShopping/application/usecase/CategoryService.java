@@ -0,0 +1,433 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.berailktrk.eShopping.application.event.CategoryChangedEvent;
+import com.berailktrk.eShopping.domain.model.AuditLog;
+import com.berailktrk.eShopping.domain.model.Category;
+import com.berailktrk.eShopping.domain.model.CategoryTreeVersion;
+import com.berailktrk.eShopping.domain.model.ProductCategory;
+import com.berailktrk.eShopping.domain.model.ProductStockView;
+import com.berailktrk.eShopping.domain.model.User;
+import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
+import com.berailktrk.eShopping.domain.repository.CategoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductCategoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.infrastructure.datasource.DataSourceRouting;
+import com.berailktrk.eShopping.presentation.dto.request.CreateCategoryRequest;
+import com.berailktrk.eShopping.presentation.dto.request.UpdateCategoryRequest;
+import com.berailktrk.eShopping.presentation.dto.response.CategoryAssignmentResponse;
+import com.berailktrk.eShopping.presentation.dto.response.CategoryResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductPageResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+//Category service - kategori ağacı yönetimi ve kategoriye göre ürün listeleme
+//Ağaç materialized path ile tutulur (bkz. Category); okumalar bellekteki değiştirilemez ağaçtan yapılır.
+//Ağaç açılışta yüklenir ve her değişiklikten sonra (commit sonrası) yeniden yüklenir. Diğer node'lardaki değişiklikler
+//için birkaç saniyede bir ucuz bir sürüm sorgusu (kategori sayısı + son değişiklik zamanı) çalışır, ağaç sadece sürüm
+//değiştiyse yeniden yüklenir - başka node'da taşınan bir alt ağacın eski path'leri en fazla bu aralık kadar görülür
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryService {
+
+    //Ağacın en fazla derinliği (kök = 0)
+    public static final int MAX_DEPTH = 7;
+
+    private static final Comparator<Category> SIBLING_ORDER = Comparator
+            .comparing(Category::getSortOrder)
+            .thenComparing(Category::getName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Category::getSlug);
+
+    private final CategoryRepository categoryRepository;
+    private final ProductCategoryRepository productCategoryRepository;
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final AuditLogService auditLogService;
+    private final AuditLogRepository auditLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile CategoryTree tree;
+    //Bellekteki ağacın yüklendiği andaki tablo sürümü
+    private volatile CategoryTreeVersion loadedVersion;
+
+    //Kategori ağacı - kök kategoriler, alt kategoriler iç içe (USER + ADMIN)
+    public List<CategoryResponse> getTree() {
+        return currentTree().roots();
+    }
+
+    //ID ile kategori (alt ağacıyla birlikte)
+    public CategoryResponse getCategory(UUID categoryId) {
+        CategoryResponse category = currentTree().byId().get(categoryId);
+        if (category == null) {
+            throw new IllegalArgumentException("Category not found with ID: " + categoryId);
+        }
+        return category;
+    }
+
+    //Kategori ve tüm alt kategorilerindeki aktif ürünler - keyset pagination (USER + ADMIN)
+    public ProductPageResponse getCategoryProducts(UUID categoryId, String cursor, Integer size) {
+        return productService.getCategoryProductsPage(getCategory(categoryId).getPath(), cursor, size);
+    }
+
+    //Yeni kategori oluştur (ADMIN)
+    @Transactional
+    public CategoryResponse createCategory(CreateCategoryRequest request, User actorUser) {
+        String parentPath = "/";
+        int depth = 0;
+        if (request.getParentId() != null) {
+            Category parent = findCategory(request.getParentId());
+            parentPath = parent.getPath();
+            depth = parent.getDepth() + 1;
+        }
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Category tree can be at most " + (MAX_DEPTH + 1) + " levels deep");
+        }
+
+        String path = parentPath + request.getSlug() + "/";
+        if (categoryRepository.existsByPath(path)) {
+            throw new IllegalStateException("Category already exists: " + path);
+        }
+
+        Category category = categoryRepository.save(Category.builder()
+                .parentId(request.getParentId())
+                .slug(request.getSlug())
+                .name(request.getName())
+                .path(path)
+                .depth(depth)
+                .sortOrder(request.getSortOrder() != null ? request.getSortOrder() : 0)
+                .build());
+
+        AuditLog createLog = auditLogService.createLog(
+            actorUser,
+            AuditLogService.ACTION_CATEGORY_CREATED,
+            AuditLogService.RESOURCE_CATEGORY,
+            category.getId(),
+            String.format("Kategori oluşturuldu: %s - %s", category.getPath(), category.getName())
+        );
+        auditLogRepository.save(createLog);
+
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+        log.info("Category created: {}", category.getPath());
+        return toResponse(category, List.of());
+    }
+
+    //Kategori güncelle (ADMIN) - slug veya üst kategori değişirse alt ağaç ve ürün eşlemelerinin path'leri
+    //iki toplu UPDATE ile yeniden yazılır
+    @Transactional
+    public CategoryResponse updateCategory(UUID categoryId, UpdateCategoryRequest request, User actorUser) {
+        Category category = findCategory(categoryId);
+        String oldPath = category.getPath();
+        int oldDepth = category.getDepth();
+
+        UUID parentId = category.getParentId();
+        if (Boolean.TRUE.equals(request.getMoveToRoot())) {
+            parentId = null;
+        } else if (request.getParentId() != null) {
+            parentId = request.getParentId();
+        }
+        String slug = request.getSlug() != null ? request.getSlug() : category.getSlug();
+
+        String parentPath = "/";
+        int depth = 0;
+        if (parentId != null) {
+            Category parent = findCategory(parentId);
+            if (parent.getPath().startsWith(oldPath)) {
+                throw new IllegalArgumentException("Category cannot be moved under itself or its subcategories");
+            }
+            parentPath = parent.getPath();
+            depth = parent.getDepth() + 1;
+        }
+        String newPath = parentPath + slug + "/";
+        boolean moved = !newPath.equals(oldPath);
+
+        if (moved) {
+            if (categoryRepository.existsByPath(newPath)) {
+                throw new IllegalStateException("Category already exists: " + newPath);
+            }
+            if (depth + subtreeHeight(oldPath, oldDepth) > MAX_DEPTH) {
+                throw new IllegalArgumentException("Category tree can be at most " + (MAX_DEPTH + 1) + " levels deep");
+            }
+        }
+
+        Instant now = Instant.now();
+        category.setParentId(parentId);
+        category.setSlug(slug);
+        category.setPath(newPath);
+        category.setDepth(depth);
+        if (request.getName() != null) {
+            category.setName(request.getName());
+        }
+        if (request.getSortOrder() != null) {
+            category.setSortOrder(request.getSortOrder());
+        }
+        category.setUpdatedAt(now);
+        category = categoryRepository.saveAndFlush(category);
+
+        int movedDescendants = 0;
+        int movedMappings = 0;
+        if (moved) {
+            //Kategorinin kendisi artık eski aralıkta değil - sadece alt kategoriler ve eşlemeler yeniden yazılır
+            String upper = Category.subtreeUpperBound(oldPath);
+            int suffixStart = oldPath.length() + 1;
+            movedDescendants = categoryRepository.rewriteSubtreePaths(
+                    oldPath, upper, newPath, suffixStart, depth - oldDepth, now);
+            movedMappings = productCategoryRepository.rewriteSubtreePaths(oldPath, upper, newPath, suffixStart);
+        }
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("oldPath", oldPath);
+        details.put("newPath", newPath);
+        details.put("name", category.getName());
+        details.put("movedSubcategories", movedDescendants);
+        details.put("movedProductMappings", movedMappings);
+
+        AuditLog updateLog = auditLogService.createLogWithDetails(
+            actorUser,
+            AuditLogService.ACTION_CATEGORY_UPDATED,
+            AuditLogService.RESOURCE_CATEGORY,
+            category.getId(),
+            moved
+                ? String.format("Kategori taşındı: %s -> %s", oldPath, newPath)
+                : String.format("Kategori güncellendi: %s", newPath),
+            details
+        );
+        auditLogRepository.save(updateLog);
+
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+        log.info("Category updated: {} -> {} ({} subcategories, {} product mappings moved)",
+                oldPath, newPath, movedDescendants, movedMappings);
+        return toResponse(category, List.of());
+    }
+
+    //Kategori sil (ADMIN) - alt kategorisi olan kategori silinemez, ürün eşlemeleri silinir
+    @Transactional
+    public void deleteCategory(UUID categoryId, User actorUser) {
+        Category category = findCategory(categoryId);
+        if (categoryRepository.existsByParentId(categoryId)) {
+            throw new IllegalStateException("Category has subcategories and cannot be deleted: " + category.getPath());
+        }
+
+        int removedMappings = productCategoryRepository.deleteByCategoryId(categoryId);
+        categoryRepository.delete(category);
+
+        AuditLog deleteLog = auditLogService.createLog(
+            actorUser,
+            AuditLogService.ACTION_CATEGORY_DELETED,
+            AuditLogService.RESOURCE_CATEGORY,
+            categoryId,
+            String.format("Kategori silindi: %s - %s (%d ürün eşlemesi)", category.getPath(), category.getName(), removedMappings)
+        );
+        auditLogRepository.save(deleteLog);
+
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
+        log.info("Category deleted: {}", category.getPath());
+    }
+
+    //Ürünleri SKU ile kategoriye ekle (ADMIN) - zaten ekli olanlar atlanır, bulunamayanlar raporlanır
+    @Transactional
+    public CategoryAssignmentResponse assignProducts(UUID categoryId, List<String> skus, User actorUser) {
+        Category category = findCategory(categoryId);
+        Set<String> requested = new LinkedHashSet<>(skus);
+
+        Map<String, UUID> idsBySku = new HashMap<>();
+        for (ProductStockView view : productRepository.findStockViewsBySkuIn(requested)) {
+            idsBySku.put(view.getSku(), view.getId());
+        }
+        Set<UUID> assigned = idsBySku.isEmpty()
+                ? Set.of()
+                : new HashSet<>(productCategoryRepository.findAssignedProductIds(categoryId, idsBySku.values()));
+
+        List<ProductCategory> mappings = new ArrayList<>();
+        List<String> addedSkus = new ArrayList<>();
+        List<String> missingSkus = new ArrayList<>();
+        for (String sku : requested) {
+            UUID productId = idsBySku.get(sku);
+            if (productId == null) {
+                missingSkus.add(sku);
+            } else if (!assigned.contains(productId)) {
+                mappings.add(ProductCategory.builder()
+                        .productId(productId)
+                        .categoryId(categoryId)
+                        .categoryPath(category.getPath())
+                        .build());
+                addedSkus.add(sku);
+            }
+        }
+        productCategoryRepository.saveAll(mappings);
+
+        if (!mappings.isEmpty()) {
+            Map<String, Object> details = new HashMap<>();
+            details.put("path", category.getPath());
+            details.put("skus", addedSkus);
+
+            AuditLog assignLog = auditLogService.createLogWithDetails(
+                actorUser,
+                AuditLogService.ACTION_CATEGORY_PRODUCTS_ASSIGNED,
+                AuditLogService.RESOURCE_CATEGORY,
+                categoryId,
+                String.format("Kategoriye %d ürün eklendi: %s", mappings.size(), category.getPath()),
+                details
+            );
+            auditLogRepository.save(assignLog);
+        }
+
+        log.info("{} products assigned to category {}", mappings.size(), category.getPath());
+        return CategoryAssignmentResponse.builder()
+                .categoryId(categoryId)
+                .assignedCount(mappings.size())
+                .alreadyAssignedCount(requested.size() - missingSkus.size() - mappings.size())
+                .missingSkus(missingSkus)
+                .build();
+    }
+
+    //Ürünü kategoriden çıkar (ADMIN)
+    @Transactional
+    public void removeProduct(UUID categoryId, String sku, User actorUser) {
+        Category category = findCategory(categoryId);
+        UUID productId = productRepository.findStockViewBySku(sku)
+                .map(ProductStockView::getId)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found with SKU: " + sku));
+
+        if (productCategoryRepository.deleteByCategoryIdAndProductId(categoryId, productId) == 0) {
+            throw new IllegalArgumentException("Product " + sku + " is not in category " + category.getPath());
+        }
+
+        AuditLog removeLog = auditLogService.createLog(
+            actorUser,
+            AuditLogService.ACTION_CATEGORY_PRODUCT_REMOVED,
+            AuditLogService.RESOURCE_CATEGORY,
+            categoryId,
+            String.format("Ürün kategoriden çıkarıldı: %s - %s", sku, category.getPath())
+        );
+        auditLogRepository.save(removeLog);
+        log.info("Product {} removed from category {}", sku, category.getPath());
+    }
+
+    //Uygulama açılışında ağacı yükle
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reloadTree();
+    }
+
+    //Kategori değişikliklerinden sonra ağacı yeniden yükle (commit sonrası)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        reloadTree();
+        log.debug("Category tree reloaded: {}", event);
+    }
+
+    //Diğer node'larda yapılan değişiklikler için periyodik sürüm kontrolü - sürüm değiştiyse ağacı yeniden yükle
+    @Scheduled(fixedDelayString = "${category.tree.refresh-seconds:5}",
+               initialDelayString = "${category.tree.refresh-seconds:5}",
+               timeUnit = TimeUnit.SECONDS)
+    public void refreshTree() {
+        CategoryTreeVersion version = DataSourceRouting.onPrimary(categoryRepository::findTreeVersion);
+        if (!version.equals(loadedVersion)) {
+            reloadTree();
+            log.debug("Category tree changed on another node, reloaded: {}", version);
+        }
+    }
+
+    private CategoryTree currentTree() {
+        CategoryTree current = tree;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (tree == null) {
+                reloadTree();
+            }
+            return tree;
+        }
+    }
+
+    //Tüm kategorileri tek sorguda okuyup değiştirilemez ağacı kur
+    private synchronized void reloadTree() {
+        //Değişiklik az önce commit edildi - replica gecikmesi yüzünden kaçırılmaması için primary'den okunur
+        //Sürüm ağaçtan önce okunur: arada gelen değişiklik bir sonraki kontrolde tekrar yüklemeye yol açar, kaçırılmaz
+        CategoryTreeVersion version = DataSourceRouting.onPrimary(categoryRepository::findTreeVersion);
+        List<Category> categories = DataSourceRouting.onPrimary(categoryRepository::findAll);
+
+        Map<UUID, List<Category>> childrenByParent = new HashMap<>();
+        List<Category> roots = new ArrayList<>();
+        for (Category category : categories) {
+            if (category.getParentId() == null) {
+                roots.add(category);
+            } else {
+                childrenByParent.computeIfAbsent(category.getParentId(), id -> new ArrayList<>()).add(category);
+            }
+        }
+
+        Map<UUID, CategoryResponse> byId = new HashMap<>();
+        List<CategoryResponse> rootResponses = buildLevel(roots, childrenByParent, byId);
+        tree = new CategoryTree(rootResponses, Map.copyOf(byId));
+        loadedVersion = version;
+        log.debug("Category tree loaded - {} categories", byId.size());
+    }
+
+    private List<CategoryResponse> buildLevel(List<Category> level, Map<UUID, List<Category>> childrenByParent,
+                                              Map<UUID, CategoryResponse> byId) {
+        level.sort(SIBLING_ORDER);
+        List<CategoryResponse> responses = new ArrayList<>(level.size());
+        for (Category category : level) {
+            List<CategoryResponse> children = buildLevel(
+                    childrenByParent.getOrDefault(category.getId(), new ArrayList<>()), childrenByParent, byId);
+            CategoryResponse response = toResponse(category, children);
+            byId.put(category.getId(), response);
+            responses.add(response);
+        }
+        return List.copyOf(responses);
+    }
+
+    //Alt ağacın kategoriye göre derinliği (yaprak için 0)
+    private int subtreeHeight(String path, int depth) {
+        return currentTree().byId().values().stream()
+                .filter(category -> category.getPath().startsWith(path))
+                .mapToInt(category -> category.getDepth() - depth)
+                .max()
+                .orElse(0);
+    }
+
+    private Category findCategory(UUID categoryId) {
+        return categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new IllegalArgumentException("Category not found with ID: " + categoryId));
+    }
+
+    private CategoryResponse toResponse(Category category, List<CategoryResponse> children) {
+        return CategoryResponse.builder()
+                .id(category.getId())
+                .parentId(category.getParentId())
+                .slug(category.getSlug())
+                .name(category.getName())
+                .path(category.getPath())
+                .depth(category.getDepth())
+                .sortOrder(category.getSortOrder())
+                .children(children)
+                .build();
+    }
+
+    //Bellekteki ağaç - yanıt nesneleri paylaşılır, değiştirilmemelidir
+    private record CategoryTree(List<CategoryResponse> roots, Map<UUID, CategoryResponse> byId) {
+    }
+}
@@ -0,0 +1,572 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.application.event.ProductChangedEvent;
+import com.berailktrk.eShopping.application.event.ProductChangedEvent.ChangeType;
+import com.berailktrk.eShopping.domain.model.AuditLog;
+import com.berailktrk.eShopping.domain.model.Inventory;
+import com.berailktrk.eShopping.domain.model.User;
+import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
+import com.berailktrk.eShopping.domain.repository.InventoryRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+//Inventory lease service - sıcak SKU'lar için node başına stok kotası
+//Kiralama açık SKU'da (inventory.lease_size) node tek UPDATE ile bir blok kiralar: birimler quantity'den reserved'a geçer
+//ve inventory_leases'te bu node adına tutulur. Rezervasyonlar bellekteki atomik sayaçtan karşılanır; inventory satırına
+//sadece blok bittiğinde gidilir. Kiralanan birimler quantity'de olmadığı için node'lar arası fazla satış olmaz.
+//Defter kuralı: inventory_leases.remaining hiçbir zaman node'un gerçekte dağıtmadığı miktardan az değildir
+//(dağıtılan birimler sadece transaction commit olduktan sonra heartbeat ile düşülür). Böylece süresi dolan kirayı geri alan
+//node, o SKU'nun stock_reservations toplamı ve diğer kiralarla karşılaştırıp en fazla gerçekten boşta olanı iade eder.
+//Bu hesap diğer node'ların henüz heartbeat'le yazılmamış dağıtımlarını iki kez sayar, yani iade o kadar eksik kalabilir
+//(fazla satış olmaz, en fazla bir heartbeat aralığındaki satış kadar birim reserved'da kalır). Heartbeat önce kendi
+//dağıtımlarını yazdığı için iki node'lu kurulumda geri alma tamdır.
+//Düşük stok eşiği: son lease_size * low-water-blocks birim hiç kiralanmaz (tek node son birimleri alıp diğerlerine
+//stok yok gösteremez); stok bu eşiğin altına inince node'lar kiralarını bir sonraki heartbeat'te erken iade eder
+@Service
+@Slf4j
+public class InventoryLeaseService {
+
+    //Blok kirala: tam :size kadar, blok sonrası stok düşük stok eşiğinin altına inecekse satır dönmez
+    //(son birimler inventory satırında kalır ve her node'dan satılabilir)
+    private static final String GRANT_SQL =
+            "UPDATE inventory i SET quantity = i.quantity - :size, reserved = i.reserved + :size, " +
+            "version = i.version + 1 " +
+            "FROM (SELECT product_id FROM inventory " +
+            "WHERE product_sku = :sku AND lease_size IS NOT NULL AND shard_count IS NULL " +
+            "AND quantity - :size >= lease_size * :lowWaterBlocks FOR UPDATE) g " +
+            "WHERE i.product_id = g.product_id " +
+            "RETURNING i.product_id";
+
+    private static final String UPSERT_LEASE_SQL =
+            "INSERT INTO inventory_leases (id, node_id, product_id, product_sku, remaining, expires_at, created_at, updated_at) " +
+            "VALUES (:id, :nodeId, :productId, :sku, :granted, now() + make_interval(secs => :ttl), now(), now()) " +
+            "ON CONFLICT (node_id, product_sku) DO UPDATE SET " +
+            "remaining = inventory_leases.remaining + EXCLUDED.remaining, " +
+            "expires_at = EXCLUDED.expires_at, updated_at = EXCLUDED.updated_at";
+
+    //Heartbeat: commit edilmiş dağıtımlar (ve iade edilen birimler) düşülür, süre uzatılır - satır yoksa kira geri alınmıştır
+    //stock: inventory satırındaki kiralanmamış stok (düşük stok eşiği kontrolü için)
+    private static final String SETTLE_SQL =
+            "UPDATE inventory_leases SET remaining = remaining - :settled, " +
+            "expires_at = now() + make_interval(secs => :ttl), updated_at = now() " +
+            "WHERE node_id = :nodeId AND product_sku = :sku " +
+            "RETURNING remaining, (SELECT quantity FROM inventory WHERE product_sku = :sku) AS stock";
+
+    private static final String LOCK_INVENTORY_SQL =
+            "SELECT product_id, reserved FROM inventory WHERE product_sku = :sku FOR UPDATE";
+
+    private static final String RETURN_SQL =
+            "UPDATE inventory SET quantity = quantity + :quantity, reserved = reserved - :quantity, version = version + 1 " +
+            "WHERE product_sku = :sku AND reserved >= :quantity";
+
+    private static final String DELETE_EMPTY_LEASE_SQL =
+            "DELETE FROM inventory_leases WHERE node_id = :nodeId AND product_sku = :sku AND remaining = 0";
+
+    private static final String SELECT_LEASE_SIZES_SQL =
+            "SELECT product_sku, lease_size FROM inventory WHERE lease_size IS NOT NULL";
+
+    private static final String SELECT_EXPIRED_SQL =
+            "SELECT node_id, product_sku FROM inventory_leases WHERE expires_at < now() ORDER BY expires_at LIMIT :limit";
+
+    private static final String LOCK_EXPIRED_LEASE_SQL =
+            "SELECT remaining FROM inventory_leases " +
+            "WHERE node_id = :nodeId AND product_sku = :sku AND expires_at < now() FOR UPDATE";
+
+    //Geri alınan kira dışında reserved'da kalması gereken miktar: sepet rezervasyonları + diğer node'ların kiraları
+    private static final String SELECT_HELD_SQL =
+            "SELECT (SELECT COALESCE(SUM(quantity), 0) FROM stock_reservations WHERE product_sku = :sku) + " +
+            "(SELECT COALESCE(SUM(remaining), 0) FROM inventory_leases WHERE product_sku = :sku AND node_id <> :nodeId)";
+
+    private static final String DELETE_LEASE_SQL =
+            "DELETE FROM inventory_leases WHERE node_id = :nodeId AND product_sku = :sku";
+
+    private static final int SWEEP_LIMIT = 100;
+
+    private final InventoryRepository inventoryRepository;
+    private final AuditLogService auditLogService;
+    private final AuditLogRepository auditLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    //Kira yazımı kendi transaction'ında (kapanmış kiranın geç biten rezervasyonları afterCompletion'dan yazılır)
+    private final TransactionTemplate settleTemplate;
+    private final String nodeId;
+    private final int ttlSeconds;
+    private final int lowWaterBlocks;
+    //Yerel kira ömrü (TTL'in yarısı): heartbeat bu sürede yenilenemezse node kiradan dağıtmayı bırakır,
+    //böylece veritabanındaki kira dolmadan önce devam eden transaction'lar tamamlanmış olur
+    private final long localValidityNanos;
+
+    //SKU -> blok büyüklüğü (ipucu, heartbeat ile yenilenir)
+    private volatile Map<String, Integer> leaseSizes = Map.of();
+    private final Map<String, NodeLease> leases = new ConcurrentHashMap<>();
+
+    public InventoryLeaseService(
+            InventoryRepository inventoryRepository,
+            AuditLogService auditLogService,
+            AuditLogRepository auditLogRepository,
+            ApplicationEventPublisher eventPublisher,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${inventory.leasing.node-id:}") String nodeId,
+            @Value("${inventory.leasing.ttl-seconds:30}") int ttlSeconds,
+            @Value("${inventory.leasing.low-water-blocks:1}") int lowWaterBlocks) {
+        this.inventoryRepository = inventoryRepository;
+        this.auditLogService = auditLogService;
+        this.auditLogRepository = auditLogRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.settleTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.settleTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId.trim();
+        if (ttlSeconds < 2) {
+            throw new IllegalArgumentException("inventory.leasing.ttl-seconds must be at least 2");
+        }
+        this.ttlSeconds = ttlSeconds;
+        this.localValidityNanos = TimeUnit.SECONDS.toNanos(ttlSeconds) / 2;
+        if (lowWaterBlocks < 0) {
+            throw new IllegalArgumentException("inventory.leasing.low-water-blocks must not be negative");
+        }
+        this.lowWaterBlocks = lowWaterBlocks;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    //Bu node'un kirasında dağıtılmayı bekleyen birimler (stok kontrolleri için)
+    public int getLeasedStock(String sku) {
+        NodeLease lease = leases.get(sku);
+        return lease != null && !lease.closed ? lease.available.get() : 0;
+    }
+
+    //Rezervasyonu bu node'un kirasından karşıla (çağıranın transaction'ında)
+    //Kira boşsa aynı transaction'da yeni blok kiralanır; null: kiralama kapalı, blok alınamadı ya da başka thread blok
+    //alıyor - çağıran normal veritabanı yolunu kullanır
+    public LeaseReservation tryReserve(String sku, int quantity) {
+        Integer leaseSize = leaseSizes.get(sku);
+        if (leaseSize == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        NodeLease lease = leases.computeIfAbsent(sku, NodeLease::new);
+        long now = System.nanoTime();
+        boolean valid = now - lease.validUntil < 0;
+
+        if (valid && !lease.closed) {
+            int current;
+            while ((current = lease.available.get()) >= quantity) {
+                if (lease.available.compareAndSet(current, current - quantity)) {
+                    lease.lastUsed = now;
+                    registerServed(lease, quantity);
+                    return new LeaseReservation(lease.productId, false);
+                }
+            }
+        }
+
+        //Süresi yerel olarak dolmuş kirada birim varsa heartbeat beklenir (satırın hâlâ bu node'da olduğu bilinmiyor)
+        if (lease.closed || (!valid && lease.available.get() > 0)) {
+            return null;
+        }
+        if (!lease.refilling.compareAndSet(false, true)) {
+            return null;
+        }
+        boolean registered = false;
+        try {
+            int size = Math.max(leaseSize, quantity);
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("sku", sku)
+                    .addValue("size", size)
+                    .addValue("lowWaterBlocks", lowWaterBlocks);
+            List<Grant> grants = jdbcTemplate.query(GRANT_SQL, params, (rs, rowNum) ->
+                    new Grant(rs.getObject("product_id", UUID.class), size));
+            if (grants.isEmpty()) {
+                return null;
+            }
+            Grant grant = grants.get(0);
+            jdbcTemplate.update(UPSERT_LEASE_SQL, new MapSqlParameterSource()
+                    .addValue("id", UUID.randomUUID())
+                    .addValue("nodeId", nodeId)
+                    .addValue("productId", grant.productId())
+                    .addValue("sku", sku)
+                    .addValue("granted", grant.granted())
+                    .addValue("ttl", ttlSeconds));
+            registerRefill(lease, grant, quantity, now);
+            registered = true;
+            log.debug("Leased {} units of SKU: {} for node: {}", grant.granted(), sku, nodeId);
+            return new LeaseReservation(grant.productId(), true);
+        } finally {
+            if (!registered) {
+                lease.refilling.set(false);
+            }
+        }
+    }
+
+    //SKU için kiralamayı aç (ADMIN) - node'lar bir sonraki rezervasyonda blok kiralar
+    public Inventory enableLeasing(String sku, int leaseSize, User actorUser) {
+        if (leaseSize < 1) {
+            throw new IllegalArgumentException("Lease size must be positive");
+        }
+        Inventory inventory = transactionTemplate.execute(status -> {
+            Inventory locked = inventoryRepository.findByProductSkuWithLock(sku)
+                    .orElseThrow(() -> new IllegalArgumentException("Inventory not found for SKU: " + sku));
+            if (locked.getShardCount() != null) {
+                throw new IllegalStateException("Inventory is sharded for SKU: " + sku);
+            }
+            Integer previous = locked.getLeaseSize();
+            locked.setLeaseSize(leaseSize);
+            Inventory saved = inventoryRepository.save(locked);
+
+            Map<String, Object> details = new HashMap<>();
+            details.put("sku", sku);
+            details.put("lease_size", leaseSize);
+            details.put("previous_lease_size", previous);
+            details.put("reason", "Stok kiralama açıldı");
+            saveAudit(actorUser, locked.getProductId(),
+                    String.format("Stok kiralama açıldı: %s, Blok: %d", sku, leaseSize), details);
+            return saved;
+        });
+        updateLeaseSize(sku, leaseSize);
+        log.info("Inventory leasing enabled for SKU: {} with lease size {}", sku, leaseSize);
+        return inventory;
+    }
+
+    //SKU için kiralamayı kapat (ADMIN) - bu node kirasını hemen, diğerleri bir sonraki heartbeat'te iade eder
+    public Inventory disableLeasing(String sku, User actorUser) {
+        Inventory inventory = transactionTemplate.execute(status -> {
+            Inventory locked = inventoryRepository.findByProductSkuWithLock(sku)
+                    .orElseThrow(() -> new IllegalArgumentException("Inventory not found for SKU: " + sku));
+            if (locked.getLeaseSize() == null) {
+                throw new IllegalStateException("Inventory leasing is not enabled for SKU: " + sku);
+            }
+            locked.setLeaseSize(null);
+            Inventory saved = inventoryRepository.save(locked);
+
+            Map<String, Object> details = new HashMap<>();
+            details.put("sku", sku);
+            details.put("reason", "Stok kiralama kapatıldı");
+            saveAudit(actorUser, locked.getProductId(),
+                    String.format("Stok kiralama kapatıldı: %s", sku), details);
+            return saved;
+        });
+        updateLeaseSize(sku, null);
+        NodeLease lease = leases.get(sku);
+        if (lease != null) {
+            settle(lease, true);
+        }
+        log.info("Inventory leasing disabled for SKU: {}", sku);
+        return inventory;
+    }
+
+    //Heartbeat: kiraları yenile (dağıtılanları satıra yaz), kapanan/boşta kalan kiraları iade et, süresi dolanları geri al
+    @Scheduled(fixedDelayString = "${inventory.leasing.heartbeat-interval-seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public void heartbeat() {
+        try {
+            reloadLeaseSizes();
+        } catch (RuntimeException e) {
+            log.error("Inventory lease sizes could not be reloaded: {}", e.getMessage());
+        }
+        long idleNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        long now = System.nanoTime();
+        for (NodeLease lease : leases.values()) {
+            if (lease.refilling.get()) {
+                continue;
+            }
+            boolean closing = !leaseSizes.containsKey(lease.sku) || now - lease.lastUsed > idleNanos;
+            try {
+                Settlement settlement = settle(lease, closing);
+                //Stok düşük stok eşiğinin altında: diğer node'lar son birimleri satabilsin diye kira erken iade edilir
+                Integer leaseSize = leaseSizes.get(lease.sku);
+                if (!closing && settlement != null && leaseSize != null && settlement.stock() < leaseSize * lowWaterBlocks) {
+                    log.info("Inventory stock for SKU: {} is below the low-water mark, returning lease early", lease.sku);
+                    settle(lease, true);
+                }
+            } catch (RuntimeException e) {
+                log.error("Inventory lease heartbeat failed for SKU: {}, will retry: {}", lease.sku, e.getMessage());
+            }
+        }
+        try {
+            sweepExpired();
+        } catch (RuntimeException e) {
+            log.error("Expired inventory lease sweep failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    //Kapanışta bu node'un tüm kiralarını iade et (devam eden transaction'ların payı kira süresi dolunca geri alınır)
+    @PreDestroy
+    public void returnAll() {
+        for (NodeLease lease : leases.values()) {
+            try {
+                settle(lease, true);
+            } catch (RuntimeException e) {
+                log.warn("Inventory lease for SKU: {} could not be returned, it will expire: {}", lease.sku, e.getMessage());
+            }
+        }
+    }
+
+    //Süresi dolan kiraları (çökmüş/kapanmış node'lar) geri al - bir node'da bir anda tek kira, inventory satırı önce kilitlenir
+    public int sweepExpired() {
+        List<Map<String, Object>> expired = jdbcTemplate.queryForList(SELECT_EXPIRED_SQL,
+                new MapSqlParameterSource("limit", SWEEP_LIMIT));
+        int reclaimed = 0;
+        for (Map<String, Object> row : expired) {
+            String leaseNode = (String) row.get("node_id");
+            String sku = (String) row.get("product_sku");
+            Integer units = transactionTemplate.execute(status -> reclaim(leaseNode, sku));
+            reclaimed += units != null ? units : 0;
+        }
+        return reclaimed;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reloadLeaseSizes() {
+        Map<String, Integer> sizes = new HashMap<>();
+        jdbcTemplate.query(SELECT_LEASE_SIZES_SQL, Map.of(), rs -> {
+            sizes.put(rs.getString("product_sku"), rs.getInt("lease_size"));
+        });
+        leaseSizes = Map.copyOf(sizes);
+    }
+
+    //Süresi dolan kirayı geri al: iade = min(kiradaki kalan, reserved - (sepet rezervasyonları + diğer kiralar))
+    //Kalan değeri gerçekten fazla olabileceği için üst sınır olarak kullanılır; fazla satış yerine eksik iade tercih edilir
+    private Integer reclaim(String leaseNode, String sku) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("nodeId", leaseNode)
+                .addValue("sku", sku);
+        List<LockedInventory> inventory = jdbcTemplate.query(LOCK_INVENTORY_SQL, params, (rs, rowNum) ->
+                new LockedInventory(rs.getObject("product_id", UUID.class), rs.getInt("reserved")));
+        List<Integer> remaining = jdbcTemplate.queryForList(LOCK_EXPIRED_LEASE_SQL, params, Integer.class);
+        if (remaining.isEmpty()) {
+            return 0;
+        }
+        int units = 0;
+        if (!inventory.isEmpty()) {
+            int held = jdbcTemplate.queryForObject(SELECT_HELD_SQL, params, Integer.class);
+            units = Math.max(0, Math.min(remaining.get(0), inventory.get(0).reserved() - held));
+            if (units > 0) {
+                jdbcTemplate.update(RETURN_SQL, new MapSqlParameterSource()
+                        .addValue("sku", sku)
+                        .addValue("quantity", units));
+                eventPublisher.publishEvent(ProductChangedEvent.of(ChangeType.STOCK_CHANGED, inventory.get(0).productId(), sku));
+            }
+        }
+        jdbcTemplate.update(DELETE_LEASE_SQL, params);
+        log.warn("Expired inventory lease reclaimed - node: {}, SKU: {}, remaining: {}, returned: {}",
+                leaseNode, sku, remaining.get(0), units);
+        return units;
+    }
+
+    //Kirayı satıra yansıt: commit edilmiş dağıtımlar düşülür; closing ise kalan birimler stoğa iade edilir ve kira kapanır
+    //null: kira başka bir node tarafından geri alınmış
+    private Settlement settle(NodeLease lease, boolean closing) {
+        long start = System.nanoTime();
+        int returned = 0;
+        if (closing) {
+            //Önce kapat: bundan sonra biten rezervasyonlar sayaçları kendileri boşaltır (registerServed)
+            lease.closed = true;
+            leases.remove(lease.sku, lease);
+        }
+        int served = lease.served.getAndSet(0);
+        if (closing) {
+            returned = lease.available.getAndSet(0);
+        }
+        Settlement settlement;
+        try {
+            settlement = write(lease, served, returned, closing);
+        } catch (RuntimeException e) {
+            //Kapanmayan kirada dağıtımlar sonraki heartbeat'te yazılır; kapanan kira süresi dolunca geri alınır
+            if (!closing) {
+                lease.served.addAndGet(served);
+            }
+            throw e;
+        }
+
+        if (settlement == null) {
+            //Kira süresi dolduğu için başka bir node tarafından geri alınmış - yerel birimler artık bu node'un değil
+            revoke(lease);
+            log.warn("Inventory lease for SKU: {} was reclaimed, dropping local units", lease.sku);
+        } else if (closing) {
+            log.info("Inventory lease returned for SKU: {} - returned: {}, in flight: {}",
+                    lease.sku, returned, settlement.remaining());
+        } else {
+            lease.validUntil = start + localValidityNanos;
+        }
+        return settlement;
+    }
+
+    //Dağıtılan (served) ve iade edilen (returned) birimleri kira satırına, iadeyi inventory satırına yaz
+    //Kapanan kira satırı, devam eden rezervasyon kalmadığında (remaining = 0) silinir
+    private Settlement write(NodeLease lease, int served, int returned, boolean closing) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("nodeId", nodeId)
+                .addValue("sku", lease.sku)
+                .addValue("settled", served + returned)
+                .addValue("ttl", ttlSeconds)
+                .addValue("quantity", returned);
+        return settleTemplate.execute(status -> {
+            if (returned > 0) {
+                jdbcTemplate.query(LOCK_INVENTORY_SQL, params, rs -> { });
+            }
+            List<Settlement> rows = jdbcTemplate.query(SETTLE_SQL, params, (rs, rowNum) ->
+                    new Settlement(rs.getInt("remaining"), rs.getInt("stock")));
+            if (rows.isEmpty()) {
+                return null;
+            }
+            if (returned > 0) {
+                if (jdbcTemplate.update(RETURN_SQL, params) == 0) {
+                    throw new IllegalStateException("Leased units are not reserved for SKU: " + lease.sku);
+                }
+                eventPublisher.publishEvent(ProductChangedEvent.of(ChangeType.STOCK_CHANGED, lease.productId, lease.sku));
+            }
+            if (closing) {
+                jdbcTemplate.update(DELETE_EMPTY_LEASE_SQL, params);
+            }
+            return rows.get(0);
+        });
+    }
+
+    //Kapanmış kirada geç biten rezervasyonlar: sayaçlarda kalanı (bu ve aynı anda biten diğerlerinin payı) hemen yaz.
+    //getAndSet her birimi tek bir yazıcıya verir - settle'ın kapanışta aldığı birimler burada tekrar yazılmaz
+    private void drainClosed(NodeLease lease) {
+        int served = lease.served.getAndSet(0);
+        int returned = lease.available.getAndSet(0);
+        if (served + returned == 0) {
+            return;
+        }
+        try {
+            if (write(lease, served, returned, true) == null) {
+                log.debug("Inventory lease for SKU: {} was reclaimed, late units are already accounted for", lease.sku);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Late inventory lease settlement failed for SKU: {}, it will expire: {}", lease.sku, e.getMessage());
+        }
+    }
+
+    private void revoke(NodeLease lease) {
+        lease.revoked = true;
+        lease.closed = true;
+        lease.available.set(0);
+        leases.remove(lease.sku, lease);
+    }
+
+    //Kiradan karşılanan rezervasyon: commit olursa heartbeat'te satırdan düşülür, rollback olursa birimler sayaca döner
+    //Kira bu arada kapandıysa (iade/kapanış) hemen yazılır; geri alınmışsa birimler geri alan node'un hesabındadır
+    private void registerServed(NodeLease lease, int quantity) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (lease.revoked) {
+                    return;
+                }
+                if (status == STATUS_COMMITTED) {
+                    lease.served.addAndGet(quantity);
+                } else {
+                    lease.available.addAndGet(quantity);
+                }
+                if (lease.closed) {
+                    drainClosed(lease);
+                }
+            }
+        });
+    }
+
+    //Yeni blok: commit olursa istenen dışındaki birimler sayaca eklenir; rollback'te kira da geri alınmış olur
+    private void registerRefill(NodeLease lease, Grant grant, int quantity, long start) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED && !lease.revoked) {
+                        lease.productId = grant.productId();
+                        lease.available.addAndGet(grant.granted() - quantity);
+                        lease.served.addAndGet(quantity);
+                        lease.validUntil = start + localValidityNanos;
+                        lease.lastUsed = start;
+                        if (lease.closed) {
+                            drainClosed(lease);
+                        }
+                    }
+                } finally {
+                    lease.refilling.set(false);
+                }
+            }
+        });
+    }
+
+    private synchronized void updateLeaseSize(String sku, Integer leaseSize) {
+        Map<String, Integer> updated = new HashMap<>(leaseSizes);
+        if (leaseSize != null) {
+            updated.put(sku, leaseSize);
+        } else {
+            updated.remove(sku);
+        }
+        leaseSizes = Map.copyOf(updated);
+    }
+
+    private void saveAudit(User actorUser, UUID productId, String summary, Map<String, Object> details) {
+        AuditLog auditLog = auditLogService.logInventoryAction(
+            actorUser,
+            AuditLogService.ACTION_INVENTORY_UPDATED,
+            productId,
+            summary,
+            details
+        );
+        auditLogRepository.save(auditLog);
+    }
+
+    //Bu node'un bir SKU'daki kirası - available: dağıtılabilir birimler, served: commit edilmiş ama satıra yazılmamış dağıtımlar
+    private static final class NodeLease {
+        private final String sku;
+        private final AtomicInteger available = new AtomicInteger();
+        private final AtomicInteger served = new AtomicInteger();
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private volatile UUID productId;
+        private volatile long validUntil;
+        private volatile long lastUsed;
+        private volatile boolean closed;
+        private volatile boolean revoked;
+
+        private NodeLease(String sku) {
+            this.sku = sku;
+            this.validUntil = System.nanoTime();
+            this.lastUsed = this.validUntil;
+        }
+    }
+
+    //Kiradan karşılanan rezervasyon - refilled: bu rezervasyon için inventory satırından yeni blok alındı
+    public record LeaseReservation(UUID productId, boolean refilled) {
+    }
+
+    private record Grant(UUID productId, int granted) {
+    }
+
+    //Kira yazımının sonucu - remaining: kirada kalan (kapanışta devam eden rezervasyonlar), stock: kiralanmamış stok
+    private record Settlement(int remaining, int stock) {
+    }
+
+    private record LockedInventory(UUID productId, int reserved) {
+    }
+}
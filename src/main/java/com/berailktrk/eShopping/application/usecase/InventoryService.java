@@ -1,37 +1,158 @@
 package com.berailktrk.eShopping.application.usecase;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.berailktrk.eShopping.application.event.ProductChangedEvent;
+import com.berailktrk.eShopping.application.event.ProductChangedEvent.ChangeType;
+import com.berailktrk.eShopping.application.usecase.InventoryShardService.ShardOperation;
+import com.berailktrk.eShopping.application.usecase.InventoryShardService.ShardOutcome;
+import com.berailktrk.eShopping.application.usecase.InventoryShardService.ShardResult;
 import com.berailktrk.eShopping.domain.model.AuditLog;
 import com.berailktrk.eShopping.domain.model.Inventory;
 import com.berailktrk.eShopping.domain.model.Product;
+import com.berailktrk.eShopping.domain.model.StockLevel;
 import com.berailktrk.eShopping.domain.model.User;
+import com.berailktrk.eShopping.domain.model.VersionSummary;
 import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
 import com.berailktrk.eShopping.domain.repository.InventoryRepository;
 import com.berailktrk.eShopping.domain.repository.ProductRepository;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 //Inventory service - stok yönetimi, rezervasyon ve concurrency kontrolü
 //Transactional işlemler, optimistic/pessimistic locking
+//Rezervasyon modu inventory.reservation.mode ile seçilir:
+//LOCKING: satır FOR UPDATE ile okunur, sonra version kontrollü UPDATE (iki round trip, kilit kontrol boyunca tutulur)
+//CONDITIONAL: tek koşullu UPDATE ... WHERE quantity >= :quantity RETURNING - kilit sadece UPDATE'in kendi satır kilidi
+//Parçalı (shard_count dolu) SKU'larda her iki mod da InventoryShardService'e devreder; inventory satırına yazan
+//ifadeler shard_count IS NULL koşulu taşır, böylece parçalı stok özet satırı üzerinden değiştirilemez.
+//Kiralama açık SKU'larda rezervasyon önce bu node'un kirasından (InventoryLeaseService) karşılanır
 @Service
-@RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class InventoryService {
 
+    public static final String RESERVATION_MODE_LOCKING = "LOCKING";
+    public static final String RESERVATION_MODE_CONDITIONAL = "CONDITIONAL";
+
+    //Stok yeterliyse azaltır ve rezerve eder; satır dönmezse kayıt yok ya da stok yetersiz
+    //Version predicate'i yok (koşul quantity üzerinde), ETag'ler için version yine artırılır
+    private static final String RESERVE_CONDITIONAL_SQL =
+            "UPDATE inventory SET quantity = quantity - :quantity, reserved = reserved + :quantity, " +
+            "version = version + 1 " +
+            "WHERE product_sku = :sku AND quantity >= :quantity AND shard_count IS NULL " +
+            "RETURNING product_id, quantity, reserved";
+
+    //Toplu rezervasyon/onay: satırlar SKU sırasıyla kilitlenir (ters sıralı sepetler kilitlenmeye girmez),
+    //tüm satırlar yeterliyse hepsi güncellenir, biri bile yetersizse hiçbiri güncellenmez.
+    //Sonuç her istenen SKU için mevcut miktar (kayıt yoksa null) ve uygulanıp uygulanmadığıdır.
+    //Parçalı SKU'lar önceden parçalara uygulanır; :apply false ise (parça tarafı yetmedi) sadece eksikler hesaplanır
+    private static final String RESERVE_BATCH_SQL =
+            "WITH v(sku, quantity) AS (VALUES :rows), " +
+            "locked AS (" +
+            "SELECT i.product_id, i.product_sku, i.quantity AS available FROM inventory i " +
+            "JOIN v ON v.sku = i.product_sku WHERE i.shard_count IS NULL ORDER BY i.product_sku FOR UPDATE OF i" +
+            "), " +
+            "verdict AS (" +
+            "SELECT COUNT(locked.product_id) = COUNT(*) AND COALESCE(BOOL_AND(locked.available >= v.quantity), false) AS ok " +
+            "FROM v LEFT JOIN locked ON locked.product_sku = v.sku" +
+            "), " +
+            "changed AS (" +
+            "UPDATE inventory i SET quantity = i.quantity - v.quantity, reserved = i.reserved + v.quantity, " +
+            "version = i.version + 1 " +
+            "FROM locked JOIN v ON v.sku = locked.product_sku " +
+            "WHERE i.product_id = locked.product_id AND (SELECT ok FROM verdict) AND :apply " +
+            "RETURNING i.product_id" +
+            ") " +
+            "SELECT v.sku, v.quantity AS requested, locked.product_id, locked.available, " +
+            "(changed.product_id IS NOT NULL) AS applied " +
+            "FROM v LEFT JOIN locked ON locked.product_sku = v.sku " +
+            "LEFT JOIN changed ON changed.product_id = locked.product_id";
+
+    private static final String CONFIRM_BATCH_SQL =
+            "WITH v(sku, quantity) AS (VALUES :rows), " +
+            "locked AS (" +
+            "SELECT i.product_id, i.product_sku, i.reserved AS available FROM inventory i " +
+            "JOIN v ON v.sku = i.product_sku WHERE i.shard_count IS NULL ORDER BY i.product_sku FOR UPDATE OF i" +
+            "), " +
+            "verdict AS (" +
+            "SELECT COUNT(locked.product_id) = COUNT(*) AND COALESCE(BOOL_AND(locked.available >= v.quantity), false) AS ok " +
+            "FROM v LEFT JOIN locked ON locked.product_sku = v.sku" +
+            "), " +
+            "changed AS (" +
+            "UPDATE inventory i SET reserved = i.reserved - v.quantity, version = i.version + 1 " +
+            "FROM locked JOIN v ON v.sku = locked.product_sku " +
+            "WHERE i.product_id = locked.product_id AND (SELECT ok FROM verdict) AND :apply " +
+            "RETURNING i.product_id" +
+            ") " +
+            "SELECT v.sku, v.quantity AS requested, locked.product_id, locked.available, " +
+            "(changed.product_id IS NOT NULL) AS applied " +
+            "FROM v LEFT JOIN locked ON locked.product_sku = v.sku " +
+            "LEFT JOIN changed ON changed.product_id = locked.product_id";
+
+    //Toplu rezervasyon bırakma (süresi dolan/iptal edilen sepetler): satırlar SKU sırasıyla kilitlenir,
+    //her SKU için en fazla mevcut reserved kadar stoğa geri eklenir
+    private static final String RELEASE_BATCH_SQL =
+            "WITH v(sku, quantity) AS (VALUES :rows), " +
+            "locked AS (" +
+            "SELECT i.product_id, i.product_sku FROM inventory i " +
+            "JOIN v ON v.sku = i.product_sku WHERE i.shard_count IS NULL ORDER BY i.product_sku FOR UPDATE OF i" +
+            ") " +
+            "UPDATE inventory i SET quantity = i.quantity + LEAST(i.reserved, v.quantity), " +
+            "reserved = i.reserved - LEAST(i.reserved, v.quantity), version = i.version + 1 " +
+            "FROM locked JOIN v ON v.sku = locked.product_sku " +
+            "WHERE i.product_id = locked.product_id AND i.reserved > 0 " +
+            "RETURNING i.product_id, i.product_sku";
+
     private final InventoryRepository inventoryRepository;
     private final ProductRepository productRepository;
     private final AuditLogService auditLogService;
     private final AuditLogRepository auditLogRepository;
-
+    private final ApplicationEventPublisher eventPublisher;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final InventoryShardService inventoryShardService;
+    private final InventoryLeaseService inventoryLeaseService;
+    private final String reservationMode;
+
+    public InventoryService(
+            InventoryRepository inventoryRepository,
+            ProductRepository productRepository,
+            AuditLogService auditLogService,
+            AuditLogRepository auditLogRepository,
+            ApplicationEventPublisher eventPublisher,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            InventoryShardService inventoryShardService,
+            InventoryLeaseService inventoryLeaseService,
+            @Value("${inventory.reservation.mode:LOCKING}") String reservationMode) {
+        this.inventoryRepository = inventoryRepository;
+        this.productRepository = productRepository;
+        this.auditLogService = auditLogService;
+        this.auditLogRepository = auditLogRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.inventoryShardService = inventoryShardService;
+        this.inventoryLeaseService = inventoryLeaseService;
+        this.reservationMode = reservationMode.trim().toUpperCase();
+        if (!RESERVATION_MODE_LOCKING.equals(this.reservationMode)
+                && !RESERVATION_MODE_CONDITIONAL.equals(this.reservationMode)) {
+            throw new IllegalArgumentException("Unknown inventory.reservation.mode: " + reservationMode);
+        }
+    }
 
     //Düşük stoklu ürünleri getir
     @Transactional(readOnly = true)
@@ -69,7 +190,9 @@ public class InventoryService {
                 .reserved(0)
                 .build();
 
-        return inventoryRepository.save(inventory);
+        Inventory savedInventory = inventoryRepository.save(inventory);
+        publishStockChanged(product.getId(), sku);
+        return savedInventory;
     }
 
     //Stok miktarını artır veya azalt (pozitif: artır, negatif: azalt)
@@ -82,6 +205,9 @@ public class InventoryService {
 
         //SKU'nun var olup olmadığını ve mevcut stok kontrolü
         Inventory currentInventory = getInventoryBySku(sku);
+        if (currentInventory.getShardCount() != null) {
+            return adjustShardedStock(currentInventory, delta, actorUser);
+        }
         
         //BEFORE değerleri
         Map<String, Object> beforeValues = new HashMap<>();
@@ -126,7 +252,46 @@ public class InventoryService {
             details
         );
         auditLogRepository.save(inventoryLog);
-        
+
+        publishStockChanged(updatedInventory.getProductId(), sku);
+        return updatedInventory;
+    }
+
+    //Parçalı stok ayarı - parçalara uygulanır, özet satır hemen yenilenir
+    private Inventory adjustShardedStock(Inventory currentInventory, Integer delta, User actorUser) {
+        String sku = currentInventory.getProductSku();
+        ShardResult result = delta > 0
+                ? inventoryShardService.apply(ShardOperation.ADD, sku, delta, currentInventory.getShardCount(), false)
+                : inventoryShardService.apply(ShardOperation.REMOVE, sku, -delta, currentInventory.getShardCount(), false);
+        if (result.outcome() == ShardOutcome.INSUFFICIENT) {
+            throw new IllegalArgumentException(
+                String.format("Insufficient stock. Current: %d, Requested delta: %d", result.available(), delta));
+        }
+        if (result.outcome() == ShardOutcome.NOT_SHARDED) {
+            throw new IllegalStateException("Failed to adjust stock for SKU: " + sku);
+        }
+        inventoryShardService.refreshSummary(sku);
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("delta", delta);
+        details.put("sku", sku);
+        details.put("sharded", true);
+        details.put("after_quantity", inventoryShardService.getAvailableStock(sku));
+        details.put("reason", delta > 0 ? "Stok artırıldı" : "Stok azaltıldı");
+
+        AuditLog inventoryLog = auditLogService.logInventoryAction(
+            actorUser,
+            AuditLogService.ACTION_INVENTORY_UPDATED,
+            currentInventory.getProductId(),
+            String.format("Stok ayarlandı: %s, Delta: %d", sku, delta),
+            details
+        );
+        auditLogRepository.save(inventoryLog);
+
+        inventoryRepository.flush();
+        Inventory updatedInventory = inventoryRepository.findByProductSku(sku)
+                .orElseThrow(() -> new IllegalStateException("Inventory not found after update: " + sku));
+        publishStockChanged(updatedInventory.getProductId(), sku);
         return updatedInventory;
     }
 
@@ -139,6 +304,45 @@ public class InventoryService {
             throw new IllegalArgumentException("Quantity must be positive");
         }
 
+        //Kiralama açıksa bu node'un kirasından (blok bittiyse aynı transaction'da yeni blok kiralanır)
+        InventoryLeaseService.LeaseReservation leased = inventoryLeaseService.tryReserve(sku, quantity);
+        if (leased != null) {
+            Map<String, Object> details = new HashMap<>();
+            details.put("sku", sku);
+            details.put("reserved_quantity", quantity);
+            details.put("leased", true);
+            details.put("node_id", inventoryLeaseService.getNodeId());
+            details.put("reason", "Stok rezerve edildi");
+
+            AuditLog reserveLog = auditLogService.logInventoryAction(
+                actorUser,
+                AuditLogService.ACTION_INVENTORY_STOCK_RESERVED,
+                leased.productId(),
+                String.format("Stok rezerve edildi: %s, Miktar: %d", sku, quantity),
+                details
+            );
+            auditLogRepository.save(reserveLog);
+
+            if (leased.refilled()) {
+                publishStockChanged(leased.productId(), sku);
+            }
+            log.info("Successfully reserved {} units for SKU: {} (leased)", quantity, sku);
+            return true;
+        }
+
+        //Parçalı olduğu bilinen SKU'lar doğrudan parça yoluna gider (inventory satırına hiç dokunulmaz)
+        Integer shardCount = inventoryShardService.shardCountHint(sku);
+        if (shardCount != null) {
+            Boolean reserved = reserveShardedStock(sku, quantity, shardCount, actorUser);
+            if (reserved != null) {
+                return reserved;
+            }
+        }
+
+        if (RESERVATION_MODE_CONDITIONAL.equals(reservationMode)) {
+            return reserveStockConditional(sku, quantity, actorUser);
+        }
+
         //Pessimistic lock ile stok kaydını getir
         Optional<Inventory> inventoryOpt = inventoryRepository.findByProductSkuWithLock(sku);
         if (inventoryOpt.isEmpty()) {
@@ -146,6 +350,10 @@ public class InventoryService {
         }
 
         Inventory inventory = inventoryOpt.get();
+        if (inventory.getShardCount() != null) {
+            //Satır kilidi tutulduğu sürece parçalar birleştirilemez
+            return reserveShardedStock(sku, quantity, inventory.getShardCount(), actorUser);
+        }
         
         //BEFORE değerleri
         Map<String, Object> beforeValues = new HashMap<>();
@@ -222,16 +430,146 @@ public class InventoryService {
         );
         auditLogRepository.save(reserveLog);
 
+        publishStockChanged(inventory.getProductId(), sku);
+        log.info("Successfully reserved {} units for SKU: {}", quantity, sku);
+        return true;
+    }
+
+    //Tek koşullu UPDATE ile rezervasyon - önceden okuma ve pessimistic lock yok
+    private boolean reserveStockConditional(String sku, Integer quantity, User actorUser) {
+        List<ReservedStock> reserved = jdbcTemplate.query(RESERVE_CONDITIONAL_SQL,
+                new MapSqlParameterSource()
+                        .addValue("sku", sku)
+                        .addValue("quantity", quantity),
+                (rs, rowNum) -> new ReservedStock(
+                        rs.getObject("product_id", UUID.class),
+                        rs.getInt("quantity"),
+                        rs.getInt("reserved")));
+
+        if (reserved.isEmpty()) {
+            //Kayıt yok ya da stok yetersiz - mevcut değerler sadece başarısız yolda okunur
+            Inventory inventory = inventoryRepository.findByProductSku(sku)
+                    .orElseThrow(() -> new IllegalArgumentException("Inventory not found for SKU: " + sku));
+            if (inventory.getShardCount() != null) {
+                //İpucu henüz güncellenmemiş parçalı SKU; parçalar bu arada birleştiyse tek satır yolu tekrar denenir
+                Boolean sharded = reserveShardedStock(sku, quantity, inventory.getShardCount(), actorUser);
+                return sharded != null ? sharded : reserveStockConditional(sku, quantity, actorUser);
+            }
+            log.warn("Insufficient stock for SKU: {} requested: {} available: {}",
+                    sku, quantity, inventory.getQuantity());
+
+            Map<String, Object> beforeValues = new HashMap<>();
+            beforeValues.put("quantity", inventory.getQuantity());
+            beforeValues.put("reserved", inventory.getReserved());
+
+            Map<String, Object> details = new HashMap<>();
+            details.put("before", beforeValues);
+            details.put("requested_quantity", quantity);
+            details.put("sku", sku);
+            details.put("reason", "Yetersiz stok");
+
+            AuditLog failLog = auditLogService.logInventoryAction(
+                actorUser,
+                "INVENTORY_RESERVATION_FAILED",
+                inventory.getProductId(),
+                String.format("Stok rezervasyonu başarısız: %s, İstenen: %d, Mevcut: %d",
+                    sku, quantity, inventory.getQuantity()),
+                details
+            );
+            auditLogRepository.save(failLog);
+            return false;
+        }
+
+        //BEFORE değerleri RETURNING sonucundan türetilir
+        ReservedStock after = reserved.get(0);
+        Map<String, Object> beforeValues = new HashMap<>();
+        beforeValues.put("quantity", after.quantity() + quantity);
+        beforeValues.put("reserved", after.reserved() - quantity);
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("before", beforeValues);
+        details.put("reserved_quantity", quantity);
+        details.put("sku", sku);
+        details.put("reason", "Stok rezerve edildi");
+
+        AuditLog reserveLog = auditLogService.logInventoryAction(
+            actorUser,
+            AuditLogService.ACTION_INVENTORY_STOCK_RESERVED,
+            after.productId(),
+            String.format("Stok rezerve edildi: %s, Miktar: %d", sku, quantity),
+            details
+        );
+        auditLogRepository.save(reserveLog);
+
+        publishStockChanged(after.productId(), sku);
         log.info("Successfully reserved {} units for SKU: {}", quantity, sku);
         return true;
     }
 
+    //Parçalı stok rezervasyonu - parçalar yoksa (birleştirilmiş) null döner ve tek satır yolu kullanılır
+    //Özet satır ve product cache bakım görevinde yenilenir, burada event yayınlanmaz
+    private Boolean reserveShardedStock(String sku, Integer quantity, int shardCount, User actorUser) {
+        ShardResult result = inventoryShardService.apply(ShardOperation.RESERVE, sku, quantity, shardCount, false);
+        if (result.outcome() == ShardOutcome.NOT_SHARDED) {
+            return null;
+        }
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("sku", sku);
+        details.put("sharded", true);
+        if (result.outcome() == ShardOutcome.INSUFFICIENT) {
+            log.warn("Insufficient stock for SKU: {} requested: {} available: {}",
+                    sku, quantity, result.available());
+            details.put("requested_quantity", quantity);
+            details.put("available_quantity", result.available());
+            details.put("reason", "Yetersiz stok");
+
+            AuditLog failLog = auditLogService.logInventoryAction(
+                actorUser,
+                "INVENTORY_RESERVATION_FAILED",
+                result.productId(),
+                String.format("Stok rezervasyonu başarısız: %s, İstenen: %d, Mevcut: %d",
+                    sku, quantity, result.available()),
+                details
+            );
+            auditLogRepository.save(failLog);
+            return false;
+        }
+
+        details.put("reserved_quantity", quantity);
+        details.put("shards", result.deltas().size());
+        details.put("reason", "Stok rezerve edildi");
+
+        AuditLog reserveLog = auditLogService.logInventoryAction(
+            actorUser,
+            AuditLogService.ACTION_INVENTORY_STOCK_RESERVED,
+            result.productId(),
+            String.format("Stok rezerve edildi: %s, Miktar: %d", sku, quantity),
+            details
+        );
+        auditLogRepository.save(reserveLog);
+        log.info("Successfully reserved {} units for SKU: {} (sharded)", quantity, sku);
+        return true;
+    }
+
     //Rezervasyonu onayla
     @Transactional
     public boolean confirmReservation(String sku, Integer quantity) {
         log.info("Confirming reservation for SKU: {} quantity: {}", sku, quantity);
         
         Inventory inventory = getInventoryBySku(sku);
+        if (inventory.getShardCount() != null) {
+            ShardResult result = inventoryShardService.apply(
+                    ShardOperation.CONFIRM, sku, quantity, inventory.getShardCount(), false);
+            if (result.outcome() == ShardOutcome.INSUFFICIENT) {
+                throw new IllegalArgumentException("Insufficient reserved stock for SKU: " + sku);
+            }
+            if (result.outcome() == ShardOutcome.APPLIED) {
+                log.info("Successfully confirmed reservation for SKU: {} quantity: {} (sharded)", sku, quantity);
+                return true;
+            }
+            throw new IllegalStateException("Failed to confirm reservation for SKU: " + sku);
+        }
         
         if (inventory.getReserved() < quantity) {
             throw new IllegalArgumentException("Insufficient reserved stock for SKU: " + sku);
@@ -247,6 +585,7 @@ public class InventoryService {
             throw new IllegalStateException("Failed to confirm reservation for SKU: " + sku);
         }
 
+        publishStockChanged(inventory.getProductId(), sku);
         log.info("Successfully confirmed reservation for SKU: {} quantity: {}", sku, quantity);
         return true;
     }
@@ -261,6 +600,21 @@ public class InventoryService {
         for (int attempt = 1; attempt <= maxRetries; attempt++) {
             try {
                 Inventory inventory = getInventoryBySku(sku);
+                if (inventory.getShardCount() != null) {
+                    ShardResult result = inventoryShardService.apply(
+                            ShardOperation.RELEASE, sku, quantity, inventory.getShardCount(), false);
+                    if (result.outcome() == ShardOutcome.APPLIED) {
+                        log.info("Successfully cancelled reservation for SKU: {} quantity: {} (sharded)", sku, quantity);
+                        return true;
+                    }
+                    if (result.outcome() == ShardOutcome.INSUFFICIENT) {
+                        log.warn("Insufficient reserved stock for SKU: {} requested: {} reserved: {}",
+                                sku, quantity, result.available());
+                        return false;
+                    }
+                    //Parçalar birleştirildi - tekrar dene
+                    continue;
+                }
                 
                 if (inventory.getReserved() < quantity) {
                     log.warn("Insufficient reserved stock for SKU: {} requested: {} reserved: {}", 
@@ -275,6 +629,7 @@ public class InventoryService {
                 );
 
                 if (updatedRows > 0) {
+                    publishStockChanged(inventory.getProductId(), sku);
                     log.info("Successfully cancelled reservation for SKU: {} quantity: {} (attempt {})", 
                             sku, quantity, attempt);
                     return true;
@@ -295,6 +650,121 @@ public class InventoryService {
         throw new IllegalStateException("Failed to cancel reservation for SKU: " + sku + " after " + maxRetries + " attempts");
     }
 
+    //Toplu stok rezervasyonu (SKU -> miktar) - hepsi rezerve edilir ya da hiçbiri; yetersiz SKU'lar eksik miktarlarıyla döner
+    //stock_reservations ledger'ı yazılmaz: kayıt sepet kalemine bağlıdır, çağıran (CartService.addItemsToCart) ledger'ı
+    //bu çağrıdan önce aynı transaction'da yazar ve yetersiz sonuçta transaction'ı geri alır
+    public StockBatchResult reserveStockBatch(Map<String, Integer> quantities, User actorUser) {
+        log.info("Reserving stock for {} SKUs in batch", quantities.size());
+
+        List<BatchLine> lines = applyBatch(RESERVE_BATCH_SQL, ShardOperation.RESERVE, quantities);
+        StockBatchResult result = toResult(lines);
+
+        List<AuditLog> auditLogs = new ArrayList<>();
+        for (BatchLine line : lines) {
+            if (line.productId() == null) {
+                continue;
+            }
+            Map<String, Object> details = new HashMap<>();
+            details.put("sku", line.sku());
+            details.put("batch_size", lines.size());
+            if (result.applied()) {
+                if (line.sharded()) {
+                    details.put("sharded", true);
+                } else {
+                    Map<String, Object> beforeValues = new HashMap<>();
+                    beforeValues.put("quantity", line.available());
+                    details.put("before", beforeValues);
+                }
+                details.put("reserved_quantity", line.requested());
+                details.put("reason", "Stok rezerve edildi (toplu)");
+                auditLogs.add(auditLogService.logInventoryAction(
+                    actorUser,
+                    AuditLogService.ACTION_INVENTORY_STOCK_RESERVED,
+                    line.productId(),
+                    String.format("Stok rezerve edildi: %s, Miktar: %d", line.sku(), line.requested()),
+                    details
+                ));
+            } else if (result.shortfalls().containsKey(line.sku())) {
+                details.put("requested_quantity", line.requested());
+                details.put("available_quantity", line.available());
+                details.put("reason", "Yetersiz stok (toplu)");
+                auditLogs.add(auditLogService.logInventoryAction(
+                    actorUser,
+                    "INVENTORY_RESERVATION_FAILED",
+                    line.productId(),
+                    String.format("Stok rezervasyonu başarısız: %s, İstenen: %d, Mevcut: %d",
+                        line.sku(), line.requested(), line.available()),
+                    details
+                ));
+            }
+        }
+        auditLogRepository.saveAll(auditLogs);
+
+        if (result.applied()) {
+            publishStockChanged(lines);
+            log.info("Successfully reserved stock for {} SKUs in batch", lines.size());
+        } else {
+            log.warn("Batch stock reservation failed, shortfalls: {}", result.shortfalls());
+        }
+        return result;
+    }
+
+    //Toplu rezervasyon onayı (checkout) - hepsi onaylanır ya da hiçbiri; rezervi yetersiz SKU'lar eksik miktarlarıyla döner
+    public StockBatchResult confirmReservationBatch(Map<String, Integer> quantities) {
+        log.info("Confirming reservations for {} SKUs in batch", quantities.size());
+
+        List<BatchLine> lines = applyBatch(CONFIRM_BATCH_SQL, ShardOperation.CONFIRM, quantities);
+        StockBatchResult result = toResult(lines);
+
+        if (result.applied()) {
+            publishStockChanged(lines);
+            log.info("Successfully confirmed reservations for {} SKUs in batch", lines.size());
+        } else {
+            log.warn("Batch reservation confirmation failed, shortfalls: {}", result.shortfalls());
+        }
+        return result;
+    }
+
+    //Toplu rezervasyon bırakma (SKU -> miktar) - reserved'dan fazlası bırakılmaz, stoğu değişen SKU sayısını döner
+    public int releaseReservationBatch(Map<String, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return 0;
+        }
+        TreeMap<String, Integer> remaining = new TreeMap<>(quantities);
+
+        //Parçalı SKU'lar: en fazla parçalardaki reserved kadar bırakılır
+        int released = 0;
+        for (Map.Entry<String, Integer> entry : inventoryShardService.findShardedSkus(remaining.keySet()).entrySet()) {
+            ShardResult result = inventoryShardService.apply(ShardOperation.RELEASE,
+                    entry.getKey(), remaining.get(entry.getKey()), entry.getValue(), true);
+            if (result.outcome() != ShardOutcome.NOT_SHARDED) {
+                remaining.remove(entry.getKey());
+                if (result.applied() > 0) {
+                    released++;
+                }
+            }
+        }
+
+        List<UUID> productIds = new ArrayList<>();
+        List<String> skus = new ArrayList<>();
+        if (!remaining.isEmpty()) {
+            List<Object[]> rows = remaining.entrySet().stream()
+                    .map(entry -> new Object[] { entry.getKey(), entry.getValue() })
+                    .toList();
+            jdbcTemplate.query(RELEASE_BATCH_SQL, new MapSqlParameterSource("rows", rows), rs -> {
+                productIds.add(rs.getObject("product_id", UUID.class));
+                skus.add(rs.getString("product_sku"));
+            });
+        }
+
+        if (!productIds.isEmpty()) {
+            eventPublisher.publishEvent(ProductChangedEvent.ofAll(ChangeType.STOCK_CHANGED, productIds, skus));
+        }
+        released += productIds.size();
+        log.info("Released reservations for {} SKUs in batch", released);
+        return released;
+    }
+
     //Stok bilgilerini getir
     @Transactional(readOnly = true)
     public Inventory getInventoryBySku(String sku) {
@@ -302,26 +772,153 @@ public class InventoryService {
                 .orElseThrow(() -> new IllegalArgumentException("Inventory not found for SKU: " + sku));
     }
 
+    //Stok kaydının sürüm özeti (ETag için) - kayıt yoksa count = 0
+    @Transactional(readOnly = true)
+    public VersionSummary getInventoryVersionBySku(String sku) {
+        return inventoryRepository.findVersionSummaryBySku(sku);
+    }
+
     //Stok durumunu kontrol et
     @Transactional(readOnly = true)
     public boolean isStockAvailable(String sku, Integer requestedQuantity) {
-        Optional<Inventory> inventoryOpt = inventoryRepository.findByProductSku(sku);
-        if (inventoryOpt.isEmpty()) {
+        Optional<StockLevel> stockOpt = inventoryRepository.findStockLevelBySku(sku);
+        if (stockOpt.isEmpty()) {
             return false;
         }
 
-        Inventory inventory = inventoryOpt.get();
-        return inventory.getQuantity() >= requestedQuantity;
+        StockLevel stock = stockOpt.get();
+        if (stock.getShardCount() != null) {
+            Integer sharded = inventoryShardService.getAvailableStock(sku);
+            return (sharded != null ? sharded : stock.getQuantity()) >= requestedQuantity;
+        }
+        return stock.getQuantity() + inventoryLeaseService.getLeasedStock(sku) >= requestedQuantity;
     }
 
-    //Mevcut stok miktarını getir
+    //Mevcut stok miktarını getir - parçalı stokta parçaların toplamı, kiralamada bu node'un kirasındakiler dahil
     @Transactional(readOnly = true)
     public Integer getAvailableStock(String sku) {
-        Optional<Inventory> inventoryOpt = inventoryRepository.findByProductSku(sku);
-        if (inventoryOpt.isEmpty()) {
+        Optional<StockLevel> stockOpt = inventoryRepository.findStockLevelBySku(sku);
+        if (stockOpt.isEmpty()) {
             return 0;
         }
 
-        return inventoryOpt.get().getQuantity();
+        if (stockOpt.get().getShardCount() != null) {
+            Integer sharded = inventoryShardService.getAvailableStock(sku);
+            if (sharded != null) {
+                return sharded;
+            }
+        }
+        return stockOpt.get().getQuantity() + inventoryLeaseService.getLeasedStock(sku);
+    }
+
+    //Stok değişikliğini yayınla - product cache commit sonrası temizlenir
+    private void publishStockChanged(UUID productId, String sku) {
+        eventPublisher.publishEvent(ProductChangedEvent.of(ChangeType.STOCK_CHANGED, productId, sku));
+    }
+
+    private void publishStockChanged(List<BatchLine> lines) {
+        eventPublisher.publishEvent(ProductChangedEvent.ofAll(ChangeType.STOCK_CHANGED,
+                lines.stream().map(BatchLine::productId).toList(),
+                lines.stream().map(BatchLine::sku).toList()));
+    }
+
+    //Satırları SKU sırasına koyup tek ifadeyle uygula
+    //Parçalı SKU'lar önce (SKU sırasıyla) parçalara uygulanır; tek satırlı kısım başarısız olursa parça değişiklikleri
+    //aynı transaction'da geri alınır - sonuç yine hep ya da hiç
+    private List<BatchLine> applyBatch(String sql, ShardOperation operation, Map<String, Integer> quantities) {
+        if (quantities == null || quantities.isEmpty()) {
+            throw new IllegalArgumentException("At least one SKU is required");
+        }
+        TreeMap<String, Integer> sorted = new TreeMap<>();
+        quantities.forEach((sku, quantity) -> {
+            if (sku == null || sku.isBlank()) {
+                throw new IllegalArgumentException("SKU cannot be blank");
+            }
+            if (quantity == null || quantity <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive for SKU: " + sku);
+            }
+            sorted.put(sku, quantity);
+        });
+
+        Map<String, ShardResult> shardResults = new LinkedHashMap<>();
+        Map<String, Integer> shardCounts = new TreeMap<>(inventoryShardService.findShardedSkus(sorted.keySet()));
+        List<String> skipped = new ArrayList<>();
+        boolean shardsApplied = true;
+        for (Map.Entry<String, Integer> entry : shardCounts.entrySet()) {
+            if (!shardsApplied) {
+                skipped.add(entry.getKey());
+                continue;
+            }
+            ShardResult result = inventoryShardService.apply(operation,
+                    entry.getKey(), sorted.get(entry.getKey()), entry.getValue(), false);
+            if (result.outcome() != ShardOutcome.NOT_SHARDED) {
+                shardResults.put(entry.getKey(), result);
+                shardsApplied = result.outcome() == ShardOutcome.APPLIED;
+            }
+        }
+
+        List<BatchLine> lines = new ArrayList<>();
+        List<Object[]> rows = sorted.entrySet().stream()
+                .filter(entry -> !shardResults.containsKey(entry.getKey()) && !skipped.contains(entry.getKey()))
+                .map(entry -> new Object[] { entry.getKey(), entry.getValue() })
+                .toList();
+        if (!rows.isEmpty()) {
+            lines.addAll(jdbcTemplate.query(sql, new MapSqlParameterSource()
+                            .addValue("rows", rows)
+                            .addValue("apply", shardsApplied),
+                    (rs, rowNum) -> new BatchLine(
+                            rs.getString("sku"),
+                            rs.getInt("requested"),
+                            rs.getObject("product_id", UUID.class),
+                            (Integer) rs.getObject("available"),
+                            rs.getBoolean("applied"),
+                            false)));
+        }
+
+        boolean applied = shardsApplied && lines.stream().allMatch(BatchLine::applied);
+        if (!applied) {
+            shardResults.values().stream()
+                    .filter(result -> result.outcome() == ShardOutcome.APPLIED)
+                    .forEach(result -> inventoryShardService.undo(operation, result));
+        }
+        //Parçalı satırlarda available: uygulandıysa en az istenen, yetmediyse parçaların toplamı;
+        //ilk yetersiz parçalı SKU'dan sonrakiler denenmediği için eksik sayılmaz
+        shardResults.forEach((sku, result) -> lines.add(new BatchLine(
+                sku,
+                sorted.get(sku),
+                result.productId(),
+                result.outcome() == ShardOutcome.APPLIED ? Math.max(result.available(), sorted.get(sku)) : result.available(),
+                applied,
+                true)));
+        skipped.forEach(sku -> lines.add(new BatchLine(sku, sorted.get(sku), null, sorted.get(sku), false, true)));
+        lines.sort(Comparator.comparing(BatchLine::sku));
+        return lines;
+    }
+
+    private StockBatchResult toResult(List<BatchLine> lines) {
+        boolean applied = lines.stream().allMatch(BatchLine::applied);
+        Map<String, Integer> shortfalls = new LinkedHashMap<>();
+        if (!applied) {
+            for (BatchLine line : lines) {
+                int available = line.available() != null ? line.available() : 0;
+                if (available < line.requested()) {
+                    shortfalls.put(line.sku(), line.requested() - available);
+                }
+            }
+        }
+        return new StockBatchResult(applied, shortfalls);
+    }
+
+    //Koşullu rezervasyon sonrası stok değerleri
+    private record ReservedStock(UUID productId, int quantity, int reserved) {
+    }
+
+    //Toplu rezervasyon/onay satırı - available: rezervasyonda quantity, onayda reserved (kayıt yoksa null)
+    //sharded: satır inventory_shards üzerinden uygulandı
+    private record BatchLine(String sku, int requested, UUID productId, Integer available, boolean applied, boolean sharded) {
+    }
+
+    //Toplu işlem sonucu - applied false ise hiçbir satır değişmedi, shortfalls SKU -> eksik miktar (SKU sırasıyla)
+    public record StockBatchResult(boolean applied, Map<String, Integer> shortfalls) {
     }
-}
\ No newline at end of file
+}
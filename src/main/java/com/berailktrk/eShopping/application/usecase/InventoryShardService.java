@@ -0,0 +1,542 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.application.event.ProductChangedEvent;
+import com.berailktrk.eShopping.application.event.ProductChangedEvent.ChangeType;
+import com.berailktrk.eShopping.domain.model.AuditLog;
+import com.berailktrk.eShopping.domain.model.Inventory;
+import com.berailktrk.eShopping.domain.model.User;
+import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
+import com.berailktrk.eShopping.domain.repository.InventoryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+//Inventory shard service - kampanya SKU'ları için parçalı stok sayaçları
+//Parçalı modda stok inventory_shards'ta N satıra bölünür: işlem rastgele bir parçayı tek koşullu UPDATE ile günceller,
+//o parça yetmezse kilitli olmayan başka bir parça (SKIP LOCKED), o da yoksa tüm parçalar sırayla kilitlenip bölüştürülür.
+//inventory satırındaki quantity/reserved parçaların periyodik toplamıdır (katalog ve listeler için); kampanya bitince
+//parçalar tek satıra birleştirilir. Hangi SKU'ların parçalı olduğu bellekte ipucu olarak tutulur - ipucu eski kalsa da
+//doğruluk bozulmaz (tek satır yolu shard_count IS NULL koşulu taşır, parça yolu parça bulamazsa NOT_SHARDED döner)
+@Service
+@Slf4j
+public class InventoryShardService {
+
+    //Parça üzerindeki işlem - kontrol edilen sütun ve SET ifadesi (geri alma ifadesiyle)
+    public enum ShardOperation {
+        RESERVE("quantity", "quantity = quantity - :quantity, reserved = reserved + :quantity",
+                "quantity = quantity + :quantity, reserved = reserved - :quantity"),
+        CONFIRM("reserved", "reserved = reserved - :quantity",
+                "reserved = reserved + :quantity"),
+        RELEASE("reserved", "quantity = quantity + :quantity, reserved = reserved - :quantity",
+                "quantity = quantity - :quantity, reserved = reserved + :quantity"),
+        ADD(null, "quantity = quantity + :quantity",
+                "quantity = quantity - :quantity"),
+        REMOVE("quantity", "quantity = quantity - :quantity",
+                "quantity = quantity + :quantity");
+
+        private final String checkColumn;
+        private final String randomShardSql;
+        private final String anyShardSql;
+        private final String lockAllSql;
+        private final String lockFreeSql;
+        private final String applySql;
+        private final String undoSql;
+
+        ShardOperation(String checkColumn, String set, String undo) {
+            this.checkColumn = checkColumn;
+            String check = checkColumn != null ? " AND " + checkColumn + " >= :quantity" : "";
+            this.randomShardSql = "UPDATE inventory_shards SET " + set +
+                    " WHERE product_sku = :sku AND shard = :shard" + check + " RETURNING id, product_id";
+            this.anyShardSql = checkColumn == null ? null : "UPDATE inventory_shards SET " + set + " WHERE id = (" +
+                    "SELECT id FROM inventory_shards WHERE product_sku = :sku" + check +
+                    " ORDER BY " + checkColumn + " DESC LIMIT 1 FOR UPDATE SKIP LOCKED)" + check +
+                    " RETURNING id, product_id";
+            this.lockAllSql = "SELECT id, product_id, " + (checkColumn != null ? checkColumn : "quantity") +
+                    " AS available FROM inventory_shards WHERE product_sku = :sku ORDER BY shard FOR UPDATE";
+            this.lockFreeSql = this.lockAllSql + " SKIP LOCKED";
+            this.applySql = "UPDATE inventory_shards SET " + set + " WHERE id = :id";
+            this.undoSql = "UPDATE inventory_shards SET " + undo + " WHERE id = :id";
+        }
+    }
+
+    //APPLIED: miktar parçalara uygulandı, INSUFFICIENT: parçaların toplamı yetmedi, NOT_SHARDED: SKU'nun parçası yok
+    public enum ShardOutcome {
+        APPLIED, INSUFFICIENT, NOT_SHARDED
+    }
+
+    private static final String SAVEPOINT_SQL = "SAVEPOINT shard_fast_path";
+    private static final String RELEASE_SAVEPOINT_SQL = "RELEASE SAVEPOINT shard_fast_path";
+    private static final String ROLLBACK_TO_SAVEPOINT_SQL = "ROLLBACK TO SAVEPOINT shard_fast_path";
+
+    //Transaction'a bağlı kaynak: bu transaction'da parça kilidi alınmış SKU'lar
+    private static final String LOCKED_SKUS_RESOURCE = InventoryShardService.class.getName() + ".lockedSkus";
+
+    private static final String SELECT_SHARDED_SQL =
+            "SELECT product_sku, shard_count FROM inventory WHERE shard_count IS NOT NULL";
+
+    private static final String SELECT_SHARDED_IN_SQL =
+            "SELECT product_sku, shard_count FROM inventory WHERE product_sku IN (:skus) AND shard_count IS NOT NULL";
+
+    private static final String SELECT_TOTALS_SQL =
+            "SELECT COUNT(*) AS shards, COALESCE(SUM(quantity), 0) AS quantity, COALESCE(SUM(reserved), 0) AS reserved " +
+            "FROM inventory_shards WHERE product_sku = :sku";
+
+    private static final String LOCK_SHARDS_SQL =
+            "SELECT id, quantity, reserved FROM inventory_shards WHERE product_sku = :sku ORDER BY shard FOR UPDATE";
+
+    private static final String INSERT_SHARD_SQL =
+            "INSERT INTO inventory_shards (id, product_id, product_sku, shard, quantity, reserved) " +
+            "VALUES (:id, :productId, :sku, :shard, :quantity, :reserved)";
+
+    private static final String SET_SHARD_SQL =
+            "UPDATE inventory_shards SET quantity = :quantity, reserved = :reserved WHERE id = :id";
+
+    private static final String DELETE_SHARDS_SQL =
+            "DELETE FROM inventory_shards WHERE product_sku = :sku";
+
+    private static final String SELECT_EXPIRED_SQL =
+            "SELECT product_sku FROM inventory WHERE shard_count IS NOT NULL AND sharded_until <= :now";
+
+    //Bir parçası boşalmış, toplamı her parçaya en az bir adet yetecek SKU'lar
+    private static final String SELECT_SKEWED_SQL =
+            "SELECT product_sku FROM inventory_shards GROUP BY product_sku " +
+            "HAVING MIN(quantity) = 0 AND SUM(quantity) >= COUNT(*)";
+
+    //Parça toplamları inventory satırına yazılır (katalog, listeler, ETag) - sadece değişenler
+    private static final String REFRESH_SUMMARY_SQL =
+            "UPDATE inventory i SET quantity = s.quantity, reserved = s.reserved, updated_at = :now, version = i.version + 1 " +
+            "FROM (SELECT product_sku, SUM(quantity) AS quantity, SUM(reserved) AS reserved " +
+            "FROM inventory_shards GROUP BY product_sku) s " +
+            "WHERE i.product_sku = s.product_sku AND i.shard_count IS NOT NULL " +
+            "AND (i.quantity <> s.quantity OR i.reserved <> s.reserved) " +
+            "RETURNING i.product_id, i.product_sku";
+
+    private static final String REFRESH_SKU_SUMMARY_SQL =
+            "UPDATE inventory i SET quantity = s.quantity, reserved = s.reserved, updated_at = :now, version = i.version + 1 " +
+            "FROM (SELECT SUM(quantity) AS quantity, SUM(reserved) AS reserved " +
+            "FROM inventory_shards WHERE product_sku = :sku) s " +
+            "WHERE i.product_sku = :sku AND i.shard_count IS NOT NULL AND s.quantity IS NOT NULL";
+
+    private final InventoryRepository inventoryRepository;
+    private final AuditLogService auditLogService;
+    private final AuditLogRepository auditLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxShards;
+
+    //SKU -> parça sayısı (ipucu, copy-on-write)
+    private volatile Map<String, Integer> shardedSkus = Map.of();
+
+    public InventoryShardService(
+            InventoryRepository inventoryRepository,
+            AuditLogService auditLogService,
+            AuditLogRepository auditLogRepository,
+            ApplicationEventPublisher eventPublisher,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${inventory.sharding.max-shards:64}") int maxShards) {
+        this.inventoryRepository = inventoryRepository;
+        this.auditLogService = auditLogService;
+        this.auditLogRepository = auditLogRepository;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.maxShards = maxShards;
+    }
+
+    //SKU parçalı mı (bellekteki ipucu) - parça sayısı ya da null
+    public Integer shardCountHint(String sku) {
+        return shardedSkus.get(sku);
+    }
+
+    //Verilen SKU'lardan parçalı olanlar (veritabanından) - SKU -> parça sayısı
+    public Map<String, Integer> findShardedSkus(Collection<String> skus) {
+        Map<String, Integer> sharded = new HashMap<>();
+        jdbcTemplate.query(SELECT_SHARDED_IN_SQL, new MapSqlParameterSource("skus", skus), rs -> {
+            sharded.put(rs.getString("product_sku"), rs.getInt("shard_count"));
+        });
+        return sharded;
+    }
+
+    //Parçalardaki toplam satılabilir stok - parça yoksa null
+    public Integer getAvailableStock(String sku) {
+        ShardTotals totals = getTotals(sku);
+        return totals.shards() > 0 ? totals.quantity() : null;
+    }
+
+    //İşlemi parçalara uygula (çağıranın transaction'ında)
+    //Önce rastgele parça, sonra kilitli olmayan yeterli bir parça, en son tüm parçalar sırayla kilitlenip bölüştürülür.
+    //Transaction SKU'nun parçalarına daha önce dokunduysa (checkout: yeniden rezerve + onay) elindeki parçalar ve
+    //kilitli olmayanlar beklemeden kullanılır; elindeki parçayla başka bir parçayı beklemek sırayı bozar.
+    //allowPartial: toplam yetmezse mevcut kadarı uygulanır (rezervasyon bırakma)
+    public ShardResult apply(ShardOperation operation, String sku, int quantity, Integer shardCountHint, boolean allowPartial) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("sku", sku)
+                .addValue("quantity", quantity);
+        Set<String> lockedSkus = lockedSkus();
+
+        if (lockedSkus != null && lockedSkus.contains(sku)) {
+            //Kendi kilitlerimiz SKIP LOCKED'da atlanmaz - önceki işlemin parçaları her zaman listededir
+            List<LockedShard> free = jdbcTemplate.query(operation.lockFreeSql, params, (rs, rowNum) ->
+                    new LockedShard(rs.getObject("id", UUID.class), rs.getObject("product_id", UUID.class), rs.getInt("available")));
+            int available = free.stream().mapToInt(LockedShard::available).sum();
+            if (!free.isEmpty() && (operation.checkColumn == null || available >= quantity)) {
+                List<ShardDelta> deltas = distribute(operation, free, quantity);
+                jdbcTemplate.batchUpdate(operation.applySql, toParameters(deltas));
+                return new ShardResult(ShardOutcome.APPLIED, free.get(0).productId(), available, deltas);
+            }
+            //Kilitsiz parçalar yetmedi - son çare sıralı kilit (diğer transaction'lar da tüm parçaları beklerken
+            //oluşabilecek döngüyü PostgreSQL kilitlenme algılayıcısı bozar)
+            log.debug("Shard fallback to lock-all after earlier lock in transaction - SKU: {}", sku);
+        } else if (shardCountHint != null && shardCountHint > 0) {
+            //Hızlı yol savepoint içinde: koşulu tutmayan UPDATE beklediği parçanın kilidini yine de alır.
+            //Tüm parçaları sırayla kilitlemeden önce bu kilit bırakılmazsa sıra bozulur ve kilitlenme (deadlock) oluşur.
+            jdbcTemplate.getJdbcTemplate().execute(SAVEPOINT_SQL);
+            params.addValue("shard", ThreadLocalRandom.current().nextInt(shardCountHint));
+            List<ShardDelta> applied = jdbcTemplate.query(operation.randomShardSql, params,
+                    (rs, rowNum) -> new ShardDelta(rs.getObject("id", UUID.class), rs.getObject("product_id", UUID.class), quantity));
+            if (applied.isEmpty() && operation.anyShardSql != null) {
+                applied = jdbcTemplate.query(operation.anyShardSql, params,
+                        (rs, rowNum) -> new ShardDelta(rs.getObject("id", UUID.class), rs.getObject("product_id", UUID.class), quantity));
+            }
+            if (!applied.isEmpty()) {
+                jdbcTemplate.getJdbcTemplate().execute(RELEASE_SAVEPOINT_SQL);
+                markLocked(lockedSkus, sku);
+                return new ShardResult(ShardOutcome.APPLIED, applied.get(0).productId(), quantity, applied);
+            }
+            jdbcTemplate.getJdbcTemplate().execute(ROLLBACK_TO_SAVEPOINT_SQL);
+        }
+
+        //Tek parça yetmedi - tüm parçalar parça sırasıyla kilitlenir
+        List<LockedShard> shards = jdbcTemplate.query(operation.lockAllSql, params, (rs, rowNum) ->
+                new LockedShard(rs.getObject("id", UUID.class), rs.getObject("product_id", UUID.class), rs.getInt("available")));
+        if (shards.isEmpty()) {
+            return new ShardResult(ShardOutcome.NOT_SHARDED, null, 0, List.of());
+        }
+        markLocked(lockedSkus, sku);
+        UUID productId = shards.get(0).productId();
+        int available = shards.stream().mapToInt(LockedShard::available).sum();
+        if (operation.checkColumn != null && available < quantity && !allowPartial) {
+            return new ShardResult(ShardOutcome.INSUFFICIENT, productId, available, List.of());
+        }
+
+        int applicable = operation.checkColumn == null ? quantity : Math.min(quantity, available);
+        List<ShardDelta> deltas = distribute(operation, shards, applicable);
+        jdbcTemplate.batchUpdate(operation.applySql, toParameters(deltas));
+        return new ShardResult(ShardOutcome.APPLIED, productId, available, deltas);
+    }
+
+    //Miktarı kilitli parçalara parça sırasıyla bölüştür (kontrol sütunu yoksa ilk parçaya)
+    private static List<ShardDelta> distribute(ShardOperation operation, List<LockedShard> shards, int quantity) {
+        UUID productId = shards.get(0).productId();
+        List<ShardDelta> deltas = new ArrayList<>();
+        if (operation.checkColumn == null) {
+            deltas.add(new ShardDelta(shards.get(0).id(), productId, quantity));
+            return deltas;
+        }
+        int remaining = quantity;
+        for (LockedShard shard : shards) {
+            if (remaining == 0) {
+                break;
+            }
+            int taken = Math.min(remaining, shard.available());
+            if (taken > 0) {
+                deltas.add(new ShardDelta(shard.id(), productId, taken));
+                remaining -= taken;
+            }
+        }
+        return deltas;
+    }
+
+    //Bu transaction'da parça kilidi alınmış SKU'lar - transaction yoksa null (kilit commit'le hemen bırakılır)
+    @SuppressWarnings("unchecked")
+    private static Set<String> lockedSkus() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Set<String> locked = (Set<String>) TransactionSynchronizationManager.getResource(LOCKED_SKUS_RESOURCE);
+        if (locked == null) {
+            Set<String> created = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(LOCKED_SKUS_RESOURCE, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(LOCKED_SKUS_RESOURCE);
+                }
+            });
+            locked = created;
+        }
+        return locked;
+    }
+
+    private static void markLocked(Set<String> lockedSkus, String sku) {
+        if (lockedSkus != null) {
+            lockedSkus.add(sku);
+        }
+    }
+
+    //Tek SKU'nun özet satırını parça toplamlarıyla hemen yenile (ADMIN stok ayarı sonrası)
+    public void refreshSummary(String sku) {
+        jdbcTemplate.update(REFRESH_SKU_SUMMARY_SQL, new MapSqlParameterSource()
+                .addValue("sku", sku)
+                .addValue("now", Timestamp.from(Instant.now())));
+    }
+
+    //Uygulanmış işlemi aynı parçalarda geri al (toplu işlemin diğer satırları başarısız olduğunda, aynı transaction'da)
+    public void undo(ShardOperation operation, ShardResult result) {
+        if (!result.deltas().isEmpty()) {
+            jdbcTemplate.batchUpdate(operation.undoSql, toParameters(result.deltas()));
+        }
+    }
+
+    //SKU'yu parçalı moda al (ADMIN) - mevcut quantity/reserved parçalara eşit bölünür
+    public Inventory enableSharding(String sku, int shardCount, Instant until, User actorUser) {
+        if (shardCount < 2 || shardCount > maxShards) {
+            throw new IllegalArgumentException("Shard count must be between 2 and " + maxShards);
+        }
+        if (until != null && !until.isAfter(Instant.now())) {
+            throw new IllegalArgumentException("'until' must be in the future");
+        }
+
+        Inventory inventory = transactionTemplate.execute(status -> {
+            Inventory locked = inventoryRepository.findByProductSkuWithLock(sku)
+                    .orElseThrow(() -> new IllegalArgumentException("Inventory not found for SKU: " + sku));
+            if (locked.getShardCount() != null) {
+                throw new IllegalStateException("Inventory is already sharded for SKU: " + sku);
+            }
+            if (locked.getLeaseSize() != null) {
+                throw new IllegalStateException("Inventory leasing is enabled for SKU: " + sku);
+            }
+
+            List<SqlParameterSource> shards = new ArrayList<>(shardCount);
+            for (int shard = 0; shard < shardCount; shard++) {
+                shards.add(new MapSqlParameterSource()
+                        .addValue("id", UUID.randomUUID())
+                        .addValue("productId", locked.getProductId())
+                        .addValue("sku", sku)
+                        .addValue("shard", shard)
+                        .addValue("quantity", evenPart(locked.getQuantity(), shardCount, shard))
+                        .addValue("reserved", evenPart(locked.getReserved(), shardCount, shard)));
+            }
+            jdbcTemplate.batchUpdate(INSERT_SHARD_SQL, shards.toArray(new SqlParameterSource[0]));
+
+            locked.setShardCount(shardCount);
+            locked.setShardedUntil(until);
+            Inventory saved = inventoryRepository.save(locked);
+
+            Map<String, Object> details = new HashMap<>();
+            details.put("sku", sku);
+            details.put("shard_count", shardCount);
+            details.put("sharded_until", until != null ? until.toString() : null);
+            details.put("quantity", locked.getQuantity());
+            details.put("reserved", locked.getReserved());
+            details.put("reason", "Stok kampanya için parçalara bölündü");
+            saveAudit(actorUser, locked.getProductId(),
+                    String.format("Stok parçalara bölündü: %s, Parça: %d", sku, shardCount), details);
+            return saved;
+        });
+
+        updateHint(sku, shardCount);
+        log.info("Inventory sharded for SKU: {} into {} shards until {}", sku, shardCount, until);
+        return inventory;
+    }
+
+    //Parçaları tek satıra birleştir (ADMIN veya kampanya bitişi) - toplamlar inventory satırına yazılır
+    public Inventory mergeShards(String sku, User actorUser) {
+        Inventory inventory = transactionTemplate.execute(status -> {
+            Inventory locked = inventoryRepository.findByProductSkuWithLock(sku)
+                    .orElseThrow(() -> new IllegalArgumentException("Inventory not found for SKU: " + sku));
+            if (locked.getShardCount() == null) {
+                throw new IllegalStateException("Inventory is not sharded for SKU: " + sku);
+            }
+
+            MapSqlParameterSource params = new MapSqlParameterSource("sku", sku);
+            int[] totals = new int[2];
+            jdbcTemplate.query(LOCK_SHARDS_SQL, params, rs -> {
+                totals[0] += rs.getInt("quantity");
+                totals[1] += rs.getInt("reserved");
+            });
+            jdbcTemplate.update(DELETE_SHARDS_SQL, params);
+
+            Integer shardCount = locked.getShardCount();
+            locked.setQuantity(totals[0]);
+            locked.setReserved(totals[1]);
+            locked.setShardCount(null);
+            locked.setShardedUntil(null);
+            locked.setUpdatedAt(Instant.now());
+            Inventory saved = inventoryRepository.save(locked);
+
+            Map<String, Object> details = new HashMap<>();
+            details.put("sku", sku);
+            details.put("shard_count", shardCount);
+            details.put("quantity", totals[0]);
+            details.put("reserved", totals[1]);
+            details.put("reason", "Stok parçaları tek satıra birleştirildi");
+            saveAudit(actorUser, locked.getProductId(),
+                    String.format("Stok parçaları birleştirildi: %s", sku), details);
+            eventPublisher.publishEvent(ProductChangedEvent.of(ChangeType.STOCK_CHANGED, locked.getProductId(), sku));
+            return saved;
+        });
+
+        removeHint(sku);
+        log.info("Inventory shards merged for SKU: {} - quantity: {}, reserved: {}",
+                sku, inventory.getQuantity(), inventory.getReserved());
+        return inventory;
+    }
+
+    //Parçaları yeniden eşitle - quantity ve reserved toplamları parçalara eşit dağıtılır
+    public void rebalance(String sku) {
+        transactionTemplate.executeWithoutResult(status -> {
+            MapSqlParameterSource params = new MapSqlParameterSource("sku", sku);
+            List<UUID> ids = new ArrayList<>();
+            int[] totals = new int[2];
+            jdbcTemplate.query(LOCK_SHARDS_SQL, params, rs -> {
+                ids.add(rs.getObject("id", UUID.class));
+                totals[0] += rs.getInt("quantity");
+                totals[1] += rs.getInt("reserved");
+            });
+            if (ids.isEmpty()) {
+                throw new IllegalStateException("Inventory is not sharded for SKU: " + sku);
+            }
+            SqlParameterSource[] shards = new SqlParameterSource[ids.size()];
+            for (int shard = 0; shard < ids.size(); shard++) {
+                shards[shard] = new MapSqlParameterSource()
+                        .addValue("id", ids.get(shard))
+                        .addValue("quantity", evenPart(totals[0], ids.size(), shard))
+                        .addValue("reserved", evenPart(totals[1], ids.size(), shard));
+            }
+            jdbcTemplate.batchUpdate(SET_SHARD_SQL, shards);
+        });
+        log.debug("Inventory shards rebalanced for SKU: {}", sku);
+    }
+
+    //Bakım: süresi biten kampanyaları birleştir, boşalan parçaları eşitle, özet satırları ve ipucunu yenile
+    @Scheduled(fixedDelayString = "${inventory.sharding.maintenance-interval-seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public void maintain() {
+        try {
+            List<String> expired = jdbcTemplate.queryForList(SELECT_EXPIRED_SQL,
+                    new MapSqlParameterSource("now", Timestamp.from(Instant.now())), String.class);
+            for (String sku : expired) {
+                try {
+                    mergeShards(sku, null);
+                } catch (IllegalStateException e) {
+                    log.debug("Inventory shards already merged for SKU: {}", sku);
+                }
+            }
+            for (String sku : jdbcTemplate.queryForList(SELECT_SKEWED_SQL, Map.of(), String.class)) {
+                try {
+                    rebalance(sku);
+                } catch (IllegalStateException e) {
+                    log.debug("Inventory shards already merged for SKU: {}", sku);
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                List<UUID> productIds = new ArrayList<>();
+                List<String> skus = new ArrayList<>();
+                jdbcTemplate.query(REFRESH_SUMMARY_SQL, new MapSqlParameterSource("now", Timestamp.from(Instant.now())), rs -> {
+                    productIds.add(rs.getObject("product_id", UUID.class));
+                    skus.add(rs.getString("product_sku"));
+                });
+                if (!productIds.isEmpty()) {
+                    eventPublisher.publishEvent(ProductChangedEvent.ofAll(ChangeType.STOCK_CHANGED, productIds, skus));
+                }
+            });
+            reloadHints();
+        } catch (RuntimeException e) {
+            log.error("Inventory shard maintenance failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reloadHints() {
+        Map<String, Integer> sharded = new HashMap<>();
+        jdbcTemplate.query(SELECT_SHARDED_SQL, Map.of(), rs -> {
+            sharded.put(rs.getString("product_sku"), rs.getInt("shard_count"));
+        });
+        shardedSkus = Map.copyOf(sharded);
+    }
+
+    private ShardTotals getTotals(String sku) {
+        return jdbcTemplate.queryForObject(SELECT_TOTALS_SQL, new MapSqlParameterSource("sku", sku), (rs, rowNum) ->
+                new ShardTotals(rs.getInt("shards"), rs.getInt("quantity"), rs.getInt("reserved")));
+    }
+
+    private synchronized void updateHint(String sku, int shardCount) {
+        Map<String, Integer> updated = new HashMap<>(shardedSkus);
+        updated.put(sku, shardCount);
+        shardedSkus = Map.copyOf(updated);
+    }
+
+    private synchronized void removeHint(String sku) {
+        Map<String, Integer> updated = new HashMap<>(shardedSkus);
+        updated.remove(sku);
+        shardedSkus = Map.copyOf(updated);
+    }
+
+    private void saveAudit(User actorUser, UUID productId, String summary, Map<String, Object> details) {
+        AuditLog auditLog = auditLogService.logInventoryAction(
+            actorUser,
+            AuditLogService.ACTION_INVENTORY_UPDATED,
+            productId,
+            summary,
+            details
+        );
+        auditLogRepository.save(auditLog);
+    }
+
+    //total'in parts parçaya eşit bölünmüş index'inci payı (kalan ilk parçalara)
+    private static int evenPart(int total, int parts, int index) {
+        return total / parts + (index < total % parts ? 1 : 0);
+    }
+
+    private static SqlParameterSource[] toParameters(List<ShardDelta> deltas) {
+        return deltas.stream()
+                .map(delta -> new MapSqlParameterSource()
+                        .addValue("id", delta.shardId())
+                        .addValue("quantity", delta.quantity()))
+                .toArray(SqlParameterSource[]::new);
+    }
+
+    //Parça işleminin sonucu - available: toplu yolda parçaların toplamı (yetersizse eksik hesabı için)
+    public record ShardResult(ShardOutcome outcome, UUID productId, int available, List<ShardDelta> deltas) {
+
+        public int applied() {
+            return deltas.stream().mapToInt(ShardDelta::quantity).sum();
+        }
+    }
+
+    public record ShardDelta(UUID shardId, UUID productId, int quantity) {
+    }
+
+    private record LockedShard(UUID id, UUID productId, int available) {
+    }
+
+    private record ShardTotals(int shards, int quantity, int reserved) {
+    }
+}
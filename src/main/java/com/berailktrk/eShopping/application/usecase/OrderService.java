@@ -8,10 +8,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.berailktrk.eShopping.application.event.OrderPlacedEvent;
+import com.berailktrk.eShopping.application.event.OrderVoidedEvent;
 import com.berailktrk.eShopping.domain.model.AuditLog;
 import com.berailktrk.eShopping.domain.model.CartItem;
 import com.berailktrk.eShopping.domain.model.Order;
@@ -45,6 +48,7 @@ public class OrderService {
     private final PaymentMethodRepository paymentMethodRepository;
     private final CartService cartService;
     private final OrderItemService orderItemService;
+    private final ApplicationEventPublisher eventPublisher;
 
     //Siparişin ödeme bekliyor durumunda olup olmadığını kontrol et
     public boolean isPending(Order order) {
@@ -154,6 +158,8 @@ public class OrderService {
 
         order.setStatus(OrderStatus.CANCELLED);
         order.setCancelledAt(Instant.now());
+        //Sipariş oluşturulurken sayılan best-seller adetleri commit sonrası geri düşülür
+        eventPublisher.publishEvent(OrderVoidedEvent.of(order, orderItemRepository.findByOrderId(order.getId())));
 
         // AFTER durumu
         Map<String, Object> afterStatus = new HashMap<>();
@@ -215,6 +221,8 @@ public class OrderService {
         }
 
         order.setStatus(OrderStatus.FAILED);
+        //Sipariş oluşturulurken sayılan best-seller adetleri commit sonrası geri düşülür
+        eventPublisher.publishEvent(OrderVoidedEvent.of(order, orderItemRepository.findByOrderId(order.getId())));
     }
 
     //Ödemeyi iade et
@@ -344,7 +352,8 @@ public class OrderService {
                                    Map<String, Object> billingAddress,
                                    Integer sequenceNumber,
                                    String orderNotes,
-                                   Map<String, Object> metadata) {
+                                   Map<String, Object> metadata,
+                                   String couponCode) {
         
         log.info("Creating order from cart for user: {} with sequence number: {}", userId, sequenceNumber);
         
@@ -367,6 +376,9 @@ public class OrderService {
         }
         log.debug("Step 3: Found {} cart items", cartItems.size());
         
+        // 3.1 Promosyon ve kuponları uygula - geçersiz kupon stok onayından önce reddedilir
+        PromotionService.PricedCart pricedCart = cartService.priceCart(cartItems, couponCode);
+        
         // 4. Stok kontrolü yap ve rezervasyonları onayla
         log.debug("Step 4: Validating and confirming stock reservations");
         validateAndConfirmStockReservations(cartItems);
@@ -374,7 +386,7 @@ public class OrderService {
         
         // 5. Sipariş oluştur ve kaydet
         log.debug("Step 5: Creating order");
-        Order order = createOrder(user, cartItems, shippingAddress, billingAddress, paymentMethod, orderNotes, metadata);
+        Order order = createOrder(user, cartItems, pricedCart, shippingAddress, billingAddress, paymentMethod, orderNotes, metadata);
         log.debug("Step 5: Order created, saving to database");
         Order savedOrder = orderRepository.save(order);
         log.info("Order oluşturuldu - Order ID: {}", savedOrder.getId());
@@ -383,6 +395,8 @@ public class OrderService {
         log.debug("Step 6: Creating order items");
         List<OrderItem> orderItems = orderItemService.createOrderItemsFromCart(cartItems, savedOrder);
         orderItemRepository.saveAll(orderItems);
+        //Best-seller sayaçları commit sonrası güncellenir
+        eventPublisher.publishEvent(OrderPlacedEvent.of(savedOrder, userId, orderItems));
         log.debug("Step 6: Order items saved");
         
         // 7. CartItems verisini audit log için cache'le (clearCart'ten önce)
@@ -462,28 +476,27 @@ public class OrderService {
             if (!cartService.isStockAvailable(sku, quantity)) {
                 throw new IllegalArgumentException("Yetersiz stok: " + sku);
             }
-            
-            // Rezervasyonu onayla
-            boolean confirmed = cartService.confirmStockReservation(sku, quantity);
-            if (!confirmed) {
-                throw new IllegalStateException("Stok rezervasyonu onaylanamadı: " + sku);
-            }
+        }
+
+        // Rezervasyonları tek ifadeyle onayla - satırlar SKU sırasıyla kilitlenir, biri yetersizse hiçbiri onaylanmaz
+        InventoryService.StockBatchResult confirmed = cartService.confirmStockReservations(cartItems);
+        if (!confirmed.applied()) {
+            throw new IllegalStateException("Stok rezervasyonu onaylanamadı: " + confirmed.shortfalls());
         }
     }
 
     //Sipariş entity'sini oluştur
     private Order createOrder(User user, 
                             List<CartItem> cartItems,
+                            PromotionService.PricedCart pricedCart,
                             Map<String, Object> shippingAddress,
                             Map<String, Object> billingAddress,
                             PaymentMethod paymentMethod,
                             String orderNotes,
                             Map<String, Object> metadata) {
         
-        // Toplam tutarı hesapla
-        BigDecimal totalAmount = cartItems.stream()
-                .map(item -> item.getUnitPriceSnapshot().multiply(BigDecimal.valueOf(item.getQty())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Toplam tutar - promosyon ve kupon indirimleri düşülmüş
+        BigDecimal totalAmount = pricedCart.total();
         
         // Billing address yoksa shipping address'i kullan
         if (billingAddress == null || billingAddress.isEmpty()) {
@@ -501,6 +514,15 @@ public class OrderService {
         finalMetadata.put("paymentMethodType", paymentMethod.getMethodType());
         finalMetadata.put("paymentMethodName", paymentMethod.getMethodName());
         finalMetadata.put("isOnlinePayment", true);
+        finalMetadata.put("subtotalAmount", pricedCart.subtotal());
+        finalMetadata.put("discountAmount", pricedCart.discountAmount());
+        finalMetadata.put("appliedDiscounts", pricedCart.discounts());
+        if (pricedCart.couponCode() != null) {
+            finalMetadata.put("couponCode", pricedCart.couponCode());
+        }
+        if (pricedCart.droppedCouponCode() != null) {
+            finalMetadata.put("droppedCouponCode", pricedCart.droppedCouponCode());
+        }
         
         return Order.builder()
                 .user(user)
@@ -520,6 +542,8 @@ public class OrderService {
         Map<String, Object> details = new HashMap<>();
         details.put("orderId", order.getId());
         details.put("totalAmount", order.getTotalAmount());
+        details.put("discountAmount", order.getMetadata().get("discountAmount"));
+        details.put("appliedDiscounts", order.getMetadata().get("appliedDiscounts"));
         details.put("itemCount", cartItemDetails.size());
         details.put("currency", order.getCurrency());
         details.put("shippingAddress", order.getShippingAddress());
@@ -11,6 +11,7 @@ import com.berailktrk.eShopping.domain.model.AuditLog;
 import com.berailktrk.eShopping.domain.model.CardInfo;
 import com.berailktrk.eShopping.domain.model.PaymentMethod;
 import com.berailktrk.eShopping.domain.model.User;
+import com.berailktrk.eShopping.domain.model.VersionSummary;
 import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
 import com.berailktrk.eShopping.domain.repository.PaymentMethodRepository;
 import com.berailktrk.eShopping.domain.repository.UserRepository;
@@ -290,6 +291,27 @@ public class PaymentMethodService {
         return paymentMethods;
     }
 
+    /**
+     * Kullanıcının aktif ödeme yöntemlerinin sürüm özetini getirir (ETag için, kayıtlar yüklenmez)
+     * 
+     * @param userId Kullanıcı ID
+     * @return Sürüm özeti
+     */
+    public VersionSummary getPaymentMethodsVersion(UUID userId) {
+        return paymentMethodRepository.findVersionSummaryByUserId(userId);
+    }
+
+    /**
+     * Belirli sequence number'a sahip ödeme yönteminin sürüm özetini getirir (ETag için)
+     * 
+     * @param userId Kullanıcı ID
+     * @param sequenceNumber Sıra numarası
+     * @return Sürüm özeti (bulunamazsa count = 0)
+     */
+    public VersionSummary getPaymentMethodVersionBySequence(UUID userId, Integer sequenceNumber) {
+        return paymentMethodRepository.findVersionSummaryByUserIdAndSequenceNumber(userId, sequenceNumber);
+    }
+
     /**
      * Belirli sequence number'a sahip ödeme yöntemini getirir
      * 
@@ -421,7 +443,8 @@ public class PaymentMethodService {
         }
         
         // Eğer varsayılan olarak işaretleniyorsa, diğer varsayılanları kaldır
-        if (isDefault) {
+        // (zaten varsayılansa toplu güncelleme bu kaydın version'ını artırıp save'i çakıştırmasın)
+        if (isDefault && !paymentMethod.getIsDefault()) {
             paymentMethodRepository.clearDefaultPaymentMethods(userId);
         }
         
@@ -16,6 +16,7 @@ import com.berailktrk.eShopping.domain.model.Order;
 import com.berailktrk.eShopping.domain.model.Payment;
 import com.berailktrk.eShopping.domain.model.PaymentMethod;
 import com.berailktrk.eShopping.domain.model.PaymentStatus;
+import com.berailktrk.eShopping.domain.model.VersionSummary;
 import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
 import com.berailktrk.eShopping.domain.repository.OrderRepository;
 import com.berailktrk.eShopping.domain.repository.PaymentMethodRepository;
@@ -391,6 +392,7 @@ public class PaymentService {
      * @param orderId Sipariş ID
      * @return Ödeme listesi
      */
+    @Transactional(readOnly = true)
     public List<Payment> getPaymentsByOrderId(UUID orderId) {
         return paymentRepository.findByOrderIdOrderByCreatedAtDesc(orderId);
     }
@@ -401,10 +403,31 @@ public class PaymentService {
      * @param userId Kullanıcı ID
      * @return Ödeme listesi
      */
+    @Transactional(readOnly = true)
     public List<Payment> getPaymentsByUserId(UUID userId) {
         return paymentRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
 
+    /**
+     * Siparişe ait ödemelerin sürüm özetini getirir (ETag için, ödemeler yüklenmez)
+     * 
+     * @param orderId Sipariş ID
+     * @return Sürüm özeti
+     */
+    public VersionSummary getPaymentsVersionByOrderId(UUID orderId) {
+        return paymentRepository.findVersionSummaryByOrderId(orderId);
+    }
+
+    /**
+     * Kullanıcıya ait ödemelerin sürüm özetini getirir (ETag için, ödemeler yüklenmez)
+     * 
+     * @param userId Kullanıcı ID
+     * @return Sürüm özeti
+     */
+    public VersionSummary getPaymentsVersionByUserId(UUID userId) {
+        return paymentRepository.findVersionSummaryByUserId(userId);
+    }
+
     /**
      * Transaction ID ile ödeme bulur
      * 
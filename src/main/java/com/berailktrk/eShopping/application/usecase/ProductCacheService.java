@@ -0,0 +1,74 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.berailktrk.eShopping.application.event.ProductChangedEvent;
+import com.berailktrk.eShopping.infrastructure.cache.BoundedTtlCache;
+import com.berailktrk.eShopping.infrastructure.cache.BoundedTtlCache.CacheStats;
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+//Product cache service - ProductService okumalarının önündeki bellek içi cache
+//SKU ve ID ile ayrı ayrı tutulur, ürün/stok değişikliklerinde commit sonrası temizlenir
+@Service
+@Slf4j
+public class ProductCacheService {
+
+    private final BoundedTtlCache<String, ProductResponse> bySku;
+    private final BoundedTtlCache<UUID, ProductResponse> byId;
+
+    public ProductCacheService(
+            @Value("${product.cache.max-size:10000}") int maxSize,
+            @Value("${product.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.bySku = new BoundedTtlCache<>("productsBySku", maxSize, ttlSeconds * 1000);
+        this.byId = new BoundedTtlCache<>("productsById", maxSize, ttlSeconds * 1000);
+        log.info("Product cache initialized - max size: {}, TTL: {}s", maxSize, ttlSeconds);
+    }
+
+    //SKU ile ürünü cache'ten getir, yoksa loader ile yükle
+    public ProductResponse getBySku(String sku, Function<String, ProductResponse> loader) {
+        return bySku.get(sku, loader);
+    }
+
+    //ID ile ürünü cache'ten getir, yoksa loader ile yükle
+    public ProductResponse getById(UUID productId, Function<UUID, ProductResponse> loader) {
+        return byId.get(productId, loader);
+    }
+
+    //Ürün değiştiğinde ilgili kayıtları temizle (commit sonrası)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        event.getSkus().forEach(bySku::invalidate);
+        event.getProductIds().forEach(byId::invalidate);
+        log.debug("Product cache invalidated: {}", event);
+    }
+
+    //Tüm cache'i temizle
+    public void invalidateAll() {
+        bySku.invalidateAll();
+        byId.invalidateAll();
+    }
+
+    //Cache istatistikleri (hit, miss, eviction)
+    public List<CacheStats> getStats() {
+        return List.of(bySku.stats(), byId.stats());
+    }
+
+    //Süresi dolmuş kayıtları periyodik olarak temizle (bellek geri kazanımı)
+    @Scheduled(fixedDelayString = "${product.cache.purge-interval-seconds:60}",
+               timeUnit = java.util.concurrent.TimeUnit.SECONDS)
+    public void purgeExpired() {
+        int removed = bySku.purgeExpired() + byId.purgeExpired();
+        if (removed > 0) {
+            log.debug("Purged {} expired product cache entries", removed);
+        }
+    }
+}
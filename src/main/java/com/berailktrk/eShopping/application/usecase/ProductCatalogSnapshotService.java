@@ -0,0 +1,218 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.berailktrk.eShopping.application.event.ProductChangedEvent;
+import com.berailktrk.eShopping.application.mapper.ProductMapper;
+import com.berailktrk.eShopping.domain.model.VersionSummary;
+import com.berailktrk.eShopping.domain.repository.InventoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.infrastructure.datasource.DataSourceRouting;
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+//Product catalog snapshot service - aktif ürün listesinin önceden serialize edilmiş JSON'u ve gzip'li hali
+//GET /api/products her istekte sorgu, mapping ve Jackson serialize yerine hazır byte dizisini döner.
+//Ürün değişikliklerinde snapshot arka plan thread'inde yeniden oluşturulur; ardışık değişiklikler tek
+//oluşturmada birleşir (debounce). Stok hareketleri listeyi daha seyrek yeniler (stok alanları en fazla
+//stock-refresh süresi kadar eski kalabilir). Diğer node'lardaki değişiklikler event üretmediği için ürün ve stok
+//tablolarının sürüm özeti periyodik kontrol edilir, değiştiyse aynı gecikmelerle yeniden oluşturulur
+@Service
+@Slf4j
+public class ProductCatalogSnapshotService {
+
+    private final ProductRepository productRepository;
+    private final InventoryRepository inventoryRepository;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final long debounceMillis;
+    private final long stockRefreshMillis;
+
+    //Tek thread - oluşturmalar sırayla çalışır, aynı anda iki snapshot oluşturulmaz
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile CatalogSnapshot snapshot;
+    //Güncel snapshot oluşturulmadan önce okunan tablo sürümleri
+    private volatile CatalogVersion builtVersion;
+
+    //Bekleyen oluşturma ve zamanı (this üzerinde senkronize)
+    private ScheduledFuture<?> pendingRebuild;
+    private long pendingRebuildAt;
+
+    public ProductCatalogSnapshotService(
+            ProductRepository productRepository,
+            InventoryRepository inventoryRepository,
+            ProductMapper productMapper,
+            ObjectMapper objectMapper,
+            @Value("${product.catalog-snapshot.debounce-ms:500}") long debounceMillis,
+            @Value("${product.catalog-snapshot.stock-refresh-seconds:30}") long stockRefreshSeconds) {
+        this.productRepository = productRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+        this.debounceMillis = debounceMillis;
+        this.stockRefreshMillis = stockRefreshSeconds * 1000;
+    }
+
+    //Güncel snapshot - henüz oluşturulmadıysa (açılış sırasında gelen istek) çağıran thread'de oluşturulur
+    public CatalogSnapshot getSnapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = build();
+            }
+            return snapshot;
+        }
+    }
+
+    //Uygulama açılışında ilk snapshot'ı oluştur
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild(0);
+    }
+
+    //Ürün değişikliklerinde snapshot'ı yeniden oluşturmayı planla (commit sonrası)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        scheduleRebuild(event.isStockOnly() ? stockRefreshMillis : debounceMillis);
+        log.debug("Catalog snapshot rebuild scheduled: {}", event);
+    }
+
+    //Diğer node'larda yapılan değişiklikler için periyodik sürüm kontrolü - ürünler değiştiyse debounce ile,
+    //sadece stok değiştiyse stok yenileme gecikmesiyle yeniden oluşturulur
+    @Scheduled(fixedDelayString = "${product.catalog-snapshot.refresh-seconds:5}",
+               initialDelayString = "${product.catalog-snapshot.refresh-seconds:5}",
+               timeUnit = TimeUnit.SECONDS)
+    public void refreshIfChanged() {
+        CatalogVersion built = builtVersion;
+        if (built == null) {
+            return;
+        }
+        CatalogVersion current = readVersion();
+        if (!current.products().equals(built.products())) {
+            scheduleRebuild(debounceMillis);
+            log.debug("Catalog changed on another node, snapshot rebuild scheduled: {}", current.products());
+        } else if (!current.stock().equals(built.stock())) {
+            scheduleRebuild(stockRefreshMillis);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    //Daha erken planlanmış bir oluşturma varsa yenisi eklenmez; daha geç olan öne çekilir
+    private synchronized void scheduleRebuild(long delayMillis) {
+        long rebuildAt = System.currentTimeMillis() + delayMillis;
+        if (pendingRebuild != null) {
+            if (pendingRebuildAt <= rebuildAt) {
+                return;
+            }
+            pendingRebuild.cancel(false);
+        }
+        pendingRebuild = executor.schedule(this::rebuild, delayMillis, TimeUnit.MILLISECONDS);
+        pendingRebuildAt = rebuildAt;
+    }
+
+    private void rebuild() {
+        //Sorgudan önce temizlenir - oluşturma sırasında gelen değişiklik yeni bir oluşturma planlar
+        synchronized (this) {
+            pendingRebuild = null;
+        }
+        try {
+            snapshot = build();
+        } catch (RuntimeException e) {
+            //Eski snapshot sunulmaya devam eder, bir sonraki değişiklikte tekrar denenir
+            log.error("Catalog snapshot rebuild failed, serving previous snapshot", e);
+        }
+    }
+
+    private CatalogSnapshot build() {
+        long start = System.currentTimeMillis();
+        //Sürüm listeden önce okunur: arada gelen değişiklik bir sonraki kontrolde yeniden oluşturmaya yol açar, kaçırılmaz
+        CatalogVersion version = readVersion();
+        //Değişiklikten hemen sonra çalışır - replica gecikmesi yüzünden kaçırılmaması için primary'den okunur
+        List<ProductResponse> products = DataSourceRouting.onPrimary(productRepository::findActiveStockViews).stream()
+                .map(productMapper::toResponse)
+                .toList();
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(products);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Catalog snapshot serialization failed", e);
+        }
+        byte[] gzipped = gzip(json);
+
+        CatalogSnapshot built = new CatalogSnapshot(json, gzipped, digest(json), products.size(), Instant.now());
+        builtVersion = version;
+        log.info("Catalog snapshot built - {} products, {} bytes ({} gzipped) in {} ms",
+                built.productCount(), json.length, gzipped.length, System.currentTimeMillis() - start);
+        return built;
+    }
+
+    private CatalogVersion readVersion() {
+        return new CatalogVersion(
+                DataSourceRouting.onPrimary(productRepository::findCatalogVersionSummary),
+                DataSourceRouting.onPrimary(inventoryRepository::findStockVersionSummary));
+    }
+
+    private byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(bytes.length / 4, 512));
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    //İçerik özeti - ETag için (aynı içerik -> aynı ETag, restart sonrası da)
+    private String digest(byte[] bytes) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    //Önceden oluşturulmuş katalog - byte dizileri paylaşılır, değiştirilmemelidir
+    public record CatalogSnapshot(byte[] json, byte[] gzipped, String digest, int productCount, Instant builtAt) {
+    }
+
+    //Ürün ve stok tablolarının sürüm özetleri
+    private record CatalogVersion(VersionSummary products, VersionSummary stock) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.extern.slf4j.Slf4j;
+
+//Product export service - katalogun NDJSON olarak akış halinde dışa aktarımı
+//Ürünler inventory ile join edilerek forward-only JDBC cursor'ı ile fetch-size'lık parçalar halinde okunur
+//ve her satır okunduğu anda yanıta yazılır; bellek kullanımı satır sayısından bağımsızdır
+@Service
+@Slf4j
+public class ProductExportService {
+
+    private static final String EXPORT_SQL =
+            "SELECT p.id, p.sku, p.name, p.description, p.price, p.currency, p.is_active, p.version, " +
+            "p.created_at, p.updated_at, p.metadata, i.quantity, i.reserved " +
+            "FROM products p LEFT JOIN inventory i ON i.product_id = p.id";
+
+    private static final String ACTIVE_FILTER = " WHERE p.is_active = true";
+
+    private static final TypeReference<Map<String, Object>> METADATA_TYPE = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    //Her satırdan sonra flush yapılmaz, yanıt buffer'ı dolduğunda gönderilir
+    private final ObjectWriter rowWriter;
+
+    public ProductExportService(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${product.export.fetch-size:1000}") int fetchSize) {
+        //PostgreSQL sürücüsü fetch size'ı sadece autocommit kapalıyken (transaction içinde) cursor ile uygular
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    //Dışa aktarma gövdesi - sorgu, yanıt yazılırken (async thread'de) çalışır
+    public StreamingResponseBody exportProducts(boolean activeOnly, boolean gzip) {
+        String sql = activeOnly ? EXPORT_SQL + ACTIVE_FILTER : EXPORT_SQL;
+        return outputStream -> {
+            long start = System.currentTimeMillis();
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            long[] rows = {0};
+
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.query(sql, rs -> {
+                            writeRow(generator, toResponse(rs));
+                            rows[0]++;
+                        }));
+            } catch (UncheckedIOException e) {
+                //İstemci bağlantıyı kapattı
+                log.warn("Product export aborted after {} rows: {}", rows[0], e.getCause().getMessage());
+                throw e.getCause();
+            }
+
+            generator.flush();
+            if (out instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+            log.info("Product export finished - {} rows in {} ms (activeOnly: {}, gzip: {})",
+                    rows[0], System.currentTimeMillis() - start, activeOnly, gzip);
+        };
+    }
+
+    private void writeRow(JsonGenerator generator, ProductResponse product) {
+        try {
+            rowWriter.writeValue(generator, product);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ProductResponse toResponse(ResultSet rs) throws SQLException {
+        return ProductResponse.builder()
+                .id(rs.getObject("id", UUID.class))
+                .sku(rs.getString("sku"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .price(rs.getBigDecimal("price"))
+                .currency(rs.getString("currency"))
+                .isActive(rs.getBoolean("is_active"))
+                .version(rs.getInt("version"))
+                .createdAt(toInstant(rs.getTimestamp("created_at")))
+                .updatedAt(toInstant(rs.getTimestamp("updated_at")))
+                .metadata(parseMetadata(rs.getString("metadata")))
+                .availableStock(rs.getObject("quantity", Integer.class))
+                .reservedStock(rs.getObject("reserved", Integer.class))
+                .build();
+    }
+
+    private Instant toInstant(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toInstant();
+    }
+
+    private Map<String, Object> parseMetadata(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, METADATA_TYPE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid product metadata JSON", e);
+        }
+    }
+}
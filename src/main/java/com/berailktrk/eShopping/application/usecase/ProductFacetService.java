@@ -0,0 +1,397 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.berailktrk.eShopping.application.mapper.ProductMapper;
+import com.berailktrk.eShopping.application.support.ProductIndexSupport;
+import com.berailktrk.eShopping.application.support.TextNormalizer;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.presentation.dto.response.FacetCountResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductFacetResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+
+
+//Product facet service - aktif ürünlerin metadata nitelikleri (brand, color, size...) ve fiyatı
+//üzerinde bellek içi bitmap indeksi. Her nitelik değeri için bir BitSet tutulur; filtreleme ve
+//facet sayımları bitmap kesişimleri ile yapılır, jsonb üzerinde GROUP BY çalıştırılmaz.
+@Service
+public class ProductFacetService extends ProductIndexSupport {
+
+    public static final String PRICE_FACET = "price";
+
+    //Facet başına döndürülecek en fazla değer sayısı (en yüksek sayımlılar)
+    private static final int MAX_FACET_VALUES = 50;
+
+    private final List<String> attributes;
+    private final List<BigDecimal> priceBucketBounds;
+
+    //nitelik -> normalize edilmiş değer -> (görünen değer, ürün ordinal'leri)
+    private final Map<String, Map<String, FacetValue>> facets = new HashMap<>();
+    //fiyat -> ürün ordinal'leri (aralık filtresi için)
+    private final NavigableMap<BigDecimal, BitSet> priceIndex = new TreeMap<>();
+    //fiyat aralığı kovası -> ürün ordinal'leri (fiyat facet sayımı için)
+    private final BitSet[] priceBuckets;
+    //indeksteki tüm ürünler
+    private final BitSet allProducts = new BitSet();
+
+    //ordinal -> indekslenmiş ürün
+    private final Map<Integer, IndexedProduct> documents = new HashMap<>();
+    //ürün ID -> ordinal
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    //Silinen ürünlerden boşalan ordinal'ler tekrar kullanılır (bitmap'ler yoğun kalır)
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private int nextOrdinal = 0;
+
+    public ProductFacetService(
+            ProductRepository productRepository,
+            ProductMapper productMapper,
+            @Value("${product.facets.attributes:brand,color,size}") List<String> attributes,
+            @Value("${product.facets.price-buckets:0,100,250,500,1000,2500}") List<BigDecimal> priceBucketBounds,
+            @Value("${product.changes.safety-window-seconds:15}") long changesSafetyWindowSeconds) {
+        super(productRepository, productMapper, changesSafetyWindowSeconds);
+        this.attributes = attributes.stream()
+                .map(String::trim)
+                .filter(attribute -> !attribute.isEmpty())
+                .distinct()
+                .collect(Collectors.toUnmodifiableList());
+        this.priceBucketBounds = priceBucketBounds.stream().sorted().distinct().toList();
+        this.priceBuckets = new BitSet[this.priceBucketBounds.size()];
+        for (int i = 0; i < priceBuckets.length; i++) {
+            priceBuckets[i] = new BitSet();
+        }
+        this.attributes.forEach(attribute -> facets.put(attribute, new HashMap<>()));
+    }
+
+    //Facet olarak indekslenen metadata nitelikleri
+    public List<String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    protected String indexName() {
+        return "Product facet index";
+    }
+
+    @Override
+    protected String summary() {
+        return "attributes: " + attributes;
+    }
+
+    @Override
+    protected void clear() {
+        facets.values().forEach(Map::clear);
+        priceIndex.clear();
+        for (BitSet bucket : priceBuckets) {
+            bucket.clear();
+        }
+        allProducts.clear();
+        documents.clear();
+        ordinals.clear();
+        freeOrdinals.clear();
+        nextOrdinal = 0;
+    }
+
+    //Facet'li listeleme - nitelik filtreleri (aynı nitelikte birden fazla değer = VEYA), fiyat aralığı, sayfalama
+    //Her facet'in sayımı kendi filtresi hariç diğer tüm filtrelerle hesaplanır (çoklu seçim facet'leri)
+    public ProductFacetResponse browse(Map<String, List<String>> filters, String priceRange, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size <= 0 || size > 100) {
+            throw new IllegalArgumentException("Size must be between 1 and 100");
+        }
+        for (String attribute : filters.keySet()) {
+            if (!facets.containsKey(attribute)) {
+                throw new IllegalArgumentException("Unknown facet attribute: " + attribute);
+            }
+        }
+        PriceRange range = PriceRange.parse(priceRange);
+        if (!isReady()) {
+            throw new IllegalStateException("Product facet index is being built, please retry shortly");
+        }
+
+        List<ProductResponse> items;
+        int totalHits;
+        Map<String, List<FacetCountResponse>> facetCounts = new LinkedHashMap<>();
+
+        lock.readLock().lock();
+        try {
+            //Nitelik başına filtre bitmap'i (değerlerin birleşimi)
+            Map<String, BitSet> attributeFilters = new HashMap<>();
+            filters.forEach((attribute, values) -> {
+                if (!values.isEmpty()) {
+                    attributeFilters.put(attribute, unionOf(attribute, values));
+                }
+            });
+            BitSet priceFilter = range == null ? null : priceFilter(range);
+
+            BitSet result = (BitSet) allProducts.clone();
+            attributeFilters.values().forEach(result::and);
+            if (priceFilter != null) {
+                result.and(priceFilter);
+            }
+
+            for (String attribute : attributes) {
+                BitSet base = (BitSet) allProducts.clone();
+                attributeFilters.forEach((other, bits) -> {
+                    if (!other.equals(attribute)) {
+                        base.and(bits);
+                    }
+                });
+                if (priceFilter != null) {
+                    base.and(priceFilter);
+                }
+                facetCounts.put(attribute, countValues(facets.get(attribute).values(), base));
+            }
+
+            BitSet priceBase = (BitSet) allProducts.clone();
+            attributeFilters.values().forEach(priceBase::and);
+            facetCounts.put(PRICE_FACET, countPriceBuckets(priceBase));
+
+            totalHits = result.cardinality();
+            List<IndexedProduct> hits = new ArrayList<>(totalHits);
+            for (int ordinal = result.nextSetBit(0); ordinal >= 0; ordinal = result.nextSetBit(ordinal + 1)) {
+                hits.add(documents.get(ordinal));
+            }
+            hits.sort(Comparator.comparing((IndexedProduct hit) -> hit.product().getName(), String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(hit -> hit.product().getSku()));
+
+            int from = Math.min(page * size, hits.size());
+            int to = Math.min(from + size, hits.size());
+            items = hits.subList(from, to).stream()
+                    .map(IndexedProduct::product)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return ProductFacetResponse.builder()
+                .items(items)
+                .page(page)
+                .size(size)
+                .totalHits(totalHits)
+                .facets(facetCounts)
+                .build();
+    }
+
+    //Ürünü indekse ekle veya güncelle (write lock altında çağrılır)
+    @Override
+    protected void upsert(ProductResponse product) {
+        remove(product.getId());
+
+        int ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+        Map<String, Set<String>> values = new HashMap<>();
+
+        for (String attribute : attributes) {
+            Set<String> normalizedValues = new LinkedHashSet<>();
+            for (String display : attributeValues(product.getMetadata(), attribute)) {
+                String normalized = TextNormalizer.normalize(display);
+                if (normalized.isEmpty() || !normalizedValues.add(normalized)) {
+                    continue;
+                }
+                facets.get(attribute)
+                        .computeIfAbsent(normalized, key -> new FacetValue(display, new BitSet()))
+                        .ordinals()
+                        .set(ordinal);
+            }
+            values.put(attribute, normalizedValues);
+        }
+
+        BigDecimal price = product.getPrice();
+        if (price != null) {
+            priceIndex.computeIfAbsent(price, key -> new BitSet()).set(ordinal);
+            int bucket = bucketOf(price);
+            if (bucket >= 0) {
+                priceBuckets[bucket].set(ordinal);
+            }
+        }
+
+        allProducts.set(ordinal);
+        documents.put(ordinal, new IndexedProduct(product, values));
+        ordinals.put(product.getId(), ordinal);
+    }
+
+    //Ürünü indeksten çıkar (write lock altında çağrılır)
+    @Override
+    protected void remove(UUID productId) {
+        Integer ordinal = ordinals.remove(productId);
+        if (ordinal == null) {
+            return;
+        }
+        IndexedProduct document = documents.remove(ordinal);
+
+        document.values().forEach((attribute, normalizedValues) -> {
+            Map<String, FacetValue> attributeValues = facets.get(attribute);
+            for (String normalized : normalizedValues) {
+                FacetValue value = attributeValues.get(normalized);
+                value.ordinals().clear(ordinal);
+                if (value.ordinals().isEmpty()) {
+                    attributeValues.remove(normalized);
+                }
+            }
+        });
+
+        BigDecimal price = document.product().getPrice();
+        if (price != null) {
+            BitSet samePrice = priceIndex.get(price);
+            samePrice.clear(ordinal);
+            if (samePrice.isEmpty()) {
+                priceIndex.remove(price);
+            }
+            int bucket = bucketOf(price);
+            if (bucket >= 0) {
+                priceBuckets[bucket].clear(ordinal);
+            }
+        }
+
+        allProducts.clear(ordinal);
+        freeOrdinals.push(ordinal);
+    }
+
+    //Bir niteliğin istenen değerlerinin birleşimi (bilinmeyen değer boş küme)
+    private BitSet unionOf(String attribute, List<String> values) {
+        BitSet union = new BitSet();
+        Map<String, FacetValue> attributeValues = facets.get(attribute);
+        for (String value : values) {
+            FacetValue facetValue = attributeValues.get(TextNormalizer.normalize(value));
+            if (facetValue != null) {
+                union.or(facetValue.ordinals());
+            }
+        }
+        return union;
+    }
+
+    //Fiyat aralığındaki ürünler - [alt, üst): fiyat kovalarıyla aynı, kova etiketi filtre olarak verilince kova sayımı kadar ürün döner
+    private BitSet priceFilter(PriceRange range) {
+        NavigableMap<BigDecimal, BitSet> matching = priceIndex;
+        if (range.from() != null && range.to() != null) {
+            matching = priceIndex.subMap(range.from(), true, range.to(), false);
+        } else if (range.from() != null) {
+            matching = priceIndex.tailMap(range.from(), true);
+        } else if (range.to() != null) {
+            matching = priceIndex.headMap(range.to(), false);
+        }
+        BitSet union = new BitSet();
+        matching.values().forEach(union::or);
+        return union;
+    }
+
+    //Değer başına sayım = |base ∩ değer bitmap'i|, sıfır olanlar atlanır
+    private List<FacetCountResponse> countValues(Collection<FacetValue> values, BitSet base) {
+        List<FacetCountResponse> counts = new ArrayList<>();
+        for (FacetValue value : values) {
+            int count = intersectionCount(base, value.ordinals());
+            if (count > 0) {
+                counts.add(FacetCountResponse.builder().value(value.display()).count(count).build());
+            }
+        }
+        counts.sort(Comparator.comparing(FacetCountResponse::getCount).reversed()
+                .thenComparing(FacetCountResponse::getValue));
+        return counts.size() > MAX_FACET_VALUES ? new ArrayList<>(counts.subList(0, MAX_FACET_VALUES)) : counts;
+    }
+
+    //Fiyat kovası sayımları - etiket "alt..üst" (son kova üst sınırsız), fiyat filtresi olarak kullanılabilir
+    private List<FacetCountResponse> countPriceBuckets(BitSet base) {
+        List<FacetCountResponse> counts = new ArrayList<>();
+        for (int i = 0; i < priceBuckets.length; i++) {
+            int count = intersectionCount(base, priceBuckets[i]);
+            if (count > 0) {
+                String label = priceBucketBounds.get(i).toPlainString() + ".."
+                        + (i + 1 < priceBucketBounds.size() ? priceBucketBounds.get(i + 1).toPlainString() : "");
+                counts.add(FacetCountResponse.builder().value(label).count(count).build());
+            }
+        }
+        return counts;
+    }
+
+    private int intersectionCount(BitSet base, BitSet values) {
+        if (!base.intersects(values)) {
+            return 0;
+        }
+        BitSet intersection = (BitSet) values.clone();
+        intersection.and(base);
+        return intersection.cardinality();
+    }
+
+    //Fiyatın kovası - [sınır_i, sınır_i+1) ; ilk sınırın altındaysa -1
+    private int bucketOf(BigDecimal price) {
+        int bucket = -1;
+        for (int i = 0; i < priceBucketBounds.size(); i++) {
+            if (price.compareTo(priceBucketBounds.get(i)) >= 0) {
+                bucket = i;
+            } else {
+                break;
+            }
+        }
+        return bucket;
+    }
+
+    //Metadata'daki nitelik değerleri - tek değer veya liste (["S","M"]); iç içe nesneler atlanır
+    private List<String> attributeValues(Map<String, Object> metadata, String attribute) {
+        if (metadata == null) {
+            return List.of();
+        }
+        Object raw = metadata.get(attribute);
+        if (raw == null || raw instanceof Map) {
+            return List.of();
+        }
+        if (raw instanceof Collection<?> collection) {
+            return collection.stream()
+                    .filter(value -> value != null && !(value instanceof Map) && !(value instanceof Collection))
+                    .map(value -> value.toString().trim())
+                    .collect(Collectors.toList());
+        }
+        return List.of(raw.toString().trim());
+    }
+
+    private record FacetValue(String display, BitSet ordinals) {
+    }
+
+    private record IndexedProduct(ProductResponse product, Map<String, Set<String>> values) {
+    }
+
+    //Fiyat aralığı - "100..500", "100.." veya "..500" (alt sınır dahil, üst sınır hariç)
+    private record PriceRange(BigDecimal from, BigDecimal to) {
+
+        static PriceRange parse(String text) {
+            if (text == null || text.isBlank()) {
+                return null;
+            }
+            int separator = text.indexOf("..");
+            if (separator < 0) {
+                throw new IllegalArgumentException("Price range must be in the form min..max: " + text);
+            }
+            try {
+                String fromText = text.substring(0, separator).trim();
+                String toText = text.substring(separator + 2).trim();
+                BigDecimal from = fromText.isEmpty() ? null : new BigDecimal(fromText);
+                BigDecimal to = toText.isEmpty() ? null : new BigDecimal(toText);
+                if (from != null && to != null && from.compareTo(to) >= 0) {
+                    throw new IllegalArgumentException("Price range minimum must be less than maximum: " + text);
+                }
+                return new PriceRange(from, to);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid price range: " + text);
+            }
+        }
+    }
+}
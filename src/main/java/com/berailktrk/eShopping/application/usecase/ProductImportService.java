@@ -0,0 +1,481 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.application.event.ProductChangedEvent;
+import com.berailktrk.eShopping.application.event.ProductChangedEvent.ChangeType;
+import com.berailktrk.eShopping.application.support.CsvRecordReader;
+import com.berailktrk.eShopping.domain.model.AuditLog;
+import com.berailktrk.eShopping.domain.model.User;
+import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
+import com.berailktrk.eShopping.presentation.dto.request.CreateProductRequest;
+import com.berailktrk.eShopping.presentation.dto.response.ProductImportErrorResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductImportResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+//Product import service - CSV veya NDJSON akışından toplu ürün/stok içe aktarma
+//Dosya satır satır okunur, satırlar CreateProductRequest kurallarıyla doğrulanır ve
+//batch-size'lık parçalar halinde JDBC batch upsert ile yazılır. Her parça kendi transaction'ında
+//çalışır ve tek bir özet audit log üretir; hatalı satırlar raporlanır, içe aktarma devam eder.
+@Service
+@Slf4j
+public class ProductImportService {
+
+    public enum ImportFormat {
+        CSV,
+        NDJSON
+    }
+
+    //SKU çakışmasında mevcut ürün güncellenir (id ve created_at korunur)
+    private static final String UPSERT_PRODUCT_SQL =
+            "INSERT INTO products (id, sku, name, description, price, currency, is_active, created_at, updated_at, metadata, version) " +
+            "VALUES (:id, :sku, :name, :description, :price, :currency, :isActive, :now, :now, CAST(:metadata AS jsonb), 0) " +
+            "ON CONFLICT (sku) DO UPDATE SET " +
+            "name = EXCLUDED.name, " +
+            "description = EXCLUDED.description, " +
+            "price = EXCLUDED.price, " +
+            "currency = EXCLUDED.currency, " +
+            "is_active = EXCLUDED.is_active, " +
+            "metadata = COALESCE(EXCLUDED.metadata, products.metadata), " +
+            "updated_at = EXCLUDED.updated_at, " +
+            "version = products.version + 1";
+
+    //Stok kaydı ürün id'si SKU üzerinden çözülerek yazılır; stok sütunu depodaki eldeki miktardır (sepetlerde
+    //rezerve olanlar dahil) - satılabilir quantity, eldeki miktardan rezerve edilen düşülerek bulunur.
+    //Eldeki miktar rezerve edilenin altındaysa satır güncellenmez; parçalı (kampanya) ve node'lara kiralanan
+    //stoklar içe aktarmayla ezilmez
+    private static final String UPSERT_INVENTORY_SQL =
+            "INSERT INTO inventory (product_id, product_sku, product_name, quantity, reserved, updated_at, version) " +
+            "SELECT p.id, p.sku, p.name, :quantity, 0, :now, 0 FROM products p WHERE p.sku = :sku " +
+            "ON CONFLICT (product_id) DO UPDATE SET " +
+            "quantity = EXCLUDED.quantity - inventory.reserved, " +
+            "product_sku = EXCLUDED.product_sku, " +
+            "product_name = EXCLUDED.product_name, " +
+            "updated_at = EXCLUDED.updated_at, " +
+            "version = inventory.version + 1 " +
+            "WHERE inventory.reserved <= EXCLUDED.quantity AND inventory.shard_count IS NULL AND inventory.lease_size IS NULL";
+
+    //Upsert'ten önceki fiyatlar - satırlar id sırasıyla kilitlenir, fiyat geçmişi için karşılaştırılır
+    private static final String SELECT_PRICES_FOR_UPDATE_SQL =
+            "SELECT sku, price, currency FROM products WHERE sku IN (:skus) ORDER BY id FOR UPDATE";
+
+    private static final String SELECT_IDS_BY_SKU_SQL =
+            "SELECT id, sku FROM products WHERE sku IN (:skus)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditLogService auditLogService;
+    private final AuditLogRepository auditLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductPriceHistoryService productPriceHistoryService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public ProductImportService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            AuditLogService auditLogService,
+            AuditLogRepository auditLogRepository,
+            ApplicationEventPublisher eventPublisher,
+            ProductPriceHistoryService productPriceHistoryService,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${product.import.batch-size:500}") int batchSize,
+            @Value("${product.import.max-reported-errors:1000}") int maxReportedErrors) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Import batch size must be positive: " + batchSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.auditLogService = auditLogService;
+        this.auditLogRepository = auditLogRepository;
+        this.eventPublisher = eventPublisher;
+        this.productPriceHistoryService = productPriceHistoryService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    //Akışı içe aktar (ADMIN) - akış bu metot içinde sonuna kadar okunur
+    public ProductImportResponse importProducts(InputStream input, ImportFormat format, User actorUser) throws IOException {
+        log.info("Starting product import - format: {}, batch size: {}", format, batchSize);
+        long start = System.currentTimeMillis();
+        ImportProgress progress = new ImportProgress();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        if (format == ImportFormat.CSV) {
+            readCsv(reader, progress, actorUser);
+        } else {
+            readNdjson(reader, progress, actorUser);
+        }
+        flush(progress, actorUser);
+
+        long durationMs = System.currentTimeMillis() - start;
+        log.info("Product import finished - {} rows, {} imported, {} failed, {} batches in {} ms",
+                progress.totalRows, progress.importedRows, progress.failedRows, progress.batchCount, durationMs);
+
+        return ProductImportResponse.builder()
+                .format(format.name())
+                .totalRows(progress.totalRows)
+                .importedRows(progress.importedRows)
+                .failedRows(progress.failedRows)
+                .batchCount(progress.batchCount)
+                .errors(progress.errors)
+                .errorsTruncated(progress.failedRows > progress.errors.size())
+                .durationMs(durationMs)
+                .build();
+    }
+
+    //CSV - ilk satır başlık; sku, name ve price kolonları zorunlu
+    private void readCsv(BufferedReader reader, ImportProgress progress, User actorUser) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        Map<String, Integer> columns = resolveColumns(header);
+
+        while (true) {
+            List<String> record;
+            try {
+                record = csv.next();
+            } catch (IllegalArgumentException e) {
+                //Kapanmamış tırnak - dosyanın geri kalanı okunamaz
+                progress.totalRows++;
+                progress.reject(csv.getRecordLineNumber(), null, e.getMessage(), maxReportedErrors);
+                break;
+            }
+            if (record == null) {
+                break;
+            }
+            long line = csv.getRecordLineNumber();
+            progress.totalRows++;
+            String sku = column(record, columns, "sku");
+            try {
+                CreateProductRequest row = CreateProductRequest.builder()
+                        .sku(sku)
+                        .name(column(record, columns, "name"))
+                        .description(column(record, columns, "description"))
+                        .price(parseDecimal(column(record, columns, "price")))
+                        .currency(column(record, columns, "currency"))
+                        .isActive(parseBoolean(column(record, columns, "isactive")))
+                        .initialStockQuantity(parseInteger(column(record, columns, "stock")))
+                        .build();
+                accept(row, line, progress, actorUser);
+            } catch (IllegalArgumentException e) {
+                progress.reject(line, sku, e.getMessage(), maxReportedErrors);
+            }
+        }
+    }
+
+    //NDJSON - her satır CreateProductRequest alanlarına sahip bir JSON nesnesi
+    private void readNdjson(BufferedReader reader, ImportProgress progress, User actorUser) throws IOException {
+        String text;
+        long line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            progress.totalRows++;
+            try {
+                //"null", dizi veya sayı gibi satırlar nesneye dönüşmez - satır hatası olarak raporlanır
+                JsonNode node = objectMapper.readTree(text);
+                if (node == null || !node.isObject()) {
+                    progress.reject(line, null, "Row must be a JSON object", maxReportedErrors);
+                    continue;
+                }
+                CreateProductRequest row = objectMapper.treeToValue(node, CreateProductRequest.class);
+                accept(row, line, progress, actorUser);
+            } catch (JsonProcessingException e) {
+                progress.reject(line, null, "Invalid JSON: " + e.getOriginalMessage(), maxReportedErrors);
+            }
+        }
+    }
+
+    //Satırı doğrula ve bekleyen parçaya ekle, parça dolduysa yaz
+    private void accept(CreateProductRequest row, long line, ImportProgress progress, User actorUser) {
+        if (row.getCurrency() == null || row.getCurrency().isBlank()) {
+            row.setCurrency("TRY");
+        }
+        if (row.getIsActive() == null) {
+            row.setIsActive(true);
+        }
+
+        Set<ConstraintViolation<CreateProductRequest>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            progress.reject(line, row.getSku(), message, maxReportedErrors);
+            return;
+        }
+
+        progress.pending.add(new ImportRow(line, row));
+        if (progress.pending.size() >= batchSize) {
+            flush(progress, actorUser);
+        }
+    }
+
+    //Bekleyen parçayı tek transaction'da yaz - hata olursa sadece bu parçanın satırları başarısız sayılır
+    private void flush(ImportProgress progress, User actorUser) {
+        if (progress.pending.isEmpty()) {
+            return;
+        }
+        List<ImportRow> batch = progress.pending;
+        progress.pending = new ArrayList<>(batchSize);
+        int batchNumber = ++progress.batchCount;
+
+        try {
+            List<ProductImportErrorResponse> stockErrors =
+                    transactionTemplate.execute(status -> writeBatch(batch, batchNumber, actorUser));
+            progress.importedRows += batch.size() - stockErrors.size();
+            stockErrors.forEach(error -> progress.reject(error, maxReportedErrors));
+        } catch (DataAccessException e) {
+            rejectBatch(progress, batch, batchNumber, e.getMostSpecificCause().getMessage());
+        } catch (RuntimeException e) {
+            //Veritabanı dışı hatalar da (audit, event dinleyicisi vb.) sadece bu parçayı başarısız sayar
+            log.error("Product import batch {} failed unexpectedly", batchNumber, e);
+            rejectBatch(progress, batch, batchNumber, e.getMessage());
+        }
+    }
+
+    //Parçanın tüm satırlarını aynı hata ile başarısız say - içe aktarma sonraki parçayla devam eder
+    private void rejectBatch(ImportProgress progress, List<ImportRow> batch, int batchNumber, String cause) {
+        String message = "Batch " + batchNumber + " failed: " + cause;
+        log.warn("Product import batch {} failed (lines {}-{}): {}", batchNumber,
+                batch.get(0).line(), batch.get(batch.size() - 1).line(), cause);
+        batch.forEach(row -> progress.reject(row.line(), row.request().getSku(), message, maxReportedErrors));
+    }
+
+    //Ürün ve stok upsert'leri, parça audit log'u ve değişiklik event'i (transaction içinde)
+    //Dönen liste: ürünü yazılan ancak stoğu rezerve miktarın altında olduğu için güncellenmeyen satırlar
+    private List<ProductImportErrorResponse> writeBatch(List<ImportRow> batch, int batchNumber, User actorUser) {
+        Instant importedAt = Instant.now();
+        Timestamp now = Timestamp.from(importedAt);
+        MapSqlParameterSource skuParams = new MapSqlParameterSource(
+                "skus", batch.stream().map(row -> row.request().getSku()).distinct().toList());
+
+        Map<String, PreviousPrice> previousPrices = new HashMap<>();
+        jdbcTemplate.query(SELECT_PRICES_FOR_UPDATE_SQL, skuParams, rs -> {
+            previousPrices.put(rs.getString("sku"), new PreviousPrice(rs.getBigDecimal("price"), rs.getString("currency")));
+        });
+
+        SqlParameterSource[] productParams = batch.stream()
+                .map(row -> new MapSqlParameterSource()
+                        .addValue("id", UUID.randomUUID())
+                        .addValue("sku", row.request().getSku())
+                        .addValue("name", row.request().getName())
+                        .addValue("description", row.request().getDescription())
+                        .addValue("price", row.request().getPrice())
+                        .addValue("currency", row.request().getCurrency())
+                        .addValue("isActive", row.request().getIsActive())
+                        .addValue("now", now)
+                        .addValue("metadata", toJson(row.request().getMetadata())))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(UPSERT_PRODUCT_SQL, productParams);
+
+        List<ImportRow> stockRows = batch.stream()
+                .filter(row -> row.request().getInitialStockQuantity() != null)
+                .collect(Collectors.toList());
+        List<ProductImportErrorResponse> stockErrors = new ArrayList<>();
+        if (!stockRows.isEmpty()) {
+            SqlParameterSource[] inventoryParams = stockRows.stream()
+                    .map(row -> new MapSqlParameterSource()
+                            .addValue("sku", row.request().getSku())
+                            .addValue("quantity", row.request().getInitialStockQuantity())
+                            .addValue("now", now))
+                    .toArray(SqlParameterSource[]::new);
+            int[] counts = jdbcTemplate.batchUpdate(UPSERT_INVENTORY_SQL, inventoryParams);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    ImportRow row = stockRows.get(i);
+                    stockErrors.add(ProductImportErrorResponse.builder()
+                            .line(row.line())
+                            .sku(row.request().getSku())
+                            .message("Product imported but stock not updated: on-hand stock is below reserved stock or stock is sharded/leased")
+                            .build());
+                }
+            }
+        }
+
+        //Event ve audit için ürün id'leri
+        Map<String, UUID> idsBySku = new HashMap<>();
+        jdbcTemplate.query(SELECT_IDS_BY_SKU_SQL, skuParams, rs -> {
+            idsBySku.put(rs.getString("sku"), rs.getObject("id", UUID.class));
+        });
+
+        //Yeni ürünler ve fiyatı/para birimi değişenler fiyat geçmişine eklenir (aynı SKU tekrar ediyorsa son satır yazılmıştır)
+        Map<String, CreateProductRequest> finalRows = new HashMap<>();
+        batch.forEach(row -> finalRows.put(row.request().getSku(), row.request()));
+        List<ProductPriceHistoryService.PriceChange> priceChanges = new ArrayList<>();
+        finalRows.forEach((sku, request) -> {
+            PreviousPrice previous = previousPrices.get(sku);
+            if (previous == null || previous.price().compareTo(request.getPrice()) != 0
+                    || !previous.currency().equals(request.getCurrency())) {
+                priceChanges.add(new ProductPriceHistoryService.PriceChange(
+                        idsBySku.get(sku), request.getPrice(), request.getCurrency()));
+            }
+        });
+        productPriceHistoryService.recordAll(priceChanges, importedAt, ProductPriceHistoryService.SOURCE_IMPORT);
+        List<String> skus = new ArrayList<>(idsBySku.keySet());
+        List<UUID> productIds = skus.stream().map(idsBySku::get).collect(Collectors.toList());
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("batchNumber", batchNumber);
+        details.put("firstLine", batch.get(0).line());
+        details.put("lastLine", batch.get(batch.size() - 1).line());
+        details.put("rowCount", batch.size());
+        details.put("stockRowCount", stockRows.size() - stockErrors.size());
+        details.put("skus", skus);
+
+        AuditLog importLog = auditLogService.createLogWithDetails(
+            actorUser,
+            AuditLogService.ACTION_PRODUCT_BULK_IMPORTED,
+            AuditLogService.RESOURCE_PRODUCT,
+            null,
+            String.format("Toplu ürün içe aktarma: %d ürün (parça %d, satır %d-%d)",
+                    skus.size(), batchNumber, batch.get(0).line(), batch.get(batch.size() - 1).line()),
+            details
+        );
+        auditLogRepository.save(importLog);
+
+        //Cache ve arama indeksi commit sonrası güncellenir
+        eventPublisher.publishEvent(ProductChangedEvent.ofAll(ChangeType.UPDATED, productIds, skus));
+        return stockErrors;
+    }
+
+    //Başlık satırından kolon indeksleri (büyük/küçük harf duyarsız, alternatif adlar kabul edilir)
+    private Map<String, Integer> resolveColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+            switch (name) {
+                case "isactive", "active" -> columns.put("isactive", i);
+                case "stock", "quantity", "initialstockquantity" -> columns.put("stock", i);
+                default -> columns.put(name, i);
+            }
+        }
+        for (String required : List.of("sku", "name", "price")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header must contain column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    //Kolon değeri - kolon yoksa veya boşsa null
+    private String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private BigDecimal parseDecimal(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price: " + value);
+        }
+    }
+
+    private Integer parseInteger(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid stock quantity: " + value);
+        }
+    }
+
+    private Boolean parseBoolean(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "1", "yes" -> true;
+            case "false", "0", "no" -> false;
+            default -> throw new IllegalArgumentException("Invalid isActive value: " + value);
+        };
+    }
+
+    private String toJson(Map<String, Object> metadata) {
+        if (metadata == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(metadata);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Metadata could not be serialized", e);
+        }
+    }
+
+    private record ImportRow(long line, CreateProductRequest request) {
+    }
+
+    private record PreviousPrice(BigDecimal price, String currency) {
+    }
+
+    //İçe aktarma durumu - sadece sayaçlar, bekleyen parça ve sınırlı sayıda hata tutulur
+    private static class ImportProgress {
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+        private int batchCount;
+        private List<ImportRow> pending = new ArrayList<>();
+        private final List<ProductImportErrorResponse> errors = new ArrayList<>();
+
+        void reject(long line, String sku, String message, int maxReportedErrors) {
+            reject(ProductImportErrorResponse.builder().line(line).sku(sku).message(message).build(), maxReportedErrors);
+        }
+
+        void reject(ProductImportErrorResponse error, int maxReportedErrors) {
+            failedRows++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(error);
+            }
+        }
+    }
+}
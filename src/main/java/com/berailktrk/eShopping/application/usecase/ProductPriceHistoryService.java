@@ -0,0 +1,204 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.domain.model.ProductPriceHistory;
+import com.berailktrk.eShopping.domain.model.ProductStockView;
+import com.berailktrk.eShopping.domain.repository.ProductPriceHistoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.presentation.dto.response.PricePointResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductPriceHistoryResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+//Product price history service - ürün fiyatlarının zaman serisi
+//Fiyatı değiştiren her yol (ürün oluşturma/güncelleme, toplu fiyat güncelleme, içe aktarma) aynı transaction içinde
+//buraya bir kayıt ekler. Bir andaki fiyat ve bir aralıktaki değişiklikler (product_id, valid_from) index'inden okunur;
+//audit_logs jsonb detaylarının taranmasına gerek kalmaz
+@Service
+@Slf4j
+public class ProductPriceHistoryService {
+
+    public static final String SOURCE_CREATED = "CREATED";
+    public static final String SOURCE_UPDATED = "UPDATED";
+    public static final String SOURCE_BULK_UPDATE = "BULK_UPDATE";
+    public static final String SOURCE_IMPORT = "IMPORT";
+    //Geçmişi olmayan ürünler için açılışta eklenen başlangıç kaydı
+    public static final String SOURCE_BASELINE = "BASELINE";
+
+    private static final int BASELINE_CHUNK_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO product_price_history (id, product_id, price, currency, valid_from, source) " +
+            "VALUES (:id, :productId, :price, :currency, :validFrom, :source)";
+
+    //Son değişiklik zamanı bilinmediği için başlangıç kaydı ürünün son güncellenme anından geçerli sayılır
+    private static final String SELECT_WITHOUT_HISTORY_SQL =
+            "SELECT p.id, p.price, p.currency, COALESCE(p.updated_at, p.created_at) AS valid_from FROM products p " +
+            "WHERE NOT EXISTS (SELECT 1 FROM product_price_history h WHERE h.product_id = p.id) " +
+            "ORDER BY p.id LIMIT :limit";
+
+    private final ProductPriceHistoryRepository productPriceHistoryRepository;
+    private final ProductRepository productRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPoints;
+
+    public ProductPriceHistoryService(
+            ProductPriceHistoryRepository productPriceHistoryRepository,
+            ProductRepository productRepository,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${product.price-history.max-points:1000}") int maxPoints) {
+        this.productPriceHistoryRepository = productPriceHistoryRepository;
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.maxPoints = maxPoints;
+    }
+
+    //Tek ürünün yeni fiyatını ekle (çağıranın transaction'ında)
+    public void record(UUID productId, BigDecimal price, String currency, Instant validFrom, String source) {
+        productPriceHistoryRepository.save(ProductPriceHistory.builder()
+                .id(UUID.randomUUID())
+                .productId(productId)
+                .price(price)
+                .currency(currency)
+                .validFrom(validFrom)
+                .source(source)
+                .build());
+    }
+
+    //Toplu fiyat değişikliklerini tek JDBC batch ile ekle (çağıranın transaction'ında)
+    public void recordAll(Collection<PriceChange> changes, Instant validFrom, String source) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.from(validFrom);
+        SqlParameterSource[] params = changes.stream()
+                .map(change -> new MapSqlParameterSource()
+                        .addValue("id", UUID.randomUUID())
+                        .addValue("productId", change.productId())
+                        .addValue("price", change.price())
+                        .addValue("currency", change.currency())
+                        .addValue("validFrom", timestamp)
+                        .addValue("source", source))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INSERT_SQL, params);
+    }
+
+    //Ürünün fiyat geçmişi (ADMIN) - at verilirse o andaki fiyat, yoksa from anındaki fiyat ve (from, to] değişiklikleri
+    public ProductPriceHistoryResponse getPriceHistory(String sku, Instant at, Instant from, Instant to) {
+        if (at != null && (from != null || to != null)) {
+            throw new IllegalArgumentException("Either 'at' or a 'from'/'to' range must be provided, not both");
+        }
+        if (at == null && from == null) {
+            throw new IllegalArgumentException("Either 'at' or 'from' must be provided");
+        }
+        UUID productId = productRepository.findStockViewBySku(sku)
+                .map(ProductStockView::getId)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found with SKU: " + sku));
+
+        if (at != null) {
+            ProductPriceHistory effective = findEffectiveAt(productId, at);
+            if (effective == null) {
+                throw new IllegalArgumentException("No price recorded for " + sku + " at " + at);
+            }
+            return ProductPriceHistoryResponse.builder()
+                    .productId(productId)
+                    .sku(sku)
+                    .from(at)
+                    .to(at)
+                    .prices(List.of(toResponse(effective)))
+                    .build();
+        }
+
+        Instant end = to != null ? to : Instant.now();
+        if (end.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        List<PricePointResponse> prices = new ArrayList<>();
+        ProductPriceHistory effective = findEffectiveAt(productId, from);
+        if (effective != null) {
+            prices.add(toResponse(effective));
+        }
+        List<ProductPriceHistory> changes = productPriceHistoryRepository.findChangesBetween(
+                productId, from, end, Limit.of(maxPoints + 1));
+        boolean truncated = changes.size() > maxPoints;
+        changes.stream().limit(maxPoints).map(this::toResponse).forEach(prices::add);
+
+        return ProductPriceHistoryResponse.builder()
+                .productId(productId)
+                .sku(sku)
+                .from(from)
+                .to(end)
+                .prices(prices)
+                .truncated(truncated)
+                .build();
+    }
+
+    //Uygulama açılışında geçmişi olmayan ürünlere güncel fiyatla başlangıç kaydı ekle (ilk kurulum ve eski ürünler)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillBaseline() {
+        long start = System.currentTimeMillis();
+        int total = 0;
+        while (true) {
+            Integer inserted = transactionTemplate.execute(status -> {
+                List<SqlParameterSource> rows = jdbcTemplate.query(SELECT_WITHOUT_HISTORY_SQL,
+                        new MapSqlParameterSource("limit", BASELINE_CHUNK_SIZE), (rs, rowNum) ->
+                        new MapSqlParameterSource()
+                                .addValue("id", UUID.randomUUID())
+                                .addValue("productId", rs.getObject("id", UUID.class))
+                                .addValue("price", rs.getBigDecimal("price"))
+                                .addValue("currency", rs.getString("currency"))
+                                .addValue("validFrom", rs.getTimestamp("valid_from"))
+                                .addValue("source", SOURCE_BASELINE));
+                if (!rows.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows.toArray(new SqlParameterSource[0]));
+                }
+                return rows.size();
+            });
+            total += inserted;
+            if (inserted < BASELINE_CHUNK_SIZE) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Price history baseline recorded for {} products in {} ms", total, System.currentTimeMillis() - start);
+        }
+    }
+
+    private ProductPriceHistory findEffectiveAt(UUID productId, Instant at) {
+        List<ProductPriceHistory> effective = productPriceHistoryRepository.findEffectiveAt(productId, at, Limit.of(1));
+        return effective.isEmpty() ? null : effective.get(0);
+    }
+
+    private PricePointResponse toResponse(ProductPriceHistory history) {
+        return PricePointResponse.builder()
+                .price(history.getPrice())
+                .currency(history.getCurrency())
+                .validFrom(history.getValidFrom())
+                .source(history.getSource())
+                .build();
+    }
+
+    //Toplu kayıt için fiyat değişikliği
+    public record PriceChange(UUID productId, BigDecimal price, String currency) {
+    }
+}
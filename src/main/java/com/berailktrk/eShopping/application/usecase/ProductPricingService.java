@@ -0,0 +1,361 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.application.event.ProductChangedEvent;
+import com.berailktrk.eShopping.application.event.ProductChangedEvent.ChangeType;
+import com.berailktrk.eShopping.domain.model.AuditLog;
+import com.berailktrk.eShopping.domain.model.User;
+import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
+import com.berailktrk.eShopping.presentation.dto.request.BulkPriceUpdateRequest;
+import com.berailktrk.eShopping.presentation.dto.request.PriceChangeRequest;
+import com.berailktrk.eShopping.presentation.dto.response.BulkPriceUpdateResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+//Product pricing service - toplu fiyat güncelleme
+//Fiyatlar ürün ürün entity yüklenip kaydedilmek yerine chunk-size'lık parçalar halinde tek
+//UPDATE ... FROM (VALUES ...) ifadesiyle yazılır. Her parça kendi transaction'ında çalışır, version'ı artırır
+//(açık JPA güncellemeleri optimistic lock hatası alır), değişiklikleri fiyat geçmişine ekler ve listeleyen tek bir audit log üretir.
+@Service
+@Slf4j
+public class ProductPricingService {
+
+    public static final String MODE_SKU_LIST = "SKU_LIST";
+    public static final String MODE_PERCENTAGE = "PERCENTAGE";
+
+    //PostgreSQL bir ifadede en fazla 32767 parametre kabul eder (satır başına 2 parametre)
+    private static final int MAX_CHUNK_SIZE = 10_000;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    //Parçanın ürünleri id sırasıyla kilitlenir (eşzamanlı toplu güncellemeler kilitlenmeye girmez), fiyatı farklı
+    //olanlar güncellenir. Sonuç parçada bulunan her ürün için eski/yeni fiyat ve güncellenip güncellenmediğidir
+    private static final String APPLY_PRICES_SQL =
+            "WITH v(sku, price) AS (VALUES :rows), " +
+            "locked AS (" +
+            "SELECT p.id, p.sku, p.price, p.currency FROM products p JOIN v ON p.sku = v.sku ORDER BY p.id FOR UPDATE OF p" +
+            "), " +
+            "changed AS (" +
+            "UPDATE products p SET price = v.price, updated_at = :now, version = p.version + 1 " +
+            "FROM locked JOIN v ON v.sku = locked.sku " +
+            "WHERE p.id = locked.id AND p.price <> v.price " +
+            "RETURNING p.id" +
+            ") " +
+            "SELECT locked.id, locked.sku, locked.currency, locked.price AS old_price, v.price AS new_price, " +
+            "(changed.id IS NOT NULL) AS updated " +
+            "FROM locked JOIN v ON v.sku = locked.sku LEFT JOIN changed ON changed.id = locked.id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditLogService auditLogService;
+    private final AuditLogRepository auditLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductPriceHistoryService productPriceHistoryService;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public ProductPricingService(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            AuditLogService auditLogService,
+            AuditLogRepository auditLogRepository,
+            ApplicationEventPublisher eventPublisher,
+            ProductPriceHistoryService productPriceHistoryService,
+            @Value("${product.pricing.chunk-size:1000}") int chunkSize,
+            @Value("${product.pricing.max-reported-errors:1000}") int maxReportedErrors) {
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Pricing chunk size must be between 1 and " + MAX_CHUNK_SIZE + ": " + chunkSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.auditLogService = auditLogService;
+        this.auditLogRepository = auditLogRepository;
+        this.eventPublisher = eventPublisher;
+        this.productPriceHistoryService = productPriceHistoryService;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    //Toplu fiyat güncelle (ADMIN) - changes veya percentage'dan tam olarak biri verilmelidir
+    public BulkPriceUpdateResponse updatePrices(BulkPriceUpdateRequest request, User actorUser) {
+        boolean hasChanges = request.getChanges() != null && !request.getChanges().isEmpty();
+        boolean hasPercentage = request.getPercentage() != null;
+        if (hasChanges == hasPercentage) {
+            throw new IllegalArgumentException("Exactly one of 'changes' or 'percentage' must be provided");
+        }
+
+        long start = System.currentTimeMillis();
+        PricingProgress progress = new PricingProgress(hasChanges ? MODE_SKU_LIST : MODE_PERCENTAGE);
+        if (hasChanges) {
+            applyPriceList(request.getChanges(), progress, actorUser);
+        } else {
+            applyPercentage(request, progress, actorUser);
+        }
+
+        long durationMs = System.currentTimeMillis() - start;
+        log.info("Bulk price update finished - mode: {}, {} matched, {} updated, {} unchanged, {} failed, {} chunks in {} ms",
+                progress.mode, progress.matched, progress.updated, progress.unchanged, progress.failed,
+                progress.chunkCount, durationMs);
+
+        return BulkPriceUpdateResponse.builder()
+                .mode(progress.mode)
+                .matchedCount(progress.matched)
+                .updatedCount(progress.updated)
+                .unchangedCount(progress.unchanged)
+                .failedCount(progress.failed)
+                .missingSkus(hasChanges ? progress.missingSkus : null)
+                .errors(progress.errors)
+                .errorsTruncated(progress.truncated)
+                .chunkCount(progress.chunkCount)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    //SKU listesi - liste sırasıyla parçalara bölünür; hatalı parça sadece kendi satırlarını başarısız sayar
+    private void applyPriceList(List<PriceChangeRequest> changes, PricingProgress progress, User actorUser) {
+        Set<String> seen = new HashSet<>();
+        for (PriceChangeRequest change : changes) {
+            if (!seen.add(change.getSku())) {
+                throw new IllegalArgumentException("Duplicate SKU in price changes: " + change.getSku());
+            }
+        }
+        log.info("Starting bulk price update - {} SKUs, chunk size: {}", changes.size(), chunkSize);
+
+        for (int from = 0; from < changes.size(); from += chunkSize) {
+            List<PriceChangeRequest> chunk = changes.subList(from, Math.min(from + chunkSize, changes.size()));
+            int chunkNumber = ++progress.chunkCount;
+            try {
+                List<PriceRow> rows = transactionTemplate.execute(status ->
+                        applyChunk(chunk, chunkNumber, progress.mode, null, actorUser));
+                progress.record(rows);
+
+                Set<String> found = new HashSet<>();
+                rows.forEach(row -> found.add(row.sku()));
+                chunk.stream()
+                        .map(PriceChangeRequest::getSku)
+                        .filter(sku -> !found.contains(sku))
+                        .forEach(sku -> progress.missing(sku, maxReportedErrors));
+            } catch (DataAccessException e) {
+                String message = "Chunk " + chunkNumber + " failed: " + e.getMostSpecificCause().getMessage();
+                log.warn("Bulk price update chunk {} failed: {}", chunkNumber, e.getMostSpecificCause().getMessage());
+                progress.fail(chunk.size(), message, maxReportedErrors);
+            }
+        }
+    }
+
+    //Yüzde kuralı - filtreye uyan ürünler SKU sırasıyla (keyset) parçalar halinde okunup güncellenir
+    //Okuma ve yazma aynı transaction'dadır, yeni fiyat kilitli satırın güncel fiyatından hesaplanır
+    private void applyPercentage(BulkPriceUpdateRequest request, PricingProgress progress, User actorUser) {
+        BigDecimal factor = BigDecimal.ONE.add(request.getPercentage().divide(HUNDRED));
+        log.info("Starting bulk price update - percentage: {}, chunk size: {}", request.getPercentage(), chunkSize);
+
+        String afterSku = "";
+        while (true) {
+            String after = afterSku;
+            int chunkNumber = ++progress.chunkCount;
+            PercentageChunk result;
+            try {
+                result = transactionTemplate.execute(status -> {
+                    List<PriceChangeRequest> chunk = new ArrayList<>();
+                    List<String> rejected = new ArrayList<>();
+                    String lastSku = selectPercentageChunk(request, after, factor, chunk, rejected);
+                    List<PriceRow> rows = chunk.isEmpty()
+                            ? List.of()
+                            : applyChunk(chunk, chunkNumber, progress.mode, request.getPercentage(), actorUser);
+                    return new PercentageChunk(rows, rejected, lastSku);
+                });
+            } catch (DataAccessException e) {
+                //Parça okunamadığı için kaldığı yer bilinmez - kalan ürünler işlenmez
+                String message = "Chunk " + chunkNumber + " failed, remaining products were not processed: "
+                        + e.getMostSpecificCause().getMessage();
+                log.warn("Bulk price update chunk {} failed after SKU '{}': {}", chunkNumber, after,
+                        e.getMostSpecificCause().getMessage());
+                progress.fail(0, message, maxReportedErrors);
+                break;
+            }
+
+            if (result.lastSku() == null) {
+                //Boş son parça sayılmaz
+                progress.chunkCount--;
+                break;
+            }
+            progress.record(result.rows());
+            result.rejected().forEach(sku ->
+                    progress.fail(1, sku + ": new price would round to zero", maxReportedErrors));
+            afterSku = result.lastSku();
+        }
+    }
+
+    //Filtreye uyan sonraki parçayı kilitleyerek oku ve yeni fiyatları hesapla; son okunan SKU'yu döndür (yoksa null)
+    private String selectPercentageChunk(BulkPriceUpdateRequest request, String afterSku, BigDecimal factor,
+                                         List<PriceChangeRequest> chunk, List<String> rejected) {
+        StringBuilder sql = new StringBuilder("SELECT sku, price FROM products WHERE sku > :afterSku");
+        MapSqlParameterSource params = new MapSqlParameterSource("afterSku", afterSku);
+        if (request.getSkuPrefix() != null && !request.getSkuPrefix().isBlank()) {
+            sql.append(" AND starts_with(sku, :skuPrefix)");
+            params.addValue("skuPrefix", request.getSkuPrefix());
+        }
+        if (request.getCurrency() != null) {
+            sql.append(" AND currency = :currency");
+            params.addValue("currency", request.getCurrency());
+        }
+        if (request.getMinPrice() != null) {
+            sql.append(" AND price >= :minPrice");
+            params.addValue("minPrice", request.getMinPrice());
+        }
+        if (request.getMaxPrice() != null) {
+            sql.append(" AND price <= :maxPrice");
+            params.addValue("maxPrice", request.getMaxPrice());
+        }
+        if (!Boolean.FALSE.equals(request.getActiveOnly())) {
+            sql.append(" AND is_active = true");
+        }
+        sql.append(" ORDER BY sku LIMIT :limit FOR UPDATE");
+        params.addValue("limit", chunkSize);
+
+        String[] lastSku = new String[1];
+        jdbcTemplate.query(sql.toString(), params, rs -> {
+            String sku = rs.getString("sku");
+            BigDecimal newPrice = rs.getBigDecimal("price").multiply(factor).setScale(2, RoundingMode.HALF_UP);
+            if (newPrice.signum() > 0) {
+                chunk.add(PriceChangeRequest.builder().sku(sku).price(newPrice).build());
+            } else {
+                rejected.add(sku);
+            }
+            lastSku[0] = sku;
+        });
+        return lastSku[0];
+    }
+
+    //Parçanın fiyatlarını tek ifadeyle yaz, değişiklikleri tek audit log'a topla ve event yayınla (transaction içinde)
+    private List<PriceRow> applyChunk(List<PriceChangeRequest> chunk, int chunkNumber, String mode,
+                                      BigDecimal percentage, User actorUser) {
+        List<Object[]> values = chunk.stream()
+                .map(change -> new Object[] { change.getSku(), change.getPrice() })
+                .toList();
+        Instant now = Instant.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("rows", values)
+                .addValue("now", Timestamp.from(now));
+
+        List<PriceRow> rows = jdbcTemplate.query(APPLY_PRICES_SQL, params, (rs, rowNum) -> new PriceRow(
+                rs.getObject("id", UUID.class),
+                rs.getString("sku"),
+                rs.getString("currency"),
+                rs.getBigDecimal("old_price"),
+                rs.getBigDecimal("new_price"),
+                rs.getBoolean("updated")));
+
+        List<UUID> productIds = new ArrayList<>();
+        List<String> skus = new ArrayList<>();
+        //Kompakt değişiklik listesi: [sku, eski fiyat, yeni fiyat]
+        List<List<Object>> changes = new ArrayList<>();
+        List<ProductPriceHistoryService.PriceChange> history = new ArrayList<>();
+        for (PriceRow row : rows) {
+            if (row.updated()) {
+                productIds.add(row.productId());
+                skus.add(row.sku());
+                changes.add(List.of(row.sku(), row.oldPrice(), row.newPrice()));
+                history.add(new ProductPriceHistoryService.PriceChange(row.productId(), row.newPrice(), row.currency()));
+            }
+        }
+        if (changes.isEmpty()) {
+            return rows;
+        }
+        productPriceHistoryService.recordAll(history, now, ProductPriceHistoryService.SOURCE_BULK_UPDATE);
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("mode", mode);
+        details.put("chunkNumber", chunkNumber);
+        details.put("updatedCount", changes.size());
+        if (percentage != null) {
+            details.put("percentage", percentage);
+        }
+        details.put("changes", changes);
+
+        AuditLog priceLog = auditLogService.createLogWithDetails(
+            actorUser,
+            AuditLogService.ACTION_PRODUCT_BULK_PRICE_UPDATED,
+            AuditLogService.RESOURCE_PRODUCT,
+            null,
+            String.format("Toplu fiyat güncelleme: %d ürün (parça %d)", changes.size(), chunkNumber),
+            details
+        );
+        auditLogRepository.save(priceLog);
+
+        //Cache ve okuma modelleri commit sonrası güncellenir
+        eventPublisher.publishEvent(ProductChangedEvent.ofAll(ChangeType.UPDATED, productIds, skus));
+        return rows;
+    }
+
+    private record PriceRow(UUID productId, String sku, String currency, BigDecimal oldPrice, BigDecimal newPrice,
+                            boolean updated) {
+    }
+
+    private record PercentageChunk(List<PriceRow> rows, List<String> rejected, String lastSku) {
+    }
+
+    //Güncelleme durumu - sayaçlar ve sınırlı sayıda hata/eksik SKU
+    private static class PricingProgress {
+        private final String mode;
+        private long matched;
+        private long updated;
+        private long unchanged;
+        private long failed;
+        private int chunkCount;
+        private boolean truncated;
+        private final List<String> missingSkus = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+
+        PricingProgress(String mode) {
+            this.mode = mode;
+        }
+
+        void record(List<PriceRow> rows) {
+            for (PriceRow row : rows) {
+                matched++;
+                if (row.updated()) {
+                    updated++;
+                } else {
+                    unchanged++;
+                }
+            }
+        }
+
+        void missing(String sku, int maxReported) {
+            if (missingSkus.size() < maxReported) {
+                missingSkus.add(sku);
+            } else {
+                truncated = true;
+            }
+        }
+
+        void fail(int rowCount, String message, int maxReported) {
+            failed += rowCount;
+            if (errors.size() < maxReported) {
+                errors.add(message);
+            } else {
+                truncated = true;
+            }
+        }
+    }
+}
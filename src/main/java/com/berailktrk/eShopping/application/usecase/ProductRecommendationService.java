@@ -0,0 +1,251 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.berailktrk.eShopping.application.event.OrderPlacedEvent;
+import com.berailktrk.eShopping.application.support.ProductRanking;
+import com.berailktrk.eShopping.domain.model.OrderStatus;
+import com.berailktrk.eShopping.presentation.dto.response.ProductRecommendationResponse;
+
+import lombok.extern.slf4j.Slf4j;
+
+//Product recommendation service - "birlikte satın alınanlar" önerileri
+//Seyrek birlikte-bulunma matrisi bellekte tutulur: ürün -> aynı siparişte bulunduğu ürün -> sipariş sayısı.
+//Matris sipariş oluşturulduğunda (OrderPlacedEvent, commit sonrası) artırılır ve her gece order_items'tan
+//baştan kurulur. Ürün başına top-k listesi ilk istekte çıkarılır ve satırı değişene kadar saklanır;
+//okuma yolu order_items üzerinde self-join yapmaz
+@Service
+@Slf4j
+public class ProductRecommendationService {
+
+    private static final List<String> EXCLUDED_ORDER_STATUSES =
+            List.of(OrderStatus.CANCELLED.name(), OrderStatus.FAILED.name());
+
+    //Kalemler sipariş sırasıyla okunur - aynı siparişin kalemleri ardışık gelir
+    private static final String LOAD_BASKETS_SQL =
+            "SELECT oi.order_id, oi.product_id FROM order_items oi " +
+            "JOIN orders o ON o.id = oi.order_id WHERE o.status NOT IN (:excludedStatuses) " +
+            "ORDER BY oi.order_id";
+
+    private final ProductService productService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int maxRecommendations;
+    private final int maxBasketSize;
+    private final int rebuildPartitions;
+
+    //Aşağıdaki tüm durum this üzerinde senkronize
+    private Map<UUID, Map<UUID, Long>> coOccurrences = new HashMap<>();
+    //ürün -> hesaplanmış öneriler (satırı değişince silinir)
+    private final Map<UUID, List<RecommendedProduct>> recommendations = new HashMap<>();
+    //Yeniden kurulum sürerken gelen siparişler - kurulum bitince okunmamış olanlar yeni matrise eklenir
+    private List<PlacedBasket> placedDuringRebuild;
+
+    public ProductRecommendationService(
+            ProductService productService,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            @Value("${product.recommendations.max-recommendations:20}") int maxRecommendations,
+            @Value("${product.recommendations.max-basket-size:50}") int maxBasketSize,
+            @Value("${product.recommendations.rebuild-partitions:0}") int rebuildPartitions) {
+        this.productService = productService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxRecommendations = maxRecommendations;
+        this.maxBasketSize = maxBasketSize;
+        //0: işlemci sayısı kadar parça
+        this.rebuildPartitions = rebuildPartitions > 0 ? rebuildPartitions : Runtime.getRuntime().availableProcessors();
+    }
+
+    //SKU ile birlikte en sık satın alınan aktif ürünler - ürün bilgisi product cache'ten gelir
+    public List<ProductRecommendationResponse> getRecommendations(String sku, int limit) {
+        if (limit <= 0 || limit > maxRecommendations) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxRecommendations);
+        }
+        UUID productId = productService.getProductBySku(sku).getId();
+
+        return ProductRanking.hydrateActive(getTopRecommendations(productId), limit, RecommendedProduct::productId,
+                productService::getProductById, (rank, recommended, product) -> ProductRecommendationResponse.builder()
+                        .rank(rank)
+                        .coPurchaseCount(recommended.coPurchaseCount())
+                        .product(product)
+                        .build());
+    }
+
+    //Ürünle birlikte en sık satın alınanlar - en fazla max-recommendations adet, sipariş sayısına göre azalan
+    public synchronized List<RecommendedProduct> getTopRecommendations(UUID productId) {
+        return recommendations.computeIfAbsent(productId, this::rank);
+    }
+
+    //Siparişi matrise ekle (commit sonrası)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        UUID[] basket = toBasket(event.getLines().stream().map(OrderPlacedEvent.Line::productId).toList());
+        if (basket == null) {
+            return;
+        }
+        synchronized (this) {
+            addBasket(coOccurrences, basket);
+            for (UUID productId : basket) {
+                recommendations.remove(productId);
+            }
+            if (placedDuringRebuild != null) {
+                placedDuringRebuild.add(new PlacedBasket(event.getOrderId(), basket));
+            }
+        }
+        log.debug("Co-occurrence matrix updated for order: {}", event.getOrderId());
+    }
+
+    //Uygulama açılışında matrisi kur
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    //Gece tam yeniden kurulum - artımlı güncellemelerde biriken sapmaları (iptal edilen siparişler vb.) temizler
+    @Scheduled(cron = "${product.recommendations.rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        synchronized (this) {
+            if (placedDuringRebuild != null) {
+                log.warn("Co-occurrence rebuild already in progress, skipping");
+                return;
+            }
+            placedDuringRebuild = new ArrayList<>();
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            Set<UUID> loadedOrderIds = new HashSet<>();
+            List<UUID[]> baskets = loadBaskets(loadedOrderIds);
+            Map<UUID, Map<UUID, Long>> rebuilt = buildMatrix(baskets);
+
+            int replayed = 0;
+            synchronized (this) {
+                //Okuma sırasında commit edilip sorguya girmemiş siparişler
+                for (PlacedBasket placed : placedDuringRebuild) {
+                    if (!loadedOrderIds.contains(placed.orderId())) {
+                        addBasket(rebuilt, placed.basket());
+                        replayed++;
+                    }
+                }
+                coOccurrences = rebuilt;
+                recommendations.clear();
+            }
+            log.info("Co-occurrence matrix rebuilt - {} orders, {} products, {} partitions, {} replayed in {} ms",
+                    baskets.size(), rebuilt.size(), rebuildPartitions, replayed, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Co-occurrence rebuild failed, keeping current matrix: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                placedDuringRebuild = null;
+            }
+        }
+    }
+
+    //Siparişleri ürün sepetleri olarak oku; okunan sipariş ID'lerini loadedOrderIds'e ekle
+    private List<UUID[]> loadBaskets(Set<UUID> loadedOrderIds) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("excludedStatuses", EXCLUDED_ORDER_STATUSES);
+        List<UUID[]> baskets = new ArrayList<>();
+        List<UUID> current = new ArrayList<>();
+        UUID[] currentOrderId = new UUID[1];
+
+        jdbcTemplate.query(LOAD_BASKETS_SQL, parameters, rs -> {
+            UUID orderId = rs.getObject("order_id", UUID.class);
+            if (!orderId.equals(currentOrderId[0])) {
+                addLoadedBasket(baskets, current);
+                current.clear();
+                currentOrderId[0] = orderId;
+                loadedOrderIds.add(orderId);
+            }
+            current.add(rs.getObject("product_id", UUID.class));
+        });
+        addLoadedBasket(baskets, current);
+        return baskets;
+    }
+
+    private void addLoadedBasket(List<UUID[]> baskets, List<UUID> productIds) {
+        UUID[] basket = toBasket(productIds);
+        if (basket != null) {
+            baskets.add(basket);
+        }
+    }
+
+    //Matrisi paralel kur - ürünler ID hash'ine göre parçalara ayrılır, her parça sadece kendi ürünlerinin
+    //satırlarını sayar. Parçaların anahtarları ayrık olduğundan paylaşılan durum ve kilit yoktur
+    private Map<UUID, Map<UUID, Long>> buildMatrix(List<UUID[]> baskets) {
+        List<Map<UUID, Map<UUID, Long>>> partitions = IntStream.range(0, rebuildPartitions)
+                .parallel()
+                .mapToObj(partition -> {
+                    Map<UUID, Map<UUID, Long>> rows = new HashMap<>();
+                    for (UUID[] basket : baskets) {
+                        for (int i = 0; i < basket.length; i++) {
+                            if (Math.floorMod(basket[i].hashCode(), rebuildPartitions) == partition) {
+                                addRow(rows, basket, i);
+                            }
+                        }
+                    }
+                    return rows;
+                })
+                .toList();
+
+        Map<UUID, Map<UUID, Long>> matrix = new HashMap<>();
+        partitions.forEach(matrix::putAll);
+        return matrix;
+    }
+
+    //Siparişteki farklı ürünler - tek ürünlü siparişler ilişki üretmez, max-basket-size'dan büyük siparişler
+    //(toplu alımlar) hem karesel maliyeti hem de önerilere katkısı düşük olduğu için sayılmaz
+    private UUID[] toBasket(List<UUID> productIds) {
+        Set<UUID> distinct = new LinkedHashSet<>(productIds);
+        if (distinct.size() < 2 || distinct.size() > maxBasketSize) {
+            return null;
+        }
+        return distinct.toArray(new UUID[0]);
+    }
+
+    private static void addBasket(Map<UUID, Map<UUID, Long>> matrix, UUID[] basket) {
+        for (int i = 0; i < basket.length; i++) {
+            addRow(matrix, basket, i);
+        }
+    }
+
+    //Sepetteki i. ürünün satırına diğer ürünleri ekle
+    private static void addRow(Map<UUID, Map<UUID, Long>> matrix, UUID[] basket, int i) {
+        Map<UUID, Long> row = matrix.computeIfAbsent(basket[i], key -> new HashMap<>());
+        for (int j = 0; j < basket.length; j++) {
+            if (j != i) {
+                row.merge(basket[j], 1L, Long::sum);
+            }
+        }
+    }
+
+    //Satırdaki en sık max-recommendations ürün
+    private List<RecommendedProduct> rank(UUID productId) {
+        Map<UUID, Long> row = coOccurrences.get(productId);
+        if (row == null) {
+            return List.of();
+        }
+        return ProductRanking.top(row, maxRecommendations, RecommendedProduct::new);
+    }
+
+    //Önerilen ürün ve birlikte bulunduğu sipariş sayısı
+    public record RecommendedProduct(UUID productId, long coPurchaseCount) {
+    }
+
+    private record PlacedBasket(UUID orderId, UUID[] basket) {
+    }
+}
@@ -0,0 +1,302 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.berailktrk.eShopping.application.mapper.ProductMapper;
+import com.berailktrk.eShopping.application.support.ProductIndexSupport;
+import com.berailktrk.eShopping.application.support.TextNormalizer;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductSearchResponse;
+
+//Product search service - aktif ürünler üzerinde bellek içi trigram indeksi
+//Ad, SKU ve açıklama alanları indekslenir; sorgu trigram posting'lerinin kesişimi ile
+//aday ürünleri bulur, alan ağırlıklarına göre sıralar. LIKE '%...%' taraması yapılmaz.
+@Service
+public class ProductSearchService extends ProductIndexSupport {
+
+    //Alan ağırlıkları - isim ve SKU eşleşmeleri açıklamadan önce gelir
+    private static final int NAME_MATCH_SCORE = 10;
+    private static final int NAME_PREFIX_BONUS = 5;
+    private static final int NAME_EXACT_BONUS = 20;
+    private static final int SKU_MATCH_SCORE = 8;
+    private static final int SKU_EXACT_BONUS = 50;
+    private static final int DESCRIPTION_MATCH_SCORE = 2;
+
+    //trigram -> ürün ordinal'leri
+    private final Map<String, BitSet> postings = new HashMap<>();
+    //ordinal -> indekslenmiş ürün
+    private final Map<Integer, IndexedProduct> documents = new HashMap<>();
+    //ürün ID -> ordinal
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    //Silinen ürünlerden boşalan ordinal'ler tekrar kullanılır
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private int nextOrdinal = 0;
+
+    public ProductSearchService(
+            ProductRepository productRepository,
+            ProductMapper productMapper,
+            @Value("${product.changes.safety-window-seconds:15}") long changesSafetyWindowSeconds) {
+        super(productRepository, productMapper, changesSafetyWindowSeconds);
+    }
+
+    @Override
+    protected String indexName() {
+        return "Product search index";
+    }
+
+    @Override
+    protected String summary() {
+        return postings.size() + " trigrams";
+    }
+
+    @Override
+    protected void clear() {
+        postings.clear();
+        documents.clear();
+        ordinals.clear();
+        freeOrdinals.clear();
+        nextOrdinal = 0;
+    }
+
+    //Ürün ara - alaka düzeyine göre sıralı ve sayfalı
+    public ProductSearchResponse search(String query, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size <= 0 || size > 100) {
+            throw new IllegalArgumentException("Size must be between 1 and 100");
+        }
+
+        String normalized = TextNormalizer.normalize(query);
+        List<String> terms = TextNormalizer.tokenize(normalized);
+        if (terms.isEmpty()) {
+            return ProductSearchResponse.builder()
+                    .items(List.of())
+                    .page(page)
+                    .size(size)
+                    .totalHits(0)
+                    .build();
+        }
+
+        //İndeks hazır değilse (sadece açılışta) veritabanına düş
+        if (!isReady()) {
+            return searchInDatabase(query, page, size);
+        }
+
+        List<ScoredProduct> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            //Tek karakterlik terimlerin trigram'ı yoktur - adaylar diğer terimlerden bulunur, tek karakterlik
+            //terimler puanlamada (ad, SKU, açıklama içinde geçiyor mu) doğrulanır. Sorgu sadece tek karakterlik
+            //terimlerden oluşuyorsa tüm indeks taranır
+            BitSet candidates = null;
+            for (String term : terms) {
+                if (term.length() < 2) {
+                    continue;
+                }
+                for (String trigram : queryTrigrams(term)) {
+                    BitSet posting = postings.get(trigram);
+                    if (posting == null) {
+                        candidates = new BitSet();
+                        break;
+                    }
+                    if (candidates == null) {
+                        candidates = (BitSet) posting.clone();
+                    } else {
+                        candidates.and(posting);
+                    }
+                }
+                if (candidates != null && candidates.isEmpty()) {
+                    break;
+                }
+            }
+
+            if (candidates == null) {
+                candidates = new BitSet();
+                ordinals.values().forEach(candidates::set);
+            }
+            for (int ordinal = candidates.nextSetBit(0); ordinal >= 0; ordinal = candidates.nextSetBit(ordinal + 1)) {
+                IndexedProduct document = documents.get(ordinal);
+                int score = score(document, normalized, terms);
+                if (score > 0) {
+                    hits.add(new ScoredProduct(document, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingInt(ScoredProduct::score).reversed()
+                .thenComparing(hit -> hit.document().name())
+                .thenComparing(hit -> hit.document().sku()));
+
+        int from = Math.min(page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        List<ProductResponse> items = hits.subList(from, to).stream()
+                .map(hit -> hit.document().product())
+                .collect(Collectors.toList());
+
+        return ProductSearchResponse.builder()
+                .items(items)
+                .page(page)
+                .size(size)
+                .totalHits(hits.size())
+                .build();
+    }
+
+    //İndekste bulunan ürün sayısı
+    public int getIndexedProductCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //Ürünü indekse ekle veya güncelle (write lock altında çağrılır)
+    @Override
+    protected void upsert(ProductResponse product) {
+        remove(product.getId());
+
+        int ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+        IndexedProduct document = new IndexedProduct(
+                product,
+                TextNormalizer.normalize(product.getName()),
+                TextNormalizer.normalize(product.getSku()),
+                TextNormalizer.normalize(product.getDescription()));
+
+        Set<String> trigrams = new LinkedHashSet<>();
+        addDocumentTrigrams(document.name(), trigrams);
+        addDocumentTrigrams(document.sku(), trigrams);
+        addDocumentTrigrams(document.description(), trigrams);
+        for (String trigram : trigrams) {
+            postings.computeIfAbsent(trigram, key -> new BitSet()).set(ordinal);
+        }
+
+        documents.put(ordinal, document.withTrigrams(trigrams));
+        ordinals.put(product.getId(), ordinal);
+    }
+
+    //Ürünü indeksten çıkar (write lock altında çağrılır)
+    @Override
+    protected void remove(UUID productId) {
+        Integer ordinal = ordinals.remove(productId);
+        if (ordinal == null) {
+            return;
+        }
+        IndexedProduct document = documents.remove(ordinal);
+        for (String trigram : document.trigrams()) {
+            BitSet posting = postings.get(trigram);
+            posting.clear(ordinal);
+            if (posting.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+        freeOrdinals.push(ordinal);
+    }
+
+    //Doküman trigram'ları - her kelime başına/sonuna boşluk eklenerek üretilir
+    private void addDocumentTrigrams(String normalizedField, Set<String> trigrams) {
+        for (String token : TextNormalizer.tokenize(normalizedField)) {
+            String padded = " " + token + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+    }
+
+    //Sorgu trigram'ları - 3+ karakterde kelime içi eşleşme, 2 karakterde kelime başı eşleşmesi
+    private List<String> queryTrigrams(String term) {
+        if (term.length() == 2) {
+            return List.of(" " + term);
+        }
+        List<String> trigrams = new ArrayList<>(term.length() - 2);
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            trigrams.add(term.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    //Adayı doğrula ve puanla - trigram kesişimi yanlış pozitif verebilir, terimler tek tek kontrol edilir
+    private int score(IndexedProduct document, String normalizedQuery, List<String> terms) {
+        int score = 0;
+        for (String term : terms) {
+            int termScore = 0;
+            if (document.name().contains(term)) {
+                termScore += NAME_MATCH_SCORE;
+                if (document.name().startsWith(term)) {
+                    termScore += NAME_PREFIX_BONUS;
+                }
+            }
+            if (document.sku().contains(term)) {
+                termScore += SKU_MATCH_SCORE;
+            }
+            if (document.description().contains(term)) {
+                termScore += DESCRIPTION_MATCH_SCORE;
+            }
+            if (termScore == 0) {
+                return 0;
+            }
+            score += termScore;
+        }
+
+        if (document.name().equals(normalizedQuery)) {
+            score += NAME_EXACT_BONUS;
+        }
+        if (document.sku().equals(normalizedQuery)) {
+            score += SKU_EXACT_BONUS;
+        }
+        return score;
+    }
+
+    //İndeks hazır değilken (açılışta oluşturma bitene kadar) veritabanı araması - sadece ürün adında,
+    //sorgunun tamamı ile LIKE yapar; SKU/açıklama eşleşmesi ve alaka sıralaması indeks hazır olunca gelir
+    private ProductSearchResponse searchInDatabase(String query, int page, int size) {
+        List<ProductResponse> all = productRepository.searchByName(query).stream()
+                .map(productMapper::toResponse)
+                .collect(Collectors.toList());
+        int from = Math.min(page * size, all.size());
+        int to = Math.min(from + size, all.size());
+        return ProductSearchResponse.builder()
+                .items(new ArrayList<>(all.subList(from, to)))
+                .page(page)
+                .size(size)
+                .totalHits(all.size())
+                .build();
+    }
+
+    private record IndexedProduct(
+            ProductResponse product,
+            String name,
+            String sku,
+            String description,
+            Set<String> trigrams) {
+
+        IndexedProduct(ProductResponse product, String name, String sku, String description) {
+            this(product, name, sku, description, Set.of());
+        }
+
+        IndexedProduct withTrigrams(Set<String> trigrams) {
+            return new IndexedProduct(product, name, sku, description, trigrams);
+        }
+    }
+
+    private record ScoredProduct(IndexedProduct document, int score) {
+    }
+}
@@ -1,26 +1,47 @@
 package com.berailktrk.eShopping.application.usecase;
 
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.berailktrk.eShopping.application.event.ProductChangedEvent;
+import com.berailktrk.eShopping.application.event.ProductChangedEvent.ChangeType;
 import com.berailktrk.eShopping.application.mapper.ProductMapper;
+import com.berailktrk.eShopping.application.support.KeysetCursor;
 import com.berailktrk.eShopping.domain.model.AuditLog;
+import com.berailktrk.eShopping.domain.model.Category;
 import com.berailktrk.eShopping.domain.model.Inventory;
 import com.berailktrk.eShopping.domain.model.Product;
+import com.berailktrk.eShopping.domain.model.ProductStockView;
 import com.berailktrk.eShopping.domain.model.User;
 import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
 import com.berailktrk.eShopping.domain.repository.InventoryRepository;
 import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.infrastructure.datasource.DataSourceRouting;
 import com.berailktrk.eShopping.presentation.dto.request.CreateProductRequest;
 import com.berailktrk.eShopping.presentation.dto.request.UpdateProductRequest;
+import com.berailktrk.eShopping.presentation.dto.response.CacheStatsResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductBatchResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductChangesResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductPageResponse;
 import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductSearchResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductTombstoneResponse;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +58,22 @@ public class ProductService {
     private final ProductMapper productMapper;
     private final AuditLogService auditLogService;
     private final AuditLogRepository auditLogRepository;
+    private final ProductCacheService productCacheService;
+    private final ProductSearchService productSearchService;
+    private final ProductPriceHistoryService productPriceHistoryService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${product.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${product.pagination.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${product.changes.max-limit:1000}")
+    private int maxChangesLimit;
+
+    @Value("${product.changes.safety-window-seconds:15}")
+    private long changesSafetyWindowSeconds;
 
     //Yeni ürün oluştur (ADMIN) - opsiyonel initial stok
     @Transactional
@@ -57,11 +94,15 @@ public class ProductService {
                 .currency(request.getCurrency())
                 .isActive(request.getIsActive())
                 .metadata(request.getMetadata())
+                .updatedAt(Instant.now())
                 .build();
 
         Product savedProduct = productRepository.save(product);
         log.info("Product created with ID: {}", savedProduct.getId());
 
+        productPriceHistoryService.record(savedProduct.getId(), savedProduct.getPrice(), savedProduct.getCurrency(),
+                savedProduct.getUpdatedAt(), ProductPriceHistoryService.SOURCE_CREATED);
+
         //Eğer initial stok verilmişse, inventory kaydı oluştur
         if (request.getInitialStockQuantity() != null && request.getInitialStockQuantity() > 0) {
             Inventory inventory = Inventory.builder()
@@ -84,6 +125,9 @@ public class ProductService {
         );
         auditLogRepository.save(createLog);
 
+        eventPublisher.publishEvent(
+            ProductChangedEvent.of(ChangeType.CREATED, savedProduct.getId(), savedProduct.getSku()));
+
         return productMapper.toResponse(savedProduct);
     }
 
@@ -102,6 +146,8 @@ public class ProductService {
         beforeValues.put("price", product.getPrice());
         beforeValues.put("currency", product.getCurrency());
         beforeValues.put("isActive", product.getIsActive());
+        BigDecimal oldPrice = product.getPrice();
+        String oldCurrency = product.getCurrency();
 
         //Sadece null olmayan alanları güncelle
         if (request.getName() != null) {
@@ -125,6 +171,12 @@ public class ProductService {
 
         product.setUpdatedAt(Instant.now());
         Product updatedProduct = productRepository.save(product);
+
+        //Fiyat veya para birimi değiştiyse fiyat geçmişine ekle
+        if (updatedProduct.getPrice().compareTo(oldPrice) != 0 || !updatedProduct.getCurrency().equals(oldCurrency)) {
+            productPriceHistoryService.record(updatedProduct.getId(), updatedProduct.getPrice(),
+                    updatedProduct.getCurrency(), updatedProduct.getUpdatedAt(), ProductPriceHistoryService.SOURCE_UPDATED);
+        }
         
         //AFTER değerleri
         Map<String, Object> afterValues = new HashMap<>();
@@ -146,6 +198,9 @@ public class ProductService {
             details
         );
         auditLogRepository.save(updateLog);
+
+        eventPublisher.publishEvent(
+            ProductChangedEvent.of(ChangeType.UPDATED, updatedProduct.getId(), updatedProduct.getSku()));
         
         log.info("Product updated: {}", updatedProduct.getSku());
         return productMapper.toResponse(updatedProduct);
@@ -172,70 +227,245 @@ public class ProductService {
         );
         auditLogRepository.save(deleteLog);
 
+        eventPublisher.publishEvent(
+            ProductChangedEvent.of(ChangeType.DEACTIVATED, product.getId(), product.getSku()));
+
         log.info("Product deactivated: {}", product.getSku());
     }
 
     //ID'ye göre ürün getir (USER + ADMIN) - stok bilgisi ile
-    @Transactional(readOnly = true)
+    //Cache'ten okunur; transaction sadece cache miss durumunda repository çağrılarında açılır
     public ProductResponse getProductById(UUID productId) {
         log.debug("Fetching product with ID: {}", productId);
-
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("Product not found with ID: " + productId));
-
-        //Stok bilgisini getir ve DTO'ya dönüştür
-        return inventoryRepository.findByProduct(product)
-                .map(inventory -> productMapper.toResponseWithStock(
-                        product, 
-                        inventory.getQuantity(), 
-                        inventory.getReserved()))
-                .orElse(productMapper.toResponse(product));
+        return productCacheService.getById(productId, this::loadProductById);
     }
 
     //SKU'ya göre ürün getir (USER + ADMIN)
-    @Transactional(readOnly = true)
     public ProductResponse getProductBySku(String sku) {
         log.debug("Fetching product with SKU: {}", sku);
-
-        Product product = productRepository.findBySku(sku)
-                .orElseThrow(() -> new IllegalArgumentException("Product not found with SKU: " + sku));
-
-        //Stok bilgisini getir ve DTO'ya dönüştür
-        return inventoryRepository.findByProduct(product)
-                .map(inventory -> productMapper.toResponseWithStock(
-                        product, 
-                        inventory.getQuantity(), 
-                        inventory.getReserved()))
-                .orElse(productMapper.toResponse(product));
+        return productCacheService.getBySku(sku, this::loadProductBySku);
     }
 
-    //Tüm aktif ürünleri listele (USER)
-    @Transactional(readOnly = true)
-    public List<ProductResponse> getAllActiveProducts() {
-        log.debug("Fetching all active products");
-
-        return productRepository.findByIsActiveTrue().stream()
-                .map(productMapper::toResponse)
+    //Product cache istatistikleri (ADMIN)
+    public List<CacheStatsResponse> getCacheStats() {
+        return productCacheService.getStats().stream()
+                .map(stats -> CacheStatsResponse.builder()
+                        .name(stats.name())
+                        .size(stats.size())
+                        .maxSize(stats.maxSize())
+                        .hitCount(stats.hitCount())
+                        .missCount(stats.missCount())
+                        .loadCount(stats.loadCount())
+                        .evictionCount(stats.evictionCount())
+                        .expirationCount(stats.expirationCount())
+                        .hitRate(stats.hitRate())
+                        .build())
                 .collect(Collectors.toList());
     }
 
-    //Tüm ürünleri listele - aktif ve pasif (ADMIN)
+    //Tüm ürünleri listele - aktif ve pasif (ADMIN, kullanımdan kaldırılan /admin/all) - yeni kullanım getAllProductsPage
     @Transactional(readOnly = true)
     public List<ProductResponse> getAllProducts() {
         log.debug("Fetching all products (including inactive)");
 
-        return productRepository.findAll().stream()
+        return productRepository.findAllStockViews().stream()
                 .map(productMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
-    //İsme göre ürün ara (USER + ADMIN)
+    //Birden fazla SKU ile ürünleri stok bilgisi ile getir (USER + ADMIN)
+    //Tek IN sorgusu + inventory join; sonuç istek sırasında, bulunamayanlar ayrıca raporlanır
+    @Transactional(readOnly = true)
+    public ProductBatchResponse getProductsBySkus(List<String> skus) {
+        Set<String> requested = new LinkedHashSet<>(skus);
+        log.debug("Fetching {} products by SKU batch", requested.size());
+
+        Map<String, ProductResponse> found = new HashMap<>();
+        for (ProductStockView view : productRepository.findStockViewsBySkuIn(requested)) {
+            found.put(view.getSku(), productMapper.toResponse(view));
+        }
+
+        List<ProductResponse> products = new ArrayList<>(found.size());
+        List<String> missingSkus = new ArrayList<>();
+        for (String sku : requested) {
+            ProductResponse response = found.get(sku);
+            if (response != null) {
+                products.add(response);
+            } else {
+                missingSkus.add(sku);
+            }
+        }
+
+        return ProductBatchResponse.builder()
+                .products(products)
+                .missingSkus(missingSkus)
+                .build();
+    }
+
+    //Aktif ürünleri keyset pagination ile listele (USER)
+    @Transactional(readOnly = true)
+    public ProductPageResponse getActiveProductsPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        log.debug("Fetching active products page - cursor: {}, size: {}", cursor, pageSize);
+
+        List<ProductStockView> products;
+        if (cursor == null || cursor.isBlank()) {
+            products = productRepository.findActiveFirstPage(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            products = productRepository.findActivePageAfter(after.timestamp(), after.id(), limit);
+        }
+        return toPage(products, pageSize);
+    }
+
+    //Tüm ürünleri keyset pagination ile listele - aktif ve pasif (ADMIN)
+    @Transactional(readOnly = true)
+    public ProductPageResponse getAllProductsPage(String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        log.debug("Fetching all products page - cursor: {}, size: {}", cursor, pageSize);
+
+        List<ProductStockView> products;
+        if (cursor == null || cursor.isBlank()) {
+            products = productRepository.findFirstPage(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            products = productRepository.findPageAfter(after.timestamp(), after.id(), limit);
+        }
+        return toPage(products, pageSize);
+    }
+
+    //Kategori ve alt kategorilerindeki aktif ürünleri keyset pagination ile listele (USER)
+    @Transactional(readOnly = true)
+    public ProductPageResponse getCategoryProductsPage(String categoryPath, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        String upper = Category.subtreeUpperBound(categoryPath);
+        log.debug("Fetching category products page - path: {}, cursor: {}, size: {}", categoryPath, cursor, pageSize);
+
+        List<ProductStockView> products;
+        if (cursor == null || cursor.isBlank()) {
+            products = productRepository.findActiveInCategoryFirstPage(categoryPath, upper, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            products = productRepository.findActiveInCategoryPageAfter(categoryPath, upper, after.timestamp(), after.id(), limit);
+        }
+        return toPage(products, pageSize);
+    }
+
+    //Delta senkronizasyon (USER) - since cursor'ından sonra değişen ürünler, (updatedAt, id) sırasıyla
+    //since verilmezse ilk senkronizasyondur ve sadece aktif ürünler döner. Pasif hale getirilen ürünler tombstone olarak döner.
+    //updated_at commit'ten önce atandığı için son safety-window saniyedeki değişiklikler bir sonraki senkronizasyona bırakılır;
+    //aksi halde geç commit edilen bir değişiklik cursor'un gerisinde kalıp hiç gönderilmezdi
     @Transactional(readOnly = true)
-    public List<ProductResponse> searchProductsByName(String name) {
-        log.debug("Searching products with name containing: {}", name);
+    public ProductChangesResponse getChanges(String since, Integer limit) {
+        int pageSize = limit != null ? limit : maxChangesLimit;
+        if (pageSize <= 0 || pageSize > maxChangesLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxChangesLimit);
+        }
+        Instant horizon = Instant.now().minusSeconds(changesSafetyWindowSeconds);
+        log.debug("Fetching product changes - since: {}, limit: {}", since, pageSize);
+
+        List<ProductStockView> changed;
+        if (since == null || since.isBlank()) {
+            changed = productRepository.findActiveChangesFirstPage(horizon, Limit.of(pageSize + 1));
+        } else {
+            KeysetCursor after = KeysetCursor.decode(since);
+            changed = productRepository.findChangesAfter(after.timestamp(), after.id(), horizon, Limit.of(pageSize + 1));
+        }
+
+        boolean hasMore = changed.size() > pageSize;
+        List<ProductStockView> pageItems = hasMore ? changed.subList(0, pageSize) : changed;
+
+        List<ProductResponse> upserts = new ArrayList<>();
+        List<ProductTombstoneResponse> tombstones = new ArrayList<>();
+        for (ProductStockView view : pageItems) {
+            if (Boolean.TRUE.equals(view.getIsActive())) {
+                upserts.add(productMapper.toResponse(view));
+            } else {
+                tombstones.add(ProductTombstoneResponse.builder()
+                        .id(view.getId())
+                        .sku(view.getSku())
+                        .deletedAt(view.getUpdatedAt())
+                        .build());
+            }
+        }
+
+        //Değişiklik yoksa istemci aynı cursor ile devam eder
+        String nextCursor = since;
+        if (!pageItems.isEmpty()) {
+            ProductStockView last = pageItems.get(pageItems.size() - 1);
+            nextCursor = new KeysetCursor(last.getUpdatedAt(), last.getId()).encode();
+        }
+
+        return ProductChangesResponse.builder()
+                .upserts(upserts)
+                .tombstones(tombstones)
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    //Uygulama açılışında updated_at'i boş eski ürünleri doldur - delta sync bu kayıtları da görmeli
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillMissingUpdatedAt() {
+        int updated = productRepository.backfillMissingUpdatedAt();
+        if (updated > 0) {
+            log.info("Backfilled updated_at for {} products", updated);
+        }
+    }
 
-        return productRepository.searchByName(name).stream()
+    //İsme, SKU'ya veya açıklamaya göre ürün ara (USER + ADMIN) - bellek içi indeks, alaka sıralı
+    public ProductSearchResponse searchProducts(String query, int page, int size) {
+        log.debug("Searching products with query: {} page: {} size: {}", query, page, size);
+        return productSearchService.search(query, page, size);
+    }
+
+    //Cache miss - ID ile ürünü ve stok bilgisini tek sorguda yükle (products LEFT JOIN inventory)
+    //Yükleme genellikle bir yazmanın cache'i temizlemesinden hemen sonra gelir ve sonuç TTL boyunca saklanır;
+    //gecikmeli replica'dan okunursa eski değer cache'e girer, bu yüzden primary'den okunur
+    private ProductResponse loadProductById(UUID productId) {
+        return DataSourceRouting.onPrimary(() -> productRepository.findStockViewById(productId))
                 .map(productMapper::toResponse)
-                .collect(Collectors.toList());
+                .orElseThrow(() -> new IllegalArgumentException("Product not found with ID: " + productId));
+    }
+
+    //Cache miss - SKU ile ürünü ve stok bilgisini tek sorguda yükle (products LEFT JOIN inventory, primary'den)
+    private ProductResponse loadProductBySku(String sku) {
+        return DataSourceRouting.onPrimary(() -> productRepository.findStockViewBySku(sku))
+                .map(productMapper::toResponse)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found with SKU: " + sku));
+    }
+
+    //Sayfa boyutunu doğrula (null -> varsayılan)
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size <= 0 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        return size;
+    }
+
+    //pageSize + 1 kayıt okunur; fazlası varsa sonraki sayfa için cursor üretilir
+    private ProductPageResponse toPage(List<ProductStockView> products, int pageSize) {
+        boolean hasMore = products.size() > pageSize;
+        List<ProductStockView> pageItems = hasMore ? products.subList(0, pageSize) : products;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ProductStockView last = pageItems.get(pageItems.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return ProductPageResponse.builder()
+                .items(pageItems.stream().map(productMapper::toResponse).collect(Collectors.toList()))
+                .size(pageItems.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
     }
-}
\ No newline at end of file
+}
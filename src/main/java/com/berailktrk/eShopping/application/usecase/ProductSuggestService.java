@@ -0,0 +1,240 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.berailktrk.eShopping.application.event.ProductChangedEvent;
+import com.berailktrk.eShopping.application.support.PrefixTrie;
+import com.berailktrk.eShopping.application.support.TextNormalizer;
+import com.berailktrk.eShopping.domain.model.OrderStatus;
+import com.berailktrk.eShopping.domain.model.ProductSalesCount;
+import com.berailktrk.eShopping.domain.model.ProductStockView;
+import com.berailktrk.eShopping.domain.repository.OrderItemRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.infrastructure.datasource.DataSourceRouting;
+import com.berailktrk.eShopping.presentation.dto.response.ProductSuggestionResponse;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+//Product suggest service - arama kutusu için önek tamamlama
+//Aktif ürünlerin normalize edilmiş adları (her kelimeden başlayarak) ve SKU'ları değiştirilemez bir
+//PrefixTrie'da tutulur; her düğümde satış adedine göre en popüler k ürün hazırdır, sorgu veritabanına gitmez.
+//Ürün değişiklikleri ürün kümesine tek tek uygulanır, trie ardışık değişiklikler birleştirilerek
+//arka plan thread'inde yeniden dondurulur (debounce)
+@Service
+@Slf4j
+public class ProductSuggestService {
+
+    //Popülerlikte sayılmayan siparişler
+    private static final List<OrderStatus> EXCLUDED_ORDER_STATUSES = List.of(OrderStatus.CANCELLED, OrderStatus.FAILED);
+
+    //Ürün adında anahtar üretilen en fazla kelime başlangıcı (uzun adlarda anahtar sayısını sınırlar)
+    private static final int MAX_NAME_SUFFIXES = 8;
+
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final int topK;
+    private final long debounceMillis;
+
+    //Tek thread - dondurmalar sırayla çalışır
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-suggest");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    //ürün ID -> öneri kaydı ve ürün ID -> satış adedi (this üzerinde senkronize)
+    private final Map<UUID, SuggestEntry> entries = new HashMap<>();
+    private Map<UUID, Long> popularity = Map.of();
+
+    //Sorguların okuduğu dondurulmuş yapı
+    private volatile FrozenIndex index = new FrozenIndex(PrefixTrie.builder(1).build(), new ProductSuggestionResponse[0]);
+
+    private ScheduledFuture<?> pendingFreeze;
+
+    public ProductSuggestService(
+            ProductRepository productRepository,
+            OrderItemRepository orderItemRepository,
+            @Value("${product.suggest.top-k:10}") int topK,
+            @Value("${product.suggest.debounce-ms:500}") long debounceMillis) {
+        this.productRepository = productRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.topK = topK;
+        this.debounceMillis = debounceMillis;
+    }
+
+    //Önek için öneriler - popülerliğe göre sıralı, en fazla limit (<= top-k) adet
+    public List<ProductSuggestionResponse> suggest(String prefix, int limit) {
+        if (limit <= 0 || limit > topK) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + topK);
+        }
+        String key = toKey(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        FrozenIndex current = index;
+        int[] ranks = current.trie().lookup(key, limit);
+        List<ProductSuggestionResponse> suggestions = new ArrayList<>(ranks.length);
+        for (int rank : ranks) {
+            suggestions.add(current.byRank()[rank]);
+        }
+        return suggestions;
+    }
+
+    //Uygulama açılışında ürünleri ve popülerliği yükleyip trie'ı oluştur
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long start = System.currentTimeMillis();
+        List<ProductStockView> products = productRepository.findActiveStockViews();
+        Map<UUID, Long> sales = loadPopularity();
+
+        synchronized (this) {
+            entries.clear();
+            products.forEach(product -> entries.put(product.getId(), toEntry(product)));
+            popularity = sales;
+        }
+        freeze();
+        log.info("Product suggest index built - {} products in {} ms", products.size(), System.currentTimeMillis() - start);
+    }
+
+    //Satış adetlerini periyodik olarak yenile (popülerlik sıralaması)
+    @Scheduled(fixedDelayString = "${product.suggest.popularity-refresh-minutes:60}",
+               initialDelayString = "${product.suggest.popularity-refresh-minutes:60}",
+               timeUnit = TimeUnit.MINUTES)
+    public void refreshPopularity() {
+        Map<UUID, Long> sales = loadPopularity();
+        synchronized (this) {
+            popularity = sales;
+        }
+        scheduleFreeze();
+    }
+
+    //Ürün değişikliklerini ürün kümesine uygula (commit sonrası), trie'ı yeniden dondurmayı planla
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isStockOnly()) {
+            return;
+        }
+        //Değişiklik az önce commit edildi - replica gecikmesi yüzünden kaçırılmaması için primary'den okunur
+        List<ProductStockView> products = DataSourceRouting.onPrimary(
+                () -> productRepository.findStockViewsByIdIn(event.getProductIds()));
+        Set<UUID> found = new HashSet<>();
+
+        synchronized (this) {
+            for (ProductStockView product : products) {
+                found.add(product.getId());
+                if (Boolean.TRUE.equals(product.getIsActive())) {
+                    entries.put(product.getId(), toEntry(product));
+                } else {
+                    entries.remove(product.getId());
+                }
+            }
+            event.getProductIds().stream()
+                    .filter(id -> !found.contains(id))
+                    .forEach(entries::remove);
+        }
+        scheduleFreeze();
+        log.debug("Product suggest index updated: {}", event);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private synchronized void scheduleFreeze() {
+        if (pendingFreeze == null) {
+            pendingFreeze = executor.schedule(this::freeze, debounceMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    //Ürün kümesinden yeni trie oluştur - ürünler popülerliğe göre sıralanır, sıra numarası rank olur
+    private void freeze() {
+        List<SuggestEntry> ranked;
+        Map<UUID, Long> sales;
+        synchronized (this) {
+            //Oluşturma sırasında gelen değişiklik yeni bir dondurma planlar
+            pendingFreeze = null;
+            ranked = new ArrayList<>(entries.values());
+            sales = popularity;
+        }
+
+        try {
+            ranked.sort(Comparator.comparingLong((SuggestEntry entry) -> -sales.getOrDefault(entry.productId(), 0L))
+                    .thenComparing(SuggestEntry::name, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(SuggestEntry::sku));
+
+            PrefixTrie.Builder builder = PrefixTrie.builder(topK);
+            ProductSuggestionResponse[] byRank = new ProductSuggestionResponse[ranked.size()];
+            for (int rank = 0; rank < ranked.size(); rank++) {
+                SuggestEntry entry = ranked.get(rank);
+                for (String key : entry.keys()) {
+                    builder.add(key, rank);
+                }
+                byRank[rank] = ProductSuggestionResponse.builder()
+                        .sku(entry.sku())
+                        .name(entry.name())
+                        .build();
+            }
+            PrefixTrie trie = builder.build();
+            index = new FrozenIndex(trie, byRank);
+            log.debug("Product suggest trie frozen - {} products, {} nodes", byRank.length, trie.getNodeCount());
+        } catch (RuntimeException e) {
+            //Önceki trie sunulmaya devam eder
+            log.error("Product suggest trie rebuild failed, serving previous index", e);
+        }
+    }
+
+    private Map<UUID, Long> loadPopularity() {
+        Map<UUID, Long> sales = new HashMap<>();
+        for (ProductSalesCount count : orderItemRepository.sumQuantityByProduct(EXCLUDED_ORDER_STATUSES)) {
+            sales.put(count.getProductId(), count.getQuantity());
+        }
+        return sales;
+    }
+
+    //Ürünün anahtarları - adın her kelimeden başlayan son ekleri ("kablosuz mouse" -> "kablosuz mouse", "mouse") ve SKU
+    private SuggestEntry toEntry(ProductStockView product) {
+        Set<String> keys = new LinkedHashSet<>();
+        List<String> tokens = TextNormalizer.tokenize(TextNormalizer.normalize(product.getName()));
+        for (int i = 0; i < tokens.size() && i < MAX_NAME_SUFFIXES; i++) {
+            keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+        }
+        String skuKey = toKey(product.getSku());
+        if (!skuKey.isEmpty()) {
+            keys.add(skuKey);
+        }
+        return new SuggestEntry(product.getId(), product.getSku(), product.getName(), List.copyOf(keys));
+    }
+
+    //Anahtar formu - Türkçe büyük/küçük harf katlaması, kelimeler tek boşlukla ("ABC-12" -> "abc 12")
+    private String toKey(String text) {
+        return String.join(" ", TextNormalizer.tokenize(TextNormalizer.normalize(text)));
+    }
+
+    private record SuggestEntry(UUID productId, String sku, String name, List<String> keys) {
+    }
+
+    private record FrozenIndex(PrefixTrie trie, ProductSuggestionResponse[] byRank) {
+    }
+}
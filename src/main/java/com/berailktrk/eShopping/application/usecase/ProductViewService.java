@@ -0,0 +1,146 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.domain.model.ProductStats;
+import com.berailktrk.eShopping.domain.model.ProductViewCount;
+import com.berailktrk.eShopping.domain.repository.ProductStatsRepository;
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductViewStatsResponse;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+//Product view service - ürün detay görüntülenme sayaçları
+//Görüntülenmeler ürün başına bir LongAdder'da biriktirilir: sayma yolu kilit almaz ve SQL çalıştırmaz.
+//Biriken sayılar periyodik olarak tek batch upsert ile product_stats tablosuna delta olarak eklenir.
+//Sayaç sadece bulunan ürünler için oluşturulur, harita katalog büyüklüğüyle sınırlıdır; sayaçlar silinmez
+//(silinen sayaca eşzamanlı artış kaybolurdu), flush'ta sıfırlanır
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductViewService {
+
+    public static final int MAX_MOST_VIEWED = 100;
+
+    private static final String UPSERT_VIEWS_SQL =
+            "INSERT INTO product_stats (product_id, view_count, last_viewed_at, updated_at) " +
+            "VALUES (:productId, :views, :now, :now) " +
+            "ON CONFLICT (product_id) DO UPDATE SET " +
+            "view_count = product_stats.view_count + EXCLUDED.view_count, " +
+            "last_viewed_at = EXCLUDED.last_viewed_at, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    private final ProductStatsRepository productStatsRepository;
+    private final ProductService productService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    //ürün ID -> henüz yazılmamış görüntülenme sayısı
+    private final Map<UUID, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    //Görüntülenmeyi say - sıcak yol; sayaç varsa sadece LongAdder artırılır
+    public void recordView(UUID productId) {
+        LongAdder counter = pendingViews.get(productId);
+        if (counter == null) {
+            //Ürünün ilk görüntülenmesi - haritaya bir kez eklenir
+            counter = pendingViews.computeIfAbsent(productId, id -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    //SKU ile ürünün görüntülenme sayısı (ADMIN)
+    public ProductViewStatsResponse getViewStats(String sku) {
+        ProductResponse product = productService.getProductBySku(sku);
+        ProductStats stats = productStatsRepository.findById(product.getId()).orElse(null);
+        return ProductViewStatsResponse.builder()
+                .productId(product.getId())
+                .sku(product.getSku())
+                .name(product.getName())
+                .viewCount((stats != null ? stats.getViewCount() : 0L) + pending(product.getId()))
+                .lastViewedAt(stats != null ? stats.getLastViewedAt() : null)
+                .build();
+    }
+
+    //En çok görüntülenen ürünler (ADMIN) - sıralama yazılmış sayılara göredir
+    public List<ProductViewStatsResponse> getMostViewed(int limit) {
+        if (limit <= 0 || limit > MAX_MOST_VIEWED) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_MOST_VIEWED);
+        }
+        List<ProductViewStatsResponse> result = new ArrayList<>();
+        for (ProductViewCount count : productStatsRepository.findMostViewed(Limit.of(limit))) {
+            result.add(ProductViewStatsResponse.builder()
+                    .productId(count.getProductId())
+                    .sku(count.getSku())
+                    .name(count.getName())
+                    .viewCount(count.getViewCount() + pending(count.getProductId()))
+                    .lastViewedAt(count.getLastViewedAt())
+                    .build());
+        }
+        return result;
+    }
+
+    //Biriken görüntülenmeleri tek batch upsert ile yaz
+    @Scheduled(fixedDelayString = "${product.views.flush-interval-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void flush() {
+        //ID sırasında - node'lar satırları aynı sırada kilitler, eşzamanlı flush'lar deadlock'a girmez
+        Map<UUID, Long> deltas = new TreeMap<>();
+        pendingViews.forEach((productId, counter) -> {
+            long count = counter.sumThenReset();
+            if (count > 0) {
+                deltas.put(productId, count);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        SqlParameterSource[] params = deltas.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("productId", entry.getKey())
+                        .addValue("views", entry.getValue())
+                        .addValue("now", now))
+                .toArray(SqlParameterSource[]::new);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_VIEWS_SQL, params));
+        } catch (RuntimeException e) {
+            //Yazılamayan sayılar bir sonraki denemeye geri eklenir
+            deltas.forEach((productId, count) ->
+                    pendingViews.computeIfAbsent(productId, id -> new LongAdder()).add(count));
+            log.error("Product view counter flush failed, will retry: {}", e.getMessage());
+            return;
+        }
+        log.debug("Product view counters flushed - {} products", deltas.size());
+    }
+
+    //Kapanışta biriken görüntülenmeleri kaybetmemek için son flush
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private long pending(UUID productId) {
+        LongAdder counter = pendingViews.get(productId);
+        return counter != null ? counter.sum() : 0L;
+    }
+}
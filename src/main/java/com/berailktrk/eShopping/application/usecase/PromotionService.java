@@ -0,0 +1,494 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.berailktrk.eShopping.application.event.CategoryChangedEvent;
+import com.berailktrk.eShopping.application.event.PromotionChangedEvent;
+import com.berailktrk.eShopping.domain.model.AuditLog;
+import com.berailktrk.eShopping.domain.model.Category;
+import com.berailktrk.eShopping.domain.model.ProductStockView;
+import com.berailktrk.eShopping.domain.model.Promotion;
+import com.berailktrk.eShopping.domain.model.PromotionType;
+import com.berailktrk.eShopping.domain.model.User;
+import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
+import com.berailktrk.eShopping.domain.repository.CategoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductCategoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.domain.repository.PromotionRepository;
+import com.berailktrk.eShopping.infrastructure.datasource.DataSourceRouting;
+import com.berailktrk.eShopping.presentation.dto.request.CreatePromotionRequest;
+import com.berailktrk.eShopping.presentation.dto.response.AppliedDiscountResponse;
+import com.berailktrk.eShopping.presentation.dto.response.PromotionResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+//Promotion service - promosyon/kupon yönetimi ve sepet fiyatlama
+//Aktif promosyonlar bellekte SKU'ya göre indekslenmiş derlenmiş kurallara çevrilir (kategori kapsamı derleme
+//sırasında kategorinin alt ağacındaki SKU'lara açılır). Fiyatlamada her kalem için sadece o SKU'nun kuralları,
+//sonra sepet geneli kurallar denenir. İndeks açılışta, promosyon/kategori değişikliklerinden sonra (commit sonrası)
+//ve kategoriye ürün eklenmesi gibi değişiklikler için periyodik olarak yeniden kurulur.
+//Kural birleşimi: her kaleme en yüksek indirimi veren tek kalem kuralı, ardından kalan tutara en yüksek indirimi
+//veren tek sepet kuralı uygulanır (indirimler aynı kalem veya sepet üzerinde üst üste binmez).
+//Toplam indirim sepeti minimum tahsilat tutarının altına indiremez; aşan kısım en son uygulanan indirimden düşülür
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PromotionService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final PromotionRepository promotionRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductCategoryRepository productCategoryRepository;
+    private final ProductRepository productRepository;
+    private final AuditLogService auditLogService;
+    private final AuditLogRepository auditLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    //İndirimlerden sonra tahsil edilecek en düşük tutar (ara toplam bundan küçükse indirim uygulanmaz)
+    @Value("${promotion.pricing.minimum-charge:1.00}")
+    private BigDecimal minimumCharge;
+
+    private volatile PromotionIndex index;
+
+    //Sepeti fiyatla - couponCode verilirse kupon da kurallara katılır. Geçersiz veya süresi dolmuş kupon hata verir;
+    //geçerli ama sepete uygulanmayan (ya da daha iyi bir promosyonun geride bıraktığı) kupon düşülür ve
+    //droppedCouponCode ile bildirilir - kupon hiçbir yerde kazanmadığı için fiyat kuponsuz fiyatlamayla aynıdır
+    public PricedCart priceCart(List<PricingLine> lines, String couponCode) {
+        PromotionIndex current = currentIndex();
+        Instant now = Instant.now();
+
+        CompiledPromotion coupon = null;
+        String normalizedCode = normalizeCode(couponCode);
+        if (normalizedCode != null) {
+            coupon = current.byCode().get(normalizedCode);
+            if (coupon == null || !coupon.isLive(now)) {
+                throw new IllegalArgumentException("Invalid or expired coupon code: " + couponCode);
+            }
+        }
+
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (PricingLine line : lines) {
+            subtotal = subtotal.add(line.total());
+        }
+
+        //promosyon ID -> uygulanan indirim (kalemler birleştirilir)
+        Map<UUID, AppliedDiscountResponse> applied = new LinkedHashMap<>();
+        BigDecimal lineDiscounts = BigDecimal.ZERO;
+        for (PricingLine line : lines) {
+            CompiledPromotion best = null;
+            BigDecimal bestAmount = BigDecimal.ZERO;
+            for (CompiledPromotion rule : current.bySku().getOrDefault(line.sku(), List.of())) {
+                if (!rule.appliesTo(now, subtotal, coupon)) {
+                    continue;
+                }
+                BigDecimal amount = rule.lineDiscount(line);
+                if (amount.compareTo(bestAmount) > 0) {
+                    best = rule;
+                    bestAmount = amount;
+                }
+            }
+            if (best != null) {
+                lineDiscounts = lineDiscounts.add(bestAmount);
+                addApplied(applied, best, line.sku(), bestAmount);
+            }
+        }
+
+        BigDecimal remaining = subtotal.subtract(lineDiscounts);
+        CompiledPromotion bestCartRule = null;
+        BigDecimal cartDiscount = BigDecimal.ZERO;
+        for (CompiledPromotion rule : current.cartWide()) {
+            if (!rule.appliesTo(now, subtotal, coupon)) {
+                continue;
+            }
+            BigDecimal amount = rule.cartDiscount(remaining);
+            if (amount.compareTo(cartDiscount) > 0) {
+                bestCartRule = rule;
+                cartDiscount = amount;
+            }
+        }
+        if (bestCartRule != null) {
+            addApplied(applied, bestCartRule, null, cartDiscount);
+        }
+
+        BigDecimal discount = clampToMinimumCharge(subtotal, lineDiscounts.add(cartDiscount), applied);
+
+        String appliedCouponCode = null;
+        String droppedCouponCode = null;
+        if (coupon != null && applied.containsKey(coupon.id())) {
+            appliedCouponCode = normalizedCode;
+        } else if (coupon != null) {
+            log.debug("Coupon {} does not apply to this cart or a better promotion already applies", normalizedCode);
+            droppedCouponCode = normalizedCode;
+        }
+        return new PricedCart(subtotal, discount, subtotal.subtract(discount),
+                List.copyOf(applied.values()), appliedCouponCode, droppedCouponCode);
+    }
+
+    //Toplam indirimi sepet minimum tahsilat tutarının altına inmeyecek şekilde sınırla - aşan kısım sondan başlayarak
+    //(önce sepet kuralı, sonra son kalem kuralları) uygulanan indirimlerden düşülür, sıfıra inen indirim listeden çıkar
+    private BigDecimal clampToMinimumCharge(BigDecimal subtotal, BigDecimal discount,
+                                            Map<UUID, AppliedDiscountResponse> applied) {
+        BigDecimal maxDiscount = subtotal.subtract(subtotal.min(minimumCharge));
+        BigDecimal excess = discount.subtract(maxDiscount);
+        if (excess.signum() <= 0) {
+            return discount;
+        }
+        List<UUID> order = new ArrayList<>(applied.keySet());
+        for (int i = order.size() - 1; i >= 0 && excess.signum() > 0; i--) {
+            AppliedDiscountResponse entry = applied.get(order.get(i));
+            BigDecimal reduction = entry.getAmount().min(excess);
+            entry.setAmount(entry.getAmount().subtract(reduction));
+            excess = excess.subtract(reduction);
+            if (entry.getAmount().signum() == 0) {
+                applied.remove(order.get(i));
+            }
+        }
+        return maxDiscount;
+    }
+
+    //Tüm promosyonlar (ADMIN)
+    public List<PromotionResponse> getPromotions() {
+        return promotionRepository.findAllByOrderByCreatedAtDesc().stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    //Yeni promosyon oluştur (ADMIN)
+    @Transactional
+    public PromotionResponse createPromotion(CreatePromotionRequest request, User actorUser) {
+        validate(request);
+
+        String code = normalizeCode(request.getCode());
+        if (code != null && promotionRepository.existsByCode(code)) {
+            throw new IllegalStateException("Coupon code already exists: " + code);
+        }
+
+        List<String> skus = null;
+        if (request.getSkus() != null && !request.getSkus().isEmpty()) {
+            Set<String> requested = new LinkedHashSet<>(request.getSkus());
+            Set<String> found = new LinkedHashSet<>();
+            for (ProductStockView view : productRepository.findStockViewsBySkuIn(requested)) {
+                found.add(view.getSku());
+            }
+            requested.removeAll(found);
+            if (!requested.isEmpty()) {
+                throw new IllegalArgumentException("Products not found: " + requested);
+            }
+            skus = List.copyOf(found);
+        }
+        if (request.getCategoryId() != null && !categoryRepository.existsById(request.getCategoryId())) {
+            throw new IllegalArgumentException("Category not found with ID: " + request.getCategoryId());
+        }
+
+        Promotion promotion = promotionRepository.save(Promotion.builder()
+                .name(request.getName())
+                .code(code)
+                .type(request.getType())
+                .percentage(request.getPercentage())
+                .amount(request.getAmount())
+                .buyQuantity(request.getBuyQuantity())
+                .getQuantity(request.getGetQuantity())
+                .minSubtotal(request.getMinSubtotal())
+                .skus(skus)
+                .categoryId(request.getCategoryId())
+                .startsAt(request.getStartsAt())
+                .endsAt(request.getEndsAt())
+                .build());
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("type", promotion.getType().name());
+        details.put("code", promotion.getCode());
+        details.put("skuCount", skus != null ? skus.size() : 0);
+        details.put("categoryId", promotion.getCategoryId());
+
+        AuditLog createLog = auditLogService.createLogWithDetails(
+            actorUser,
+            AuditLogService.ACTION_PROMOTION_CREATED,
+            AuditLogService.RESOURCE_PROMOTION,
+            promotion.getId(),
+            String.format("Promosyon oluşturuldu: %s (%s)", promotion.getName(), promotion.getType()),
+            details
+        );
+        auditLogRepository.save(createLog);
+
+        eventPublisher.publishEvent(new PromotionChangedEvent(promotion.getId()));
+        log.info("Promotion created: {} ({})", promotion.getName(), promotion.getType());
+        return toResponse(promotion);
+    }
+
+    //Promosyonu pasifleştir (ADMIN) - geçmiş siparişler promosyona referans verdiği için silinmez
+    @Transactional
+    public PromotionResponse deactivatePromotion(UUID promotionId, User actorUser) {
+        Promotion promotion = promotionRepository.findById(promotionId)
+                .orElseThrow(() -> new IllegalArgumentException("Promotion not found with ID: " + promotionId));
+        if (!Boolean.TRUE.equals(promotion.getIsActive())) {
+            throw new IllegalStateException("Promotion is already inactive: " + promotionId);
+        }
+
+        promotion.setIsActive(false);
+        promotion.setUpdatedAt(Instant.now());
+        promotion = promotionRepository.save(promotion);
+
+        AuditLog deactivateLog = auditLogService.createLog(
+            actorUser,
+            AuditLogService.ACTION_PROMOTION_DEACTIVATED,
+            AuditLogService.RESOURCE_PROMOTION,
+            promotion.getId(),
+            String.format("Promosyon pasifleştirildi: %s", promotion.getName())
+        );
+        auditLogRepository.save(deactivateLog);
+
+        eventPublisher.publishEvent(new PromotionChangedEvent(promotion.getId()));
+        log.info("Promotion deactivated: {}", promotion.getName());
+        return toResponse(promotion);
+    }
+
+    //Uygulama açılışında indeksi kur
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reloadIndex();
+    }
+
+    //Promosyon değişikliklerinden sonra indeksi yeniden kur (commit sonrası)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPromotionChanged(PromotionChangedEvent event) {
+        reloadIndex();
+        log.debug("Promotion index rebuilt: {}", event);
+    }
+
+    //Kategori taşınınca/silinince kategori kapsamlı promosyonların SKU'ları değişir
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        reloadIndex();
+    }
+
+    //Diğer node'lardaki değişiklikler, kategoriye ürün eklenmesi ve süresi dolan promosyonlar için periyodik yeniden kurulum
+    @Scheduled(fixedDelayString = "${promotion.index.refresh-seconds:60}",
+               initialDelayString = "${promotion.index.refresh-seconds:60}",
+               timeUnit = TimeUnit.SECONDS)
+    public void refreshIndex() {
+        reloadIndex();
+    }
+
+    private PromotionIndex currentIndex() {
+        PromotionIndex current = index;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (index == null) {
+                reloadIndex();
+            }
+            return index;
+        }
+    }
+
+    //Aktif promosyonları okuyup SKU indeksini kur
+    private synchronized void reloadIndex() {
+        long start = System.currentTimeMillis();
+        //Değişiklik az önce commit edildi - replica gecikmesi yüzünden kaçırılmaması için primary'den okunur
+        List<Promotion> promotions = DataSourceRouting.onPrimary(() -> promotionRepository.findLive(Instant.now()));
+
+        Map<String, List<CompiledPromotion>> bySku = new HashMap<>();
+        List<CompiledPromotion> cartWide = new ArrayList<>();
+        Map<String, CompiledPromotion> byCode = new HashMap<>();
+        for (Promotion promotion : promotions) {
+            CompiledPromotion compiled = compile(promotion);
+            if (compiled.code() != null) {
+                byCode.put(compiled.code(), compiled);
+            }
+
+            boolean hasSkus = promotion.getSkus() != null && !promotion.getSkus().isEmpty();
+            if (!hasSkus && promotion.getCategoryId() == null) {
+                cartWide.add(compiled);
+                continue;
+            }
+            Set<String> skus = new LinkedHashSet<>();
+            if (hasSkus) {
+                skus.addAll(promotion.getSkus());
+            }
+            if (promotion.getCategoryId() != null) {
+                skus.addAll(DataSourceRouting.onPrimary(() -> categorySkus(promotion.getCategoryId())));
+            }
+            for (String sku : skus) {
+                bySku.computeIfAbsent(sku, key -> new ArrayList<>()).add(compiled);
+            }
+        }
+
+        Map<String, List<CompiledPromotion>> frozen = new HashMap<>();
+        bySku.forEach((sku, rules) -> frozen.put(sku, List.copyOf(rules)));
+        index = new PromotionIndex(Map.copyOf(frozen), List.copyOf(cartWide), Map.copyOf(byCode));
+        log.debug("Promotion index built - {} promotions, {} SKUs, {} cart-wide in {} ms",
+                promotions.size(), frozen.size(), cartWide.size(), System.currentTimeMillis() - start);
+    }
+
+    //Kategori ve alt kategorilerindeki SKU'lar - kategori silinmişse boş
+    private List<String> categorySkus(UUID categoryId) {
+        return categoryRepository.findById(categoryId)
+                .map(category -> productCategoryRepository.findSkusInSubtree(
+                        category.getPath(), Category.subtreeUpperBound(category.getPath())))
+                .orElse(List.of());
+    }
+
+    private CompiledPromotion compile(Promotion promotion) {
+        return new CompiledPromotion(
+                promotion.getId(),
+                promotion.getName(),
+                promotion.getCode(),
+                promotion.getType(),
+                promotion.getPercentage() != null ? promotion.getPercentage().divide(HUNDRED) : null,
+                promotion.getAmount(),
+                promotion.getBuyQuantity() != null ? promotion.getBuyQuantity() : 0,
+                promotion.getGetQuantity() != null ? promotion.getGetQuantity() : 0,
+                promotion.getMinSubtotal(),
+                promotion.getStartsAt(),
+                promotion.getEndsAt());
+    }
+
+    //Türe göre zorunlu alanlar ve kapsam kontrolü
+    private void validate(CreatePromotionRequest request) {
+        switch (request.getType()) {
+            case PERCENTAGE -> {
+                if (request.getPercentage() == null) {
+                    throw new IllegalArgumentException("Percentage is required for PERCENTAGE promotions");
+                }
+            }
+            case FIXED_AMOUNT -> {
+                if (request.getAmount() == null) {
+                    throw new IllegalArgumentException("Amount is required for FIXED_AMOUNT promotions");
+                }
+            }
+            case BUY_X_GET_Y -> {
+                if (request.getBuyQuantity() == null || request.getGetQuantity() == null) {
+                    throw new IllegalArgumentException("Buy and get quantities are required for BUY_X_GET_Y promotions");
+                }
+                if ((request.getSkus() == null || request.getSkus().isEmpty()) && request.getCategoryId() == null) {
+                    throw new IllegalArgumentException("BUY_X_GET_Y promotions must be scoped to SKUs or a category");
+                }
+            }
+        }
+        if (request.getStartsAt() != null && request.getEndsAt() != null
+                && !request.getEndsAt().isAfter(request.getStartsAt())) {
+            throw new IllegalArgumentException("Promotion end must be after its start");
+        }
+    }
+
+    private static String normalizeCode(String code) {
+        return code == null || code.isBlank() ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static void addApplied(Map<UUID, AppliedDiscountResponse> applied, CompiledPromotion rule,
+                                   String sku, BigDecimal amount) {
+        AppliedDiscountResponse discount = applied.computeIfAbsent(rule.id(), id -> AppliedDiscountResponse.builder()
+                .promotionId(rule.id())
+                .name(rule.name())
+                .code(rule.code())
+                .type(rule.type().name())
+                .skus(sku != null ? new ArrayList<>() : null)
+                .amount(BigDecimal.ZERO)
+                .build());
+        if (sku != null) {
+            discount.getSkus().add(sku);
+        }
+        discount.setAmount(discount.getAmount().add(amount));
+    }
+
+    private PromotionResponse toResponse(Promotion promotion) {
+        return PromotionResponse.builder()
+                .id(promotion.getId())
+                .name(promotion.getName())
+                .code(promotion.getCode())
+                .type(promotion.getType().name())
+                .percentage(promotion.getPercentage())
+                .amount(promotion.getAmount())
+                .buyQuantity(promotion.getBuyQuantity())
+                .getQuantity(promotion.getGetQuantity())
+                .minSubtotal(promotion.getMinSubtotal())
+                .skus(promotion.getSkus())
+                .categoryId(promotion.getCategoryId())
+                .startsAt(promotion.getStartsAt())
+                .endsAt(promotion.getEndsAt())
+                .isActive(promotion.getIsActive())
+                .createdAt(promotion.getCreatedAt())
+                .build();
+    }
+
+    //Fiyatlanacak sepet kalemi
+    public record PricingLine(String sku, BigDecimal unitPrice, int quantity) {
+
+        BigDecimal total() {
+            return unitPrice.multiply(BigDecimal.valueOf(quantity));
+        }
+    }
+
+    //Fiyatlama sonucu - total = subtotal - discountAmount; couponCode uygulanan kupon, droppedCouponCode girilip uygulanmayan kupon
+    public record PricedCart(BigDecimal subtotal, BigDecimal discountAmount, BigDecimal total,
+                             List<AppliedDiscountResponse> discounts, String couponCode, String droppedCouponCode) {
+    }
+
+    //Derlenmiş kural - yüzde oran olarak (0.15) tutulur
+    private record CompiledPromotion(UUID id, String name, String code, PromotionType type,
+                                     BigDecimal rate, BigDecimal amount, int buyQuantity, int getQuantity,
+                                     BigDecimal minSubtotal, Instant startsAt, Instant endsAt) {
+
+        boolean isLive(Instant now) {
+            return (startsAt == null || !now.isBefore(startsAt)) && (endsAt == null || now.isBefore(endsAt));
+        }
+
+        //Kuponlar sadece girilen kupon ise denenir
+        boolean appliesTo(Instant now, BigDecimal subtotal, CompiledPromotion coupon) {
+            return (code == null || this == coupon)
+                    && isLive(now)
+                    && (minSubtotal == null || subtotal.compareTo(minSubtotal) >= 0);
+        }
+
+        //Kalem indirimi - kalem tutarını aşmaz
+        BigDecimal lineDiscount(PricingLine line) {
+            BigDecimal discount = switch (type) {
+                case PERCENTAGE -> line.total().multiply(rate);
+                case FIXED_AMOUNT -> amount.min(line.unitPrice()).multiply(BigDecimal.valueOf(line.quantity()));
+                case BUY_X_GET_Y -> line.unitPrice().multiply(
+                        BigDecimal.valueOf((long) (line.quantity() / (buyQuantity + getQuantity)) * getQuantity));
+            };
+            return discount.setScale(2, RoundingMode.HALF_UP).min(line.total());
+        }
+
+        //Sepet indirimi - kalan tutarı aşmaz (BUY_X_GET_Y sepet geneli olamaz)
+        BigDecimal cartDiscount(BigDecimal remaining) {
+            BigDecimal discount = switch (type) {
+                case PERCENTAGE -> remaining.multiply(rate);
+                case FIXED_AMOUNT -> amount;
+                case BUY_X_GET_Y -> BigDecimal.ZERO;
+            };
+            return discount.setScale(2, RoundingMode.HALF_UP).min(remaining);
+        }
+    }
+
+    //Bellekteki derlenmiş promosyonlar
+    private record PromotionIndex(Map<String, List<CompiledPromotion>> bySku, List<CompiledPromotion> cartWide,
+                                  Map<String, CompiledPromotion> byCode) {
+    }
+}
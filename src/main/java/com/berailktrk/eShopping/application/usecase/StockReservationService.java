@@ -0,0 +1,270 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.domain.model.CartItem;
+
+import lombok.extern.slf4j.Slf4j;
+
+//Stock reservation ledger service - sepet kalemlerinin stok rezervasyonları ve süre aşımı
+//Her reserve/cancel ile birlikte stock_reservations'a yazılır; ledger inventory.reserved'ın sepet kalemi başına dökümüdür.
+//Kilit sırası her yerde sepet kalemi -> ledger -> inventory (CartService ledger'ı stoktan önce yazar);
+//sweeper sadece ledger satırlarını SKIP LOCKED ile aldığı için checkout'u ve diğer node'ları beklemez.
+//Süresi dolan kayıt sadece stoğu bırakır, sepet kalemi sepette kalır; checkout tutulmayan miktarı yeniden rezerve eder
+@Service
+@Slf4j
+public class StockReservationService {
+
+    //Miktar eklenir, sepetin süresi yenilenir
+    private static final String UPSERT_SQL =
+            "INSERT INTO stock_reservations (id, cart_id, cart_item_id, product_id, product_sku, quantity, " +
+            "expires_at, created_at, updated_at) " +
+            "VALUES (:id, :cartId, :cartItemId, :productId, :sku, :quantity, :expiresAt, :now, :now) " +
+            "ON CONFLICT (cart_item_id) DO UPDATE SET " +
+            "quantity = stock_reservations.quantity + EXCLUDED.quantity, " +
+            "expires_at = EXCLUDED.expires_at, updated_at = EXCLUDED.updated_at";
+
+    //Sepetteki her değişiklik (ekleme, azaltma, çıkarma) tüm kalemlerin süresini uzatır (kilitli olanlar sweeper'da, atlanır)
+    private static final String EXTEND_CART_SQL =
+            "UPDATE stock_reservations SET expires_at = :expiresAt WHERE id IN (" +
+            "SELECT id FROM stock_reservations WHERE cart_id = :cartId AND expires_at < :expiresAt " +
+            "FOR UPDATE SKIP LOCKED)";
+
+    private static final String SELECT_FOR_UPDATE_SQL =
+            "SELECT quantity FROM stock_reservations WHERE cart_item_id = :cartItemId FOR UPDATE";
+
+    private static final String DECREASE_SQL =
+            "UPDATE stock_reservations SET quantity = quantity - :quantity, updated_at = :now " +
+            "WHERE cart_item_id = :cartItemId";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM stock_reservations WHERE cart_item_id = :cartItemId";
+
+    //Sepet temizlenirken - kilitli kayıtlar checkout'ta ya da sweeper'da, onlar bırakır
+    private static final String DELETE_CART_SQL =
+            "DELETE FROM stock_reservations WHERE id IN (" +
+            "SELECT id FROM stock_reservations WHERE cart_id = :cartId FOR UPDATE SKIP LOCKED) " +
+            "RETURNING product_sku, quantity";
+
+    //Checkout - sepetin tüm kayıtları beklenerek kilitlenir (sweeper aldıysa kayıt yoktur, stok bırakılmıştır)
+    private static final String CLAIM_LOCK_SQL =
+            "SELECT cart_item_id, quantity FROM stock_reservations WHERE cart_id = :cartId FOR UPDATE";
+
+    //Onaylanan miktar düşülür; artan (ledger fazlası) hemen süresi dolmuş sayılır ve sweeper bırakır
+    private static final String CLAIM_SQL =
+            "UPDATE stock_reservations SET quantity = quantity - :quantity, expires_at = :now, updated_at = :now " +
+            "WHERE cart_item_id = :cartItemId";
+
+    private static final String DELETE_CLAIMED_SQL =
+            "DELETE FROM stock_reservations WHERE cart_id = :cartId AND quantity <= 0";
+
+    //Süresi dolan kayıtlar silinir (sepet kalemi silinmez, sadece stok tutulması biter); kilitli kayıt bir sonraki taramaya kalır
+    private static final String SWEEP_EXPIRED_SQL =
+            "DELETE FROM stock_reservations WHERE id IN (" +
+            "SELECT id FROM stock_reservations WHERE expires_at <= :now " +
+            "ORDER BY expires_at LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING product_sku, quantity";
+
+    //Tek seferlik geçiş işareti - eklenemezse (satır varsa) backfill daha önce yapılmıştır
+    private static final String MARK_BACKFILL_SQL =
+            "INSERT INTO data_migrations (name, applied_at) VALUES (:name, :now) ON CONFLICT (name) DO NOTHING";
+
+    private static final String BACKFILL_MIGRATION = "stock_reservation_ledger_backfill";
+
+    //Ledger öncesinden kalan sepet kalemleri (rezervasyonları alınmış) tam süreyle ledger'a eklenir
+    //id sepet kalemi id'sinden türetilir (gen_random_uuid PostgreSQL 13 öncesinde eklenti gerektirir)
+    //Sadece bir kez çalışır: ledger kullanılmaya başladıktan sonra kaydı olmayan kalem, sweeper'ın stoğunu bıraktığı kalemdir
+    private static final String BACKFILL_SQL =
+            "INSERT INTO stock_reservations (id, cart_id, cart_item_id, product_id, product_sku, quantity, " +
+            "expires_at, created_at, updated_at) " +
+            "SELECT md5(ci.id::text || 'stock_reservation')::uuid, ci.cart_id, ci.id, ci.product_id, p.sku, ci.qty, " +
+            ":expiresAt, :now, :now " +
+            "FROM cart_items ci JOIN products p ON p.id = ci.product_id " +
+            "WHERE NOT EXISTS (SELECT 1 FROM stock_reservations r WHERE r.cart_item_id = ci.id) " +
+            "ON CONFLICT (cart_item_id) DO NOTHING";
+
+    private final InventoryService inventoryService;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int sweepChunkSize;
+
+    public StockReservationService(
+            InventoryService inventoryService,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${inventory.reservation.ttl-minutes:60}") long ttlMinutes,
+            @Value("${inventory.reservation.sweep-chunk-size:500}") int sweepChunkSize) {
+        this.inventoryService = inventoryService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.sweepChunkSize = sweepChunkSize;
+    }
+
+    //Sepet kalemi için rezerve edilen miktarı ekle, sepetin rezervasyon süresini yenile (çağıranın transaction'ında)
+    public void recordReserved(CartItem cartItem, String sku, int quantity) {
+        Instant now = Instant.now();
+        Timestamp expiresAt = Timestamp.from(now.plus(ttl));
+        UUID cartId = cartItem.getCart().getId();
+        jdbcTemplate.update(UPSERT_SQL, new MapSqlParameterSource()
+                .addValue("id", UUID.randomUUID())
+                .addValue("cartId", cartId)
+                .addValue("cartItemId", cartItem.getId())
+                .addValue("productId", cartItem.getProduct().getId())
+                .addValue("sku", sku)
+                .addValue("quantity", quantity)
+                .addValue("expiresAt", expiresAt)
+                .addValue("now", Timestamp.from(now)));
+        extendCart(cartId, expiresAt);
+    }
+
+    //Sepet kalemi rezervasyonundan düş, sepetin kalan rezervasyonlarının süresini yenile (çağıranın transaction'ında)
+    //Ledger'da gerçekten bulunan, bırakılması gereken miktarı döner; sweeper kaydı almışsa 0 (stok zaten bırakılmıştır)
+    public int recordReleased(CartItem cartItem, int quantity) {
+        Instant now = Instant.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cartItemId", cartItem.getId())
+                .addValue("quantity", quantity)
+                .addValue("now", Timestamp.from(now));
+        List<Integer> held = jdbcTemplate.queryForList(SELECT_FOR_UPDATE_SQL, params, Integer.class);
+        int released = 0;
+        if (!held.isEmpty() && held.get(0) <= quantity) {
+            jdbcTemplate.update(DELETE_SQL, params);
+            released = held.get(0);
+        } else if (!held.isEmpty()) {
+            jdbcTemplate.update(DECREASE_SQL, params);
+            released = quantity;
+        }
+        extendCart(cartItem.getCart().getId(), Timestamp.from(now.plus(ttl)));
+        return released;
+    }
+
+    //Sepetin tüm rezervasyonlarını bırak (sepet temizleme) - bırakılan toplam adet
+    public int releaseCart(UUID cartId) {
+        Map<String, Integer> released = new HashMap<>();
+        jdbcTemplate.query(DELETE_CART_SQL, new MapSqlParameterSource("cartId", cartId), rs -> {
+            released.merge(rs.getString("product_sku"), rs.getInt("quantity"), Integer::sum);
+        });
+        inventoryService.releaseReservationBatch(released);
+        return released.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    //Checkout için sepet kalemlerinin rezervasyonlarını ledger'dan al (çağıranın transaction'ında, stok onayından önce)
+    //Süresi dolup sweeper'ın bıraktığı miktar tek toplu rezervasyonla (SKU sırasıyla) yeniden alınır;
+    //stok artık yetmiyorsa IllegalStateException ve hiçbir şey değişmez (çağıranın transaction'ı geri alınır)
+    public void claimForCheckout(UUID cartId, List<CartItem> cartItems) {
+        Map<UUID, Integer> held = new HashMap<>();
+        jdbcTemplate.query(CLAIM_LOCK_SQL, new MapSqlParameterSource("cartId", cartId), rs -> {
+            held.put(rs.getObject("cart_item_id", UUID.class), rs.getInt("quantity"));
+        });
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<MapSqlParameterSource> claims = new ArrayList<>();
+        Map<String, Integer> expired = new HashMap<>();
+        for (CartItem cartItem : cartItems) {
+            int quantity = Math.min(held.getOrDefault(cartItem.getId(), 0), cartItem.getQty());
+            if (quantity < cartItem.getQty()) {
+                expired.merge(cartItem.getProduct().getSku(), cartItem.getQty() - quantity, Integer::sum);
+            }
+            if (quantity > 0) {
+                claims.add(new MapSqlParameterSource()
+                        .addValue("cartItemId", cartItem.getId())
+                        .addValue("quantity", quantity)
+                        .addValue("now", now));
+            }
+        }
+        jdbcTemplate.batchUpdate(CLAIM_SQL, claims.toArray(new MapSqlParameterSource[0]));
+        jdbcTemplate.update(DELETE_CLAIMED_SQL, new MapSqlParameterSource("cartId", cartId));
+
+        if (!expired.isEmpty()) {
+            InventoryService.StockBatchResult reserved = inventoryService.reserveStockBatch(expired, null);
+            if (!reserved.applied()) {
+                throw new IllegalStateException("Sepet rezervasyonunun süresi doldu ve stok artık yetersiz: "
+                        + reserved.shortfalls());
+            }
+            log.info("Re-reserved expired cart lines at checkout - cart: {}, quantities: {}", cartId, expired);
+        }
+    }
+
+    //Süresi dolan rezervasyonları parça parça bırak - her parça ayrı transaction, node'lar birbirini beklemez
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void sweepExpired() {
+        long start = System.currentTimeMillis();
+        int releasedRows = 0;
+        int releasedUnits = 0;
+        try {
+            while (true) {
+                SweepChunk chunk = transactionTemplate.execute(status -> sweepChunk(Instant.now()));
+                releasedRows += chunk.rows();
+                releasedUnits += chunk.units();
+                if (chunk.rows() < sweepChunkSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Stock reservation sweep failed, will retry: {}", e.getMessage());
+        }
+        if (releasedRows > 0) {
+            log.info("Released {} expired stock reservations ({} units) in {} ms",
+                    releasedRows, releasedUnits, System.currentTimeMillis() - start);
+        }
+    }
+
+    //Ledger'dan önceki sepetlerin rezervasyonları tam süreyle kaydedilir (ilk kurulum, data_migrations işaretiyle bir kez)
+    //Her açılışta çalışsaydı süresi dolan kalemler tam miktarla yeniden ledger'a girer, başka sepetlerin stoğu bırakılırdı
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLedger() {
+        Instant now = Instant.now();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("name", BACKFILL_MIGRATION)
+                .addValue("expiresAt", Timestamp.from(now.plus(ttl)))
+                .addValue("now", Timestamp.from(now));
+        Integer inserted = transactionTemplate.execute(status -> jdbcTemplate.update(MARK_BACKFILL_SQL, params) == 0
+                ? 0
+                : jdbcTemplate.update(BACKFILL_SQL, params));
+        if (inserted != null && inserted > 0) {
+            log.info("Stock reservation ledger backfilled for {} cart items", inserted);
+        }
+    }
+
+    private void extendCart(UUID cartId, Timestamp expiresAt) {
+        jdbcTemplate.update(EXTEND_CART_SQL, new MapSqlParameterSource()
+                .addValue("cartId", cartId)
+                .addValue("expiresAt", expiresAt));
+    }
+
+    private SweepChunk sweepChunk(Instant now) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("now", Timestamp.from(now))
+                .addValue("limit", sweepChunkSize);
+        Map<String, Integer> released = new HashMap<>();
+        int[] rows = new int[1];
+        jdbcTemplate.query(SWEEP_EXPIRED_SQL, params, rs -> {
+            released.merge(rs.getString("product_sku"), rs.getInt("quantity"), Integer::sum);
+            rows[0]++;
+        });
+        inventoryService.releaseReservationBatch(released);
+        return new SweepChunk(rows[0], released.values().stream().mapToInt(Integer::intValue).sum());
+    }
+
+    private record SweepChunk(int rows, int units) {
+    }
+}
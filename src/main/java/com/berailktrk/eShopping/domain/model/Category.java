@@ -0,0 +1,77 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * PostgreSQL categories tablosunu temsil eden Category entity'si
+ *
+ * Ağaç materialized path ile tutulur: path kökten itibaren slug'ların "/" ile birleşimidir ("/elektronik/telefon/").
+ * Bir kategorinin alt ağacı path'i kendi path'i ile başlayan kayıtlardır; kolon "C" collation ile tutulduğu için
+ * bu koşul B-tree index üzerinde tek bir aralık taramasıdır (bkz. Category.subtreeUpperBound)
+ */
+@Entity
+@Table(name = "categories", indexes = {
+    @Index(name = "idx_categories_parent_id", columnList = "parent_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Category {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "parent_id")
+    private UUID parentId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String slug;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String name;
+
+    @Column(nullable = false, unique = true, columnDefinition = "TEXT COLLATE \"C\"")
+    private String path;
+
+    //Kök kategoriler için 0
+    @Column(nullable = false)
+    private Integer depth;
+
+    @Column(name = "sort_order", nullable = false)
+    @Builder.Default
+    private Integer sortOrder = 0;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private Instant createdAt = Instant.now();
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer version = 0;
+
+    //Alt ağaç aralığının (hariç) üst sınırı - slug'lar sadece [a-z0-9-] içerdiğinden "/x/y/" ile başlayan
+    //tüm path'ler ["/x/y/", "/x/y0") aralığındadır ('0' = '/' + 1)
+    public static String subtreeUpperBound(String path) {
+        return path.substring(0, path.length() - 1) + (char) ('/' + 1);
+    }
+}
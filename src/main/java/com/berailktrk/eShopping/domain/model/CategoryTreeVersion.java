@@ -0,0 +1,20 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+//Kategori tablosunun sürüm özeti (kategori sayısı ve son değişiklik zamanı) - JPQL constructor expression ile doldurulur
+//Ekleme, silme ve her güncelleme (alt ağaç taşıma dahil updated_at yazar) özeti değiştirir
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class CategoryTreeVersion {
+
+    private final Long count;
+    private final Instant lastModified;
+}
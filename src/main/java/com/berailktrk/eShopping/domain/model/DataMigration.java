@@ -0,0 +1,33 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tek seferlik veri geçişlerinin işareti - satır varsa geçiş uygulanmıştır, bir daha çalıştırılmaz
+ * Satır geçişle aynı transaction'da eklenir (ON CONFLICT DO NOTHING); aynı anda açılan node'lardan sadece biri çalıştırır
+ */
+@Entity
+@Table(name = "data_migrations")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataMigration {
+
+    @Id
+    @Column(columnDefinition = "TEXT")
+    private String name;
+
+    @Column(name = "applied_at", nullable = false)
+    @Builder.Default
+    private Instant appliedAt = Instant.now();
+}
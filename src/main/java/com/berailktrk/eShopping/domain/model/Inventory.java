@@ -61,6 +61,20 @@ public class Inventory {
     @Builder.Default
     private Instant updatedAt = Instant.now();
 
+    //Kampanya için parçalı sayaç: null ise stok bu satırdadır; doluysa stok inventory_shards'a bölünmüştür ve
+    //quantity/reserved parçaların periyodik olarak yenilenen toplamıdır
+    @Column(name = "shard_count")
+    private Integer shardCount;
+
+    //Parçalı sayacın tek satıra birleştirileceği an (kampanya bitişi)
+    @Column(name = "sharded_until")
+    private Instant shardedUntil;
+
+    //Node kirası: null ise kapalı; doluysa her uygulama node'u bu kadarlık bloğu tek UPDATE ile kiralar (quantity -> reserved)
+    //ve rezervasyonları bellekteki sayaçtan karşılar
+    @Column(name = "lease_size")
+    private Integer leaseSize;
+
     @Version
     @Column(nullable = false)
     private Integer version;
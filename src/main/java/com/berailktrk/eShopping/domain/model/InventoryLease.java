@@ -0,0 +1,61 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bir uygulama node'unun SKU için kiraladığı stok bloğu - kiralanan birimler inventory.reserved içindedir
+ * remaining: node'un henüz dağıtmadığı ve dağıtıp satıra yazmadığı birimler (gerçek kalan miktardan az olamaz)
+ * Node heartbeat ile expires_at'i yeniler; süresi dolan kiralar başka bir node tarafından geri alınır
+ */
+@Entity
+@Table(name = "inventory_leases",
+    uniqueConstraints = @UniqueConstraint(name = "uk_inventory_leases_node_sku", columnNames = {"node_id", "product_sku"}),
+    indexes = {
+        @Index(name = "idx_inventory_leases_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_inventory_leases_sku", columnList = "product_sku")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryLease {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "node_id", nullable = false, columnDefinition = "TEXT")
+    private String nodeId;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "product_sku", nullable = false, columnDefinition = "TEXT")
+    private String productSku;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer remaining = 0;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private Instant createdAt = Instant.now();
+
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private Instant updatedAt = Instant.now();
+}
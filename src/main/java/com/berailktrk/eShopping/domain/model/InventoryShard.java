@@ -0,0 +1,47 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Parçalı stok sayacının bir parçası - kampanya süresince SKU'nun stoğu N satıra bölünür,
+ * rezervasyonlar rastgele bir parçayı güncellediği için tek inventory satırı darboğaz olmaz
+ */
+@Entity
+@Table(name = "inventory_shards",
+    uniqueConstraints = @UniqueConstraint(name = "uk_inventory_shards_sku_shard", columnNames = {"product_sku", "shard"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryShard {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "product_sku", nullable = false, columnDefinition = "TEXT")
+    private String productSku;
+
+    @Column(nullable = false)
+    private Integer shard;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer quantity = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer reserved = 0;
+}
@@ -28,7 +28,8 @@ import lombok.NoArgsConstructor;
 @Table(name = "products", indexes = {
     @Index(name = "idx_products_is_active", columnList = "is_active"),
     @Index(name = "idx_products_price", columnList = "price"),
-    @Index(name = "idx_products_created_at", columnList = "created_at")
+    @Index(name = "idx_products_created_at", columnList = "created_at"),
+    @Index(name = "idx_products_updated_at_id", columnList = "updated_at, id")
 })
 @Data
 @Builder
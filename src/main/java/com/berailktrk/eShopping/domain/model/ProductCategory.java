@@ -0,0 +1,57 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * PostgreSQL product_categories tablosunu temsil eden ürün-kategori eşlemesi
+ *
+ * Kategorinin path'i eşlemeye kopyalanır (kategori taşınınca birlikte güncellenir); böylece
+ * "bir kategori ve alt kategorilerindeki ürünler" categories tablosuna join gerekmeden path aralığıyla bulunur
+ */
+@Entity
+@Table(name = "product_categories",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_product_categories_product_category", columnNames = {"product_id", "category_id"})
+    },
+    indexes = {
+        @Index(name = "idx_product_categories_path_product", columnList = "category_path, product_id"),
+        @Index(name = "idx_product_categories_product_path", columnList = "product_id, category_path"),
+        @Index(name = "idx_product_categories_category_id", columnList = "category_id")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCategory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "category_id", nullable = false)
+    private UUID categoryId;
+
+    @Column(name = "category_path", nullable = false, columnDefinition = "TEXT COLLATE \"C\"")
+    private String categoryPath;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private Instant createdAt = Instant.now();
+}
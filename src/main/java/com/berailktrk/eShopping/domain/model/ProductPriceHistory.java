@@ -0,0 +1,50 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ürün fiyat geçmişi - sadece eklenir, güncellenmez
+ * Her kayıt fiyatın valid_from anından bir sonraki kayda kadar geçerli olduğunu belirtir; bir andaki fiyat
+ * (product_id, valid_from) index'i üzerinde o andan önceki son kayıttır
+ */
+@Entity
+@Table(name = "product_price_history", indexes = {
+    @Index(name = "idx_product_price_history_product_valid_from", columnList = "product_id, valid_from")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPriceHistory {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "product_id", nullable = false, updatable = false)
+    private UUID productId;
+
+    @Column(nullable = false, updatable = false, precision = 12, scale = 2)
+    private BigDecimal price;
+
+    @Column(nullable = false, updatable = false, length = 3, columnDefinition = "CHAR(3)")
+    private String currency;
+
+    @Column(name = "valid_from", nullable = false, updatable = false)
+    private Instant validFrom;
+
+    //Değişikliğin kaynağı (CREATED, UPDATED, BULK_UPDATE, IMPORT, BASELINE)
+    @Column(nullable = false, updatable = false, length = 32)
+    private String source;
+}
@@ -0,0 +1,17 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+//Ürün başına satılan toplam adet - JPQL constructor expression ile GROUP BY sonucundan doldurulur
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductSalesCount {
+
+    private final UUID productId;
+    private final Long quantity;
+}
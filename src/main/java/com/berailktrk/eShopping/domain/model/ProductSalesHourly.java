@@ -0,0 +1,43 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ürün başına saatlik satış adedi - kayan pencere (son 24 saat, son 7 gün) best-seller sayaçlarının kalıcı hali
+ * Pencere dışına çıkan saatler periyodik olarak silinir
+ */
+@Entity
+@Table(name = "product_sales_hourly",
+    uniqueConstraints = @UniqueConstraint(name = "uk_product_sales_hourly_product_hour", columnNames = {"product_id", "hour_start"}),
+    indexes = @Index(name = "idx_product_sales_hourly_hour_start", columnList = "hour_start"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesHourly {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "hour_start", nullable = false)
+    private Instant hourStart;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long quantity = 0L;
+}
@@ -0,0 +1,38 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ürün başına tüm zamanların satış adedi - best-seller sayaçlarının kalıcı hali
+ * Sayaçlar bellekte artırılır, periyodik olarak delta upsert ile yazılır
+ */
+@Entity
+@Table(name = "product_sales_stats")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSalesStats {
+
+    @Id
+    @Column(name = "product_id")
+    private UUID productId;
+
+    @Column(name = "sold_total", nullable = false)
+    @Builder.Default
+    private Long soldTotal = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private Instant updatedAt = Instant.now();
+}
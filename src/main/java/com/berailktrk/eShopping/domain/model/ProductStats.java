@@ -0,0 +1,45 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Ürün başına görüntülenme sayacı
+ * Görüntülenmeler bellekte biriktirilir, periyodik olarak delta upsert ile yazılır (products tablosuna yazılmaz)
+ */
+@Entity
+@Table(name = "product_stats", indexes = {
+    @Index(name = "idx_product_stats_view_count", columnList = "view_count")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductStats {
+
+    @Id
+    @Column(name = "product_id")
+    private UUID productId;
+
+    @Column(name = "view_count", nullable = false)
+    @Builder.Default
+    private Long viewCount = 0L;
+
+    //Son görüntülenmenin yazıldığı flush zamanı (flush aralığı hassasiyetinde)
+    @Column(name = "last_viewed_at")
+    private Instant lastViewedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private Instant updatedAt = Instant.now();
+}
@@ -0,0 +1,35 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+//Ürün + stok okuma projeksiyonu (products LEFT JOIN inventory)
+//JPQL constructor expression ile doğrudan oluşturulur: entity hydration, persistence context
+//kaydı ve dirty-checking snapshot'ı oluşmaz. Sadece okuma amaçlıdır.
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductStockView {
+
+    private final UUID id;
+    private final String sku;
+    private final String name;
+    private final String description;
+    private final BigDecimal price;
+    private final String currency;
+    private final Boolean isActive;
+    private final Integer version;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+    private final Map<String, Object> metadata;
+
+    //Stok kaydı yoksa null
+    private final Integer quantity;
+    private final Integer reserved;
+}
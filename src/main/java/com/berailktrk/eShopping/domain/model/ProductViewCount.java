@@ -0,0 +1,21 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+//Ürün görüntülenme sayısı ve ürün bilgisi - JPQL constructor expression ile product_stats JOIN products sonucundan doldurulur
+@Getter
+@ToString
+@AllArgsConstructor
+public class ProductViewCount {
+
+    private final UUID productId;
+    private final String sku;
+    private final String name;
+    private final Long viewCount;
+    private final Instant lastViewedAt;
+}
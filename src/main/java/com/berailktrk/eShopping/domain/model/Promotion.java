@@ -0,0 +1,104 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * PostgreSQL promotions tablosunu temsil eden Promotion entity'si
+ *
+ * Kapsam: skus ve categoryId boşsa promosyon tüm sepete uygulanır; doluysa listedeki SKU'lara ve kategori
+ * ile alt kategorilerindeki ürünlere uygulanır. code doluysa promosyon kupondur, sadece kod girildiğinde uygulanır
+ */
+@Entity
+@Table(name = "promotions", indexes = {
+    @Index(name = "idx_promotions_active_ends_at", columnList = "is_active, ends_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Promotion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String name;
+
+    //Kupon kodu (büyük harf) - otomatik promosyonlarda null
+    @Column(unique = true, length = 64)
+    private String code;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private PromotionType type;
+
+    //PERCENTAGE için yüzde (0-100]
+    @Column(precision = 5, scale = 2)
+    private BigDecimal percentage;
+
+    //FIXED_AMOUNT için tutar
+    @Column(precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    //BUY_X_GET_Y için X ve Y
+    @Column(name = "buy_quantity")
+    private Integer buyQuantity;
+
+    @Column(name = "get_quantity")
+    private Integer getQuantity;
+
+    //Sepet ara toplamı bu tutarın altındaysa uygulanmaz
+    @Column(name = "min_subtotal", precision = 12, scale = 2)
+    private BigDecimal minSubtotal;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private List<String> skus;
+
+    @Column(name = "category_id")
+    private UUID categoryId;
+
+    @Column(name = "starts_at")
+    private Instant startsAt;
+
+    @Column(name = "ends_at")
+    private Instant endsAt;
+
+    @Column(name = "is_active", nullable = false)
+    @Builder.Default
+    private Boolean isActive = true;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private Instant createdAt = Instant.now();
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer version = 0;
+}
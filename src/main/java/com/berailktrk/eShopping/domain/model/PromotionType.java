@@ -0,0 +1,21 @@
+package com.berailktrk.eShopping.domain.model;
+
+/**
+ * Promosyon indirim türü
+ */
+public enum PromotionType {
+    /**
+     * Yüzde indirim (kapsamdaki kalemlerin veya sepetin tutarından)
+     */
+    PERCENTAGE,
+
+    /**
+     * Sabit tutar indirim (SKU/kategori kapsamında birim başına, sepet kapsamında sepet başına)
+     */
+    FIXED_AMOUNT,
+
+    /**
+     * X al Y bedava - her (X + Y) adetten Y adedi ücretsiz (sadece SKU/kategori kapsamında)
+     */
+    BUY_X_GET_Y
+}
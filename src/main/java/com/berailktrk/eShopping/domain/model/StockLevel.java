@@ -0,0 +1,17 @@
+package com.berailktrk.eShopping.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+//Stok kaydının satılabilir miktarı ve parça sayısı - stok kontrolleri için
+//JPQL constructor expression ile doldurulur; Inventory entity'si persistence context'e alınmaz, böylece aynı
+//transaction'daki kilitli okuma (findByProductSkuWithLock) eski sürümlü bir kopyaya takılmaz
+@Getter
+@ToString
+@AllArgsConstructor
+public class StockLevel {
+
+    private final Integer quantity;
+    private final Integer shardCount;
+}
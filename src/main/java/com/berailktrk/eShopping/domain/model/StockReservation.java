@@ -0,0 +1,62 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sepet kalemi başına stok rezervasyonu - inventory.reserved içindeki payın kimde olduğunu ve ne zaman düşeceğini tutar
+ * Sepet değiştikçe expires_at yenilenir; süresi dolan kayıtların stoğu sweeper ile serbest bırakılır (sepet kalemi sepette kalır)
+ */
+@Entity
+@Table(name = "stock_reservations",
+    uniqueConstraints = @UniqueConstraint(name = "uk_stock_reservations_cart_item", columnNames = "cart_item_id"),
+    indexes = {
+        @Index(name = "idx_stock_reservations_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_stock_reservations_cart_id", columnList = "cart_id")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservation {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "cart_id", nullable = false)
+    private UUID cartId;
+
+    @Column(name = "cart_item_id", nullable = false)
+    private UUID cartItemId;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "product_sku", nullable = false, columnDefinition = "TEXT")
+    private String productSku;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private Instant createdAt = Instant.now();
+
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private Instant updatedAt = Instant.now();
+}
@@ -0,0 +1,27 @@
+package com.berailktrk.eShopping.domain.model;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+//Bir kayıt kümesinin sürüm özeti - conditional GET (ETag) için
+//JPQL constructor expression ile COUNT / SUM(version) / MAX(zaman damgası) olarak doldurulur;
+//kümedeki herhangi bir kayıt eklendiğinde, güncellendiğinde veya çıkarıldığında değişir
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class VersionSummary {
+
+    private final Long count;
+    private final Long versionSum;
+    private final Instant lastModified;
+
+    //Kümede kayıt var mı (tekil kaynaklar için: kayıt bulundu mu)
+    public boolean isEmpty() {
+        return count == null || count == 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.berailktrk.eShopping.domain.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.berailktrk.eShopping.domain.model.Category;
+import com.berailktrk.eShopping.domain.model.CategoryTreeVersion;
+
+// Category Repository - Kategori ağacı (materialized path)
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, UUID> {
+
+    // Path'in kullanılıp kullanılmadığını kontrol et
+    boolean existsByPath(String path);
+
+    // Alt kategorisi var mı
+    boolean existsByParentId(UUID parentId);
+
+    // Ağacın sürüm özeti - node'lar bellekteki ağacı sadece bu değiştiğinde yeniden yükler
+    @Query("SELECT new com.berailktrk.eShopping.domain.model.CategoryTreeVersion(COUNT(c), " +
+           "MAX(COALESCE(c.updatedAt, c.createdAt))) FROM Category c")
+    CategoryTreeVersion findTreeVersion();
+
+    // Alt ağacın path önekini değiştir (taşıma / slug değişikliği) - [lower, upper) aralığı tek range scan
+    @Modifying
+    @Query("UPDATE Category c SET c.path = CONCAT(:newPrefix, SUBSTRING(c.path, :suffixStart)), " +
+           "c.depth = c.depth + :depthDelta, c.updatedAt = :now " +
+           "WHERE c.path >= :lower AND c.path < :upper")
+    int rewriteSubtreePaths(@Param("lower") String lower,
+                            @Param("upper") String upper,
+                            @Param("newPrefix") String newPrefix,
+                            @Param("suffixStart") int suffixStart,
+                            @Param("depthDelta") int depthDelta,
+                            @Param("now") Instant now);
+}
@@ -13,6 +13,8 @@ import org.springframework.stereotype.Repository;
 
 import com.berailktrk.eShopping.domain.model.Inventory;
 import com.berailktrk.eShopping.domain.model.Product;
+import com.berailktrk.eShopping.domain.model.StockLevel;
+import com.berailktrk.eShopping.domain.model.VersionSummary;
 
 import jakarta.persistence.LockModeType;
 
@@ -38,16 +40,21 @@ public interface InventoryRepository extends JpaRepository<Inventory, UUID> {
     @Query("SELECT i FROM Inventory i WHERE i.productSku = :sku")
     Optional<Inventory> findByProductSku(@Param("sku") String sku);
 
+    // SKU'ya göre satılabilir stok (entity yüklenmez - sonraki kilitli okuma güncel satırı görür)
+    @Query("SELECT new com.berailktrk.eShopping.domain.model.StockLevel(i.quantity, i.shardCount) " +
+           "FROM Inventory i WHERE i.productSku = :sku")
+    Optional<StockLevel> findStockLevelBySku(@Param("sku") String sku);
+
     // SKU'ya göre stok kaydını pessimistic lock ile getir
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT i FROM Inventory i WHERE i.productSku = :sku")
     Optional<Inventory> findByProductSkuWithLock(@Param("sku") String sku);
 
-    // SKU'ya göre stok miktarını artır/azalt (delta değeri)
+    // SKU'ya göre stok miktarını artır/azalt (delta değeri) - parçalı stoklar InventoryShardService üzerinden
     @Modifying
     @Query("UPDATE Inventory i SET i.quantity = i.quantity + :delta, " +
            "i.version = i.version + 1 " +
-           "WHERE i.productSku = :sku")
+           "WHERE i.productSku = :sku AND i.shardCount IS NULL")
     int adjustStockBySku(@Param("sku") String sku, @Param("delta") Integer delta);
 
     // SKU'ya göre stok miktarını azalt - Rezervasyon için (optimistic locking)
@@ -78,4 +85,14 @@ public interface InventoryRepository extends JpaRepository<Inventory, UUID> {
     int cancelReservationBySku(@Param("sku") String sku, 
                                @Param("quantity") Integer quantity, 
                                @Param("currentVersion") Integer currentVersion);
+
+    // SKU'ya göre stok kaydının sürüm özeti (ETag için) - kayıt yoksa count = 0
+    @Query("SELECT new com.berailktrk.eShopping.domain.model.VersionSummary(COUNT(i), SUM(i.version), MAX(i.updatedAt)) " +
+           "FROM Inventory i WHERE i.productSku = :sku")
+    VersionSummary findVersionSummaryBySku(@Param("sku") String sku);
+
+    // Tüm stok kayıtlarının sürüm özeti - katalog snapshot'ı diğer node'lardaki stok hareketlerini bununla fark eder
+    @Query("SELECT new com.berailktrk.eShopping.domain.model.VersionSummary(COUNT(i), SUM(i.version), MAX(i.updatedAt)) " +
+           "FROM Inventory i")
+    VersionSummary findStockVersionSummary();
 }
@@ -1,5 +1,6 @@
 package com.berailktrk.eShopping.domain.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -10,6 +11,8 @@ import org.springframework.stereotype.Repository;
 
 import com.berailktrk.eShopping.domain.model.Order;
 import com.berailktrk.eShopping.domain.model.OrderItem;
+import com.berailktrk.eShopping.domain.model.OrderStatus;
+import com.berailktrk.eShopping.domain.model.ProductSalesCount;
 
 // OrderItem Repository - Sipariş kalemleri işlemleri
 @Repository
@@ -30,6 +33,11 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
     @Query("SELECT COALESCE(SUM(oi.qty), 0) FROM OrderItem oi WHERE oi.product.id = :productId")
     Long getTotalQuantitySoldByProductId(@Param("productId") UUID productId);
 
+    // Ürün başına toplam satış miktarı - tek GROUP BY sorgusu (öneri/popülerlik sıralaması için)
+    @Query("SELECT new com.berailktrk.eShopping.domain.model.ProductSalesCount(oi.product.id, SUM(oi.qty)) " +
+           "FROM OrderItem oi WHERE oi.order.status NOT IN :excludedStatuses GROUP BY oi.product.id")
+    List<ProductSalesCount> sumQuantityByProduct(@Param("excludedStatuses") Collection<OrderStatus> excludedStatuses);
+
     // Siparişin toplam kalem sayısını getir
     @Query("SELECT COUNT(oi) FROM OrderItem oi WHERE oi.order.id = :orderId")
     Long countByOrderId(@Param("orderId") UUID orderId);
@@ -16,6 +16,7 @@ import com.berailktrk.eShopping.domain.model.Order;
 import com.berailktrk.eShopping.domain.model.OrderStatus;
 import com.berailktrk.eShopping.domain.model.PaymentStatus;
 import com.berailktrk.eShopping.domain.model.User;
+import com.berailktrk.eShopping.domain.model.VersionSummary;
 
 // Order Repository - Sipariş yönetimi ve sorgulama işlemleri
 @Repository
@@ -61,4 +62,14 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
 
     // Durum ve ödeme durumuna göre siparişleri getir
     List<Order> findByStatusAndPaymentStatus(OrderStatus status, PaymentStatus paymentStatus);
+
+    // Kullanıcının siparişlerinin sürüm özeti (ETag için, entity yüklemeden)
+    @Query("SELECT new com.berailktrk.eShopping.domain.model.VersionSummary(COUNT(o), SUM(o.version), MAX(o.createdAt)) " +
+           "FROM Order o WHERE o.user.id = :userId")
+    VersionSummary findVersionSummaryByUserId(@Param("userId") UUID userId);
+
+    // Tek siparişin sürüm özeti - sipariş kullanıcıya ait değilse count = 0
+    @Query("SELECT new com.berailktrk.eShopping.domain.model.VersionSummary(COUNT(o), SUM(o.version), MAX(o.createdAt)) " +
+           "FROM Order o WHERE o.id = :orderId AND o.user.id = :userId")
+    VersionSummary findVersionSummaryByIdAndUserId(@Param("orderId") UUID orderId, @Param("userId") UUID userId);
 }
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.berailktrk.eShopping.domain.model.PaymentMethod;
+import com.berailktrk.eShopping.domain.model.VersionSummary;
 
 
 //PaymentMethod entity için repository interface
@@ -50,7 +51,8 @@ public interface PaymentMethodRepository extends JpaRepository<PaymentMethod, UU
     //(Yeni varsayılan ödeme yöntemi eklenirken kullanılır)
     
     @Modifying(clearAutomatically = true)
-    @Query("UPDATE PaymentMethod pm SET pm.isDefault = false WHERE pm.user.id = :userId AND pm.isDefault = true")
+    @Query("UPDATE PaymentMethod pm SET pm.isDefault = false, pm.version = pm.version + 1 " +
+           "WHERE pm.user.id = :userId AND pm.isDefault = true")
     void clearDefaultPaymentMethods(@Param("userId") UUID userId);
 
     // ==================== SEQUENCE NUMBER İŞLEMLERİ ====================
@@ -75,4 +77,17 @@ public interface PaymentMethodRepository extends JpaRepository<PaymentMethod, UU
     //Belirli bir kullanıcının belirli bir ödeme yöntemi adına sahip kaydı var mı kontrol et (Liste döner)
     
     List<PaymentMethod> findByUserIdAndMethodNameAndIsActiveTrue(UUID userId, String methodName);
+
+    //Kullanıcının aktif ödeme yöntemlerinin sürüm özeti (ETag için, entity yüklemeden)
+    
+    @Query("SELECT new com.berailktrk.eShopping.domain.model.VersionSummary(COUNT(pm), SUM(pm.version), MAX(pm.updatedAt)) " +
+           "FROM PaymentMethod pm WHERE pm.user.id = :userId AND pm.isActive = true")
+    VersionSummary findVersionSummaryByUserId(@Param("userId") UUID userId);
+
+    //Belirli sequence number'a sahip aktif ödeme yönteminin sürüm özeti - bulunamazsa count = 0
+    
+    @Query("SELECT new com.berailktrk.eShopping.domain.model.VersionSummary(COUNT(pm), SUM(pm.version), MAX(pm.updatedAt)) " +
+           "FROM PaymentMethod pm WHERE pm.user.id = :userId AND pm.sequenceNumber = :sequenceNumber AND pm.isActive = true")
+    VersionSummary findVersionSummaryByUserIdAndSequenceNumber(@Param("userId") UUID userId,
+                                                               @Param("sequenceNumber") Integer sequenceNumber);
 }
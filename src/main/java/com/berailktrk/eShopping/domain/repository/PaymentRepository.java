@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import com.berailktrk.eShopping.domain.model.Payment;
 import com.berailktrk.eShopping.domain.model.PaymentStatus;
+import com.berailktrk.eShopping.domain.model.VersionSummary;
 
 
 //Payment entity için repository interface
@@ -42,4 +43,14 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
 
     //Belirli bir kullanıcının belirli bir durumdaki ödemelerini getir    
     List<Payment> findByUserIdAndStatusOrderByCreatedAtDesc(UUID userId, PaymentStatus status);
+
+    // Siparişe ait ödemelerin sürüm özeti (ETag için, entity yüklemeden)
+    @Query("SELECT new com.berailktrk.eShopping.domain.model.VersionSummary(COUNT(p), SUM(p.version), MAX(p.createdAt)) " +
+           "FROM Payment p WHERE p.order.id = :orderId")
+    VersionSummary findVersionSummaryByOrderId(@Param("orderId") UUID orderId);
+
+    // Kullanıcının ödemelerinin sürüm özeti (ETag için, entity yüklemeden)
+    @Query("SELECT new com.berailktrk.eShopping.domain.model.VersionSummary(COUNT(p), SUM(p.version), MAX(p.createdAt)) " +
+           "FROM Payment p WHERE p.user.id = :userId")
+    VersionSummary findVersionSummaryByUserId(@Param("userId") UUID userId);
 }
@@ -0,0 +1,46 @@
+package com.berailktrk.eShopping.domain.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.berailktrk.eShopping.domain.model.ProductCategory;
+
+// ProductCategory Repository - Ürün-kategori eşlemeleri
+@Repository
+public interface ProductCategoryRepository extends JpaRepository<ProductCategory, UUID> {
+
+    // Kategoriye zaten eşlenmiş ürünler (verilenler arasından)
+    @Query("SELECT pc.productId FROM ProductCategory pc WHERE pc.categoryId = :categoryId AND pc.productId IN :productIds")
+    List<UUID> findAssignedProductIds(@Param("categoryId") UUID categoryId, @Param("productIds") Collection<UUID> productIds);
+
+    // Ürünü kategoriden çıkar
+    @Modifying
+    @Query("DELETE FROM ProductCategory pc WHERE pc.categoryId = :categoryId AND pc.productId = :productId")
+    int deleteByCategoryIdAndProductId(@Param("categoryId") UUID categoryId, @Param("productId") UUID productId);
+
+    // Kategorinin tüm eşlemelerini sil
+    @Modifying
+    @Query("DELETE FROM ProductCategory pc WHERE pc.categoryId = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") UUID categoryId);
+
+    // Kategori ve alt kategorilerindeki ürünlerin SKU'ları (path aralığı)
+    @Query("SELECT DISTINCT p.sku FROM ProductCategory pc JOIN Product p ON p.id = pc.productId " +
+           "WHERE pc.categoryPath >= :lower AND pc.categoryPath < :upper")
+    List<String> findSkusInSubtree(@Param("lower") String lower, @Param("upper") String upper);
+
+    // Taşınan alt ağacın eşlemelerindeki path kopyalarını güncelle
+    @Modifying
+    @Query("UPDATE ProductCategory pc SET pc.categoryPath = CONCAT(:newPrefix, SUBSTRING(pc.categoryPath, :suffixStart)) " +
+           "WHERE pc.categoryPath >= :lower AND pc.categoryPath < :upper")
+    int rewriteSubtreePaths(@Param("lower") String lower,
+                            @Param("upper") String upper,
+                            @Param("newPrefix") String newPrefix,
+                            @Param("suffixStart") int suffixStart);
+}
@@ -0,0 +1,31 @@
+package com.berailktrk.eShopping.domain.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.berailktrk.eShopping.domain.model.ProductPriceHistory;
+
+// ProductPriceHistory Repository - Fiyat geçmişi sorguları, (product_id, valid_from) index'ini kullanır
+@Repository
+public interface ProductPriceHistoryRepository extends JpaRepository<ProductPriceHistory, UUID> {
+
+    // Verilen anda geçerli fiyat - o andan önceki son kayıt (Limit.of(1) ile)
+    @Query("SELECT h FROM ProductPriceHistory h WHERE h.productId = :productId AND h.validFrom <= :at " +
+           "ORDER BY h.validFrom DESC")
+    List<ProductPriceHistory> findEffectiveAt(@Param("productId") UUID productId, @Param("at") Instant at, Limit limit);
+
+    // (from, to] aralığındaki değişiklikler - eskiden yeniye
+    @Query("SELECT h FROM ProductPriceHistory h WHERE h.productId = :productId " +
+           "AND h.validFrom > :from AND h.validFrom <= :to ORDER BY h.validFrom ASC")
+    List<ProductPriceHistory> findChangesBetween(@Param("productId") UUID productId,
+                                                 @Param("from") Instant from,
+                                                 @Param("to") Instant to,
+                                                 Limit limit);
+}
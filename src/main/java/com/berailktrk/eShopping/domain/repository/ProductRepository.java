@@ -1,16 +1,22 @@
 package com.berailktrk.eShopping.domain.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.berailktrk.eShopping.domain.model.Product;
+import com.berailktrk.eShopping.domain.model.ProductStockView;
+import com.berailktrk.eShopping.domain.model.VersionSummary;
 
 import jakarta.persistence.LockModeType;
 
@@ -31,6 +37,113 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
     @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) AND p.isActive = true")
     List<Product> searchByName(@Param("name") String name);
 
+    // ==================== READ PROJECTIONS (ürün + stok, tek sorgu) ====================
+
+    // products LEFT JOIN inventory - ProductStockView constructor expression
+    String STOCK_VIEW_SELECT = "SELECT new com.berailktrk.eShopping.domain.model.ProductStockView(" +
+           "p.id, p.sku, p.name, p.description, p.price, p.currency, p.isActive, p.version, " +
+           "p.createdAt, p.updatedAt, p.metadata, i.quantity, i.reserved) " +
+           "FROM Product p LEFT JOIN Inventory i ON i.productId = p.id ";
+
+    // SKU ile ürün + stok
+    @Query(STOCK_VIEW_SELECT + "WHERE p.sku = :sku")
+    Optional<ProductStockView> findStockViewBySku(@Param("sku") String sku);
+
+    // ID ile ürün + stok
+    @Query(STOCK_VIEW_SELECT + "WHERE p.id = :id")
+    Optional<ProductStockView> findStockViewById(@Param("id") UUID id);
+
+    // Birden fazla SKU için ürün + stok (tek IN sorgusu)
+    @Query(STOCK_VIEW_SELECT + "WHERE p.sku IN :skus")
+    List<ProductStockView> findStockViewsBySkuIn(@Param("skus") Collection<String> skus);
+
+    // Birden fazla ID için ürün + stok (tek IN sorgusu)
+    @Query(STOCK_VIEW_SELECT + "WHERE p.id IN :ids")
+    List<ProductStockView> findStockViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Tüm aktif ürünler + stok
+    @Query(STOCK_VIEW_SELECT + "WHERE p.isActive = true")
+    List<ProductStockView> findActiveStockViews();
+
+    // Tüm ürünler (aktif + pasif) + stok
+    @Query(STOCK_VIEW_SELECT)
+    List<ProductStockView> findAllStockViews();
+
+    // ==================== KEYSET PAGINATION ====================
+    // Sıralama (created_at DESC, id DESC); "created_at <= :createdAt" koşulu idx_products_created_at
+    // üzerinde range scan yapılmasını sağlar, böylece derin sayfalar ilk sayfa ile aynı maliyettedir
+
+    // Aktif ürünler - ilk sayfa
+    @Query(STOCK_VIEW_SELECT + "WHERE p.isActive = true ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductStockView> findActiveFirstPage(Limit limit);
+
+    // Aktif ürünler - cursor'dan sonraki sayfa
+    @Query(STOCK_VIEW_SELECT + "WHERE p.isActive = true " +
+           "AND p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductStockView> findActivePageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+    // Tüm ürünler (aktif + pasif) - ilk sayfa
+    @Query(STOCK_VIEW_SELECT + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductStockView> findFirstPage(Limit limit);
+
+    // Tüm ürünler (aktif + pasif) - cursor'dan sonraki sayfa
+    @Query(STOCK_VIEW_SELECT +
+           "WHERE p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductStockView> findPageAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, Limit limit);
+
+    // Tüm ürünlerin sürüm özeti - katalog snapshot'ı diğer node'lardaki değişiklikleri bununla fark eder
+    @Query("SELECT new com.berailktrk.eShopping.domain.model.VersionSummary(COUNT(p), SUM(p.version), MAX(p.updatedAt)) " +
+           "FROM Product p")
+    VersionSummary findCatalogVersionSummary();
+
+    // ==================== DELTA SYNC (updated_at, id) ====================
+    // Sıralama (updated_at ASC, id ASC) - idx_products_updated_at_id üzerinde range scan.
+    // horizon'dan yeni kayıtlar henüz dönülmez (commit'i geciken transaction'lar atlanmasın diye)
+
+    // İlk senkronizasyon - sadece aktif ürünler
+    @Query(STOCK_VIEW_SELECT + "WHERE p.isActive = true AND p.updatedAt <= :horizon ORDER BY p.updatedAt ASC, p.id ASC")
+    List<ProductStockView> findActiveChangesFirstPage(@Param("horizon") Instant horizon, Limit limit);
+
+    // Cursor'dan sonra değişen ürünler (aktif + pasif)
+    @Query(STOCK_VIEW_SELECT +
+           "WHERE p.updatedAt >= :updatedAt " +
+           "AND (p.updatedAt > :updatedAt OR p.id > :id) " +
+           "AND p.updatedAt <= :horizon " +
+           "ORDER BY p.updatedAt ASC, p.id ASC")
+    List<ProductStockView> findChangesAfter(@Param("updatedAt") Instant updatedAt, @Param("id") UUID id,
+                                            @Param("horizon") Instant horizon, Limit limit);
+
+    // updated_at'i boş kalmış eski kayıtlar (delta sync updated_at üzerinden çalışır)
+    @Modifying
+    @Query("UPDATE Product p SET p.updatedAt = p.createdAt WHERE p.updatedAt IS NULL")
+    int backfillMissingUpdatedAt();
+
+    // ==================== KATEGORİ (materialized path) ====================
+    // Kategori ve alt kategorilerindeki ürünler - eşlemenin path kopyası üzerinde [lower, upper) aralığı.
+    // Sıralama ve cursor aktif ürün sayfalarıyla aynıdır; büyük alt ağaçlarda created_at index'i sırayla
+    // gezilip eşleme (product_id, category_path) index'inden kontrol edilir, küçüklerde path aralığından başlanır
+
+    String IN_CATEGORY_SUBTREE = "AND EXISTS (SELECT 1 FROM ProductCategory pc WHERE pc.productId = p.id " +
+           "AND pc.categoryPath >= :lower AND pc.categoryPath < :upper) ";
+
+    // Kategori alt ağacındaki aktif ürünler - ilk sayfa
+    @Query(STOCK_VIEW_SELECT + "WHERE p.isActive = true " + IN_CATEGORY_SUBTREE +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductStockView> findActiveInCategoryFirstPage(@Param("lower") String lower, @Param("upper") String upper, Limit limit);
+
+    // Kategori alt ağacındaki aktif ürünler - cursor'dan sonraki sayfa
+    @Query(STOCK_VIEW_SELECT + "WHERE p.isActive = true " + IN_CATEGORY_SUBTREE +
+           "AND p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR p.id < :id) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductStockView> findActiveInCategoryPageAfter(@Param("lower") String lower, @Param("upper") String upper,
+                                                         @Param("createdAt") Instant createdAt, @Param("id") UUID id,
+                                                         Limit limit);
+
     // Ürünü pessimistic lock ile getir - Stok işlemleri için
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT p FROM Product p WHERE p.id = :id")
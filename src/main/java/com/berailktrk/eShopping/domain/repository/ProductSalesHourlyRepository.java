@@ -0,0 +1,26 @@
+package com.berailktrk.eShopping.domain.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.berailktrk.eShopping.domain.model.ProductSalesHourly;
+
+// ProductSalesHourly Repository - Saatlik satış sayaçları (kayan pencere best-seller)
+@Repository
+public interface ProductSalesHourlyRepository extends JpaRepository<ProductSalesHourly, UUID> {
+
+    // Verilen saatten itibaren saatlik sayaçlar - açılışta pencereleri yüklemek için
+    List<ProductSalesHourly> findByHourStartGreaterThanEqual(Instant since);
+
+    // Pencere dışına çıkmış saatleri sil
+    @Modifying
+    @Query("DELETE FROM ProductSalesHourly h WHERE h.hourStart < :before")
+    int deleteByHourStartBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,13 @@
+package com.berailktrk.eShopping.domain.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.berailktrk.eShopping.domain.model.ProductSalesStats;
+
+// ProductSalesStats Repository - Tüm zamanların satış sayaçları (best-seller)
+@Repository
+public interface ProductSalesStatsRepository extends JpaRepository<ProductSalesStats, UUID> {
+}
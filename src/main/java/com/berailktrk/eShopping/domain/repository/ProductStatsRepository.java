@@ -0,0 +1,24 @@
+package com.berailktrk.eShopping.domain.repository;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.berailktrk.eShopping.domain.model.ProductStats;
+import com.berailktrk.eShopping.domain.model.ProductViewCount;
+
+// ProductStats Repository - Ürün görüntülenme sayaçları
+@Repository
+public interface ProductStatsRepository extends JpaRepository<ProductStats, UUID> {
+
+    // En çok görüntülenen ürünler - idx_product_stats_view_count üzerinden
+    @Query("SELECT new com.berailktrk.eShopping.domain.model.ProductViewCount(" +
+           "s.productId, p.sku, p.name, s.viewCount, s.lastViewedAt) " +
+           "FROM ProductStats s JOIN Product p ON p.id = s.productId " +
+           "ORDER BY s.viewCount DESC, s.productId")
+    List<ProductViewCount> findMostViewed(Limit limit);
+}
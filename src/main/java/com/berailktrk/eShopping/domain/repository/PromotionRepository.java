@@ -0,0 +1,26 @@
+package com.berailktrk.eShopping.domain.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.berailktrk.eShopping.domain.model.Promotion;
+
+// Promotion Repository - Promosyon ve kupon kuralları
+@Repository
+public interface PromotionRepository extends JpaRepository<Promotion, UUID> {
+
+    boolean existsByCode(String code);
+
+    // Aktif ve süresi dolmamış promosyonlar (başlangıcı gelecekte olanlar dahil)
+    @Query("SELECT p FROM Promotion p WHERE p.isActive = true AND (p.endsAt IS NULL OR p.endsAt > :now)")
+    List<Promotion> findLive(@Param("now") Instant now);
+
+    // Admin listesi - en yeniden eskiye
+    List<Promotion> findAllByOrderByCreatedAtDesc();
+}
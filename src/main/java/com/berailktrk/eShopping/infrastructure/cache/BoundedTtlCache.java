@@ -0,0 +1,209 @@
+package com.berailktrk.eShopping.infrastructure.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+//Boyut ve TTL ile sınırlandırılmış bellek içi cache
+//- En fazla maxSize kayıt tutar, dolunca en uzun süredir erişilmeyen kayıt atılır (LRU)
+//- TTL süresi dolan kayıtlar okuma sırasında atılır
+//- Aynı anahtar için eşzamanlı miss'lerde loader sadece bir kez çalışır (diğerleri sonucu bekler)
+//- invalidate sırasında devam eden yüklemelerin eski değeri cache'e yazması engellenir (sadece o anahtarın yüklemesi;
+//  diğer anahtarların yüklemeleri etkilenmez - stok değişikliği her rezervasyonda tek ürünü invalidate eder)
+public class BoundedTtlCache<K, V> {
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    //Erişim sıralı LinkedHashMap - this üzerinden senkronize edilir
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+
+    //Devam eden yüklemeler (single-flight) - invalidate(key) anahtarın yüklemesini buradan çıkarır,
+    //sonuç sadece yükleme hâlâ buradaysa cache'e yazılır
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    //Her invalidateAll'da artar, yükleme başladıktan sonra değiştiyse sonuç cache'e yazılmaz
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public BoundedTtlCache(String name, int maxSize, long ttlMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache max size must be positive: " + maxSize);
+        }
+        if (ttlMillis <= 0) {
+            throw new IllegalArgumentException("Cache TTL must be positive: " + ttlMillis);
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                if (size() > BoundedTtlCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    //Cache'ten getir, yoksa loader ile yükle (loader null dönerse cache'lenmez)
+    public V get(K key, Function<K, V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            //Bu arada başka bir thread yüklemeyi bitirmiş olabilir
+            V value = getIfPresent(key);
+            if (value == null) {
+                long startGeneration = generation.get();
+                loads.increment();
+                value = loader.apply(key);
+                if (value != null) {
+                    putIfCurrent(key, value, created, startGeneration);
+                }
+            }
+            created.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    //Sadece cache'te varsa getir (istatistik güncellemez)
+    public V getIfPresent(K key) {
+        synchronized (this) {
+            CacheEntry<V> entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isExpired(System.nanoTime())) {
+                entries.remove(key);
+                expirations.increment();
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    //Kaydı cache'ten çıkar - devam eden yüklemesi eski değer okumuş olabilir, sonucu cache'e yazılmaz
+    //(bekleyenler o sonucu alır; sonraki get yeni yükleme başlatır)
+    public void invalidate(K key) {
+        synchronized (this) {
+            entries.remove(key);
+            inFlight.remove(key);
+        }
+    }
+
+    //Tüm kayıtları cache'ten çıkar
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        synchronized (this) {
+            entries.clear();
+        }
+    }
+
+    //Süresi dolmuş kayıtları temizle
+    public int purgeExpired() {
+        long now = System.nanoTime();
+        int removed = 0;
+        synchronized (this) {
+            Iterator<CacheEntry<V>> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isExpired(now)) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        expirations.add(removed);
+        return removed;
+    }
+
+    //İstatistik anlık görüntüsü
+    public CacheStats stats() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return new CacheStats(
+                name,
+                size,
+                maxSize,
+                hits.sum(),
+                misses.sum(),
+                loads.sum(),
+                evictions.sum(),
+                expirations.sum());
+    }
+
+    private void putIfCurrent(K key, V value, CompletableFuture<V> load, long expectedGeneration) {
+        synchronized (this) {
+            if (inFlight.get(key) != load || generation.get() != expectedGeneration) {
+                return;
+            }
+            entries.put(key, new CacheEntry<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private record CacheEntry<V>(V value, long expiresAtNanos) {
+
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+
+    //Cache istatistikleri - boyutlandırma için
+    public record CacheStats(
+            String name,
+            int size,
+            int maxSize,
+            long hitCount,
+            long missCount,
+            long loadCount,
+            long evictionCount,
+            long expirationCount) {
+
+        public double hitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 0.0 : (double) hitCount / requests;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.berailktrk.eShopping.infrastructure.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.berailktrk.eShopping.infrastructure.datasource.ReadYourWritesTracker;
+import com.berailktrk.eShopping.infrastructure.datasource.ReplicaLagMonitor;
+import com.berailktrk.eShopping.infrastructure.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read Replica Configuration
+ *
+ * datasource.replica.url tanımlıysa devreye girer, tanımlı değilse tek (primary) DataSource kullanılır.
+ * - @Transactional(readOnly = true) transaction'lar replica havuzuna, diğerleri primary'ye gider
+ * - Replica gecikmesi eşiği aşarsa veya ölçülemezse okumalar primary'ye döner
+ * - Yazma yapan kullanıcının okumaları read-your-writes penceresi boyunca primary'ye gider
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "url")
+@Slf4j
+public class ReadReplicaConfig {
+
+    //Primary havuz - spring.datasource.* ve spring.datasource.hikari.* ayarlarıyla
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    //Replica havuzu - kullanıcı adı/şifre verilmezse primary'ninkiler kullanılır
+    @Bean
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:}") String username,
+            @Value("${datasource.replica.password:}") String password,
+            @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        return dataSource;
+    }
+
+    //Varsayılan sorgu PostgreSQL standby içindir (WAL tamamen uygulandıysa 0, standby değilse null)
+    //Gömülü/test veritabanlarında "SELECT 0" verilebilir
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            HikariDataSource replicaDataSource,
+            @Value("${datasource.replica.lag-query:SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END}") String lagQuery,
+            @Value("${datasource.replica.max-lag-ms:1000}") long maxLagMillis) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLagMillis);
+        monitor.check();
+        return monitor;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${datasource.replica.read-your-writes-seconds:5}") long windowSeconds) {
+        return new ReadYourWritesTracker(windowSeconds * 1000);
+    }
+
+    //Uygulamanın kullandığı DataSource - bağlantı ilk SQL'e kadar alınmaz, böylece yönlendirme
+    //transaction'ın readOnly bilgisi set edildikten sonra yapılır
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaLagMonitor, readYourWritesTracker);
+        routing.afterPropertiesSet();
+        log.info("Read replica routing enabled - replica: {}", replicaDataSource.getJdbcUrl());
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    //Hibernate bağlantıyı varsayılan olarak session (open-in-view ile tüm istek) boyunca tutar;
+    //transaction sonunda bırakılmazsa istekteki ilk transaction'ın rotası sonrakilere de uygulanır
+    @Bean
+    public HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -4,6 +4,7 @@ import java.util.Arrays;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -16,6 +17,7 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.berailktrk.eShopping.infrastructure.security.JwtAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 // Spring Security Configuration - JWT authentication ve role-based authorization
@@ -35,6 +37,9 @@ public class SecurityConfig {
             .sessionManagement(session -> 
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Async dispatch - akış yanıtları (StreamingResponseBody) ilk istekte zaten yetkilendirilmiştir
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Static resources - frontend files
                 .requestMatchers("/", "/index.html", "/products.html", "/cart.html", "/checkout.html", "/orders.html", "/profile.html", "/css/**", "/js/**", "/images/**", "/fonts/**").permitAll()
                 
@@ -48,6 +53,11 @@ public class SecurityConfig {
                 
                 // Product public endpoints (ürün görüntüleme)
                 .requestMatchers("/api/products", "/api/products/*", "/api/products/sku/*", "/api/products/search").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/products/*/recommendations").permitAll()
+                
+                // Kategori public endpoint'leri (ağaç ve kategori bazlı ürün listeleme)
+                .requestMatchers("/api/categories/admin/**").authenticated()
+                .requestMatchers(HttpMethod.GET, "/api/categories", "/api/categories/*/products").permitAll()
                 
                 // Actuator endpoints (optional)
                 .requestMatchers("/actuator/**").permitAll()
@@ -60,6 +70,7 @@ public class SecurityConfig {
                 // Admin endpoints - authentication gerektirir, role kontrolü @PreAuthorize ile
                 .requestMatchers("/api/products/admin/**").authenticated()
                 .requestMatchers("/api/admin/**").authenticated()
+                .requestMatchers("/api/promotions/admin/**").authenticated()
                 .requestMatchers("/api/inventory/**").authenticated() // Tüm inventory endpoint'leri admin only
                 
                 // Tüm diğer endpoint'ler authentication gerektirir
@@ -0,0 +1,33 @@
+package com.berailktrk.eShopping.infrastructure.datasource;
+
+import java.util.function.Supplier;
+
+//Okuma yönlendirmesi için thread'e bağlı ipucu - replica devrede değilse etkisizdir
+//Commit sonrası türetilmiş veri (indeks, snapshot) yeniden oluşturan kodlar, replica gecikmesi yüzünden
+//az önce yazılan veriyi kaçırmamak için okumalarını primary'ye sabitler
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Integer> PRIMARY_DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private DataSourceRouting() {
+    }
+
+    //Verilen işlemdeki tüm okumaları primary'den yap
+    public static <T> T onPrimary(Supplier<T> action) {
+        PRIMARY_DEPTH.set(PRIMARY_DEPTH.get() + 1);
+        try {
+            return action.get();
+        } finally {
+            int depth = PRIMARY_DEPTH.get() - 1;
+            if (depth == 0) {
+                PRIMARY_DEPTH.remove();
+            } else {
+                PRIMARY_DEPTH.set(depth);
+            }
+        }
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_DEPTH.get() > 0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.berailktrk.eShopping.infrastructure.datasource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+//Read-your-writes takibi - yazma yapan kullanıcının okumaları pencere süresince primary'ye gider
+//Böylece kullanıcı kendi yaptığı değişikliği (sipariş, sepet, ödeme yöntemi) replica gecikmesinden bağımsız görür
+public class ReadYourWritesTracker {
+
+    private final long windowMillis;
+
+    //kullanıcı -> son yazma commit zamanı
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    //Kullanıcının yazma transaction'ı commit edildi
+    public void recordWrite(String user) {
+        lastWrites.put(user, System.currentTimeMillis());
+    }
+
+    //Kullanıcı pencere içinde yazma yaptı mı
+    public boolean hasRecentWrite(String user) {
+        Long lastWrite = lastWrites.get(user);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - lastWrite >= windowMillis) {
+            lastWrites.remove(user, lastWrite);
+            return false;
+        }
+        return true;
+    }
+
+    //Süresi geçmiş kayıtları temizle (bellek geri kazanımı)
+    @Scheduled(fixedDelayString = "${datasource.replica.read-your-writes-seconds:5}",
+               timeUnit = java.util.concurrent.TimeUnit.SECONDS)
+    public void purgeExpired() {
+        long threshold = System.currentTimeMillis() - windowMillis;
+        lastWrites.values().removeIf(lastWrite -> lastWrite <= threshold);
+    }
+
+    public int size() {
+        return lastWrites.size();
+    }
+}
@@ -0,0 +1,61 @@
+package com.berailktrk.eShopping.infrastructure.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import lombok.extern.slf4j.Slf4j;
+
+//Replica gecikme koruması - replica'nın gecikmesini periyodik olarak ölçer
+//Gecikme eşiği aşarsa veya ölçüm başarısız olursa okumalar primary'ye döner, düzelince replica'ya geri gelir
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final long maxLagMillis;
+
+    //İlk ölçüme kadar replica kullanılmaz
+    private volatile boolean available = false;
+    private volatile Long lastLagMillis;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, String lagQuery, long maxLagMillis) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.replicaJdbcTemplate.setQueryTimeout(5);
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    //Gecikmeyi ölç - sorgu milisaniye döner; null replica modunda olmayan (gecikmesiz) veritabanı demektir
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        boolean wasAvailable = available;
+        try {
+            Number lag = replicaJdbcTemplate.queryForObject(lagQuery, Number.class);
+            lastLagMillis = lag == null ? 0L : lag.longValue();
+            available = lastLagMillis <= maxLagMillis;
+            if (!available && wasAvailable) {
+                log.warn("Replica lag {} ms exceeds {} ms - routing reads to primary", lastLagMillis, maxLagMillis);
+            }
+        } catch (RuntimeException e) {
+            lastLagMillis = null;
+            available = false;
+            if (wasAvailable) {
+                log.warn("Replica lag check failed - routing reads to primary: {}", e.getMessage());
+            }
+        }
+        if (available && !wasAvailable) {
+            log.info("Replica available (lag {} ms) - routing read-only transactions to replica", lastLagMillis);
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    //Son ölçülen gecikme (ölçülemediyse null)
+    public Long getLastLagMillis() {
+        return lastLagMillis;
+    }
+}
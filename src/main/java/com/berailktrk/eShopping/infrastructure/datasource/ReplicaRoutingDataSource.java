@@ -0,0 +1,69 @@
+package com.berailktrk.eShopping.infrastructure.datasource;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+//Read-only transaction'ları replica'ya, diğer her şeyi primary'ye yönlendiren DataSource
+//LazyConnectionDataSourceProxy arkasında kullanılmalıdır: bağlantı ilk SQL'de alınır, o anda
+//transaction'ın readOnly bilgisi hazırdır (transaction başlangıcında henüz set edilmemiştir)
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor lagMonitor, ReadYourWritesTracker readYourWritesTracker) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWritesTracker = readYourWritesTracker;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            //Yazma transaction'ı - commit sonrası kullanıcının read-your-writes penceresi başlar
+            if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWritesTracker.recordWrite(user);
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+
+        if (DataSourceRouting.isPrimaryForced()
+                || !lagMonitor.isAvailable()
+                || (user != null && readYourWritesTracker.hasRecentWrite(user))) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    //İstekteki kimliği doğrulanmış kullanıcı (scheduled job, anonim istek -> null)
+    private String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
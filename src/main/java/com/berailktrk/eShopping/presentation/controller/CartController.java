@@ -1,6 +1,7 @@
 package com.berailktrk.eShopping.presentation.controller;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -18,7 +19,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.berailktrk.eShopping.application.usecase.CartService;
+import com.berailktrk.eShopping.application.usecase.PromotionService;
 import com.berailktrk.eShopping.domain.model.CartItem;
+import com.berailktrk.eShopping.presentation.dto.request.AddToCartBatchRequest;
 import com.berailktrk.eShopping.presentation.dto.request.AddToCartRequest;
 import com.berailktrk.eShopping.presentation.dto.request.UpdateCartItemRequest;
 import com.berailktrk.eShopping.presentation.dto.response.CartItemResponse;
@@ -69,15 +72,43 @@ public class CartController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    //Sepete toplu ürün ekle
+    @Operation(summary = "Sepete toplu ürün ekle",
+               description = "Birden fazla ürünü tek istekte sepete ekler. Stok tüm kalemler için SKU sırasıyla tek seferde rezerve edilir; bir kalem bile yetersizse hiçbiri eklenmez.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Ürünler başarıyla sepete eklendi"),
+        @ApiResponse(responseCode = "400", description = "Validation hatası veya yetersiz stok (eksik miktarlar mesajda)"),
+        @ApiResponse(responseCode = "401", description = "Kimlik doğrulama gerekli")
+    })
+    @PostMapping("/add-batch")
+    public ResponseEntity<List<CartItemResponse>> addItemsToCart(
+            @Valid @RequestBody AddToCartBatchRequest request,
+            Authentication authentication) {
+
+        UUID userId = getCurrentUserId(authentication);
+        log.info("Adding {} products to cart - User: {}", request.getItems().size(), userId);
+
+        Map<String, Integer> quantities = request.getItems().stream()
+                .collect(Collectors.toMap(AddToCartRequest::getProductSku, AddToCartRequest::getQuantity, Integer::sum));
+        List<CartItemResponse> response = cartService.addItemsToCart(userId, quantities).stream()
+                .map(item -> mapToCartItemResponse(item, cartService.calculateItemTotalPrice(item)))
+                .toList();
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
     //Kullanıcının sepetini getir
     @Operation(summary = "Sepeti getir", 
-               description = "Kullanıcının sepetindeki tüm ürünleri ve toplam bilgilerini döner.")
+               description = "Kullanıcının sepetindeki tüm ürünleri, uygulanan promosyonları ve toplam bilgilerini döner. couponCode verilirse kupon da uygulanır; sepete uygulanmayan veya daha iyi bir promosyonun geride bıraktığı kupon droppedCouponCode ile döner.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Sepet başarıyla getirildi"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz veya süresi dolmuş kupon kodu"),
         @ApiResponse(responseCode = "401", description = "Kimlik doğrulama gerekli")
     })
     @GetMapping
-    public ResponseEntity<CartResponse> getCart(Authentication authentication) {
+    public ResponseEntity<CartResponse> getCart(
+            @Parameter(description = "Kupon kodu (opsiyonel)") @RequestParam(required = false) String couponCode,
+            Authentication authentication) {
         UUID userId = getCurrentUserId(authentication);
         log.info("Getting cart for user: {}", userId);
         
@@ -89,14 +120,19 @@ public class CartController {
         // Business logic hesaplamaları service'den al
         Integer totalItemCount = cartService.calculateTotalItemCount(cartItems);
         Integer uniqueItemCount = cartService.calculateUniqueItemCount(cartItems);
-        java.math.BigDecimal totalAmount = cartService.calculateTotalAmount(cartItems);
+        PromotionService.PricedCart pricedCart = cartService.priceCart(cartItems, couponCode);
         
         CartResponse response = CartResponse.builder()
                 .userId(userId)
                 .items(itemResponses)
                 .totalItemCount(totalItemCount)
                 .uniqueItemCount(uniqueItemCount)
-                .totalAmount(totalAmount)
+                .subtotalAmount(pricedCart.subtotal())
+                .discountAmount(pricedCart.discountAmount())
+                .totalAmount(pricedCart.total())
+                .appliedDiscounts(pricedCart.discounts())
+                .couponCode(pricedCart.couponCode())
+                .droppedCouponCode(pricedCart.droppedCouponCode())
                 .lastUpdate(cartItems.isEmpty() ? null : cartItems.get(0).getCart().getUpdatedAt())
                 .build();
         
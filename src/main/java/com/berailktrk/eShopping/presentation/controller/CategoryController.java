@@ -0,0 +1,149 @@
+package com.berailktrk.eShopping.presentation.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.berailktrk.eShopping.application.usecase.CategoryService;
+import com.berailktrk.eShopping.domain.model.User;
+import com.berailktrk.eShopping.presentation.dto.request.CreateCategoryRequest;
+import com.berailktrk.eShopping.presentation.dto.request.ProductBatchRequest;
+import com.berailktrk.eShopping.presentation.dto.request.UpdateCategoryRequest;
+import com.berailktrk.eShopping.presentation.dto.response.CategoryAssignmentResponse;
+import com.berailktrk.eShopping.presentation.dto.response.CategoryResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductPageResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Category REST Controller - Kategori ağacı ve kategoriye göre ürün listeleme
+@RestController
+@RequestMapping("/api/categories")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Categories", description = "Kategori ağacı ve kategori bazlı ürün listeleme")
+public class CategoryController {
+
+    private final CategoryService categoryService;
+
+    // Kategori ağacı - Public
+    @GetMapping
+    @Operation(summary = "Kategori ağacı", description = "Tüm kategorileri iç içe (kök kategoriler ve alt kategorileri) döner")
+    public ResponseEntity<List<CategoryResponse>> getTree() {
+        log.info("GET /api/categories - Fetching category tree");
+        return ResponseEntity.ok(categoryService.getTree());
+    }
+
+    // Kategorideki ürünler - Public, keyset pagination
+    @GetMapping("/{categoryId}/products")
+    @Operation(
+        summary = "Kategorideki ürünler", 
+        description = "Kategori ve tüm alt kategorilerindeki aktif ürünleri en yeniden eskiye cursor ile sayfalı döner. " +
+                      "İlk sayfa için cursor gönderilmez; sonraki sayfalar için yanıttaki nextCursor kullanılır"
+    )
+    public ResponseEntity<ProductPageResponse> getCategoryProducts(
+            @PathVariable UUID categoryId,
+            @Parameter(description = "Önceki sayfanın nextCursor değeri") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu") @RequestParam(required = false) Integer size) {
+        log.info("GET /api/categories/{}/products - Fetching category products page", categoryId);
+        return ResponseEntity.ok(categoryService.getCategoryProducts(categoryId, cursor, size));
+    }
+
+    // Yeni kategori oluştur - ADMIN ONLY
+    @PostMapping("/admin")
+    @Operation(
+        summary = "Kategori oluştur (Admin)", 
+        description = "parentId verilmezse kök kategori oluşturur. Slug kardeş kategoriler arasında benzersiz olmalıdır",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CategoryResponse> createCategory(@Valid @RequestBody CreateCategoryRequest request, Authentication authentication) {
+        log.info("POST /api/categories/admin - Creating category: {}", request.getSlug());
+        User currentUser = (User) authentication.getPrincipal();
+        return ResponseEntity.status(HttpStatus.CREATED).body(categoryService.createCategory(request, currentUser));
+    }
+
+    // Kategori güncelle / taşı - ADMIN ONLY
+    @PutMapping("/admin/{categoryId}")
+    @Operation(
+        summary = "Kategori güncelle (Admin)", 
+        description = "Ad, sıra, slug ve üst kategoriyi günceller. Slug veya üst kategori değişirse alt kategoriler ve ürün eşlemeleri birlikte taşınır",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CategoryResponse> updateCategory(
+            @PathVariable UUID categoryId,
+            @Valid @RequestBody UpdateCategoryRequest request,
+            Authentication authentication) {
+        log.info("PUT /api/categories/admin/{} - Updating category", categoryId);
+        User currentUser = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(categoryService.updateCategory(categoryId, request, currentUser));
+    }
+
+    // Kategori sil - ADMIN ONLY
+    @DeleteMapping("/admin/{categoryId}")
+    @Operation(
+        summary = "Kategori sil (Admin)", 
+        description = "Alt kategorisi olmayan kategoriyi ve ürün eşlemelerini siler (ürünler silinmez)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteCategory(@PathVariable UUID categoryId, Authentication authentication) {
+        log.info("DELETE /api/categories/admin/{} - Deleting category", categoryId);
+        User currentUser = (User) authentication.getPrincipal();
+        categoryService.deleteCategory(categoryId, currentUser);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Kategoriye ürün ekle - ADMIN ONLY
+    @PostMapping("/admin/{categoryId}/products")
+    @Operation(
+        summary = "Kategoriye ürün ekle (Admin)", 
+        description = "SKU listesindeki ürünleri kategoriye ekler. Zaten ekli olanlar atlanır, bulunamayan SKU'lar yanıtta raporlanır",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CategoryAssignmentResponse> assignProducts(
+            @PathVariable UUID categoryId,
+            @Valid @RequestBody ProductBatchRequest request,
+            Authentication authentication) {
+        log.info("POST /api/categories/admin/{}/products - Assigning {} products", categoryId, request.getSkus().size());
+        User currentUser = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(categoryService.assignProducts(categoryId, request.getSkus(), currentUser));
+    }
+
+    // Ürünü kategoriden çıkar - ADMIN ONLY
+    @DeleteMapping("/admin/{categoryId}/products/{sku}")
+    @Operation(
+        summary = "Ürünü kategoriden çıkar (Admin)", 
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> removeProduct(
+            @PathVariable UUID categoryId,
+            @PathVariable String sku,
+            Authentication authentication) {
+        log.info("DELETE /api/categories/admin/{}/products/{} - Removing product from category", categoryId, sku);
+        User currentUser = (User) authentication.getPrincipal();
+        categoryService.removeProduct(categoryId, sku, currentUser);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,12 +1,15 @@
 package com.berailktrk.eShopping.presentation.controller;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,11 +17,15 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.berailktrk.eShopping.application.usecase.InventoryLeaseService;
 import com.berailktrk.eShopping.application.usecase.InventoryService;
+import com.berailktrk.eShopping.application.usecase.InventoryShardService;
 import com.berailktrk.eShopping.domain.model.Inventory;
 import com.berailktrk.eShopping.domain.model.User;
 import com.berailktrk.eShopping.presentation.dto.response.InventoryResponse;
+import com.berailktrk.eShopping.presentation.support.ConditionalGetSupport;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -39,6 +46,9 @@ import lombok.extern.slf4j.Slf4j;
 public class InventoryController {
 
     private final InventoryService inventoryService;
+    private final InventoryShardService inventoryShardService;
+    private final InventoryLeaseService inventoryLeaseService;
+    private final ConditionalGetSupport conditionalGetSupport;
 
     // Düşük stoklu ürünleri getir - Belirtilen eşik değerin altındaki ürünler
     @Operation(summary = "Düşük stoklu ürünleri getir", 
@@ -139,13 +149,14 @@ public class InventoryController {
     @GetMapping("/{sku}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<InventoryResponse> getInventory(
-            @Parameter(description = "Ürün SKU") @PathVariable String sku) {
+            @Parameter(description = "Ürün SKU") @PathVariable String sku,
+            WebRequest webRequest) {
         log.info("Getting inventory for SKU: {}", sku);
         
-        Inventory inventory = inventoryService.getInventoryBySku(sku);
-        InventoryResponse response = mapToResponse(inventory);
-        
-        return ResponseEntity.ok(response);
+        return conditionalGetSupport.respondIfFound(webRequest, "inventory",
+                inventoryService.getInventoryVersionBySku(sku),
+                conditionalGetSupport.privateResource(),
+                () -> mapToResponse(inventoryService.getInventoryBySku(sku)));
     }
 
     // Stok durumunu kontrol et - Belirtilen miktar için stok uygunluğu kontrolü
@@ -185,6 +196,111 @@ public class InventoryController {
         return ResponseEntity.ok(stock);
     }
 
+    // Stoğu parçalara böl - Kampanya SKU'sunda rezervasyonlar N ayrı satıra dağıtılır
+    @Operation(summary = "Stoğu parçalara böl (kampanya)", 
+               description = "SKU'nun stoğunu belirtilen sayıda parçaya böler; rezervasyonlar rastgele bir parçadan yapılır. 'until' verilirse o anda parçalar otomatik birleştirilir. Admin yetkisi gereklidir.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stok parçalara bölündü"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz parça sayısı/bitiş anı veya SKU bulunamadı"),
+        @ApiResponse(responseCode = "409", description = "Stok zaten parçalı"),
+        @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli")
+    })
+    @PostMapping("/{sku}/shards")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<InventoryResponse> enableSharding(
+            @Parameter(description = "Ürün SKU") @PathVariable String sku,
+            @Parameter(description = "Parça sayısı") @RequestParam Integer count,
+            @Parameter(description = "Kampanya bitişi (otomatik birleştirme)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant until,
+            Authentication authentication) {
+        log.info("Sharding inventory for SKU: {} into {} shards until {}", sku, count, until);
+        
+        User currentUser = (User) authentication.getPrincipal();
+        inventoryShardService.enableSharding(sku, count, until, currentUser);
+        return ResponseEntity.ok(mapToResponse(inventoryService.getInventoryBySku(sku)));
+    }
+
+    // Parçaları birleştir - Kampanya bitince stok tek satıra döner
+    @Operation(summary = "Stok parçalarını birleştir", 
+               description = "SKU'nun stok parçalarını toplayıp tek satıra birleştirir. Admin yetkisi gereklidir.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Parçalar birleştirildi"),
+        @ApiResponse(responseCode = "400", description = "SKU bulunamadı"),
+        @ApiResponse(responseCode = "409", description = "Stok parçalı değil"),
+        @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli")
+    })
+    @DeleteMapping("/{sku}/shards")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<InventoryResponse> mergeShards(
+            @Parameter(description = "Ürün SKU") @PathVariable String sku,
+            Authentication authentication) {
+        log.info("Merging inventory shards for SKU: {}", sku);
+        
+        User currentUser = (User) authentication.getPrincipal();
+        inventoryShardService.mergeShards(sku, currentUser);
+        return ResponseEntity.ok(mapToResponse(inventoryService.getInventoryBySku(sku)));
+    }
+
+    // Parçaları eşitle - Boşalan parçalar diğerlerinden doldurulur
+    @Operation(summary = "Stok parçalarını eşitle", 
+               description = "SKU'nun stok ve rezerve miktarlarını parçalara yeniden eşit dağıtır. Admin yetkisi gereklidir.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Parçalar eşitlendi"),
+        @ApiResponse(responseCode = "409", description = "Stok parçalı değil"),
+        @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli")
+    })
+    @PostMapping("/{sku}/shards/rebalance")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebalanceShards(
+            @Parameter(description = "Ürün SKU") @PathVariable String sku) {
+        log.info("Rebalancing inventory shards for SKU: {}", sku);
+        
+        inventoryShardService.rebalance(sku);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Node kiralamasını aç - Her uygulama node'u bu büyüklükte stok bloğu kiralayıp rezervasyonları bellekten karşılar
+    @Operation(summary = "Stok kiralamasını aç (sıcak SKU)", 
+               description = "SKU için node başına stok kiralamasını açar; her node 'size' kadarlık bloğu tek seferde kiralar ve rezervasyonları bellekteki sayaçtan karşılar. Kiralanan birimler reserved içinde görünür. Admin yetkisi gereklidir.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Kiralama açıldı"),
+        @ApiResponse(responseCode = "400", description = "Geçersiz blok büyüklüğü veya SKU bulunamadı"),
+        @ApiResponse(responseCode = "409", description = "Stok parçalı"),
+        @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli")
+    })
+    @PutMapping("/{sku}/lease")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<InventoryResponse> enableLeasing(
+            @Parameter(description = "Ürün SKU") @PathVariable String sku,
+            @Parameter(description = "Node başına kiralanan blok büyüklüğü") @RequestParam Integer size,
+            Authentication authentication) {
+        log.info("Enabling inventory leasing for SKU: {} with lease size {}", sku, size);
+        
+        User currentUser = (User) authentication.getPrincipal();
+        inventoryLeaseService.enableLeasing(sku, size, currentUser);
+        return ResponseEntity.ok(mapToResponse(inventoryService.getInventoryBySku(sku)));
+    }
+
+    // Node kiralamasını kapat - Kiralar heartbeat ile stoğa iade edilir
+    @Operation(summary = "Stok kiralamasını kapat", 
+               description = "SKU için stok kiralamasını kapatır; node'lar kullanılmayan birimleri bir sonraki heartbeat'te stoğa iade eder. Admin yetkisi gereklidir.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Kiralama kapatıldı"),
+        @ApiResponse(responseCode = "400", description = "SKU bulunamadı"),
+        @ApiResponse(responseCode = "409", description = "Kiralama açık değil"),
+        @ApiResponse(responseCode = "403", description = "Admin yetkisi gerekli")
+    })
+    @DeleteMapping("/{sku}/lease")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<InventoryResponse> disableLeasing(
+            @Parameter(description = "Ürün SKU") @PathVariable String sku,
+            Authentication authentication) {
+        log.info("Disabling inventory leasing for SKU: {}", sku);
+        
+        User currentUser = (User) authentication.getPrincipal();
+        inventoryLeaseService.disableLeasing(sku, currentUser);
+        return ResponseEntity.ok(mapToResponse(inventoryService.getInventoryBySku(sku)));
+    }
+
     // Inventory entity'sini response DTO'ya dönüştür
     private InventoryResponse mapToResponse(Inventory inventory) {
         return InventoryResponse.builder()
@@ -193,6 +309,9 @@ public class InventoryController {
                 .productSku(inventory.getProduct().getSku())
                 .quantity(inventory.getQuantity())
                 .reserved(inventory.getReserved())
+                .shardCount(inventory.getShardCount())
+                .shardedUntil(inventory.getShardedUntil())
+                .leaseSize(inventory.getLeaseSize())
                 .updatedAt(inventory.getUpdatedAt())
                 .version(inventory.getVersion())
                 .build();
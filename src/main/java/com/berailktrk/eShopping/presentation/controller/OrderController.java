@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.berailktrk.eShopping.application.usecase.OrderService;
 import com.berailktrk.eShopping.domain.model.Order;
@@ -21,6 +22,7 @@ import com.berailktrk.eShopping.domain.model.User;
 import com.berailktrk.eShopping.domain.repository.OrderRepository;
 import com.berailktrk.eShopping.presentation.dto.request.CheckoutRequest;
 import com.berailktrk.eShopping.presentation.dto.response.OrderResponse;
+import com.berailktrk.eShopping.presentation.support.ConditionalGetSupport;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -50,10 +52,11 @@ public class OrderController {
 
     private final OrderRepository orderRepository;
     private final OrderService orderService;
+    private final ConditionalGetSupport conditionalGetSupport;
 
     @PostMapping("/checkout")
     @Operation(summary = "Sepetten sipariş oluştur (Online Ödeme)", 
-               description = "Sepet içeriğinden yeni sipariş oluşturur ve sepeti temizler. Sadece online ödeme yöntemleri kabul edilir (CREDIT_CARD/DEBIT_CARD/BANK_TRANSFER). Ödeme yöntemi sequenceNumber ile belirtilir.")
+               description = "Sepet içeriğinden yeni sipariş oluşturur ve sepeti temizler. Aktif promosyonlar ve couponCode ile verilen kupon uygulanır; uygulanan indirimler metadata.appliedDiscounts'ta, sepete uygulanmayan kupon metadata.droppedCouponCode'da döner. Sadece online ödeme yöntemleri kabul edilir (CREDIT_CARD/DEBIT_CARD/BANK_TRANSFER). Ödeme yöntemi sequenceNumber ile belirtilir.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Sipariş başarıyla oluşturuldu"),
         @ApiResponse(responseCode = "400", description = "Sepet boş, geçersiz veri, desteklenmeyen ödeme yöntemi veya geçersiz sequence number"),
@@ -77,7 +80,8 @@ public class OrderController {
                     request.getBillingAddress(),
                     request.getSequenceNumber(),
                     request.getOrderNotes(),
-                    request.getMetadata()
+                    request.getMetadata(),
+                    request.getCouponCode()
             );
             
             log.info("Order oluşturuldu - Order ID: {}", order.getId());
@@ -98,48 +102,54 @@ public class OrderController {
     @Operation(summary = "Siparişleri listele", description = "Kullanıcının siparişlerini getirir")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Siparişler başarıyla getirildi"),
+        @ApiResponse(responseCode = "304", description = "Siparişler değişmedi (If-None-Match)"),
         @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
     })
-    public ResponseEntity<List<OrderResponse>> getOrders(Authentication authentication) {
+    public ResponseEntity<List<OrderResponse>> getOrders(Authentication authentication, WebRequest webRequest) {
         
         log.info("Siparişler listeleme isteği - User: {}", getCurrentUserId(authentication));
         
         User currentUser = (User) authentication.getPrincipal();
         
-        List<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(currentUser.getId());
+        // ETag sürüm özetinden üretilir, değişmediyse siparişler yüklenmez
+        String eTag = conditionalGetSupport.weakETag("orders",
+                orderRepository.findVersionSummaryByUserId(currentUser.getId()));
         
-        List<OrderResponse> responseList = orders.stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(responseList);
+        return conditionalGetSupport.respond(webRequest, eTag, conditionalGetSupport.privateResource(), () ->
+                orderRepository.findByUserIdOrderByCreatedAtDesc(currentUser.getId()).stream()
+                        .map(this::mapToOrderResponse)
+                        .collect(Collectors.toList()));
     }
 
     @GetMapping("/{orderId}")
     @Operation(summary = "Sipariş detayı", description = "Belirli bir siparişin detaylarını getirir")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Sipariş detayları başarıyla getirildi"),
+        @ApiResponse(responseCode = "304", description = "Sipariş değişmedi (If-None-Match)"),
         @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli"),
         @ApiResponse(responseCode = "404", description = "Sipariş bulunamadı")
     })
     public ResponseEntity<OrderResponse> getOrder(
             @Parameter(description = "Sipariş ID") @PathVariable UUID orderId,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         
         log.info("Sipariş detay isteği - User: {}, Order: {}", getCurrentUserId(authentication), orderId);
         
         User currentUser = (User) authentication.getPrincipal();
         
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new IllegalArgumentException("Sipariş bulunamadı: " + orderId));
-        
-        if (!order.getUser().getId().equals(currentUser.getId())) {
-            throw new IllegalArgumentException("Bu sipariş bu kullanıcıya ait değil");
-        }
-        
-        OrderResponse response = mapToOrderResponse(order);
-        
-        return ResponseEntity.ok(response);
+        return conditionalGetSupport.respondIfFound(webRequest, "order",
+                orderRepository.findVersionSummaryByIdAndUserId(orderId, currentUser.getId()),
+                conditionalGetSupport.privateResource(), () -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("Sipariş bulunamadı: " + orderId));
+            
+            if (!order.getUser().getId().equals(currentUser.getId())) {
+                throw new IllegalArgumentException("Bu sipariş bu kullanıcıya ait değil");
+            }
+            
+            return mapToOrderResponse(order);
+        });
     }
 
     @PostMapping("/{orderId}/cancel")
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.berailktrk.eShopping.application.usecase.PaymentMethodService;
 import com.berailktrk.eShopping.application.usecase.PaymentService;
@@ -31,6 +32,7 @@ import com.berailktrk.eShopping.presentation.dto.response.PaymentListResponse;
 import com.berailktrk.eShopping.presentation.dto.response.PaymentMethodListResponse;
 import com.berailktrk.eShopping.presentation.dto.response.PaymentMethodResponse;
 import com.berailktrk.eShopping.presentation.dto.response.PaymentResponse;
+import com.berailktrk.eShopping.presentation.support.ConditionalGetSupport;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -60,6 +62,7 @@ public class PaymentController {
 
     private final PaymentService paymentService;
     private final PaymentMethodService paymentMethodService;
+    private final ConditionalGetSupport conditionalGetSupport;
 
     // ==================== PAYMENT METHOD ENDPOINTS ====================
 
@@ -99,49 +102,55 @@ public class PaymentController {
     @Operation(summary = "Ödeme yöntemlerini listele", description = "Kullanıcının ödeme yöntemlerini getirir")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Ödeme yöntemleri başarıyla getirildi"),
+        @ApiResponse(responseCode = "304", description = "Ödeme yöntemleri değişmedi (If-None-Match)"),
         @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
     })
-    public ResponseEntity<PaymentMethodListResponse> getPaymentMethods(Authentication authentication) {
+    public ResponseEntity<PaymentMethodListResponse> getPaymentMethods(Authentication authentication, WebRequest webRequest) {
         
         log.info("Ödeme yöntemleri listeleme isteği - User: {}", getCurrentUserId(authentication));
         
         User currentUser = (User) authentication.getPrincipal();
         
-        List<PaymentMethod> paymentMethods = paymentMethodService.getPaymentMethodsBySequence(currentUser.getId());
-        PaymentMethod defaultMethod = paymentMethodService.getDefaultPaymentMethod(currentUser.getId());
-        
-        List<PaymentMethodResponse> responseList = paymentMethods.stream()
-                .map(this::mapToPaymentMethodResponse)
-                .collect(Collectors.toList());
-        
-        PaymentMethodListResponse response = PaymentMethodListResponse.builder()
-                .paymentMethods(responseList)
-                .totalCount(responseList.size())
-                .hasDefault(defaultMethod != null)
-                .build();
-        
-        return ResponseEntity.ok(response);
+        String eTag = conditionalGetSupport.weakETag("payment-methods",
+                paymentMethodService.getPaymentMethodsVersion(currentUser.getId()));
+        
+        return conditionalGetSupport.respond(webRequest, eTag, conditionalGetSupport.privateResource(), () -> {
+            List<PaymentMethod> paymentMethods = paymentMethodService.getPaymentMethodsBySequence(currentUser.getId());
+            PaymentMethod defaultMethod = paymentMethodService.getDefaultPaymentMethod(currentUser.getId());
+            
+            List<PaymentMethodResponse> responseList = paymentMethods.stream()
+                    .map(this::mapToPaymentMethodResponse)
+                    .collect(Collectors.toList());
+            
+            return PaymentMethodListResponse.builder()
+                    .paymentMethods(responseList)
+                    .totalCount(responseList.size())
+                    .hasDefault(defaultMethod != null)
+                    .build();
+        });
     }
 
     @GetMapping("/methods/{sequenceNumber}")
     @Operation(summary = "Ödeme yöntemi detayı", description = "Belirli bir sıra numarasına sahip ödeme yönteminin detaylarını getirir")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Ödeme yöntemi detayları başarıyla getirildi"),
+        @ApiResponse(responseCode = "304", description = "Ödeme yöntemi değişmedi (If-None-Match)"),
         @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli"),
         @ApiResponse(responseCode = "404", description = "Ödeme yöntemi bulunamadı")
     })
     public ResponseEntity<PaymentMethodResponse> getPaymentMethod(
             @Parameter(description = "Sıra numarası") @PathVariable Integer sequenceNumber,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         
         log.info("Ödeme yöntemi detay isteği - User: {}, Sequence: {}", getCurrentUserId(authentication), sequenceNumber);
         
         User currentUser = (User) authentication.getPrincipal();
         
-        PaymentMethod paymentMethod = paymentMethodService.getPaymentMethodBySequence(currentUser.getId(), sequenceNumber);
-        PaymentMethodResponse response = mapToPaymentMethodResponse(paymentMethod);
-        
-        return ResponseEntity.ok(response);
+        return conditionalGetSupport.respondIfFound(webRequest, "payment-method",
+                paymentMethodService.getPaymentMethodVersionBySequence(currentUser.getId(), sequenceNumber),
+                conditionalGetSupport.privateResource(), () -> mapToPaymentMethodResponse(
+                        paymentMethodService.getPaymentMethodBySequence(currentUser.getId(), sequenceNumber)));
     }
 
     @PutMapping("/methods/{sequenceNumber}")
@@ -299,53 +308,58 @@ public class PaymentController {
     @Operation(summary = "Sipariş ödemelerini listele", description = "Belirli bir siparişe ait ödemeleri getirir")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Ödemeler başarıyla getirildi"),
+        @ApiResponse(responseCode = "304", description = "Ödemeler değişmedi (If-None-Match)"),
         @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli"),
         @ApiResponse(responseCode = "404", description = "Sipariş bulunamadı")
     })
     public ResponseEntity<PaymentListResponse> getPaymentsByOrderId(
             @Parameter(description = "Sipariş ID") @PathVariable UUID orderId,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
         
         log.info("Sipariş ödemeleri listeleme isteği - User: {}, Order: {}", getCurrentUserId(authentication), orderId);
         
-        List<Payment> payments = paymentService.getPaymentsByOrderId(orderId);
-        
-        List<PaymentResponse> responseList = payments.stream()
-                .map(this::mapToPaymentResponse)
-                .collect(Collectors.toList());
-        
-        PaymentListResponse response = PaymentListResponse.builder()
-                .payments(responseList)
-                .totalCount(responseList.size())
-                .build();
-        
-        return ResponseEntity.ok(response);
+        String eTag = conditionalGetSupport.weakETag("order-payments:" + orderId,
+                paymentService.getPaymentsVersionByOrderId(orderId));
+        
+        return conditionalGetSupport.respond(webRequest, eTag, conditionalGetSupport.privateResource(), () -> {
+            List<PaymentResponse> responseList = paymentService.getPaymentsByOrderId(orderId).stream()
+                    .map(this::mapToPaymentResponse)
+                    .collect(Collectors.toList());
+            
+            return PaymentListResponse.builder()
+                    .payments(responseList)
+                    .totalCount(responseList.size())
+                    .build();
+        });
     }
 
     @GetMapping("/history")
     @Operation(summary = "Ödeme geçmişi", description = "Kullanıcının ödeme geçmişini getirir")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Ödeme geçmişi başarıyla getirildi"),
+        @ApiResponse(responseCode = "304", description = "Ödeme geçmişi değişmedi (If-None-Match)"),
         @ApiResponse(responseCode = "401", description = "Yetkilendirme gerekli")
     })
-    public ResponseEntity<PaymentListResponse> getPaymentHistory(Authentication authentication) {
+    public ResponseEntity<PaymentListResponse> getPaymentHistory(Authentication authentication, WebRequest webRequest) {
         
         log.info("Ödeme geçmişi isteği - User: {}", getCurrentUserId(authentication));
         
         User currentUser = (User) authentication.getPrincipal();
         
-        List<Payment> payments = paymentService.getPaymentsByUserId(currentUser.getId());
-        
-        List<PaymentResponse> responseList = payments.stream()
-                .map(this::mapToPaymentResponse)
-                .collect(Collectors.toList());
-        
-        PaymentListResponse response = PaymentListResponse.builder()
-                .payments(responseList)
-                .totalCount(responseList.size())
-                .build();
-        
-        return ResponseEntity.ok(response);
+        String eTag = conditionalGetSupport.weakETag("payments",
+                paymentService.getPaymentsVersionByUserId(currentUser.getId()));
+        
+        return conditionalGetSupport.respond(webRequest, eTag, conditionalGetSupport.privateResource(), () -> {
+            List<PaymentResponse> responseList = paymentService.getPaymentsByUserId(currentUser.getId()).stream()
+                    .map(this::mapToPaymentResponse)
+                    .collect(Collectors.toList());
+            
+            return PaymentListResponse.builder()
+                    .payments(responseList)
+                    .totalCount(responseList.size())
+                    .build();
+        });
     }
 
     // ==================== SEQUENCE NUMBER ENDPOINTS ====================
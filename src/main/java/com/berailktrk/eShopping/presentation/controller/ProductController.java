@@ -1,29 +1,73 @@
 package com.berailktrk.eShopping.presentation.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.berailktrk.eShopping.application.usecase.BestSellerService;
+import com.berailktrk.eShopping.application.usecase.ProductCatalogSnapshotService;
+import com.berailktrk.eShopping.application.usecase.ProductCatalogSnapshotService.CatalogSnapshot;
+import com.berailktrk.eShopping.application.usecase.ProductExportService;
+import com.berailktrk.eShopping.application.usecase.ProductFacetService;
+import com.berailktrk.eShopping.application.usecase.ProductImportService;
+import com.berailktrk.eShopping.application.usecase.ProductImportService.ImportFormat;
+import com.berailktrk.eShopping.application.usecase.ProductPriceHistoryService;
+import com.berailktrk.eShopping.application.usecase.ProductPricingService;
+import com.berailktrk.eShopping.application.usecase.ProductRecommendationService;
 import com.berailktrk.eShopping.application.usecase.ProductService;
+import com.berailktrk.eShopping.application.usecase.ProductSuggestService;
+import com.berailktrk.eShopping.application.usecase.ProductViewService;
 import com.berailktrk.eShopping.domain.model.User;
+import com.berailktrk.eShopping.presentation.dto.request.BulkPriceUpdateRequest;
 import com.berailktrk.eShopping.presentation.dto.request.CreateProductRequest;
+import com.berailktrk.eShopping.presentation.dto.request.ProductBatchRequest;
 import com.berailktrk.eShopping.presentation.dto.request.UpdateProductRequest;
+import com.berailktrk.eShopping.presentation.dto.response.BestSellerResponse;
+import com.berailktrk.eShopping.presentation.dto.response.BulkPriceUpdateResponse;
+import com.berailktrk.eShopping.presentation.dto.response.CacheStatsResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductBatchResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductChangesResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductFacetResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductImportResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductPageResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductPriceHistoryResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductRecommendationResponse;
 import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductSearchResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductSuggestionResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductViewStatsResponse;
+import com.berailktrk.eShopping.presentation.support.ConditionalGetSupport;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -40,34 +84,160 @@ import lombok.extern.slf4j.Slf4j;
 @Tag(name = "Products", description = "Ürün yönetimi API'leri")
 public class ProductController {
 
+    // Facet nitelik filtresi parametre öneki (attr.brand=X)
+    private static final String FACET_ATTRIBUTE_PARAM_PREFIX = "attr.";
+
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductExportService productExportService;
+    private final ProductPricingService productPricingService;
+    private final ProductCatalogSnapshotService productCatalogSnapshotService;
+    private final ProductFacetService productFacetService;
+    private final ProductSuggestService productSuggestService;
+    private final ProductViewService productViewService;
+    private final ProductPriceHistoryService productPriceHistoryService;
+    private final BestSellerService bestSellerService;
+    private final ProductRecommendationService productRecommendationService;
+    private final ConditionalGetSupport conditionalGetSupport;
 
     // Tüm aktif ürünleri listele - PUBLIC endpoint (Authentication gerekmez)
-    @GetMapping
-    @Operation(summary = "Tüm aktif ürünleri listele", description = "Kullanıcılar için aktif ürünleri getirir")
-    public ResponseEntity<List<ProductResponse>> getAllActiveProducts() {
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Tüm aktif ürünleri listele", description = "Kullanıcılar için aktif ürünleri stok bilgisi (availableStock, reservedStock) ile getirir. ETag döner; If-None-Match eşleşirse 304 Not Modified. Accept-Encoding gzip ise yanıt sıkıştırılmış döner")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Aktif ürün listesi", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                array = @ArraySchema(schema = @Schema(implementation = ProductResponse.class)))),
+        @ApiResponse(responseCode = "304", description = "Liste değişmedi (If-None-Match)")
+    })
+    public ResponseEntity<byte[]> getAllActiveProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
         log.info("GET /api/products - Fetching all active products");
-        List<ProductResponse> products = productService.getAllActiveProducts();
-        return ResponseEntity.ok(products);
+        //Önceden serialize edilmiş snapshot - sorgu ve serialize yok, byte dizisi olduğu gibi yazılır
+        CatalogSnapshot snapshot = productCatalogSnapshotService.getSnapshot();
+        String eTag = conditionalGetSupport.weakETag("products", snapshot.digest());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(conditionalGetSupport.catalog())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(conditionalGetSupport.catalog())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzipped());
+        }
+        return response.body(snapshot.json());
+    }
+
+    // Aktif ürünleri sayfalı listele - PUBLIC endpoint (keyset/cursor pagination)
+    @GetMapping("/page")
+    @Operation(summary = "Aktif ürünleri sayfalı listele", description = "Aktif ürünleri stok bilgisi ile en yeniden eskiye sayfalı getirir. Sonraki sayfa için yanıttaki nextCursor değeri cursor parametresi olarak gönderilir")
+    public ResponseEntity<ProductPageResponse> getActiveProductsPage(
+            @Parameter(description = "Önceki sayfadan dönen nextCursor (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu") @RequestParam(required = false) Integer size) {
+        log.info("GET /api/products/page - Fetching active products page");
+        return ResponseEntity.ok(productService.getActiveProductsPage(cursor, size));
+    }
+
+    // Birden fazla SKU ile ürün getir - PUBLIC endpoint (sepet, favori, öneri widget'ları için)
+    @PostMapping("/batch")
+    @Operation(summary = "Çoklu SKU ile ürün getir", description = "En fazla " + ProductBatchRequest.MAX_SKUS + " SKU için ürün ve stok bilgisini tek istekte getirir. Sonuç istek sırasındadır, bulunamayan SKU'lar missingSkus alanında döner")
+    public ResponseEntity<ProductBatchResponse> getProductsBySkus(@Valid @RequestBody ProductBatchRequest request) {
+        log.info("POST /api/products/batch - Fetching {} products", request.getSkus().size());
+        return ResponseEntity.ok(productService.getProductsBySkus(request.getSkus()));
     }
 
     // SKU'ya göre ürün getir - PUBLIC endpoint
     @GetMapping("/{sku}")
-    @Operation(summary = "SKU'ya göre ürün getir", description = "SKU ile ürün detaylarını getirir")
-    public ResponseEntity<ProductResponse> getProductBySku(@PathVariable String sku) {
+    @Operation(summary = "SKU'ya göre ürün getir", description = "SKU ile ürün detaylarını getirir. ETag döner; If-None-Match eşleşirse 304 Not Modified")
+    public ResponseEntity<ProductResponse> getProductBySku(@PathVariable String sku, WebRequest webRequest) {
         log.info("GET /api/products/{} - Fetching product", sku);
         ProductResponse product = productService.getProductBySku(sku);
-        return ResponseEntity.ok(product);
+        productViewService.recordView(product.getId());
+        return conditionalGetSupport.respond(webRequest, conditionalGetSupport.productETag(product),
+                conditionalGetSupport.catalog(), () -> product);
     }
 
 
-    // İsme göre ürün ara - PUBLIC endpoint (case-insensitive)
+    // Ürün ara - PUBLIC endpoint (isim, SKU ve açıklama; alaka düzeyine göre sıralı, sayfalı)
     @GetMapping("/search")
-    @Operation(summary = "İsme göre ürün ara", description = "Ürün ismine göre arama yapar (case-insensitive)")
-    public ResponseEntity<List<ProductResponse>> searchProducts(@RequestParam String name) {
+    @Operation(summary = "Ürün ara", description = "Ürün adı, SKU ve açıklamada arama yapar (case-insensitive). Sonuçlar alaka düzeyine göre sıralıdır, toplam sonuç sayısı X-Total-Count header'ında döner")
+    public ResponseEntity<List<ProductResponse>> searchProducts(
+            @RequestParam String name,
+            @Parameter(description = "Sayfa numarası (0'dan başlar)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Sayfa boyutu (1-100)") @RequestParam(defaultValue = "50") int size) {
         log.info("GET /api/products/search?name={} - Searching products", name);
-        List<ProductResponse> products = productService.searchProductsByName(name);
-        return ResponseEntity.ok(products);
+        ProductSearchResponse result = productService.searchProducts(name, page, size);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.getTotalHits()))
+                .body(result.getItems());
+    }
+
+    // Delta senkronizasyon - PUBLIC endpoint (çevrimdışı katalog tutan istemciler için)
+    @GetMapping("/changes")
+    @Operation(
+        summary = "Katalog değişiklikleri (delta sync)", 
+        description = "since cursor'ından sonra oluşturulan/güncellenen ürünleri (upserts) ve pasif hale getirilenleri (tombstones) değişiklik sırasıyla döner. " +
+                      "İlk senkronizasyonda since gönderilmez. Yanıttaki nextCursor saklanıp bir sonraki istekte since olarak gönderilir; hasMore true ise hemen tekrar istenir. " +
+                      "Son birkaç saniyedeki değişiklikler bir sonraki senkronizasyonda gelir. Stok alanları değişiklik anındaki değerlerdir, stok hareketleri değişiklik sayılmaz"
+    )
+    public ResponseEntity<ProductChangesResponse> getProductChanges(
+            @Parameter(description = "Önceki senkronizasyonun nextCursor değeri") @RequestParam(required = false) String since,
+            @Parameter(description = "En fazla değişiklik sayısı") @RequestParam(required = false) Integer limit) {
+        log.debug("GET /api/products/changes?since={} - Fetching product changes", since);
+        return ResponseEntity.ok(productService.getChanges(since, limit));
+    }
+
+    // Arama kutusu önerileri - PUBLIC endpoint (ürün adı kelimeleri ve SKU üzerinde önek eşleşmesi)
+    @GetMapping("/suggest")
+    @Operation(summary = "Ürün önerileri", description = "Önekle başlayan ürün adı kelimeleri ve SKU'lar için en çok satan ürünleri döner (Türkçe büyük/küçük harf duyarsız). Veritabanına gitmez")
+    public ResponseEntity<List<ProductSuggestionResponse>> suggestProducts(
+            @Parameter(description = "Aranan önek") @RequestParam String prefix,
+            @Parameter(description = "Öneri sayısı") @RequestParam(defaultValue = "10") int limit) {
+        log.debug("GET /api/products/suggest?prefix={} - Suggesting products", prefix);
+        return ResponseEntity.ok(productSuggestService.suggest(prefix, limit));
+    }
+
+    // En çok satan ürünler - PUBLIC endpoint (bellekteki satış sayaçlarından, sipariş tablosu toplanmaz)
+    @GetMapping("/best-sellers")
+    @Operation(summary = "En çok satan ürünler", description = "Son 24 saat (DAY), son 7 gün (WEEK) veya tüm zamanlarda (ALL_TIME) en çok satan aktif ürünleri satış adedine göre sıralı getirir")
+    public ResponseEntity<List<BestSellerResponse>> getBestSellers(
+            @Parameter(description = "Zaman penceresi: DAY, WEEK, ALL_TIME") @RequestParam(defaultValue = "WEEK") String window,
+            @Parameter(description = "Ürün sayısı") @RequestParam(defaultValue = "10") int limit) {
+        log.info("GET /api/products/best-sellers?window={} - Fetching best sellers", window);
+        return ResponseEntity.ok(bestSellerService.getBestSellers(BestSellerService.Window.parse(window), limit));
+    }
+
+    // Birlikte satın alınanlar - PUBLIC endpoint (bellekteki birlikte-bulunma matrisinden, sipariş tablosu sorgulanmaz)
+    @GetMapping("/{sku}/recommendations")
+    @Operation(summary = "Birlikte satın alınan ürünler", description = "Verilen ürünle aynı siparişte en sık bulunan aktif ürünleri, birlikte bulundukları sipariş sayısına göre sıralı getirir")
+    public ResponseEntity<List<ProductRecommendationResponse>> getRecommendations(
+            @PathVariable String sku,
+            @Parameter(description = "Ürün sayısı") @RequestParam(defaultValue = "10") int limit) {
+        log.info("GET /api/products/{}/recommendations - Fetching frequently bought together products", sku);
+        return ResponseEntity.ok(productRecommendationService.getRecommendations(sku, limit));
+    }
+
+    // Facet'li ürün listeleme - PUBLIC endpoint (metadata nitelikleri ve fiyat aralığı ile filtre + facet sayımları)
+    // Nitelik filtreleri "attr." önekiyle gelir (attr.size=XL) - page/size sayfalama parametreleriyle çakışmaz
+    @GetMapping("/facets")
+    @Operation(summary = "Facet'li ürün listeleme", description = "Metadata niteliklerine (örn. ?attr.brand=X&attr.color=red&attr.size=XL) ve fiyat aralığına (price=100..500) göre filtreler. Aynı nitelikte birden fazla değer VEYA ile birleşir. Yanıt, eşleşen ürünleri ve her facet için değer sayımlarını içerir; fiyat facet etiketleri price parametresine olduğu gibi verilebilir")
+    public ResponseEntity<ProductFacetResponse> getFacetedProducts(
+            @Parameter(description = "Nitelik filtreleri attr.<nitelik>=<değer> (attr.brand, attr.color, attr.size...)") @RequestParam MultiValueMap<String, String> params,
+            @Parameter(description = "Fiyat aralığı (min..max)") @RequestParam(required = false) String price,
+            @Parameter(description = "Sayfa numarası (0'dan başlar)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Sayfa boyutu (1-100)") @RequestParam(defaultValue = "50") int size) {
+        log.info("GET /api/products/facets - Browsing products with filters: {}", params);
+        Map<String, List<String>> filters = new HashMap<>();
+        params.forEach((name, values) -> {
+            if (name.startsWith(FACET_ATTRIBUTE_PARAM_PREFIX)) {
+                filters.put(name.substring(FACET_ATTRIBUTE_PARAM_PREFIX.length()), values);
+            }
+        });
+        return ResponseEntity.ok(productFacetService.browse(filters, price, page, size));
     }
 
     // ========================================
@@ -75,17 +245,96 @@ public class ProductController {
     // ========================================
 
     // Tüm ürünleri listele - Aktif ve pasif tüm ürünler (ADMIN ONLY)
+    // Kullanımdan kaldırıldı: yanıt katalogla sınırsız büyür - /admin/page (sayfalı) veya /admin/export (akış) kullanılmalı.
+    // Mevcut admin araçları kırılmasın diye yanıt aynı kalır, Deprecation ve Link başlıkları yeni endpoint'i gösterir
+    @Deprecated
     @GetMapping("/admin/all")
     @Operation(
-        summary = "Tüm ürünleri listele (Admin)", 
-        description = "Aktif ve pasif tüm ürünleri getirir",
+        summary = "Tüm ürünleri listele (Admin) - kullanımdan kaldırıldı", 
+        description = "Aktif ve pasif tüm ürünleri stok bilgisi (availableStock, reservedStock) ile tek yanıtta getirir. Büyük kataloglarda yerine /api/products/admin/page (keyset sayfalama) veya /api/products/admin/export (NDJSON akışı) kullanın",
+        deprecated = true,
         security = @SecurityRequirement(name = "bearerAuth")
     )
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<ProductResponse>> getAllProductsAdmin() {
-        log.info("GET /api/products/admin/all - Fetching all products (admin)");
+        log.warn("GET /api/products/admin/all - Deprecated unpaged listing, use /api/products/admin/page or /admin/export");
         List<ProductResponse> products = productService.getAllProducts();
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok()
+                .header("Deprecation", "true")
+                .header(HttpHeaders.LINK, "</api/products/admin/page>; rel=\"successor-version\"")
+                .body(products);
+    }
+
+    // Tüm ürünleri sayfalı listele - Aktif ve pasif (ADMIN ONLY, keyset/cursor pagination)
+    @GetMapping("/admin/page")
+    @Operation(
+        summary = "Tüm ürünleri sayfalı listele (Admin)", 
+        description = "Aktif ve pasif tüm ürünleri stok bilgisi ile en yeniden eskiye sayfalı getirir. Sonraki sayfa için nextCursor kullanılır",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductPageResponse> getAllProductsPageAdmin(
+            @Parameter(description = "Önceki sayfadan dönen nextCursor (ilk sayfa için boş)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sayfa boyutu") @RequestParam(required = false) Integer size) {
+        log.info("GET /api/products/admin/page - Fetching all products page (admin)");
+        return ResponseEntity.ok(productService.getAllProductsPage(cursor, size));
+    }
+
+    // Product cache istatistikleri - Hit/miss/eviction sayaçları (ADMIN ONLY)
+    @GetMapping("/admin/cache/stats")
+    @Operation(
+        summary = "Ürün cache istatistikleri (Admin)", 
+        description = "Ürün cache'inin hit, miss, eviction sayaçlarını ve doluluk oranını getirir",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        log.info("GET /api/products/admin/cache/stats - Fetching product cache stats");
+        return ResponseEntity.ok(productService.getCacheStats());
+    }
+
+    // Ürün fiyat geçmişi - ADMIN ONLY
+    @GetMapping("/admin/{sku}/price-history")
+    @Operation(
+        summary = "Ürün fiyat geçmişi (Admin)", 
+        description = "at verilirse o andaki fiyatı, from (ve opsiyonel to, varsayılan şimdi) verilirse from anındaki fiyat ile aralıktaki fiyat değişikliklerini döner. Zamanlar ISO-8601 (örn. 2025-01-31T12:00:00Z)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductPriceHistoryResponse> getPriceHistory(
+            @PathVariable String sku,
+            @Parameter(description = "Fiyatı istenen an") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at,
+            @Parameter(description = "Aralık başlangıcı") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Aralık sonu (varsayılan şimdi)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        log.info("GET /api/products/admin/{}/price-history - Fetching price history", sku);
+        return ResponseEntity.ok(productPriceHistoryService.getPriceHistory(sku, at, from, to));
+    }
+
+    // Ürün görüntülenme sayısı - ADMIN ONLY
+    @GetMapping("/admin/{sku}/stats")
+    @Operation(
+        summary = "Ürün görüntülenme sayısı (Admin)", 
+        description = "Ürün detay sayfasının (GET /api/products/{sku}) görüntülenme sayısını döner. Henüz veritabanına yazılmamış görüntülenmeler dahildir",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductViewStatsResponse> getProductViewStats(@PathVariable String sku) {
+        log.info("GET /api/products/admin/{}/stats - Fetching product view stats", sku);
+        return ResponseEntity.ok(productViewService.getViewStats(sku));
+    }
+
+    // En çok görüntülenen ürünler - ADMIN ONLY
+    @GetMapping("/admin/most-viewed")
+    @Operation(
+        summary = "En çok görüntülenen ürünler (Admin)", 
+        description = "Görüntülenme sayısına göre sıralı ürünler (sıralama periyodik olarak yazılan sayılara göredir)",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ProductViewStatsResponse>> getMostViewedProducts(
+            @Parameter(description = "Ürün sayısı (1-100)") @RequestParam(defaultValue = "20") int limit) {
+        log.info("GET /api/products/admin/most-viewed - Fetching most viewed products");
+        return ResponseEntity.ok(productViewService.getMostViewed(limit));
     }
 
     // Yeni ürün oluştur - ADMIN ONLY
@@ -103,6 +352,64 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(product);
     }
 
+    // Toplu ürün içe aktarma - CSV veya NDJSON akışı (ADMIN ONLY)
+    @PostMapping(value = "/admin/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(
+        summary = "Toplu ürün içe aktar (Admin)", 
+        description = "text/csv (başlık satırı: sku,name,description,price,currency,isActive,stock) veya application/x-ndjson (her satır bir ürün JSON'u) gövdesini akış olarak okur. " +
+                      "Ürün ve stoklar SKU'ya göre parçalar halinde upsert edilir; hatalı satırlar içe aktarmayı durdurmaz, yanıtta raporlanır",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductImportResponse> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body,
+            Authentication authentication) throws IOException {
+        ImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? ImportFormat.CSV
+                : ImportFormat.NDJSON;
+        log.info("POST /api/products/admin/import - Importing products ({})", format);
+        User currentUser = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(productImportService.importProducts(body, format, currentUser));
+    }
+
+    // Toplu fiyat güncelleme - SKU/fiyat listesi veya filtreye yüzde kuralı (ADMIN ONLY)
+    @PostMapping("/admin/prices")
+    @Operation(
+        summary = "Toplu fiyat güncelle (Admin)", 
+        description = "changes (SKU ve yeni fiyat listesi) veya percentage (skuPrefix, currency, minPrice, maxPrice, activeOnly filtrelerine uyan ürünlere yüzde değişim) alır. " +
+                      "Fiyatlar parçalar halinde toplu UPDATE ile yazılır, her parça için tek audit log üretilir",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkPriceUpdateResponse> updatePrices(
+            @Valid @RequestBody BulkPriceUpdateRequest request,
+            Authentication authentication) {
+        log.info("POST /api/products/admin/prices - Bulk price update ({})",
+                request.getPercentage() != null ? "percentage: " + request.getPercentage() : "changes: " + (request.getChanges() == null ? 0 : request.getChanges().size()));
+        User currentUser = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(productPricingService.updatePrices(request, currentUser));
+    }
+
+    // Katalog dışa aktarma - NDJSON akışı, opsiyonel gzip (ADMIN ONLY)
+    @GetMapping("/admin/export")
+    @Operation(
+        summary = "Kataloğu dışa aktar (Admin)", 
+        description = "Ürünleri stok bilgisi ile her satırda bir JSON olacak şekilde (NDJSON) akış halinde döner. gzip=true ile sıkıştırılmış .ndjson.gz dosyası döner",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "Sadece aktif ürünler") @RequestParam(defaultValue = "false") boolean activeOnly,
+            @Parameter(description = "gzip ile sıkıştır") @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("GET /api/products/admin/export - Exporting products (activeOnly: {}, gzip: {})", activeOnly, gzip);
+        String fileName = "products-" + LocalDate.now() + (gzip ? ".ndjson.gz" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(productExportService.exportProducts(activeOnly, gzip));
+    }
+
     // Ürün güncelle - ADMIN ONLY
     @PutMapping("/admin/{sku}")
     @Operation(
@@ -143,4 +450,18 @@ public class ProductController {
         productService.deleteProduct(sku, currentUser);
         return ResponseEntity.noContent().build();
     }
+
+    //Accept-Encoding gzip içeriyor mu ("gzip;q=0" reddetme anlamına gelir)
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
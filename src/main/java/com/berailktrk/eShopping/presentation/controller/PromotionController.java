@@ -0,0 +1,72 @@
+package com.berailktrk.eShopping.presentation.controller;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.berailktrk.eShopping.application.usecase.PromotionService;
+import com.berailktrk.eShopping.domain.model.User;
+import com.berailktrk.eShopping.presentation.dto.request.CreatePromotionRequest;
+import com.berailktrk.eShopping.presentation.dto.response.PromotionResponse;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// Promotion REST Controller - Promosyon ve kupon yönetimi (Admin)
+@RestController
+@RequestMapping("/api/promotions/admin")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Promotions", description = "Promosyon ve kupon yönetimi")
+@SecurityRequirement(name = "bearerAuth")
+public class PromotionController {
+
+    private final PromotionService promotionService;
+
+    // Tüm promosyonlar - ADMIN ONLY
+    @GetMapping
+    @Operation(summary = "Promosyonları listele (Admin)", description = "Aktif ve pasif tüm promosyonları en yeniden eskiye döner")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<PromotionResponse>> getPromotions() {
+        log.info("GET /api/promotions/admin - Fetching promotions");
+        return ResponseEntity.ok(promotionService.getPromotions());
+    }
+
+    // Yeni promosyon oluştur - ADMIN ONLY
+    @PostMapping
+    @Operation(
+        summary = "Promosyon oluştur (Admin)",
+        description = "Yüzde, sabit tutar veya X al Y bedava promosyonu oluşturur. skus/categoryId verilmezse sepet geneli uygulanır; " +
+                      "code verilirse kupon olur ve sadece kod girildiğinde uygulanır. startsAt/endsAt ile geçerlilik aralığı belirlenir"
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PromotionResponse> createPromotion(@Valid @RequestBody CreatePromotionRequest request, Authentication authentication) {
+        log.info("POST /api/promotions/admin - Creating promotion: {}", request.getName());
+        User currentUser = (User) authentication.getPrincipal();
+        return ResponseEntity.status(HttpStatus.CREATED).body(promotionService.createPromotion(request, currentUser));
+    }
+
+    // Promosyonu pasifleştir - ADMIN ONLY
+    @PostMapping("/{promotionId}/deactivate")
+    @Operation(summary = "Promosyonu pasifleştir (Admin)", description = "Promosyon artık sepet ve siparişlere uygulanmaz; geçmiş siparişler etkilenmez")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PromotionResponse> deactivatePromotion(@PathVariable UUID promotionId, Authentication authentication) {
+        log.info("POST /api/promotions/admin/{}/deactivate - Deactivating promotion", promotionId);
+        User currentUser = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(promotionService.deactivatePromotion(promotionId, currentUser));
+    }
+}
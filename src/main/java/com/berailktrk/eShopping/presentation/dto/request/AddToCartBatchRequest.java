@@ -0,0 +1,25 @@
+package com.berailktrk.eShopping.presentation.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Sepete toplu ürün ekleme isteği - aynı SKU birden fazla verilirse miktarlar toplanır
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddToCartBatchRequest {
+
+    public static final int MAX_ITEMS = 100;
+
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = MAX_ITEMS, message = "At most " + MAX_ITEMS + " items can be added at once")
+    private List<@Valid AddToCartRequest> items;
+}
@@ -0,0 +1,43 @@
+package com.berailktrk.eShopping.presentation.dto.request;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Toplu fiyat güncelleme isteği - ya SKU/fiyat listesi (changes) ya da filtreye uyan ürünlere yüzde kuralı (percentage)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPriceUpdateRequest {
+
+    public static final int MAX_CHANGES = 100_000;
+
+    @Size(max = MAX_CHANGES, message = "At most " + MAX_CHANGES + " price changes can be sent at once")
+    private List<@Valid PriceChangeRequest> changes;
+
+    //Yüzde değişim (10 = %10 zam, -15 = %15 indirim)
+    @DecimalMin(value = "-99.99", message = "Percentage must be greater than -100")
+    @DecimalMax(value = "1000", message = "Percentage must be at most 1000")
+    private BigDecimal percentage;
+
+    //Yüzde kuralı filtreleri - verilmeyen filtre uygulanmaz
+    private String skuPrefix;
+
+    @Size(min = 3, max = 3, message = "Currency must be 3 characters (e.g., TRY, USD)")
+    private String currency;
+
+    private BigDecimal minPrice;    // Dahil
+    private BigDecimal maxPrice;    // Dahil
+
+    @Builder.Default
+    private Boolean activeOnly = true;
+}
@@ -38,4 +38,7 @@ public class CheckoutRequest {
 
     @Schema(description = "Ek metadata bilgileri", example = "{\"giftWrap\":true}")
     private Map<String, Object> metadata;
+
+    @Schema(description = "Kupon kodu (opsiyonel)", example = "YAZ2025")
+    private String couponCode;
 }
@@ -0,0 +1,32 @@
+package com.berailktrk.eShopping.presentation.dto.request;
+
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Kategori oluşturma isteği - parentId verilmezse kök kategori oluşturulur
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateCategoryRequest {
+
+    private UUID parentId;
+
+    @NotBlank(message = "Slug is required")
+    @Size(max = 64, message = "Slug must be at most 64 characters")
+    @Pattern(regexp = "[a-z0-9]+(-[a-z0-9]+)*", message = "Slug may only contain lowercase letters, digits and single hyphens")
+    private String slug;
+
+    @NotBlank(message = "Category name is required")
+    @Size(max = 255, message = "Category name must be less than 255 characters")
+    private String name;
+
+    private Integer sortOrder;
+}
@@ -0,0 +1,68 @@
+package com.berailktrk.eShopping.presentation.dto.request;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.berailktrk.eShopping.domain.model.PromotionType;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Promosyon oluşturma isteği - skus ve categoryId verilmezse promosyon tüm sepete uygulanır,
+//code verilirse promosyon kupondur
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreatePromotionRequest {
+
+    public static final int MAX_SKUS = 1000;
+
+    @NotBlank(message = "Promotion name is required")
+    @Size(max = 255, message = "Promotion name must be less than 255 characters")
+    private String name;
+
+    @Pattern(regexp = "[A-Za-z0-9_-]{3,64}", message = "Coupon code must be 3-64 letters, digits, '_' or '-'")
+    private String code;
+
+    @NotNull(message = "Promotion type is required")
+    private PromotionType type;
+
+    //PERCENTAGE için
+    @DecimalMin(value = "0", inclusive = false, message = "Percentage must be greater than 0")
+    @DecimalMax(value = "100", message = "Percentage must be at most 100")
+    private BigDecimal percentage;
+
+    //FIXED_AMOUNT için
+    @DecimalMin(value = "0", inclusive = false, message = "Amount must be greater than 0")
+    private BigDecimal amount;
+
+    //BUY_X_GET_Y için
+    @Min(value = 1, message = "Buy quantity must be at least 1")
+    private Integer buyQuantity;
+
+    @Min(value = 1, message = "Get quantity must be at least 1")
+    private Integer getQuantity;
+
+    @DecimalMin(value = "0", message = "Minimum subtotal cannot be negative")
+    private BigDecimal minSubtotal;
+
+    @Size(max = MAX_SKUS, message = "At most " + MAX_SKUS + " SKUs can be in a promotion scope")
+    private List<@NotBlank String> skus;
+
+    private UUID categoryId;
+
+    private Instant startsAt;
+    private Instant endsAt;
+}
@@ -0,0 +1,28 @@
+package com.berailktrk.eShopping.presentation.dto.request;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Toplu fiyat güncellemesinde tek SKU'nun yeni fiyatı
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceChangeRequest {
+
+    @NotBlank(message = "SKU must not be blank")
+    private String sku;
+
+    @NotNull(message = "Price is required")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    @Digits(integer = 10, fraction = 2, message = "Price must have at most 10 integer and 2 fraction digits")
+    private BigDecimal price;
+}
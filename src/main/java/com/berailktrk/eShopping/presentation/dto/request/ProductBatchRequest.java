@@ -0,0 +1,25 @@
+package com.berailktrk.eShopping.presentation.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Çoklu SKU ile ürün sorgulama isteği
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchRequest {
+
+    public static final int MAX_SKUS = 500;
+
+    @NotEmpty(message = "At least one SKU is required")
+    @Size(max = MAX_SKUS, message = "At most " + MAX_SKUS + " SKUs can be requested at once")
+    private List<@NotBlank(message = "SKU must not be blank") String> skus;
+}
@@ -0,0 +1,33 @@
+package com.berailktrk.eShopping.presentation.dto.request;
+
+import java.util.UUID;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Kategori güncelleme isteği - verilmeyen alanlar değişmez
+//Slug veya üst kategori değişirse kategori alt ağacıyla birlikte taşınır
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateCategoryRequest {
+
+    @Size(max = 64, message = "Slug must be at most 64 characters")
+    @Pattern(regexp = "[a-z0-9]+(-[a-z0-9]+)*", message = "Slug may only contain lowercase letters, digits and single hyphens")
+    private String slug;
+
+    @Size(max = 255, message = "Category name must be less than 255 characters")
+    private String name;
+
+    private UUID parentId;
+
+    //true ise kategori köke taşınır (parentId yok sayılır)
+    private Boolean moveToRoot;
+
+    private Integer sortOrder;
+}
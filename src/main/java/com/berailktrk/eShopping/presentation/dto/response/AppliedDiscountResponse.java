@@ -0,0 +1,28 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Sepete uygulanan indirim - promosyon, uygulandığı SKU'lar (sepet geneli indirimlerde boş) ve indirim tutarı
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AppliedDiscountResponse {
+
+    private UUID promotionId;
+    private String name;
+    private String code;
+    private String type;
+    private List<String> skus;
+    private BigDecimal amount;
+}
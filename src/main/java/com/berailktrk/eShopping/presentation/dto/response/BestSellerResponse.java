@@ -0,0 +1,18 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//En çok satan ürün - sıra, seçilen penceredeki satış adedi ve ürün bilgisi
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BestSellerResponse {
+
+    private int rank;
+    private long soldQuantity;
+    private ProductResponse product;
+}
@@ -0,0 +1,27 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Toplu fiyat güncelleme sonucu
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPriceUpdateResponse {
+
+    private String mode;                // SKU_LIST veya PERCENTAGE
+    private Long matchedCount;          // Bulunan ürün sayısı
+    private Long updatedCount;          // Fiyatı değişen ürün sayısı
+    private Long unchangedCount;        // Fiyatı zaten hedef değerde olan ürün sayısı
+    private Long failedCount;
+    private List<String> missingSkus;   // Sadece SKU_LIST - bulunamayan SKU'lar
+    private List<String> errors;
+    private Boolean errorsTruncated;    // Hata/eksik SKU listesi sınıra ulaştıysa true
+    private Integer chunkCount;
+    private Long durationMs;
+}
@@ -0,0 +1,24 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Cache istatistikleri response DTO - cache boyutlandırma için
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsResponse {
+
+    private String name;
+    private Integer size;
+    private Integer maxSize;
+    private Long hitCount;
+    private Long missCount;
+    private Long loadCount;
+    private Long evictionCount;     // Boyut sınırı nedeniyle atılan kayıtlar
+    private Long expirationCount;   // TTL nedeniyle atılan kayıtlar
+    private Double hitRate;
+}
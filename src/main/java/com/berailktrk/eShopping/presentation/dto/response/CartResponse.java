@@ -21,7 +21,12 @@ public class CartResponse {
     private List<CartItemResponse> items;
     private Integer totalItemCount;      // Toplam ürün sayısı (miktar toplamı)
     private Integer uniqueItemCount;     // Farklı ürün sayısı
-    private java.math.BigDecimal totalAmount;  // Toplam tutar
+    private java.math.BigDecimal subtotalAmount;  // İndirimsiz ara toplam
+    private java.math.BigDecimal discountAmount;  // Toplam indirim
+    private java.math.BigDecimal totalAmount;  // Toplam tutar (indirimler düşülmüş)
+    private List<AppliedDiscountResponse> appliedDiscounts;
+    private String couponCode;
+    private String droppedCouponCode;    // Girilen ama sepete uygulanmayan (veya daha iyi promosyonun geride bıraktığı) kupon
     private Instant lastUpdate;
     
 }
@@ -0,0 +1,22 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Kategoriye ürün ekleme sonucu
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryAssignmentResponse {
+
+    private UUID categoryId;
+    private Integer assignedCount;          // Yeni eklenen eşleme sayısı
+    private Integer alreadyAssignedCount;   // Zaten kategoride olan ürün sayısı
+    private List<String> missingSkus;
+}
@@ -0,0 +1,26 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Kategori ağacı düğümü - children sortOrder ve ada göre sıralı
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryResponse {
+
+    private UUID id;
+    private UUID parentId;
+    private String slug;
+    private String name;
+    private String path;        // "/elektronik/telefon/"
+    private Integer depth;      // Kök kategoriler için 0
+    private Integer sortOrder;
+    private List<CategoryResponse> children;
+}
@@ -0,0 +1,17 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Facet değeri ve o değere sahip ürün sayısı
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountResponse {
+
+    private String value;
+    private int count;
+}
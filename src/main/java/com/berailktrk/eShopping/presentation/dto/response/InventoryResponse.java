@@ -21,6 +21,11 @@ public class InventoryResponse {
     private Integer quantity;
     private Integer reserved;
     private Integer available;
+    //Parçalı (kampanya) stokta parça sayısı ve otomatik birleştirme anı; quantity/reserved parçaların periyodik toplamıdır
+    private Integer shardCount;
+    private Instant shardedUntil;
+    //Node kiralama bloğu (null: kapalı); kiralanan birimler reserved içinde görünür
+    private Integer leaseSize;
     private Instant updatedAt;
     private Integer version;
 
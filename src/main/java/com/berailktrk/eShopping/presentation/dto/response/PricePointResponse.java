@@ -0,0 +1,22 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Fiyat geçmişi kaydı - fiyat validFrom anından bir sonraki kayda kadar geçerlidir
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PricePointResponse {
+
+    private BigDecimal price;
+    private String currency;
+    private Instant validFrom;
+    private String source;
+}
@@ -0,0 +1,19 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Çoklu SKU sorgu sonucu - ürünler istek sırasında, bulunamayan SKU'lar ayrı listede
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponse {
+
+    private List<ProductResponse> products;
+    private List<String> missingSkus;
+}
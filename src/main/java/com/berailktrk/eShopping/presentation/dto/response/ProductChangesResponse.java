@@ -0,0 +1,21 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Delta senkronizasyon yanıtı - cursor'dan sonra oluşturulan/güncellenen ürünler ve silinenler
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangesResponse {
+
+    private List<ProductResponse> upserts;              // Oluşturulan veya güncellenen aktif ürünler
+    private List<ProductTombstoneResponse> tombstones;  // Pasif hale getirilen ürünler
+    private boolean hasMore;                            // true ise nextCursor ile hemen tekrar istenmeli
+    private String nextCursor;                          // Bir sonraki senkronizasyonda since olarak gönderilir
+}
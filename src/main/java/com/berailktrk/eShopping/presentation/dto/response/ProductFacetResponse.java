@@ -0,0 +1,23 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Facet'li ürün listeleme sonucu - filtreye uyan ürünler (isme göre sıralı, sayfalı) ve nitelik başına değer sayımları
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetResponse {
+
+    private List<ProductResponse> items;
+    private int page;
+    private int size;
+    private int totalHits;
+    private Map<String, List<FacetCountResponse>> facets;
+}
@@ -0,0 +1,18 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Toplu içe aktarmada hatalı satır bilgisi
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportErrorResponse {
+
+    private Long line;      // Dosyadaki satır numarası (1'den başlar)
+    private String sku;
+    private String message;
+}
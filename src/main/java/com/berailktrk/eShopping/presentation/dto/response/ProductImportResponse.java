@@ -0,0 +1,25 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Toplu ürün içe aktarma sonucu - hatalı satırlar işlemi durdurmaz, ayrıca raporlanır
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResponse {
+
+    private String format;
+    private Long totalRows;
+    private Long importedRows;
+    private Long failedRows;
+    private Integer batchCount;
+    private List<ProductImportErrorResponse> errors;
+    private Boolean errorsTruncated;    // Hata listesi sınıra ulaştıysa true (failedRows tam sayıyı verir)
+    private Long durationMs;
+}
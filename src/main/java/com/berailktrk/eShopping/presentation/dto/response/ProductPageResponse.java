@@ -0,0 +1,21 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Keyset (cursor) sayfalı ürün listesi response DTO
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageResponse {
+
+    private List<ProductResponse> items;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;   // Sonraki sayfa için opak token (son sayfada null)
+}
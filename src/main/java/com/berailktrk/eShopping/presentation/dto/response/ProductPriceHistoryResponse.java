@@ -0,0 +1,26 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Ürün fiyat geçmişi - from anında geçerli fiyat ve (from, to] aralığındaki değişiklikler, eskiden yeniye
+//Tek an sorgusunda from = to ve prices tek kayıttır; from anında henüz kayıt yoksa ilk eleman aralıktaki ilk değişikliktir
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPriceHistoryResponse {
+
+    private UUID productId;
+    private String sku;
+    private Instant from;
+    private Instant to;
+    private List<PricePointResponse> prices;
+    private boolean truncated;
+}
@@ -0,0 +1,18 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Birlikte satın alınan ürün önerisi - sıra, aynı siparişte bulunduğu sipariş sayısı ve ürün bilgisi
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRecommendationResponse {
+
+    private int rank;
+    private long coPurchaseCount;
+    private ProductResponse product;
+}
@@ -0,0 +1,21 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Ürün arama sonucu - alaka düzeyine göre sıralı, sayfalı
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResponse {
+
+    private List<ProductResponse> items;
+    private int page;
+    private int size;
+    private int totalHits;
+}
@@ -0,0 +1,17 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Arama kutusu önerisi - popülerliğe göre sıralı
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionResponse {
+
+    private String sku;
+    private String name;
+}
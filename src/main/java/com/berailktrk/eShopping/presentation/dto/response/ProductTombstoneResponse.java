@@ -0,0 +1,21 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Delta senkronizasyonda pasif hale getirilmiş (silinmiş) ürün - istemci yerel kopyasını siler
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductTombstoneResponse {
+
+    private UUID id;
+    private String sku;
+    private Instant deletedAt;
+}
@@ -0,0 +1,23 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Ürün görüntülenme istatistiği (ADMIN)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductViewStatsResponse {
+
+    private UUID productId;
+    private String sku;
+    private String name;
+    private Long viewCount;         // Yazılmış + henüz yazılmamış görüntülenmeler
+    private Instant lastViewedAt;   // Flush aralığı hassasiyetinde
+}
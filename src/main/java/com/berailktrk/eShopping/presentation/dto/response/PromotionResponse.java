@@ -0,0 +1,38 @@
+package com.berailktrk.eShopping.presentation.dto.response;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+//Promosyon response DTO
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PromotionResponse {
+
+    private UUID id;
+    private String name;
+    private String code;
+    private String type;
+    private BigDecimal percentage;
+    private BigDecimal amount;
+    private Integer buyQuantity;
+    private Integer getQuantity;
+    private BigDecimal minSubtotal;
+    private List<String> skus;
+    private UUID categoryId;
+    private Instant startsAt;
+    private Instant endsAt;
+    private Boolean isActive;
+    private Instant createdAt;
+}
@@ -0,0 +1,100 @@
+package com.berailktrk.eShopping.presentation.support;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import com.berailktrk.eShopping.domain.model.VersionSummary;
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+
+//Conditional GET desteği - @Version kolonlarından türetilen weak ETag ile If-None-Match kontrolü
+//ETag eşleşirse body supplier hiç çağrılmaz: DTO oluşturulmaz, serialize edilmez, 304 döner
+@Component
+public class ConditionalGetSupport {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final CacheControl catalogCacheControl;
+    private final CacheControl privateCacheControl = CacheControl.noCache().cachePrivate();
+
+    public ConditionalGetSupport(@Value("${http.cache.catalog-max-age-seconds:0}") long catalogMaxAgeSeconds) {
+        //max-age=0 -> her istek doğrulanır (no-cache); ürün değişikliği hemen görünür, değişmediyse 304 döner
+        this.catalogCacheControl = catalogMaxAgeSeconds > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(catalogMaxAgeSeconds)).cachePublic().mustRevalidate()
+                : CacheControl.noCache().cachePublic();
+    }
+
+    //Public katalog okumaları (ürünler) - paylaşılan cache'ler saklayabilir
+    public CacheControl catalog() {
+        return catalogCacheControl;
+    }
+
+    //Kullanıcıya özel okumalar (sipariş, ödeme, stok) - sadece istemci cache'i, her seferinde doğrulanır
+    public CacheControl privateResource() {
+        return privateCacheControl;
+    }
+
+    //Weak ETag üret - parçalar kaynak tipi, sürüm, zaman damgası vb. (sıra önemli)
+    public String weakETag(Object... parts) {
+        long hash = FNV_OFFSET_BASIS;
+        for (Object part : parts) {
+            hash = mix(hash, part);
+        }
+        return toETag(hash);
+    }
+
+    //Sürüm özetinden weak ETag üret
+    public String weakETag(String resource, VersionSummary summary) {
+        return weakETag(resource, summary.getCount(), summary.getVersionSum(), summary.getLastModified());
+    }
+
+    //Ürün ETag'i - stok da yanıtın parçası olduğu için stok alanları dahil edilir
+    public String productETag(ProductResponse product) {
+        return weakETag("product", product.getId(), product.getVersion(), product.getUpdatedAt(),
+                product.getAvailableStock(), product.getReservedStock());
+    }
+
+    //If-None-Match eşleşirse 304, eşleşmezse body ile 200
+    //ETag header'ı her iki durumda da checkNotModified tarafından yazılır, ResponseEntity'ye tekrar eklenmez
+    public <T> ResponseEntity<T> respond(WebRequest request, String eTag, CacheControl cacheControl, Supplier<T> body) {
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(body.get());
+    }
+
+    //Tekil kaynak - kayıt yoksa (count = 0) ETag üretilmez, body supplier normal hata akışını çalıştırır
+    public <T> ResponseEntity<T> respondIfFound(WebRequest request, String resource, VersionSummary version,
+                                                CacheControl cacheControl, Supplier<T> body) {
+        if (version.isEmpty()) {
+            return ResponseEntity.ok().cacheControl(cacheControl).body(body.get());
+        }
+        return respond(request, weakETag(resource, version), cacheControl, body);
+    }
+
+    //FNV-1a 64 bit - parçalar arasına ayraç karıştırılır ("ab","c" ile "a","bc" farklı hash verir)
+    private long mix(long hash, Object part) {
+        byte[] bytes = String.valueOf(part).getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            hash ^= (b & 0xff);
+            hash *= FNV_PRIME;
+        }
+        hash ^= 0x1f;
+        hash *= FNV_PRIME;
+        return hash;
+    }
+
+    private String toETag(long hash) {
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -0,0 +1,48 @@
+package com.berailktrk.eShopping.application.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixTrieTest {
+
+    @Test
+    void returnsBestRanksUnderPrefixIncludingMidEdgePrefixes() {
+        PrefixTrie trie = PrefixTrie.builder(3)
+                .add("kablosuz mouse", 2)
+                .add("kablosuz klavye", 0)
+                .add("kablo", 4)
+                .add("kamera", 1)
+                .build();
+
+        assertThat(trie.lookup("ka", 3)).containsExactly(0, 1, 2);
+        //"kablo" ortak kenarının ortasında biten önek
+        assertThat(trie.lookup("kab", 3)).containsExactly(0, 2, 4);
+        assertThat(trie.lookup("kablosuz m", 3)).containsExactly(2);
+        assertThat(trie.lookup("kam", 3)).containsExactly(1);
+        assertThat(trie.lookup("kz", 3)).isEmpty();
+        assertThat(trie.lookup("kablosuz mousepad", 3)).isEmpty();
+    }
+
+    @Test
+    void limitsToTopKAndListsRecordWithSeveralKeysOnce() {
+        PrefixTrie trie = PrefixTrie.builder(2)
+                .add("phone case", 0)
+                .add("case", 0)
+                .add("case cover", 1)
+                .add("cable", 2)
+                .build();
+
+        assertThat(trie.lookup("ca", 5)).containsExactly(0, 1);
+        assertThat(trie.lookup("ca", 1)).containsExactly(0);
+        assertThat(trie.lookup("", 5)).containsExactly(0, 1);
+    }
+
+    @Test
+    void emptyTrieReturnsNothing() {
+        PrefixTrie trie = PrefixTrie.builder(5).build();
+
+        assertThat(trie.lookup("a", 5)).isEmpty();
+        assertThat(trie.getNodeCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,80 @@
+package com.berailktrk.eShopping.application.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+
+class ProductRankingTest {
+
+    private record Counted(UUID productId, long count) {
+    }
+
+    @Test
+    void topKeepsLargestCountsInDescendingOrderWithIdTieBreak() {
+        UUID low = new UUID(0, 1);
+        UUID tieA = new UUID(0, 2);
+        UUID tieB = new UUID(0, 3);
+        UUID high = new UUID(0, 4);
+        Map<UUID, Long> counts = new HashMap<>(Map.of(low, 1L, tieA, 5L, tieB, 5L, high, 9L));
+        counts.put(new UUID(0, 5), 0L);
+        counts.put(new UUID(0, 6), -2L);
+
+        assertThat(ProductRanking.top(counts, 3, Counted::new)).containsExactly(
+                new Counted(high, 9), new Counted(tieA, 5), new Counted(tieB, 5));
+        assertThat(ProductRanking.top(counts, 10, Counted::new)).hasSize(4);
+        assertThat(ProductRanking.top(Map.of(), 3, Counted::new)).isEmpty();
+    }
+
+    @Test
+    void topMatchesFullSortOnLargeInput() {
+        Map<UUID, Long> counts = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            counts.put(UUID.randomUUID(), (long) (i % 97));
+        }
+
+        List<Counted> expected = counts.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<UUID, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(25)
+                .map(entry -> new Counted(entry.getKey(), entry.getValue()))
+                .toList();
+        assertThat(ProductRanking.top(counts, 25, Counted::new)).isEqualTo(expected);
+    }
+
+    @Test
+    void hydrateSkipsMissingAndInactiveProductsAndRenumbers() {
+        UUID missing = UUID.randomUUID();
+        UUID inactive = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        Map<UUID, ProductResponse> products = Map.of(
+                inactive, product(inactive, false),
+                first, product(first, true),
+                second, product(second, true),
+                third, product(third, true));
+        List<Counted> ranked = List.of(new Counted(missing, 10), new Counted(inactive, 9),
+                new Counted(first, 8), new Counted(second, 7), new Counted(third, 6));
+
+        List<String> hydrated = ProductRanking.hydrateActive(ranked, 2, Counted::productId, id -> {
+            ProductResponse product = products.get(id);
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found with ID: " + id);
+            }
+            return product;
+        }, (rank, counted, product) -> rank + ":" + product.getId() + ":" + counted.count());
+
+        assertThat(hydrated).containsExactly("1:" + first + ":8", "2:" + second + ":7");
+    }
+
+    private static ProductResponse product(UUID id, boolean active) {
+        return ProductResponse.builder().id(id).isActive(active).build();
+    }
+}
@@ -0,0 +1,137 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.application.event.OrderPlacedEvent;
+import com.berailktrk.eShopping.application.event.OrderVoidedEvent;
+import com.berailktrk.eShopping.application.usecase.BestSellerService.RankedProduct;
+import com.berailktrk.eShopping.application.usecase.BestSellerService.Window;
+import com.berailktrk.eShopping.domain.model.Order;
+import com.berailktrk.eShopping.domain.model.OrderItem;
+import com.berailktrk.eShopping.domain.model.OrderStatus;
+import com.berailktrk.eShopping.domain.model.Product;
+import com.berailktrk.eShopping.domain.repository.ProductSalesHourlyRepository;
+import com.berailktrk.eShopping.domain.repository.ProductSalesStatsRepository;
+
+class BestSellerServiceTest {
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private BestSellerService bestSellerService;
+
+    private final UUID phone = UUID.randomUUID();
+    private final UUID charger = UUID.randomUUID();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        bestSellerService = new BestSellerService(mock(ProductSalesStatsRepository.class),
+                mock(ProductSalesHourlyRepository.class), jdbcTemplate, transactionTemplate,
+                mock(ProductService.class), 10);
+    }
+
+    @Test
+    void cancelledAndFailedOrdersAreSubtractedFromEveryWindow() {
+        Order paid = order(OrderStatus.PENDING, Instant.now());
+        Order cancelled = order(OrderStatus.PENDING, Instant.now());
+        Order failed = order(OrderStatus.PENDING, Instant.now().minus(Duration.ofDays(2)));
+        List<OrderItem> paidItems = items(paid, Map.of(phone, 1, charger, 2));
+        List<OrderItem> cancelledItems = items(cancelled, Map.of(phone, 5));
+        List<OrderItem> failedItems = items(failed, Map.of(charger, 4));
+
+        bestSellerService.onOrderPlaced(OrderPlacedEvent.of(paid, UUID.randomUUID(), paidItems));
+        bestSellerService.onOrderPlaced(OrderPlacedEvent.of(cancelled, UUID.randomUUID(), cancelledItems));
+        bestSellerService.onOrderPlaced(OrderPlacedEvent.of(failed, UUID.randomUUID(), failedItems));
+        assertThat(bestSellerService.getTopSellers(Window.ALL_TIME))
+                .containsExactlyInAnyOrder(new RankedProduct(charger, 6), new RankedProduct(phone, 6));
+
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        bestSellerService.onOrderVoided(OrderVoidedEvent.of(cancelled, cancelledItems));
+        failed.setStatus(OrderStatus.FAILED);
+        bestSellerService.onOrderVoided(OrderVoidedEvent.of(failed, failedItems));
+
+        for (Window window : Window.values()) {
+            assertThat(bestSellerService.getTopSellers(window))
+                    .as(window.name())
+                    .containsExactly(new RankedProduct(charger, 2), new RankedProduct(phone, 1));
+        }
+    }
+
+    @Test
+    void voidingTheOnlyOrderRemovesTheProductFromTheRanking() {
+        Order order = order(OrderStatus.PENDING, Instant.now());
+        List<OrderItem> orderItems = items(order, Map.of(phone, 3));
+        bestSellerService.onOrderPlaced(OrderPlacedEvent.of(order, UUID.randomUUID(), orderItems));
+
+        order.setStatus(OrderStatus.CANCELLED);
+        bestSellerService.onOrderVoided(OrderVoidedEvent.of(order, orderItems));
+        //Tekrar gelen event sayacı negatife düşürmez
+        bestSellerService.onOrderVoided(OrderVoidedEvent.of(order, orderItems));
+
+        for (Window window : Window.values()) {
+            assertThat(bestSellerService.getTopSellers(window)).as(window.name()).isEmpty();
+        }
+    }
+
+    @Test
+    void flushWritesNetDeltas() {
+        Order kept = order(OrderStatus.PENDING, Instant.now());
+        Order cancelled = order(OrderStatus.PENDING, Instant.now());
+        List<OrderItem> keptItems = items(kept, Map.of(phone, 2));
+        List<OrderItem> cancelledItems = items(cancelled, Map.of(phone, 3));
+        bestSellerService.onOrderPlaced(OrderPlacedEvent.of(kept, UUID.randomUUID(), keptItems));
+        bestSellerService.onOrderPlaced(OrderPlacedEvent.of(cancelled, UUID.randomUUID(), cancelledItems));
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        bestSellerService.onOrderVoided(OrderVoidedEvent.of(cancelled, cancelledItems));
+
+        bestSellerService.flush();
+
+        ArgumentCaptor<SqlParameterSource[]> totals = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO product_sales_stats"), totals.capture());
+        assertThat(Arrays.stream(totals.getValue())
+                .collect(Collectors.toMap(row -> row.getValue("productId"), row -> row.getValue("quantity"))))
+                .containsExactly(Map.entry(phone, 2L));
+    }
+
+    private static Order order(OrderStatus status, Instant createdAt) {
+        return Order.builder().id(UUID.randomUUID()).status(status).createdAt(createdAt).build();
+    }
+
+    private static List<OrderItem> items(Order order, Map<UUID, Integer> quantities) {
+        return quantities.entrySet().stream()
+                .map(entry -> OrderItem.builder()
+                        .order(order)
+                        .product(Product.builder().id(entry.getKey()).build())
+                        .qty(entry.getValue())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,128 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.berailktrk.eShopping.support.PostgresIntegrationTest;
+import com.berailktrk.eShopping.support.TestProducts;
+import com.berailktrk.eShopping.support.TestUsers;
+
+//Toplu sepete ekleme - hep ya da hiç, ledger kayıtları stokla birlikte yazılır, ters sıralı sepetler kilitlenmez
+class CartServiceBatchTest extends PostgresIntegrationTest {
+
+    private static final String CART_LINES_SQL =
+            "SELECT p.sku, ci.qty, r.quantity AS held FROM cart_items ci " +
+            "JOIN carts c ON c.id = ci.cart_id JOIN products p ON p.id = ci.product_id " +
+            "LEFT JOIN stock_reservations r ON r.cart_item_id = ci.id " +
+            "WHERE c.user_id = :userId ORDER BY p.sku";
+
+    @Autowired
+    private CartService cartService;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestProducts testProducts;
+    @Autowired
+    private TestUsers testUsers;
+
+    @Test
+    void addsAllLinesWithLedgerRows() {
+        String first = TestProducts.uniqueSku("BATCH-A");
+        String second = TestProducts.uniqueSku("BATCH-B");
+        testProducts.create(first, "10.00", 10);
+        testProducts.create(second, "20.00", 5);
+        UUID userId = testUsers.create();
+
+        cartService.addItemsToCart(userId, Map.of(second, 2, first, 3));
+        cartService.addItemsToCart(userId, Map.of(first, 1));
+
+        assertThat(cartLines(userId)).containsExactly(
+                List.of(first, 4, 4),
+                List.of(second, 2, 2));
+        assertThat(testProducts.inventory(first).getQuantity()).isEqualTo(6);
+        assertThat(testProducts.inventory(first).getReserved()).isEqualTo(4);
+        assertThat(testProducts.inventory(second).getQuantity()).isEqualTo(3);
+        assertThat(testProducts.inventory(second).getReserved()).isEqualTo(2);
+    }
+
+    @Test
+    void shortfallOnOneLineAddsNothing() {
+        String enough = TestProducts.uniqueSku("BATCH-A");
+        String scarce = TestProducts.uniqueSku("BATCH-B");
+        testProducts.create(enough, "10.00", 10);
+        testProducts.create(scarce, "20.00", 1);
+        UUID userId = testUsers.create();
+
+        assertThatThrownBy(() -> cartService.addItemsToCart(userId, Map.of(enough, 2, scarce, 3)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(scarce + "=2");
+
+        assertThat(cartLines(userId)).isEmpty();
+        assertThat(testProducts.inventory(enough).getQuantity()).isEqualTo(10);
+        assertThat(testProducts.inventory(enough).getReserved()).isZero();
+        assertThat(testProducts.inventory(scarce).getQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    void cartsAddingOverlappingSkusInOppositeOrderDoNotDeadlock() throws Exception {
+        String first = TestProducts.uniqueSku("BATCH-A");
+        String second = TestProducts.uniqueSku("BATCH-B");
+        //Havuzdan (10) az çağıran - bekleme satır kilitlerinde olur
+        int carts = 8;
+        int rounds = 10;
+        testProducts.create(first, "10.00", carts * rounds);
+        testProducts.create(second, "20.00", carts * rounds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(carts);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> callers = new ArrayList<>();
+            for (int c = 0; c < carts; c++) {
+                UUID userId = testUsers.create();
+                //Yarısı ters sırada verir; sıralama servisin işidir
+                Map<String, Integer> quantities = new LinkedHashMap<>();
+                quantities.put(c % 2 == 0 ? first : second, 1);
+                quantities.put(c % 2 == 0 ? second : first, 1);
+                callers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < rounds; i++) {
+                        cartService.addItemsToCart(userId, quantities);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> caller : callers) {
+                caller.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(testProducts.inventory(first).getQuantity()).isZero();
+        assertThat(testProducts.inventory(first).getReserved()).isEqualTo(carts * rounds);
+        assertThat(testProducts.inventory(second).getQuantity()).isZero();
+        assertThat(testProducts.inventory(second).getReserved()).isEqualTo(carts * rounds);
+    }
+
+    private List<List<Object>> cartLines(UUID userId) {
+        return jdbcTemplate.query(CART_LINES_SQL, new MapSqlParameterSource("userId", userId),
+                (rs, rowNum) -> List.of(rs.getString("sku"), rs.getInt("qty"), rs.getInt("held")));
+    }
+}
@@ -0,0 +1,115 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
+import com.berailktrk.eShopping.domain.repository.CategoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductCategoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.presentation.dto.request.CreateCategoryRequest;
+import com.berailktrk.eShopping.presentation.dto.request.UpdateCategoryRequest;
+import com.berailktrk.eShopping.presentation.dto.response.CategoryResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+import com.berailktrk.eShopping.support.PostgresIntegrationTest;
+import com.berailktrk.eShopping.support.TestProducts;
+
+//Kategori ağacı - alt ağaç taşıma ve ikinci bir node'un (ayrı CategoryService, event almaz) sürüm kontrolüyle güncellenmesi
+class CategoryServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductCategoryRepository productCategoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private AuditLogService auditLogService;
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    @Autowired
+    private TestProducts testProducts;
+
+    private CategoryService otherNode;
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        otherNode = new CategoryService(categoryRepository, productCategoryRepository, productRepository,
+                productService, auditLogService, auditLogRepository, event -> { });
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void movingSubtreeRewritesPathsAndProductMappings() {
+        CategoryResponse electronics = create(null, "electronics-" + suffix);
+        CategoryResponse phones = create(electronics.getId(), "phones");
+        CategoryResponse cases = create(phones.getId(), "cases");
+        CategoryResponse accessories = create(null, "accessories-" + suffix);
+        String sku = TestProducts.uniqueSku("CAT");
+        testProducts.create(sku, "10.00", 1);
+        categoryService.assignProducts(cases.getId(), List.of(sku), null);
+
+        categoryService.updateCategory(phones.getId(),
+                UpdateCategoryRequest.builder().parentId(accessories.getId()).build(), null);
+
+        CategoryResponse movedCases = categoryService.getCategory(cases.getId());
+        assertThat(movedCases.getPath()).isEqualTo("/accessories-" + suffix + "/phones/cases/");
+        assertThat(movedCases.getDepth()).isEqualTo(2);
+        assertThat(skus(categoryService, accessories.getId())).containsExactly(sku);
+        assertThat(skus(categoryService, electronics.getId())).isEmpty();
+    }
+
+    @Test
+    void otherNodeReloadsOnlyWhenTheCategoryTableChanged() {
+        CategoryResponse electronics = create(null, "electronics-" + suffix);
+        CategoryResponse phones = create(electronics.getId(), "phones");
+        CategoryResponse accessories = create(null, "accessories-" + suffix);
+        String sku = TestProducts.uniqueSku("CAT");
+        testProducts.create(sku, "10.00", 1);
+        categoryService.assignProducts(phones.getId(), List.of(sku), null);
+        otherNode.onApplicationReady();
+
+        //Değişiklik yoksa ağaç yeniden kurulmaz
+        List<CategoryResponse> loaded = otherNode.getTree();
+        otherNode.refreshTree();
+        assertThat(otherNode.getTree()).isSameAs(loaded);
+
+        categoryService.updateCategory(phones.getId(),
+                UpdateCategoryRequest.builder().parentId(accessories.getId()).build(), null);
+        assertThat(otherNode.getCategory(phones.getId()).getPath()).isEqualTo("/electronics-" + suffix + "/phones/");
+
+        otherNode.refreshTree();
+        assertThat(otherNode.getCategory(phones.getId()).getPath()).isEqualTo("/accessories-" + suffix + "/phones/");
+        assertThat(skus(otherNode, phones.getId())).containsExactly(sku);
+
+        //Silme de sürümü değiştirir
+        categoryService.deleteCategory(phones.getId(), null);
+        otherNode.refreshTree();
+        assertThat(otherNode.getCategory(accessories.getId()).getChildren()).isEmpty();
+    }
+
+    private CategoryResponse create(UUID parentId, String slug) {
+        return categoryService.createCategory(CreateCategoryRequest.builder()
+                .parentId(parentId)
+                .slug(slug)
+                .name(slug)
+                .build(), null);
+    }
+
+    private static List<String> skus(CategoryService service, UUID categoryId) {
+        return service.getCategoryProducts(categoryId, null, 20).getItems().stream()
+                .map(ProductResponse::getSku)
+                .toList();
+    }
+}
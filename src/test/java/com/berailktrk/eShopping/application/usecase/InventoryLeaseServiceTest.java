@@ -0,0 +1,308 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.domain.model.Inventory;
+import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
+import com.berailktrk.eShopping.domain.repository.CartItemRepository;
+import com.berailktrk.eShopping.domain.repository.CartRepository;
+import com.berailktrk.eShopping.domain.repository.InventoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.domain.repository.UserRepository;
+import com.berailktrk.eShopping.support.PostgresIntegrationTest;
+import com.berailktrk.eShopping.support.TestProducts;
+import com.berailktrk.eShopping.support.TestUsers;
+
+//Stok kiralama - aynı veritabanını paylaşan birden fazla node tek JVM'de kurulur (her biri kendi kira servisi, stok ve
+//sepet servisiyle). Heartbeat elle çağrılır, çökme node'u bırakıp kirasının süresini doldurarak taklit edilir.
+//Her senaryonun sonunda: satılan = başlangıç stoğu - quantity, reserved = sepet rezervasyonları, kira satırı kalmaz
+class InventoryLeaseServiceTest extends PostgresIntegrationTest {
+
+    private static final String EXPIRE_LEASE_SQL =
+            "UPDATE inventory_leases SET expires_at = now() - interval '1 second' WHERE node_id = :nodeId AND product_sku = :sku";
+
+    private static final String LEASES_SQL =
+            "SELECT node_id, remaining FROM inventory_leases WHERE product_sku = :sku ORDER BY node_id";
+
+    private static final String HELD_SQL =
+            "SELECT COALESCE(SUM(quantity), 0) FROM stock_reservations WHERE product_sku = :sku";
+
+    private static final int LEASE_SIZE = 10;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CartRepository cartRepository;
+    @Autowired
+    private CartItemRepository cartItemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AuditLogService auditLogService;
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private InventoryShardService inventoryShardService;
+    @Autowired
+    private PromotionService promotionService;
+    @Autowired
+    private StockReservationService stockReservationService;
+    @Autowired
+    private TestProducts testProducts;
+    @Autowired
+    private TestUsers testUsers;
+
+    @Test
+    void nodesSellingConcurrentlyNeverOversellAndStrandNothing() throws Exception {
+        int initial = 200;
+        int callersPerNode = 2;
+        int attemptsPerCaller = 40;
+        String sku = TestProducts.uniqueSku("LEASE");
+        testProducts.create(sku, "10.00", initial);
+        List<Node> nodes = List.of(node("node-a"), node("node-b"), node("node-c"));
+        enableLeasing(nodes, sku);
+
+        AtomicInteger sold = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(nodes.size() * callersPerNode);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> callers = new ArrayList<>();
+            for (Node node : nodes) {
+                for (int c = 0; c < callersPerNode; c++) {
+                    List<UUID> users = users(attemptsPerCaller);
+                    callers.add(executor.submit(() -> {
+                        start.await();
+                        for (UUID userId : users) {
+                            if (node.add(userId, sku)) {
+                                sold.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> caller : callers) {
+                caller.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(sold.get()).isLessThanOrEqualTo(initial);
+
+        //Satır düşük stok eşiğinin altına inince heartbeat kiraları erken iade eder, kalanlar herhangi bir node'dan satılır
+        int more;
+        do {
+            nodes.forEach(node -> node.leases().heartbeat());
+            more = sellOut(nodes.get(0), sku);
+            sold.addAndGet(more);
+        } while (more > 0);
+
+        assertThat(leases(sku)).isEmpty();
+        assertThat(sold.get()).isEqualTo(initial);
+        assertBalanced(sku, initial, initial);
+    }
+
+    @Test
+    void lastUnitsStayOnTheRowAndLowStockReturnsLeasesEarly() {
+        int initial = 25;
+        String sku = TestProducts.uniqueSku("LEASE");
+        testProducts.create(sku, "10.00", initial);
+        Node a = node("node-a");
+        Node b = node("node-b");
+        enableLeasing(List.of(a, b), sku);
+
+        //A bir blok kiralar; B'nin bloğu düşük stok eşiğini deleceği için B satırdan satar
+        assertThat(a.add(testUsers.create(), sku)).isTrue();
+        assertThat(b.add(testUsers.create(), sku)).isTrue();
+        assertThat(leases(sku)).containsExactly(List.of(a.nodeId(), LEASE_SIZE));
+        assertThat(testProducts.inventory(sku).getQuantity()).isEqualTo(initial - LEASE_SIZE - 1);
+
+        //B satırı bitirir; A'nın kirasındaki 9 birim B'ye görünmez
+        int soldByB = sellOut(b, sku);
+        assertThat(soldByB).isEqualTo(initial - LEASE_SIZE - 1);
+
+        //A'nın heartbeat'i stoğun eşiğin altında olduğunu görür ve kalanı iade eder
+        a.leases().heartbeat();
+        assertThat(leases(sku)).isEmpty();
+        assertThat(sellOut(b, sku)).isEqualTo(LEASE_SIZE - 1);
+        assertBalanced(sku, initial, initial);
+    }
+
+    @Test
+    void crashedNodeLeaseIsReclaimedExactly() {
+        int initial = 100;
+        String sku = TestProducts.uniqueSku("LEASE");
+        testProducts.create(sku, "10.00", initial);
+        Node crashed = node("node-a");
+        Node survivor = node("node-b");
+        enableLeasing(List.of(crashed, survivor), sku);
+
+        //Çöken node: 5 satış heartbeat ile yazılır, 3 satış yazılmadan çöker - kirada gerçekten boşta 2 birim kalır
+        sell(crashed, sku, 5);
+        crashed.leases().heartbeat();
+        sell(crashed, sku, 3);
+        //Ayakta kalan node'un da kendi kirasından yazılmamış satışları var
+        sell(survivor, sku, 4);
+
+        jdbcTemplate.update(EXPIRE_LEASE_SQL, new MapSqlParameterSource()
+                .addValue("nodeId", crashed.nodeId())
+                .addValue("sku", sku));
+        survivor.leases().heartbeat();
+
+        assertThat(leases(sku)).containsExactly(List.of(survivor.nodeId(), LEASE_SIZE - 4));
+        Inventory inventory = testProducts.inventory(sku);
+        assertThat(inventory.getQuantity()).isEqualTo(initial - 2 * LEASE_SIZE + 2);
+        assertThat(inventory.getReserved()).isEqualTo(12 + LEASE_SIZE - 4);
+
+        int rest = sellOut(survivor, sku);
+        survivor.leases().returnAll();
+        assertThat(12 + rest).isEqualTo(initial);
+        assertBalanced(sku, initial, initial);
+    }
+
+    @Test
+    void shutdownReturnsIdleUnitsAndSettlesInFlightReservations() throws Exception {
+        int initial = 50;
+        String sku = TestProducts.uniqueSku("LEASE");
+        testProducts.create(sku, "10.00", initial);
+        Node node = node("node-a");
+        enableLeasing(List.of(node), sku);
+        sell(node, sku, 2);
+
+        //Biri commit, biri rollback olacak iki rezervasyon kapanış sırasında açık
+        CountDownLatch served = new CountDownLatch(2);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> committed = executor.submit(() -> inFlight(node, sku, served, finish, false));
+            Future<?> rolledBack = executor.submit(() -> inFlight(node, sku, served, finish, true));
+            assertThat(served.await(30, TimeUnit.SECONDS)).isTrue();
+
+            node.leases().returnAll();
+            assertThat(leases(sku)).containsExactly(List.of(node.nodeId(), 2));
+            assertThat(testProducts.inventory(sku).getQuantity()).isEqualTo(initial - 4);
+
+            finish.countDown();
+            committed.get(30, TimeUnit.SECONDS);
+            rolledBack.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        //Geç biten rezervasyonlar hemen yazıldı: kira satırı silindi, rollback olan birim stoğa döndü
+        assertThat(leases(sku)).isEmpty();
+        assertBalanced(sku, initial, 3);
+    }
+
+    //Açık transaction'da kiradan bir birim sepete eklenir, finish beklenir, sonra commit ya da rollback
+    private Void inFlight(Node node, String sku, CountDownLatch served, CountDownLatch finish, boolean rollback) {
+        UUID userId = testUsers.create();
+        return transactionTemplate.execute(status -> {
+            node.cartService().addToCart(userId, sku, 1);
+            served.countDown();
+            try {
+                finish.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (rollback) {
+                status.setRollbackOnly();
+            }
+            return null;
+        });
+    }
+
+    private void sell(Node node, String sku, int units) {
+        for (int i = 0; i < units; i++) {
+            assertThat(node.add(testUsers.create(), sku)).isTrue();
+        }
+    }
+
+    //Node reddedene kadar sat - satılan adet
+    private int sellOut(Node node, String sku) {
+        int sold = 0;
+        while (node.add(testUsers.create(), sku)) {
+            sold++;
+        }
+        return sold;
+    }
+
+    private void assertBalanced(String sku, int initial, int sold) {
+        Inventory inventory = testProducts.inventory(sku);
+        int held = jdbcTemplate.queryForObject(HELD_SQL, new MapSqlParameterSource("sku", sku), Integer.class);
+        assertThat(inventory.getQuantity()).isEqualTo(initial - sold);
+        assertThat(inventory.getReserved()).isEqualTo(sold);
+        assertThat(held).isEqualTo(sold);
+    }
+
+    private void enableLeasing(List<Node> nodes, String sku) {
+        nodes.get(0).leases().enableLeasing(sku, LEASE_SIZE, null);
+        nodes.forEach(node -> node.leases().reloadLeaseSizes());
+    }
+
+    private List<UUID> users(int count) {
+        List<UUID> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(testUsers.create());
+        }
+        return users;
+    }
+
+    private List<List<Object>> leases(String sku) {
+        return jdbcTemplate.query(LEASES_SQL, new MapSqlParameterSource("sku", sku),
+                (rs, rowNum) -> List.of(rs.getString("node_id"), rs.getInt("remaining")));
+    }
+
+    private Node node(String name) {
+        String nodeId = name + "-" + UUID.randomUUID();
+        InventoryLeaseService leases = new InventoryLeaseService(inventoryRepository, auditLogService, auditLogRepository,
+                eventPublisher, jdbcTemplate, transactionTemplate, nodeId, 30, 1);
+        InventoryService inventoryService = new InventoryService(inventoryRepository, productRepository,
+                auditLogService, auditLogRepository, eventPublisher, jdbcTemplate, inventoryShardService,
+                leases, InventoryService.RESERVATION_MODE_LOCKING);
+        CartService cartService = new CartService(cartRepository, cartItemRepository, productRepository, userRepository,
+                inventoryService, auditLogService, auditLogRepository, promotionService, stockReservationService);
+        return new Node(nodeId, leases, cartService, transactionTemplate);
+    }
+
+    //Tek JVM'de bir uygulama node'u - kendi kira sayaçları, aynı veritabanı
+    private record Node(String nodeId, InventoryLeaseService leases, CartService cartService,
+            TransactionTemplate transactionTemplate) {
+
+        //Yeni müşterinin sepetine bir birim - stok yetmezse false (transaction geri alınır)
+        boolean add(UUID userId, String sku) {
+            try {
+                transactionTemplate.execute(status -> cartService.addToCart(userId, sku, 1));
+                return true;
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.domain.model.Inventory;
+import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
+import com.berailktrk.eShopping.domain.repository.InventoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.support.PostgresIntegrationTest;
+import com.berailktrk.eShopping.support.TestProducts;
+import com.berailktrk.eShopping.support.TestUsers;
+
+import lombok.extern.slf4j.Slf4j;
+
+//Tek SKU üzerinde 64 eşzamanlı çağıran - her iki rezervasyon modunda ve parçalı SKU'da stok korunur, fazla satış olmaz.
+//Süre ve saniyedeki rezervasyon sayısı loglanır; inventory.reservation.mode varsayılanı ve parçalama kazancı bu ölçüme göre değerlendirilir.
+//Havuz çağıran sayısı kadar açılır - bekleme havuzda değil satır kilidinde olsun
+@Slf4j
+@TestPropertySource(properties = {
+        "spring.datasource.hikari.maximum-pool-size=64",
+        "spring.datasource.hikari.connection-timeout=30000"
+})
+class InventoryReservationContentionTest extends PostgresIntegrationTest {
+
+    private static final int CALLERS = 64;
+    private static final int ATTEMPTS_PER_CALLER = 25;
+    private static final int INITIAL_STOCK = 1000;
+    private static final int SHARDS = 16;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private AuditLogService auditLogService;
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private InventoryShardService inventoryShardService;
+    @Autowired
+    private InventoryLeaseService inventoryLeaseService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private CartService cartService;
+    @Autowired
+    private TestProducts testProducts;
+    @Autowired
+    private TestUsers testUsers;
+
+    @ParameterizedTest
+    @ValueSource(strings = { InventoryService.RESERVATION_MODE_LOCKING, InventoryService.RESERVATION_MODE_CONDITIONAL })
+    void singleSkuUnderContentionNeverOversells(String mode) throws Exception {
+        String sku = TestProducts.uniqueSku("HOT");
+        testProducts.create(sku, "10.00", INITIAL_STOCK);
+
+        Measurement measurement = hammer(inventoryService(mode), sku);
+        measurement.log(mode);
+
+        //Yetersiz stok dışında ret yok (LOCKING'de version çakışması satır kilidi sayesinde oluşmaz)
+        assertThat(measurement.reserved()).isEqualTo(INITIAL_STOCK);
+        assertThat(measurement.rejected()).isEqualTo(measurement.attempts() - INITIAL_STOCK);
+        Inventory inventory = testProducts.inventory(sku);
+        assertThat(inventory.getQuantity()).isZero();
+        assertThat(inventory.getReserved()).isEqualTo(INITIAL_STOCK);
+    }
+
+    //Aynı yük tek satıra ve SHARDS parçaya bölünmüş SKU'ya - iki sonuç yan yana loglanır, parçalarda da fazla satış olmaz
+    @Test
+    void shardedSkuUnderContentionNeverOversells() throws Exception {
+        InventoryService inventoryService = inventoryService(InventoryService.RESERVATION_MODE_LOCKING);
+        String singleRow = TestProducts.uniqueSku("HOT");
+        String sharded = TestProducts.uniqueSku("HOT-SHARD");
+        testProducts.create(singleRow, "10.00", INITIAL_STOCK);
+        testProducts.create(sharded, "10.00", INITIAL_STOCK);
+        inventoryShardService.enableSharding(sharded, SHARDS, null, null);
+
+        Measurement single = hammer(inventoryService, singleRow);
+        Measurement parted = hammer(inventoryService, sharded);
+        single.log("single-row");
+        parted.log(SHARDS + " shards");
+        log.info("Sharded / single-row throughput: {}",
+                String.format("%.2f", (double) parted.perSecond() / single.perSecond()));
+
+        assertThat(parted.reserved()).isEqualTo(INITIAL_STOCK);
+        assertThat(parted.rejected()).isEqualTo(parted.attempts() - INITIAL_STOCK);
+        assertThat(inventoryShardService.getAvailableStock(sharded)).isZero();
+        assertThat(testProducts.inventory(sharded).getShardCount()).isEqualTo(SHARDS);
+
+        //Birleştirince tüm rezervasyon tek satırda
+        Inventory merged = inventoryShardService.mergeShards(sharded, null);
+        assertThat(merged.getQuantity()).isZero();
+        assertThat(merged.getReserved()).isEqualTo(INITIAL_STOCK);
+    }
+
+    //Sepet yolu: stok kontrolü aynı transaction'da kilitli okumadan önce yapılır. Stok her denemeye yeter - eski sürümlü
+    //Inventory kopyası yüzünden ObjectOptimisticLockingFailureException ya da version conflict reddi olmamalı
+    @Test
+    void cartAddsUnderContentionNeverFailOnStaleInventory() throws Exception {
+        int attempts = CALLERS * ATTEMPTS_PER_CALLER;
+        String sku = TestProducts.uniqueSku("HOT-CART");
+        testProducts.create(sku, "10.00", attempts);
+        List<List<UUID>> users = new ArrayList<>();
+        for (int c = 0; c < CALLERS; c++) {
+            List<UUID> callerUsers = new ArrayList<>();
+            for (int i = 0; i < ATTEMPTS_PER_CALLER; i++) {
+                callerUsers.add(testUsers.create());
+            }
+            users.add(callerUsers);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> callers = new ArrayList<>();
+            for (List<UUID> callerUsers : users) {
+                callers.add(executor.submit(() -> {
+                    start.await();
+                    for (UUID userId : callerUsers) {
+                        cartService.addToCart(userId, sku, 1);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> caller : callers) {
+                caller.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Inventory inventory = testProducts.inventory(sku);
+        assertThat(inventory.getQuantity()).isZero();
+        assertThat(inventory.getReserved()).isEqualTo(attempts);
+    }
+
+    private InventoryService inventoryService(String mode) {
+        return new InventoryService(inventoryRepository, productRepository,
+                auditLogService, auditLogRepository, eventPublisher, jdbcTemplate, inventoryShardService,
+                inventoryLeaseService, mode);
+    }
+
+    //CALLERS çağıran aynı anda başlar, her biri ATTEMPTS_PER_CALLER kez 1 adet rezerve eder
+    private Measurement hammer(InventoryService inventoryService, String sku) throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        long elapsedNanos;
+        try {
+            List<Future<?>> callers = new ArrayList<>();
+            for (int c = 0; c < CALLERS; c++) {
+                callers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_CALLER; i++) {
+                        Boolean ok = transactionTemplate.execute(status -> inventoryService.reserveStock(sku, 1, null));
+                        (Boolean.TRUE.equals(ok) ? reserved : rejected).incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> caller : callers) {
+                caller.get(120, TimeUnit.SECONDS);
+            }
+            elapsedNanos = System.nanoTime() - startNanos;
+        } finally {
+            executor.shutdownNow();
+        }
+        return new Measurement(CALLERS * ATTEMPTS_PER_CALLER, reserved.get(), rejected.get(), elapsedNanos);
+    }
+
+    private record Measurement(int attempts, int reserved, int rejected, long elapsedNanos) {
+
+        long perSecond() {
+            return attempts * 1_000_000_000L / elapsedNanos;
+        }
+
+        void log(String label) {
+            log.info("Reservation contention - {}, callers: {}, attempts: {}, "
+                    + "reserved: {}, rejected: {}, {} ms, {} reservations/s", label, CALLERS, attempts, reserved,
+                    rejected, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), perSecond());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.application.usecase.InventoryShardService.ShardOperation;
+import com.berailktrk.eShopping.application.usecase.InventoryShardService.ShardOutcome;
+import com.berailktrk.eShopping.application.usecase.InventoryShardService.ShardResult;
+import com.berailktrk.eShopping.domain.model.Inventory;
+import com.berailktrk.eShopping.support.PostgresIntegrationTest;
+import com.berailktrk.eShopping.support.TestProducts;
+
+//Parçalı stok - bölme, rezerve/onay/bırakma, geri alma, eşitleme ve birleştirme boyunca
+//quantity + reserved + satılan toplamı başlangıç stoğuna eşit kalır
+class InventoryShardServiceTest extends PostgresIntegrationTest {
+
+    private static final String SHARD_TOTALS_SQL =
+            "SELECT COUNT(*) AS shards, COALESCE(SUM(quantity), 0) AS quantity, COALESCE(SUM(reserved), 0) AS reserved, " +
+            "COALESCE(MAX(quantity) - MIN(quantity), 0) AS spread FROM inventory_shards WHERE product_sku = :sku";
+
+    //Toplamı koruyarak bir parçayı boşalt (kampanyada rastgele parça seçiminin bıraktığı dengesizlik)
+    private static final String SKEW_SHARDS_SQL =
+            "UPDATE inventory_shards s SET quantity = CASE WHEN s.shard = 0 THEN 0 " +
+            "WHEN s.shard = 1 THEN s.quantity + z.quantity ELSE s.quantity END " +
+            "FROM (SELECT quantity FROM inventory_shards WHERE product_sku = :sku AND shard = 0) z " +
+            "WHERE s.product_sku = :sku";
+
+    private static final String EXPIRE_CAMPAIGN_SQL =
+            "UPDATE inventory SET sharded_until = now() - interval '1 second' WHERE product_sku = :sku";
+
+    private static final int SHARDS = 4;
+
+    @Autowired
+    private InventoryShardService inventoryShardService;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TestProducts testProducts;
+
+    @Test
+    void stockIsConservedAcrossReserveUndoRebalanceAndMerge() {
+        String sku = TestProducts.uniqueSku("SHARD");
+        testProducts.create(sku, "10.00", 100);
+        assertThat(inventoryService.reserveStock(sku, 10, null)).isTrue();
+
+        inventoryShardService.enableSharding(sku, SHARDS, null, null);
+        assertThat(totals(sku)).isEqualTo(new ShardTotals(SHARDS, 90, 10, 1));
+
+        assertThat(apply(ShardOperation.RESERVE, sku, 30).outcome()).isEqualTo(ShardOutcome.APPLIED);
+        assertThat(totals(sku)).extracting(ShardTotals::quantity, ShardTotals::reserved).containsExactly(60, 40);
+
+        //Aynı transaction'da geri alınan rezervasyon parçalarda iz bırakmaz
+        transactionTemplate.executeWithoutResult(status -> {
+            ShardResult result = inventoryShardService.apply(ShardOperation.RESERVE, sku, 25, SHARDS, false);
+            assertThat(result.applied()).isEqualTo(25);
+            inventoryShardService.undo(ShardOperation.RESERVE, result);
+        });
+        assertThat(totals(sku)).extracting(ShardTotals::quantity, ShardTotals::reserved).containsExactly(60, 40);
+
+        ShardResult insufficient = apply(ShardOperation.RESERVE, sku, 61);
+        assertThat(insufficient.outcome()).isEqualTo(ShardOutcome.INSUFFICIENT);
+        assertThat(insufficient.available()).isEqualTo(60);
+        assertThat(totals(sku)).extracting(ShardTotals::quantity, ShardTotals::reserved).containsExactly(60, 40);
+
+        //15 satıldı, 5 sepete geri döndü
+        assertThat(apply(ShardOperation.CONFIRM, sku, 15).applied()).isEqualTo(15);
+        assertThat(apply(ShardOperation.RELEASE, sku, 5).applied()).isEqualTo(5);
+        assertThat(totals(sku)).extracting(ShardTotals::quantity, ShardTotals::reserved).containsExactly(65, 20);
+
+        jdbcTemplate.update(SKEW_SHARDS_SQL, new MapSqlParameterSource("sku", sku));
+        assertThat(totals(sku).spread()).isGreaterThan(1);
+        inventoryShardService.rebalance(sku);
+        assertThat(totals(sku)).isEqualTo(new ShardTotals(SHARDS, 65, 20, 1));
+
+        Inventory merged = inventoryShardService.mergeShards(sku, null);
+        assertThat(merged.getQuantity()).isEqualTo(65);
+        assertThat(merged.getReserved()).isEqualTo(20);
+        assertThat(merged.getShardCount()).isNull();
+        assertThat(totals(sku).shards()).isZero();
+        assertThat(inventoryShardService.shardCountHint(sku)).isNull();
+
+        //Birleştirmeden sonra tek satır yolu
+        assertThat(inventoryService.reserveStock(sku, 65, null)).isTrue();
+        assertThat(testProducts.inventory(sku).getReserved()).isEqualTo(85);
+    }
+
+    @Test
+    void reserveThenConfirmInOneTransactionDoesNotDeadlock() throws Exception {
+        String sku = TestProducts.uniqueSku("SHARD");
+        int callers = 8;
+        int rounds = 25;
+        int perRound = 3;
+        testProducts.create(sku, "10.00", 2000);
+        //Diğer sepetlerin rezervasyonları - onay her parçada eşleşir, başkasının kilitlediği parçayı da bekleyebilir
+        assertThat(inventoryService.reserveStock(sku, 400, null)).isTrue();
+        inventoryShardService.enableSharding(sku, SHARDS, null, null);
+
+        //Checkout gibi: aynı transaction'da yeniden rezerve, sonra aynı SKU'yu onayla
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int c = 0; c < callers; c++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int r = 0; r < rounds; r++) {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            assertThat(inventoryShardService.apply(ShardOperation.RESERVE, sku, perRound, SHARDS, false)
+                                    .applied()).isEqualTo(perRound);
+                            assertThat(inventoryShardService.apply(ShardOperation.CONFIRM, sku, perRound, SHARDS, false)
+                                    .applied()).isEqualTo(perRound);
+                        });
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(totals(sku)).extracting(ShardTotals::quantity, ShardTotals::reserved)
+                .containsExactly(1600 - callers * rounds * perRound, 400);
+    }
+
+    @Test
+    void batchShortfallUndoesShardedLines() {
+        String sharded = TestProducts.uniqueSku("SHARD");
+        String scarce = TestProducts.uniqueSku("PLAIN");
+        testProducts.create(sharded, "10.00", 40);
+        testProducts.create(scarce, "10.00", 1);
+        inventoryShardService.enableSharding(sharded, SHARDS, null, null);
+
+        InventoryService.StockBatchResult result = inventoryService.reserveStockBatch(Map.of(sharded, 35, scarce, 2), null);
+
+        assertThat(result.applied()).isFalse();
+        assertThat(result.shortfalls()).containsOnlyKeys(scarce);
+        assertThat(totals(sharded)).isEqualTo(new ShardTotals(SHARDS, 40, 0, 0));
+        assertThat(testProducts.inventory(scarce).getQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    void maintenanceMergesExpiredCampaignsAndRefreshesSummary() {
+        String sku = TestProducts.uniqueSku("SHARD");
+        testProducts.create(sku, "10.00", 20);
+        inventoryShardService.enableSharding(sku, SHARDS, Instant.now().plusSeconds(60), null);
+        apply(ShardOperation.RESERVE, sku, 7);
+
+        jdbcTemplate.update(EXPIRE_CAMPAIGN_SQL, new MapSqlParameterSource("sku", sku));
+        inventoryShardService.maintain();
+
+        Inventory inventory = testProducts.inventory(sku);
+        assertThat(inventory.getShardCount()).isNull();
+        assertThat(inventory.getShardedUntil()).isNull();
+        assertThat(inventory.getQuantity()).isEqualTo(13);
+        assertThat(inventory.getReserved()).isEqualTo(7);
+        assertThat(totals(sku).shards()).isZero();
+    }
+
+    private ShardResult apply(ShardOperation operation, String sku, int quantity) {
+        return transactionTemplate.execute(status -> inventoryShardService.apply(operation, sku, quantity, SHARDS, false));
+    }
+
+    private ShardTotals totals(String sku) {
+        return jdbcTemplate.queryForObject(SHARD_TOTALS_SQL, new MapSqlParameterSource("sku", sku), (rs, rowNum) ->
+                new ShardTotals(rs.getInt("shards"), rs.getInt("quantity"), rs.getInt("reserved"), rs.getInt("spread")));
+    }
+
+    private record ShardTotals(int shards, int quantity, int reserved, int spread) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.berailktrk.eShopping.support.PostgresIntegrationTest;
+import com.berailktrk.eShopping.support.TestProducts;
+
+//Başka node'da yapılan (bu node'da event üretmeyen) ürün değişiklikleri sürüm kontrolüyle snapshot'a yansır
+class ProductCatalogSnapshotServiceTest extends PostgresIntegrationTest {
+
+    private static final String DEACTIVATE_SQL =
+            "UPDATE products SET is_active = false, version = version + 1, updated_at = now() WHERE sku = :sku";
+
+    @Autowired
+    private ProductCatalogSnapshotService snapshotService;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestProducts testProducts;
+
+    @Test
+    void versionCheckPicksUpChangesMadeElsewhere() {
+        String sku = TestProducts.uniqueSku("SNAPSHOT");
+        //Repository ile doğrudan yazılır - ProductChangedEvent yayınlanmaz
+        testProducts.create(sku, "10.00", 5);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            snapshotService.refreshIfChanged();
+            assertThat(catalogJson()).contains(sku);
+        });
+
+        jdbcTemplate.update(DEACTIVATE_SQL, new MapSqlParameterSource("sku", sku));
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            snapshotService.refreshIfChanged();
+            assertThat(catalogJson()).doesNotContain(sku);
+        });
+    }
+
+    private String catalogJson() {
+        return new String(snapshotService.getSnapshot().json(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,106 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.berailktrk.eShopping.application.support.KeysetCursor;
+import com.berailktrk.eShopping.presentation.dto.response.ProductChangesResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductTombstoneResponse;
+import com.berailktrk.eShopping.support.PostgresIntegrationTest;
+import com.berailktrk.eShopping.support.TestProducts;
+
+//Delta senkronizasyon - (updated_at, id) cursor'ı, tombstone'lar, ilk senkronizasyon ve safety window
+//Veritabanı testler arasında paylaşıldığı için ürünlerin updated_at'i geçmişte rastgele bir zamana çekilir
+class ProductChangesTest extends PostgresIntegrationTest {
+
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestProducts testProducts;
+
+    private final Instant base = Instant.parse("2000-01-01T00:00:00Z")
+            .plus(ThreadLocalRandom.current().nextInt(1, 3000), ChronoUnit.DAYS);
+
+    @Test
+    void pagesThroughChangesInCursorOrderWithTombstones() {
+        String first = create(base.plusSeconds(1), true);
+        String second = create(base.plusSeconds(2), true);
+        String deactivated = create(base.plusSeconds(3), false);
+
+        ProductChangesResponse page = productService.getChanges(new KeysetCursor(base, MIN_ID).encode(), 2);
+        assertThat(skus(page.getUpserts())).containsExactly(first, second);
+        assertThat(page.getTombstones()).isEmpty();
+        assertThat(page.isHasMore()).isTrue();
+
+        ProductChangesResponse next = productService.getChanges(page.getNextCursor(), 2);
+        assertThat(next.getTombstones()).extracting(ProductTombstoneResponse::getSku).contains(deactivated);
+        assertThat(skus(next.getUpserts())).doesNotContain(first, second);
+    }
+
+    @Test
+    void firstSyncReturnsOnlyActiveProducts() {
+        String active = create(base.plusSeconds(1), true);
+        String deactivated = create(base.plusSeconds(2), false);
+
+        ProductChangesResponse page = productService.getChanges(null, 1000);
+
+        assertThat(skus(page.getUpserts())).contains(active).doesNotContain(deactivated);
+        assertThat(page.getTombstones()).isEmpty();
+    }
+
+    @Test
+    void holdsBackChangesInsideTheSafetyWindow() {
+        Instant now = Instant.now();
+        String recent = create(now.minusSeconds(1), true);
+        String cursor = new KeysetCursor(now.minusSeconds(2), MIN_ID).encode();
+
+        ProductChangesResponse page = productService.getChanges(cursor, 1000);
+
+        assertThat(skus(page.getUpserts())).doesNotContain(recent);
+        if (page.getUpserts().isEmpty() && page.getTombstones().isEmpty()) {
+            //Değişiklik yoksa istemci aynı cursor ile devam eder
+            assertThat(page.getNextCursor()).isEqualTo(cursor);
+        }
+    }
+
+    @Test
+    void backfillsMissingUpdatedAtFromCreatedAt() {
+        String sku = TestProducts.uniqueSku("SYNC");
+        testProducts.create(sku, "10.00", 1);
+        jdbcTemplate.update("UPDATE products SET updated_at = NULL WHERE sku = :sku", Map.of("sku", sku));
+
+        productService.backfillMissingUpdatedAt();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT created_at, updated_at FROM products WHERE sku = :sku", Map.of("sku", sku));
+        assertThat(row.get("updated_at")).isEqualTo(row.get("created_at"));
+    }
+
+    private String create(Instant updatedAt, boolean active) {
+        String sku = TestProducts.uniqueSku("SYNC");
+        testProducts.create(sku, "10.00", 1);
+        jdbcTemplate.update("UPDATE products SET updated_at = :updatedAt, is_active = :active WHERE sku = :sku",
+                Map.of("updatedAt", Timestamp.from(updatedAt), "active", active, "sku", sku));
+        return sku;
+    }
+
+    private static List<String> skus(List<ProductResponse> products) {
+        return products.stream().map(ProductResponse::getSku).toList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.berailktrk.eShopping.application.mapper.ProductMapper;
+import com.berailktrk.eShopping.domain.model.ProductStockView;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.presentation.dto.response.FacetCountResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductFacetResponse;
+
+class ProductFacetServiceTest {
+
+    private ProductFacetService facetService;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findActiveStockViews()).thenReturn(List.of(
+                product("P-1", "50.00", Map.of("brand", "Acme", "size", "M")),
+                product("P-2", "100.00", Map.of("brand", "Acme", "size", List.of("S", "M"))),
+                product("P-3", "249.99", Map.of("brand", "Globex", "size", "XL")),
+                product("P-4", "250.00", Map.of("brand", "Globex", "size", "M"))));
+        facetService = new ProductFacetService(productRepository, new ProductMapper(),
+                List.of("brand", "size"), List.of(new BigDecimal("0"), new BigDecimal("100"), new BigDecimal("250")), 15);
+        facetService.buildIndex();
+    }
+
+    @Test
+    void priceBucketLabelUsedAsFilterReturnsBucketCount() {
+        List<FacetCountResponse> buckets = facetService.browse(Map.of(), null, 0, 10).getFacets().get(ProductFacetService.PRICE_FACET);
+        assertThat(buckets).extracting(FacetCountResponse::getValue).containsExactly("0..100", "100..250", "250..");
+
+        for (FacetCountResponse bucket : buckets) {
+            ProductFacetResponse filtered = facetService.browse(Map.of(), bucket.getValue(), 0, 10);
+            assertThat(filtered.getTotalHits()).as(bucket.getValue()).isEqualTo(bucket.getCount());
+        }
+    }
+
+    @Test
+    void attributeCountsExcludeOwnFilter() {
+        ProductFacetResponse response = facetService.browse(Map.of("size", List.of("m")), null, 0, 10);
+
+        assertThat(response.getTotalHits()).isEqualTo(3);
+        //size sayımları kendi filtresini içermez - diğer seçenekler görünmeye devam eder
+        assertThat(response.getFacets().get("size")).extracting(FacetCountResponse::getValue)
+                .containsExactly("M", "S", "XL");
+        assertThat(response.getFacets().get("brand")).extracting(FacetCountResponse::getCount).containsExactly(2, 1);
+    }
+
+    @Test
+    void rejectsUnknownAttributeAndEmptyPriceRange() {
+        assertThatThrownBy(() -> facetService.browse(Map.of("page", List.of("1")), null, 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> facetService.browse(Map.of(), "100..100", 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ProductStockView product(String sku, String price, Map<String, Object> metadata) {
+        Instant now = Instant.now();
+        return new ProductStockView(UUID.randomUUID(), sku, "Product " + sku, null, new BigDecimal(price), "TRY",
+                true, 1, now, now, metadata, 5, 0);
+    }
+}
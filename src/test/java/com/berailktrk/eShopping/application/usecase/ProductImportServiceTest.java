@@ -0,0 +1,92 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.application.usecase.ProductImportService.ImportFormat;
+import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
+import com.berailktrk.eShopping.presentation.dto.response.ProductImportErrorResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductImportResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.validation.Validation;
+
+//Satır ve parça hatalarının içe aktarmayı durdurmadığını doğrular - yazma transaction'ı taklit edilir
+class ProductImportServiceTest {
+
+    private TransactionTemplate transactionTemplate;
+    private ProductImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = mock(TransactionTemplate.class);
+        importService = new ProductImportService(
+                mock(NamedParameterJdbcTemplate.class),
+                transactionTemplate,
+                mock(AuditLogService.class),
+                mock(AuditLogRepository.class),
+                mock(ApplicationEventPublisher.class),
+                mock(ProductPriceHistoryService.class),
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                2,
+                100);
+    }
+
+    @Test
+    void nonObjectNdjsonRowsAreRowErrors() throws IOException {
+        when(transactionTemplate.execute(any())).thenReturn(List.of());
+
+        ProductImportResponse response = importService.importProducts(ndjson(
+                row("SKU-1"),
+                "null",
+                "[1, 2]",
+                "42",
+                "{not json",
+                row("SKU-2"),
+                row("SKU-3")), ImportFormat.NDJSON, null);
+
+        assertThat(response.getTotalRows()).isEqualTo(7);
+        assertThat(response.getImportedRows()).isEqualTo(3);
+        assertThat(response.getFailedRows()).isEqualTo(4);
+        assertThat(response.getErrors()).extracting(ProductImportErrorResponse::getLine).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(response.getErrors().get(0).getMessage()).isEqualTo("Row must be a JSON object");
+    }
+
+    @Test
+    void unexpectedBatchFailureOnlyFailsThatBatch() throws IOException {
+        when(transactionTemplate.execute(any()))
+                .thenThrow(new IllegalStateException("listener failed"))
+                .thenReturn(List.of());
+
+        ProductImportResponse response = importService.importProducts(ndjson(
+                row("SKU-1"), row("SKU-2"), row("SKU-3"), row("SKU-4"), row("SKU-5")), ImportFormat.NDJSON, null);
+
+        assertThat(response.getBatchCount()).isEqualTo(3);
+        assertThat(response.getImportedRows()).isEqualTo(3);
+        assertThat(response.getFailedRows()).isEqualTo(2);
+        assertThat(response.getErrors()).extracting(ProductImportErrorResponse::getSku).containsExactly("SKU-1", "SKU-2");
+        assertThat(response.getErrors().get(0).getMessage()).isEqualTo("Batch 1 failed: listener failed");
+    }
+
+    private static String row(String sku) {
+        return "{\"sku\":\"" + sku + "\",\"name\":\"Product " + sku + "\",\"price\":10.5}";
+    }
+
+    private static ByteArrayInputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
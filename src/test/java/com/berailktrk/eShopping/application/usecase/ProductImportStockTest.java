@@ -0,0 +1,62 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.berailktrk.eShopping.application.usecase.ProductImportService.ImportFormat;
+import com.berailktrk.eShopping.domain.model.Inventory;
+import com.berailktrk.eShopping.presentation.dto.response.ProductImportResponse;
+import com.berailktrk.eShopping.support.PostgresIntegrationTest;
+import com.berailktrk.eShopping.support.TestProducts;
+
+//İçe aktarılan stok eldeki miktardır - sepetlerde rezerve olanlar düşülerek satılabilir stok yazılır
+class ProductImportStockTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+    @Autowired
+    private InventoryService inventoryService;
+    @Autowired
+    private TestProducts testProducts;
+
+    @Test
+    void onHandStockKeepsReservedUnitsOutOfAvailableStock() throws IOException {
+        String sku = TestProducts.uniqueSku("IMPORT");
+        testProducts.create(sku, "10.00", 10);
+        assertThat(inventoryService.reserveStock(sku, 4, null)).isTrue();
+
+        ProductImportResponse response = importStock(sku, 12);
+
+        assertThat(response.getFailedRows()).isZero();
+        Inventory inventory = testProducts.inventory(sku);
+        assertThat(inventory.getQuantity()).isEqualTo(8);
+        assertThat(inventory.getReserved()).isEqualTo(4);
+    }
+
+    @Test
+    void onHandStockBelowReservedIsRejected() throws IOException {
+        String sku = TestProducts.uniqueSku("IMPORT");
+        testProducts.create(sku, "10.00", 10);
+        assertThat(inventoryService.reserveStock(sku, 4, null)).isTrue();
+
+        ProductImportResponse response = importStock(sku, 3);
+
+        assertThat(response.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessage()).contains("on-hand stock is below reserved stock"));
+        Inventory inventory = testProducts.inventory(sku);
+        assertThat(inventory.getQuantity()).isEqualTo(6);
+        assertThat(inventory.getReserved()).isEqualTo(4);
+    }
+
+    private ProductImportResponse importStock(String sku, int stock) throws IOException {
+        String row = "{\"sku\":\"" + sku + "\",\"name\":\"Product " + sku + "\",\"price\":10.0,\"initialStockQuantity\":" + stock + "}";
+        return productImportService.importProducts(
+                new ByteArrayInputStream(row.getBytes(StandardCharsets.UTF_8)), ImportFormat.NDJSON, null);
+    }
+}
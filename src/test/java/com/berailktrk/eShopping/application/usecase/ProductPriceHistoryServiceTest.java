@@ -0,0 +1,137 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.domain.repository.ProductPriceHistoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.presentation.dto.response.PricePointResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductPriceHistoryResponse;
+import com.berailktrk.eShopping.support.PostgresIntegrationTest;
+import com.berailktrk.eShopping.support.TestProducts;
+
+//Fiyat geçmişi - bir andaki fiyat, aralık sorgusu (başlangıçtaki fiyat + aralıktaki değişiklikler), kesme ve başlangıç kaydı
+class ProductPriceHistoryServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ProductPriceHistoryService priceHistoryService;
+    @Autowired
+    private ProductPriceHistoryRepository productPriceHistoryRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TestProducts testProducts;
+
+    private final Instant t1 = Instant.parse("2024-01-01T00:00:00Z");
+    private final Instant t2 = Instant.parse("2024-02-01T00:00:00Z");
+    private final Instant t3 = Instant.parse("2024-03-01T00:00:00Z");
+
+    private String sku;
+
+    @BeforeEach
+    void setUp() {
+        sku = TestProducts.uniqueSku("HIST");
+        UUID productId = testProducts.create(sku, "30.00", 1).getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            priceHistoryService.record(productId, new BigDecimal("10.00"), "TRY", t1,
+                    ProductPriceHistoryService.SOURCE_CREATED);
+            priceHistoryService.record(productId, new BigDecimal("20.00"), "TRY", t2,
+                    ProductPriceHistoryService.SOURCE_UPDATED);
+            priceHistoryService.record(productId, new BigDecimal("30.00"), "TRY", t3,
+                    ProductPriceHistoryService.SOURCE_BULK_UPDATE);
+        });
+    }
+
+    @Test
+    void returnsThePriceEffectiveAtAnInstant() {
+        assertThat(priceAt(t1)).isEqualByComparingTo("10.00");
+        assertThat(priceAt(t2.minusMillis(1))).isEqualByComparingTo("10.00");
+        assertThat(priceAt(t2)).isEqualByComparingTo("20.00");
+        assertThat(priceAt(Instant.now())).isEqualByComparingTo("30.00");
+        assertThatThrownBy(() -> priceAt(t1.minusSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("No price recorded");
+    }
+
+    @Test
+    void rangeStartsWithThePriceInEffectAndListsLaterChanges() {
+        ProductPriceHistoryResponse history = priceHistoryService.getPriceHistory(
+                sku, null, t1.plus(1, ChronoUnit.DAYS), t3);
+
+        assertThat(history.getPrices()).extracting(PricePointResponse::getSource).containsExactly(
+                ProductPriceHistoryService.SOURCE_CREATED,
+                ProductPriceHistoryService.SOURCE_UPDATED,
+                ProductPriceHistoryService.SOURCE_BULK_UPDATE);
+        assertThat(history.isTruncated()).isFalse();
+
+        ProductPriceHistoryResponse beforeFirst = priceHistoryService.getPriceHistory(
+                sku, null, t1.minus(1, ChronoUnit.DAYS), t2);
+        assertThat(beforeFirst.getPrices()).extracting(PricePointResponse::getValidFrom).containsExactly(t1, t2);
+    }
+
+    @Test
+    void truncatesLongRangesAtMaxPoints() {
+        ProductPriceHistoryService limited = new ProductPriceHistoryService(productPriceHistoryRepository,
+                productRepository, jdbcTemplate, transactionTemplate, 1);
+
+        ProductPriceHistoryResponse history = limited.getPriceHistory(sku, null, t1.minusSeconds(1), null);
+
+        assertThat(history.getPrices()).extracting(PricePointResponse::getValidFrom).containsExactly(t1);
+        assertThat(history.isTruncated()).isTrue();
+    }
+
+    @Test
+    void rejectsAmbiguousOrEmptyQueries() {
+        assertThatThrownBy(() -> priceHistoryService.getPriceHistory(sku, t1, t1, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> priceHistoryService.getPriceHistory(sku, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> priceHistoryService.getPriceHistory(sku, null, t3, t1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> priceHistoryService.getPriceHistory("NO-SUCH-SKU", t1, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void baselineIsRecordedOnceForProductsWithoutHistory() {
+        String legacy = TestProducts.uniqueSku("HIST");
+        UUID legacyId = testProducts.create(legacy, "42.50", 1).getId();
+        Instant updatedAt = Instant.parse("2023-06-01T12:00:00Z");
+        jdbcTemplate.update("UPDATE products SET updated_at = :updatedAt WHERE id = :id",
+                Map.of("updatedAt", Timestamp.from(updatedAt), "id", legacyId));
+
+        priceHistoryService.backfillBaseline();
+        priceHistoryService.backfillBaseline();
+
+        List<PricePointResponse> prices = priceHistoryService.getPriceHistory(legacy, null, updatedAt, null).getPrices();
+        assertThat(prices).singleElement().satisfies(point -> {
+            assertThat(point.getPrice()).isEqualByComparingTo("42.50");
+            assertThat(point.getValidFrom()).isEqualTo(updatedAt);
+            assertThat(point.getSource()).isEqualTo(ProductPriceHistoryService.SOURCE_BASELINE);
+        });
+        //Geçmişi olan ürüne başlangıç kaydı eklenmez
+        assertThat(priceHistoryService.getPriceHistory(sku, null, t1, null).getPrices()).hasSize(3);
+    }
+
+    private BigDecimal priceAt(Instant at) {
+        return priceHistoryService.getPriceHistory(sku, at, null, null).getPrices().get(0).getPrice();
+    }
+}
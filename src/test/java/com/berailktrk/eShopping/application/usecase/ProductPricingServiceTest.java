@@ -0,0 +1,159 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.domain.model.AuditLog;
+import com.berailktrk.eShopping.domain.model.Product;
+import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.presentation.dto.request.BulkPriceUpdateRequest;
+import com.berailktrk.eShopping.presentation.dto.request.PriceChangeRequest;
+import com.berailktrk.eShopping.presentation.dto.response.BulkPriceUpdateResponse;
+import com.berailktrk.eShopping.presentation.dto.response.PricePointResponse;
+import com.berailktrk.eShopping.support.PostgresIntegrationTest;
+import com.berailktrk.eShopping.support.TestProducts;
+
+//Toplu fiyat güncelleme - parçalara bölme, sayaçlar, version artışı, fiyat geçmişi ve parça başına audit log
+class ProductPricingServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private AuditLogService auditLogService;
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private ProductPriceHistoryService productPriceHistoryService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private TestProducts testProducts;
+
+    //Parça sınırlarını küçük veriyle sınamak için 2'lik parçalar
+    private ProductPricingService pricingService;
+
+    @BeforeEach
+    void setUp() {
+        pricingService = new ProductPricingService(jdbcTemplate, transactionTemplate, auditLogService,
+                auditLogRepository, eventPublisher, productPriceHistoryService, 2, 10);
+    }
+
+    @Test
+    void skuListIsAppliedInChunksAndReportsUnchangedAndMissingSkus() {
+        String first = TestProducts.uniqueSku("BULK");
+        String second = TestProducts.uniqueSku("BULK");
+        String third = TestProducts.uniqueSku("BULK");
+        String missing = TestProducts.uniqueSku("BULK");
+        Product firstProduct = testProducts.create(first, "100.00", 1);
+        testProducts.create(second, "50.00", 1);
+        testProducts.create(third, "20.00", 1);
+        Instant start = Instant.now();
+
+        BulkPriceUpdateResponse response = pricingService.updatePrices(BulkPriceUpdateRequest.builder()
+                .changes(List.of(
+                        change(first, "120.00"),
+                        change(second, "50.00"),
+                        change(missing, "10.00"),
+                        change(third, "25.50")))
+                .build(), null);
+
+        assertThat(response.getMode()).isEqualTo(ProductPricingService.MODE_SKU_LIST);
+        assertThat(response.getChunkCount()).isEqualTo(2);
+        assertThat(response.getMatchedCount()).isEqualTo(3);
+        assertThat(response.getUpdatedCount()).isEqualTo(2);
+        assertThat(response.getUnchangedCount()).isEqualTo(1);
+        assertThat(response.getFailedCount()).isZero();
+        assertThat(response.getMissingSkus()).containsExactly(missing);
+
+        assertThat(price(first)).isEqualByComparingTo("120.00");
+        assertThat(price(second)).isEqualByComparingTo("50.00");
+        assertThat(price(third)).isEqualByComparingTo("25.50");
+        //Açık JPA güncellemeleri optimistic lock hatası alsın diye version artar
+        assertThat(productRepository.findById(firstProduct.getId()).orElseThrow().getVersion())
+                .isEqualTo(firstProduct.getVersion() + 1);
+
+        List<PricePointResponse> history = productPriceHistoryService
+                .getPriceHistory(first, null, start, null).getPrices();
+        assertThat(history).singleElement().satisfies(point -> {
+            assertThat(point.getPrice()).isEqualByComparingTo("120.00");
+            assertThat(point.getSource()).isEqualTo(ProductPriceHistoryService.SOURCE_BULK_UPDATE);
+        });
+
+        //Değişiklik içeren her parça için tek audit log
+        List<AuditLog> logs = auditLogRepository.findByCreatedAtAfter(start).stream()
+                .filter(log -> AuditLogService.ACTION_PRODUCT_BULK_PRICE_UPDATED.equals(log.getActionType()))
+                .filter(log -> log.getDetails().toString().contains(first) || log.getDetails().toString().contains(third))
+                .toList();
+        assertThat(logs).hasSize(2);
+        assertThat(logs).extracting(log -> log.getDetails().get("updatedCount")).containsOnly(1);
+    }
+
+    @Test
+    void percentageWalksMatchingProductsAndRejectsPricesRoundingToZero() {
+        String prefix = TestProducts.uniqueSku("PCT") + "-";
+        testProducts.create(prefix + "A", "10.00", 1);
+        testProducts.create(prefix + "B", "19.99", 1);
+        testProducts.create(prefix + "C", "0.01", 1);
+        String outside = TestProducts.uniqueSku("PCT");
+        testProducts.create(outside, "10.00", 1);
+
+        BulkPriceUpdateResponse response = pricingService.updatePrices(BulkPriceUpdateRequest.builder()
+                .percentage(new BigDecimal("-60"))
+                .skuPrefix(prefix)
+                .build(), null);
+
+        assertThat(response.getMode()).isEqualTo(ProductPricingService.MODE_PERCENTAGE);
+        assertThat(response.getChunkCount()).isEqualTo(2);
+        assertThat(response.getUpdatedCount()).isEqualTo(2);
+        assertThat(response.getFailedCount()).isEqualTo(1);
+        assertThat(response.getErrors()).containsExactly(prefix + "C: new price would round to zero");
+        assertThat(price(prefix + "A")).isEqualByComparingTo("4.00");
+        assertThat(price(prefix + "B")).isEqualByComparingTo("8.00");
+        assertThat(price(prefix + "C")).isEqualByComparingTo("0.01");
+        assertThat(price(outside)).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void rejectsInvalidRequests() {
+        String sku = TestProducts.uniqueSku("BULK");
+
+        assertThatThrownBy(() -> pricingService.updatePrices(BulkPriceUpdateRequest.builder()
+                .changes(List.of(change(sku, "1.00"), change(sku, "2.00")))
+                .build(), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate SKU");
+        assertThatThrownBy(() -> pricingService.updatePrices(BulkPriceUpdateRequest.builder()
+                .changes(List.of(change(sku, "1.00")))
+                .percentage(BigDecimal.TEN)
+                .build(), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pricingService.updatePrices(new BulkPriceUpdateRequest(), null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private BigDecimal price(String sku) {
+        return jdbcTemplate.queryForObject("SELECT price FROM products WHERE sku = :sku", Map.of("sku", sku),
+                BigDecimal.class);
+    }
+
+    private static PriceChangeRequest change(String sku, String price) {
+        return PriceChangeRequest.builder().sku(sku).price(new BigDecimal(price)).build();
+    }
+}
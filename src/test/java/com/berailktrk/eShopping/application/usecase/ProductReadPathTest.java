@@ -0,0 +1,120 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.application.mapper.ProductMapper;
+import com.berailktrk.eShopping.domain.model.Inventory;
+import com.berailktrk.eShopping.domain.model.Product;
+import com.berailktrk.eShopping.domain.repository.InventoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+import com.berailktrk.eShopping.support.PostgresIntegrationTest;
+import com.berailktrk.eShopping.support.TestProducts;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+//Ürün okuma yolu ölçümü - eski yol (Product entity + ayrı inventory sorgusu) ile
+//tek sorguluk ürün + stok projeksiyonunun istek başına SQL, entity ve bellek tahsisi karşılaştırması
+@Slf4j
+class ProductReadPathTest extends PostgresIntegrationTest {
+
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 2000;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private InventoryRepository inventoryRepository;
+    @Autowired
+    private ProductMapper productMapper;
+    @Autowired
+    private TestProducts testProducts;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+    private String sku;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        sku = TestProducts.uniqueSku("READ");
+        testProducts.create(sku, "199.90", 25);
+    }
+
+    @Test
+    void projectionReadsProductAndStockInOneStatementWithoutEntities() {
+        Measurement entityPath = measure(this::readWithEntities);
+        Measurement projection = measure(this::readWithProjection);
+
+        log.info("Product read per request - entity path: {} statements, {} entities, {} bytes; "
+                        + "projection: {} statements, {} entities, {} bytes",
+                entityPath.statements(), entityPath.entities(), entityPath.allocatedBytes(),
+                projection.statements(), projection.entities(), projection.allocatedBytes());
+
+        assertThat(entityPath.statements()).isEqualTo(2);
+        assertThat(entityPath.entities()).isEqualTo(2);
+        assertThat(projection.statements()).isEqualTo(1);
+        assertThat(projection.entities()).isZero();
+        assertThat(projection.allocatedBytes()).isLessThan(entityPath.allocatedBytes());
+
+        ProductResponse fromEntities = readWithEntities();
+        ProductResponse fromProjection = readWithProjection();
+        assertThat(fromProjection).usingRecursiveComparison().isEqualTo(fromEntities);
+    }
+
+    //Değişiklik öncesi yol: ProductService.getProductBySku -> findBySku + findByProduct + toResponseWithStock
+    private ProductResponse readWithEntities() {
+        return readOnly.execute(status -> {
+            Product product = productRepository.findBySku(sku).orElseThrow();
+            Inventory inventory = inventoryRepository.findByProduct(product).orElseThrow();
+            return productMapper.toResponseWithStock(product, inventory.getQuantity(), inventory.getReserved());
+        });
+    }
+
+    //Şimdiki yol: products LEFT JOIN inventory -> ProductStockView
+    private ProductResponse readWithProjection() {
+        return readOnly.execute(status -> productRepository.findStockViewBySku(sku)
+                .map(productMapper::toResponse)
+                .orElseThrow());
+    }
+
+    //İstek başına ortalama (SQL sayısı, yüklenen entity, thread'in tahsis ettiği bayt)
+    private Measurement measure(Supplier<ProductResponse> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        statistics.clear();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            read.get();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Measurement(
+                statistics.getPrepareStatementCount() / ITERATIONS,
+                statistics.getEntityLoadCount() / ITERATIONS,
+                allocated / ITERATIONS);
+    }
+
+    private record Measurement(long statements, long entities, long allocatedBytes) {
+    }
+}
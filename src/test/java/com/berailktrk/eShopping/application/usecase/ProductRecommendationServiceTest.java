@@ -0,0 +1,96 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.berailktrk.eShopping.application.event.OrderPlacedEvent;
+import com.berailktrk.eShopping.application.usecase.ProductRecommendationService.RecommendedProduct;
+import com.berailktrk.eShopping.domain.model.Order;
+import com.berailktrk.eShopping.domain.model.OrderItem;
+import com.berailktrk.eShopping.domain.model.Product;
+import com.berailktrk.eShopping.presentation.dto.response.ProductRecommendationResponse;
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+
+class ProductRecommendationServiceTest {
+
+    private ProductService productService;
+    private ProductRecommendationService recommendationService;
+
+    private final UUID phone = UUID.randomUUID();
+    private final UUID phoneCase = UUID.randomUUID();
+    private final UUID charger = UUID.randomUUID();
+    private final UUID cable = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        recommendationService = new ProductRecommendationService(productService, null, 2, 3, 1);
+    }
+
+    @Test
+    void countsCoPurchasesAndKeepsTopK() {
+        place(phone, phoneCase, charger);
+        place(phone, phoneCase);
+        place(phone, cable);
+        place(phone);
+
+        //charger ve cable eşit - top-2'de ID sırasıyla biri kalır
+        List<RecommendedProduct> forPhone = recommendationService.getTopRecommendations(phone);
+        assertThat(forPhone).hasSize(2);
+        assertThat(forPhone.get(0)).isEqualTo(new RecommendedProduct(phoneCase, 2));
+        assertThat(forPhone.get(1).productId()).isIn(charger, cable);
+        assertThat(forPhone.get(1).coPurchaseCount()).isEqualTo(1);
+        assertThat(recommendationService.getTopRecommendations(phoneCase)).containsExactlyInAnyOrder(
+                new RecommendedProduct(phone, 2), new RecommendedProduct(charger, 1));
+        assertThat(recommendationService.getTopRecommendations(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void ignoresSingleItemAndOversizedBaskets() {
+        place(phone);
+        place(phone, phoneCase, charger, cable);
+
+        assertThat(recommendationService.getTopRecommendations(phone)).isEmpty();
+    }
+
+    @Test
+    void recommendationsSkipInactiveProducts() {
+        place(phone, phoneCase, charger);
+        place(phone, phoneCase);
+        when(productService.getProductBySku("PHONE")).thenReturn(product(phone, true));
+        when(productService.getProductById(any())).thenAnswer(invocation -> {
+            UUID id = invocation.getArgument(0);
+            return product(id, !id.equals(phoneCase));
+        });
+
+        List<ProductRecommendationResponse> recommendations = recommendationService.getRecommendations("PHONE", 2);
+
+        assertThat(recommendations).singleElement().satisfies(recommendation -> {
+            assertThat(recommendation.getRank()).isEqualTo(1);
+            assertThat(recommendation.getProduct().getId()).isEqualTo(charger);
+            assertThat(recommendation.getCoPurchaseCount()).isEqualTo(1);
+        });
+    }
+
+    private void place(UUID... productIds) {
+        Order order = Order.builder().id(UUID.randomUUID()).createdAt(Instant.now()).build();
+        List<OrderItem> items = Arrays.stream(productIds)
+                .map(id -> OrderItem.builder().order(order).product(Product.builder().id(id).build()).qty(1).build())
+                .toList();
+        recommendationService.onOrderPlaced(OrderPlacedEvent.of(order, UUID.randomUUID(), items));
+    }
+
+    private static ProductResponse product(UUID id, boolean active) {
+        return ProductResponse.builder().id(id).isActive(active).build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.berailktrk.eShopping.application.event.ProductChangedEvent;
+import com.berailktrk.eShopping.application.event.ProductChangedEvent.ChangeType;
+import com.berailktrk.eShopping.application.mapper.ProductMapper;
+import com.berailktrk.eShopping.domain.model.ProductStockView;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.presentation.dto.response.ProductResponse;
+
+class ProductSearchServiceTest {
+
+    private ProductRepository productRepository;
+    private ProductSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        searchService = new ProductSearchService(productRepository, new ProductMapper(), 15);
+    }
+
+    @Test
+    void changeDuringBuildIsAppliedAfterBuild() {
+        ProductStockView phone = product("PHN-1", "Galaxy Phone", "android phone");
+        ProductStockView laptop = product("LTP-1", "Thinkpad Laptop", "business laptop");
+
+        //Oluşturma veritabanından okurken bir ürün commit edilir - event bekleyenlere düşmeli
+        when(productRepository.findActiveStockViews()).thenAnswer(invocation -> {
+            searchService.onProductChanged(ProductChangedEvent.of(ChangeType.CREATED, laptop.getId(), laptop.getSku()));
+            return List.of(phone);
+        });
+        when(productRepository.findStockViewsByIdIn(anyCollection())).thenReturn(List.of(laptop));
+
+        searchService.buildIndex();
+
+        assertThat(searchService.getIndexedProductCount()).isEqualTo(2);
+        assertThat(skus(searchService.search("thinkpad", 0, 10).getItems())).containsExactly("LTP-1");
+    }
+
+    @Test
+    void singleCharacterTermsAreMatchedInMemoryAcrossAllFields() {
+        when(productRepository.findActiveStockViews()).thenReturn(List.of(
+                product("TV-X", "Television", "oled panel"),
+                product("TV-Q", "Television", "qled panel"),
+                product("RADIO", "Radio", "portable")));
+        searchService.buildIndex();
+
+        //Tek karakterlik terim diğer terimin adaylarını SKU ve açıklama içinde de süzer
+        assertThat(skus(searchService.search("television q", 0, 10).getItems())).containsExactly("TV-Q");
+        //Sadece tek karakterlik terimler - tüm indeks taranır, veritabanına gidilmez
+        assertThat(skus(searchService.search("x", 0, 10).getItems())).containsExactly("TV-X");
+        verify(productRepository, never()).searchByName(anyString());
+    }
+
+    @Test
+    void deactivatedProductIsRemovedFromIndex() {
+        ProductStockView phone = product("PHN-1", "Galaxy Phone", "android phone");
+        when(productRepository.findActiveStockViews()).thenReturn(List.of(phone));
+        searchService.buildIndex();
+
+        ProductStockView inactive = new ProductStockView(phone.getId(), phone.getSku(), phone.getName(),
+                phone.getDescription(), phone.getPrice(), "TRY", false, 2, phone.getCreatedAt(), Instant.now(),
+                Map.of(), 5, 0);
+        when(productRepository.findStockViewsByIdIn(anyCollection())).thenReturn(List.of(inactive));
+        searchService.onProductChanged(ProductChangedEvent.of(ChangeType.DEACTIVATED, phone.getId(), phone.getSku()));
+
+        assertThat(searchService.getIndexedProductCount()).isZero();
+        assertThat(searchService.search("galaxy", 0, 10).getTotalHits()).isZero();
+    }
+
+    @Test
+    void catchUpAppliesChangesMadeOnOtherNodesAndAdvancesCursor() {
+        ProductStockView phone = product("PHN-1", "Galaxy Phone", "android phone");
+        when(productRepository.findActiveStockViews()).thenReturn(List.of(phone));
+        searchService.buildIndex();
+
+        //Başka node'da: yeni ürün eklendi, telefon pasif yapıldı - bu node'a event gelmez
+        ProductStockView laptop = product("LTP-1", "Thinkpad Laptop", "business laptop");
+        ProductStockView inactive = new ProductStockView(phone.getId(), phone.getSku(), phone.getName(),
+                phone.getDescription(), phone.getPrice(), "TRY", false, 2, phone.getCreatedAt(), laptop.getUpdatedAt().plusMillis(1),
+                Map.of(), 5, 0);
+        when(productRepository.findChangesAfter(any(), any(), any(), any())).thenReturn(List.of(laptop, inactive));
+        searchService.catchUp();
+
+        assertThat(searchService.getIndexedProductCount()).isEqualTo(1);
+        assertThat(skus(searchService.search("thinkpad", 0, 10).getItems())).containsExactly("LTP-1");
+        assertThat(searchService.search("galaxy", 0, 10).getTotalHits()).isZero();
+
+        //Sonraki kontrol son uygulanan değişiklikten devam eder
+        when(productRepository.findChangesAfter(any(), any(), any(), any())).thenReturn(List.of());
+        searchService.catchUp();
+        verify(productRepository).findChangesAfter(eq(inactive.getUpdatedAt()), eq(inactive.getId()), any(), any());
+    }
+
+    private static ProductStockView product(String sku, String name, String description) {
+        Instant now = Instant.now();
+        return new ProductStockView(UUID.randomUUID(), sku, name, description, new BigDecimal("100.00"), "TRY",
+                true, 1, now, now, Map.of(), 5, 0);
+    }
+
+    private static List<String> skus(List<ProductResponse> items) {
+        return items.stream().map(ProductResponse::getSku).toList();
+    }
+}
@@ -0,0 +1,62 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.berailktrk.eShopping.application.mapper.ProductMapper;
+import com.berailktrk.eShopping.domain.model.ProductStockView;
+import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
+import com.berailktrk.eShopping.domain.repository.InventoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.infrastructure.datasource.DataSourceRouting;
+
+//Cache miss yüklemeleri primary'den okunur - yazma sonrası temizlenen kayıt gecikmeli replica'dan tekrar doldurulmaz
+class ProductServiceCacheLoadTest {
+
+    private ProductRepository productRepository;
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productService = new ProductService(productRepository, mock(InventoryRepository.class), new ProductMapper(),
+                mock(AuditLogService.class), mock(AuditLogRepository.class), new ProductCacheService(100, 60),
+                mock(ProductSearchService.class), mock(ProductPriceHistoryService.class),
+                mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void cacheLoadersReadFromPrimary() {
+        ProductStockView view = new ProductStockView(UUID.randomUUID(), "SKU-1", "Phone", null, new BigDecimal("10.00"),
+                "TRY", true, 1, Instant.now(), Instant.now(), Map.of(), 3, 0);
+        AtomicBoolean bySkuOnPrimary = new AtomicBoolean();
+        AtomicBoolean byIdOnPrimary = new AtomicBoolean();
+        when(productRepository.findStockViewBySku("SKU-1")).thenAnswer(invocation -> {
+            bySkuOnPrimary.set(DataSourceRouting.isPrimaryForced());
+            return Optional.of(view);
+        });
+        when(productRepository.findStockViewById(view.getId())).thenAnswer(invocation -> {
+            byIdOnPrimary.set(DataSourceRouting.isPrimaryForced());
+            return Optional.of(view);
+        });
+
+        assertThat(productService.getProductBySku("SKU-1").getAvailableStock()).isEqualTo(3);
+        assertThat(productService.getProductById(view.getId()).getSku()).isEqualTo("SKU-1");
+
+        assertThat(bySkuOnPrimary).isTrue();
+        assertThat(byIdOnPrimary).isTrue();
+        assertThat(DataSourceRouting.isPrimaryForced()).isFalse();
+    }
+}
@@ -0,0 +1,91 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.berailktrk.eShopping.application.event.ProductChangedEvent;
+import com.berailktrk.eShopping.application.event.ProductChangedEvent.ChangeType;
+import com.berailktrk.eShopping.domain.model.ProductSalesCount;
+import com.berailktrk.eShopping.domain.model.ProductStockView;
+import com.berailktrk.eShopping.domain.repository.OrderItemRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.presentation.dto.response.ProductSuggestionResponse;
+
+class ProductSuggestServiceTest {
+
+    private ProductRepository productRepository;
+    private OrderItemRepository orderItemRepository;
+    private ProductSuggestService suggestService;
+
+    private final ProductStockView mouse = product("MS-100", "Kablosuz Mouse");
+    private final ProductStockView keyboard = product("KB-200", "Kablosuz Klavye");
+    private final ProductStockView lamp = product("LMP-1", "Işıklı Masa Lambası");
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        orderItemRepository = mock(OrderItemRepository.class);
+        when(productRepository.findActiveStockViews()).thenReturn(List.of(mouse, keyboard, lamp));
+        when(orderItemRepository.sumQuantityByProduct(any())).thenReturn(List.of(
+                new ProductSalesCount(keyboard.getId(), 40L),
+                new ProductSalesCount(mouse.getId(), 10L)));
+        suggestService = new ProductSuggestService(productRepository, orderItemRepository, 5, 0);
+        suggestService.buildIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        suggestService.shutdown();
+    }
+
+    @Test
+    void suggestsByWordPrefixOrderedByPopularity() {
+        assertThat(skus(suggestService.suggest("kablo", 5))).containsExactly("KB-200", "MS-100");
+        assertThat(skus(suggestService.suggest("mou", 5))).containsExactly("MS-100");
+        assertThat(skus(suggestService.suggest("ms-1", 5))).containsExactly("MS-100");
+    }
+
+    @Test
+    void foldsTurkishCase() {
+        assertThat(skus(suggestService.suggest("IŞIK", 5))).containsExactly("LMP-1");
+        assertThat(skus(suggestService.suggest("lamba", 5))).containsExactly("LMP-1");
+    }
+
+    @Test
+    void appliesProductChangesAfterDebounce() {
+        ProductStockView renamed = new ProductStockView(mouse.getId(), mouse.getSku(), "Oyuncu Mouse", null,
+                mouse.getPrice(), "TRY", true, 2, mouse.getCreatedAt(), Instant.now(), Map.of(), 5, 0);
+        when(productRepository.findStockViewsByIdIn(anyCollection())).thenReturn(List.of(renamed));
+
+        suggestService.onProductChanged(ProductChangedEvent.of(ChangeType.UPDATED, mouse.getId(), mouse.getSku()));
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(skus(suggestService.suggest("oyun", 5))).containsExactly("MS-100"));
+        assertThat(skus(suggestService.suggest("kablo", 5))).containsExactly("KB-200");
+    }
+
+    private static ProductStockView product(String sku, String name) {
+        Instant now = Instant.now();
+        return new ProductStockView(UUID.randomUUID(), sku, name, null, new BigDecimal("10.00"), "TRY",
+                true, 1, now, now, Map.of(), 5, 0);
+    }
+
+    private static List<String> skus(List<ProductSuggestionResponse> suggestions) {
+        return suggestions.stream().map(ProductSuggestionResponse::getSku).toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.domain.repository.ProductStatsRepository;
+import com.berailktrk.eShopping.support.PostgresIntegrationTest;
+import com.berailktrk.eShopping.support.TestProducts;
+
+//Görüntülenme sayaçları - eşzamanlı sayma sırasında flush hiçbir artışı kaybetmez, başarısız flush sayıları geri ekler
+class ProductViewServiceTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final int VIEWS_PER_THREAD = 20_000;
+
+    @Autowired
+    private ProductViewService productViewService;
+    @Autowired
+    private ProductStatsRepository productStatsRepository;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TestProducts testProducts;
+
+    @Test
+    void concurrentViewsAndFlushesAreCountedExactlyOnce() throws Exception {
+        String sku = TestProducts.uniqueSku("VIEW");
+        UUID productId = testProducts.create(sku, "10.00", 1).getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean counting = new AtomicBoolean(true);
+        try {
+            List<Future<?>> viewers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                viewers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < VIEWS_PER_THREAD; i++) {
+                        productViewService.recordView(productId);
+                    }
+                    return null;
+                }));
+            }
+            //Sayma sürerken flush'lar sayacı sıfırlar
+            Thread flusher = new Thread(() -> {
+                while (counting.get()) {
+                    productViewService.flush();
+                }
+            });
+            flusher.start();
+            start.countDown();
+            for (Future<?> viewer : viewers) {
+                viewer.get(60, TimeUnit.SECONDS);
+            }
+            counting.set(false);
+            flusher.join();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long expected = (long) THREADS * VIEWS_PER_THREAD;
+        //Yazılmamış kısım okumada eklenir
+        assertThat(productViewService.getViewStats(sku).getViewCount()).isEqualTo(expected);
+        productViewService.flush();
+        assertThat(productStatsRepository.findById(productId).orElseThrow().getViewCount()).isEqualTo(expected);
+        assertThat(productViewService.getMostViewed(ProductViewService.MAX_MOST_VIEWED))
+                .anySatisfy(stats -> {
+                    assertThat(stats.getSku()).isEqualTo(sku);
+                    assertThat(stats.getViewCount()).isEqualTo(expected);
+                });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedFlushKeepsCountsForTheNextFlush() {
+        String sku = TestProducts.uniqueSku("VIEW");
+        UUID productId = testProducts.create(sku, "10.00", 1).getId();
+        TransactionTemplate failingOnce = mock(TransactionTemplate.class);
+        doThrow(new QueryTimeoutException("statement timeout"))
+                .doAnswer(invocation -> {
+                    transactionTemplate.executeWithoutResult(invocation.<Consumer<TransactionStatus>>getArgument(0));
+                    return null;
+                })
+                .when(failingOnce).executeWithoutResult(any());
+        ProductViewService viewService = new ProductViewService(productStatsRepository, productService,
+                jdbcTemplate, failingOnce);
+
+        viewService.recordView(productId);
+        viewService.recordView(productId);
+        viewService.flush();
+        assertThat(productStatsRepository.findById(productId)).isEmpty();
+        assertThat(viewService.getViewStats(sku).getViewCount()).isEqualTo(2);
+
+        viewService.recordView(productId);
+        viewService.flush();
+        assertThat(productStatsRepository.findById(productId).orElseThrow().getViewCount()).isEqualTo(3);
+        assertThat(viewService.getViewStats(sku).getViewCount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,146 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.berailktrk.eShopping.application.usecase.PromotionService.PricedCart;
+import com.berailktrk.eShopping.application.usecase.PromotionService.PricingLine;
+import com.berailktrk.eShopping.domain.model.Promotion;
+import com.berailktrk.eShopping.domain.model.PromotionType;
+import com.berailktrk.eShopping.domain.repository.AuditLogRepository;
+import com.berailktrk.eShopping.domain.repository.CategoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductCategoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+import com.berailktrk.eShopping.domain.repository.PromotionRepository;
+import com.berailktrk.eShopping.presentation.dto.response.AppliedDiscountResponse;
+
+class PromotionServiceTest {
+
+    private final List<Promotion> promotions = new ArrayList<>();
+    private PromotionService promotionService;
+
+    @BeforeEach
+    void setUp() {
+        PromotionRepository promotionRepository = mock(PromotionRepository.class);
+        when(promotionRepository.findLive(any())).thenReturn(promotions);
+        promotionService = new PromotionService(promotionRepository, mock(CategoryRepository.class),
+                mock(ProductCategoryRepository.class), mock(ProductRepository.class), mock(AuditLogService.class),
+                mock(AuditLogRepository.class), mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(promotionService, "minimumCharge", new BigDecimal("1.00"));
+    }
+
+    @Test
+    void stackedDiscountsCannotTakeTheCartBelowTheMinimumCharge() {
+        Promotion lineRule = promotion(PromotionType.PERCENTAGE, null, "60", List.of("SKU-1"));
+        Promotion cartRule = promotion(PromotionType.FIXED_AMOUNT, null, "100", null);
+        reload(lineRule, cartRule);
+
+        PricedCart cart = promotionService.priceCart(List.of(line("SKU-1", "100.00", 1)), null);
+
+        assertThat(cart.total()).isEqualByComparingTo("1.00");
+        assertThat(cart.discountAmount()).isEqualByComparingTo("99.00");
+        //Aşan kısım en son uygulanan sepet kuralından düşülür
+        assertThat(cart.discounts()).extracting(AppliedDiscountResponse::getPromotionId)
+                .containsExactly(lineRule.getId(), cartRule.getId());
+        assertThat(cart.discounts().get(1).getAmount()).isEqualByComparingTo("39.00");
+        assertThat(sum(cart.discounts())).isEqualByComparingTo(cart.discountAmount());
+    }
+
+    @Test
+    void discountThatWouldBeFullyClampedIsRemoved() {
+        Promotion lineRule = promotion(PromotionType.PERCENTAGE, null, "100", List.of("SKU-1"));
+        Promotion cartRule = promotion(PromotionType.FIXED_AMOUNT, null, "5", null);
+        reload(lineRule, cartRule);
+
+        PricedCart cart = promotionService.priceCart(List.of(line("SKU-1", "20.00", 1)), null);
+
+        assertThat(cart.total()).isEqualByComparingTo("1.00");
+        assertThat(cart.discounts()).singleElement().satisfies(discount -> {
+            assertThat(discount.getPromotionId()).isEqualTo(lineRule.getId());
+            assertThat(discount.getAmount()).isEqualByComparingTo("19.00");
+        });
+    }
+
+    @Test
+    void cartBelowTheMinimumChargeGetsNoDiscount() {
+        reload(promotion(PromotionType.PERCENTAGE, null, "50", null));
+
+        PricedCart cart = promotionService.priceCart(List.of(line("SKU-1", "0.80", 1)), null);
+
+        assertThat(cart.total()).isEqualByComparingTo("0.80");
+        assertThat(cart.discountAmount()).isEqualByComparingTo("0");
+        assertThat(cart.discounts()).isEmpty();
+    }
+
+    @Test
+    void couponBeatenByAutomaticPromotionIsDroppedInsteadOfRejected() {
+        reload(promotion(PromotionType.PERCENTAGE, "SAVE10", "10", null),
+                promotion(PromotionType.PERCENTAGE, null, "20", null));
+
+        PricedCart cart = promotionService.priceCart(List.of(line("SKU-1", "50.00", 2)), "save10");
+
+        assertThat(cart.total()).isEqualByComparingTo("80.00");
+        assertThat(cart.couponCode()).isNull();
+        assertThat(cart.droppedCouponCode()).isEqualTo("SAVE10");
+    }
+
+    @Test
+    void bestCouponIsApplied() {
+        reload(promotion(PromotionType.PERCENTAGE, "SAVE30", "30", null),
+                promotion(PromotionType.PERCENTAGE, null, "20", null));
+
+        PricedCart cart = promotionService.priceCart(List.of(line("SKU-1", "50.00", 2)), " save30 ");
+
+        assertThat(cart.total()).isEqualByComparingTo("70.00");
+        assertThat(cart.couponCode()).isEqualTo("SAVE30");
+        assertThat(cart.droppedCouponCode()).isNull();
+    }
+
+    @Test
+    void unknownCouponIsStillRejected() {
+        reload(promotion(PromotionType.PERCENTAGE, null, "20", null));
+
+        assertThatThrownBy(() -> promotionService.priceCart(List.of(line("SKU-1", "50.00", 1)), "NOPE"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid or expired coupon code");
+    }
+
+    private void reload(Promotion... rules) {
+        promotions.clear();
+        promotions.addAll(List.of(rules));
+        promotionService.refreshIndex();
+    }
+
+    private static Promotion promotion(PromotionType type, String code, String value, List<String> skus) {
+        return Promotion.builder()
+                .id(UUID.randomUUID())
+                .name(type + " " + value)
+                .code(code)
+                .type(type)
+                .percentage(type == PromotionType.PERCENTAGE ? new BigDecimal(value) : null)
+                .amount(type == PromotionType.FIXED_AMOUNT ? new BigDecimal(value) : null)
+                .skus(skus)
+                .build();
+    }
+
+    private static PricingLine line(String sku, String unitPrice, int quantity) {
+        return new PricingLine(sku, new BigDecimal(unitPrice), quantity);
+    }
+
+    private static BigDecimal sum(List<AppliedDiscountResponse> discounts) {
+        return discounts.stream().map(AppliedDiscountResponse::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
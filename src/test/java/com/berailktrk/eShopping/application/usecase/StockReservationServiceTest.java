@@ -0,0 +1,223 @@
+package com.berailktrk.eShopping.application.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.domain.model.Inventory;
+import com.berailktrk.eShopping.domain.repository.CartItemRepository;
+import com.berailktrk.eShopping.support.PostgresIntegrationTest;
+import com.berailktrk.eShopping.support.TestProducts;
+import com.berailktrk.eShopping.support.TestUsers;
+
+//Rezervasyon ledger'ı - sepet değişiklikleri süreyi yeniler, sweeper sadece stoğu bırakır (kalem sepette kalır),
+//checkout bırakılan miktarı yeniden rezerve eder; sweeper ve checkout yarışında stok korunur
+class StockReservationServiceTest extends PostgresIntegrationTest {
+
+    private static final String EXPIRE_CART_SQL =
+            "UPDATE stock_reservations SET expires_at = :at " +
+            "WHERE cart_id = (SELECT id FROM carts WHERE user_id = :userId)";
+
+    private static final String HELD_SQL =
+            "SELECT p.sku, r.quantity, r.expires_at FROM stock_reservations r " +
+            "JOIN products p ON p.id = r.product_id JOIN carts c ON c.id = r.cart_id " +
+            "WHERE c.user_id = :userId ORDER BY p.sku";
+
+    @Autowired
+    private CartService cartService;
+    @Autowired
+    private StockReservationService stockReservationService;
+    @Autowired
+    private CartItemRepository cartItemRepository;
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private TestProducts testProducts;
+    @Autowired
+    private TestUsers testUsers;
+
+    @Test
+    void reducingOrRemovingLinesRefreshesTheWholeCart() {
+        String kept = TestProducts.uniqueSku("TTL-A");
+        String removed = TestProducts.uniqueSku("TTL-B");
+        testProducts.create(kept, "10.00", 10);
+        testProducts.create(removed, "10.00", 10);
+        UUID userId = testUsers.create();
+        cartService.addToCart(userId, kept, 3);
+        cartService.addToCart(userId, removed, 2);
+
+        Instant soon = Instant.now().plus(Duration.ofMinutes(1));
+        expireCart(userId, soon);
+        cartService.removeFromCart(userId, kept, 1);
+        assertThat(held(userId)).hasSize(2)
+                .allSatisfy(row -> assertThat(row.expiresAt()).isAfter(soon.plus(Duration.ofMinutes(30))));
+
+        expireCart(userId, soon);
+        cartService.removeFromCart(userId, removed, null);
+        assertThat(held(userId)).singleElement().satisfies(row -> {
+            assertThat(row.sku()).isEqualTo(kept);
+            assertThat(row.quantity()).isEqualTo(2);
+            assertThat(row.expiresAt()).isAfter(soon.plus(Duration.ofMinutes(30)));
+        });
+        assertThat(testProducts.inventory(removed).getReserved()).isZero();
+    }
+
+    @Test
+    void sweepKeepsCartItemsAndCheckoutReservesTheirStockAgain() {
+        String sku = TestProducts.uniqueSku("SWEEP");
+        testProducts.create(sku, "10.00", 10);
+        UUID userId = testUsers.create();
+        cartService.addToCart(userId, sku, 3);
+
+        expireCart(userId, Instant.now().minusSeconds(1));
+        stockReservationService.sweepExpired();
+
+        assertThat(held(userId)).isEmpty();
+        assertThat(cartService.getCartItems(userId)).singleElement()
+                .satisfies(item -> assertThat(item.getQty()).isEqualTo(3));
+        assertThat(testProducts.inventory(sku).getQuantity()).isEqualTo(10);
+        assertThat(testProducts.inventory(sku).getReserved()).isZero();
+
+        assertThat(checkout(userId).applied()).isTrue();
+        Inventory inventory = testProducts.inventory(sku);
+        assertThat(inventory.getQuantity()).isEqualTo(7);
+        assertThat(inventory.getReserved()).isZero();
+    }
+
+    @Test
+    void checkoutFailsWithoutSideEffectsWhenSweptStockWasSold() {
+        String sku = TestProducts.uniqueSku("SWEEP");
+        testProducts.create(sku, "10.00", 3);
+        UUID userId = testUsers.create();
+        UUID otherUserId = testUsers.create();
+        cartService.addToCart(userId, sku, 2);
+
+        expireCart(userId, Instant.now().minusSeconds(1));
+        stockReservationService.sweepExpired();
+        cartService.addToCart(otherUserId, sku, 2);
+
+        assertThatThrownBy(() -> checkout(userId))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(sku + "=1");
+        Inventory inventory = testProducts.inventory(sku);
+        assertThat(inventory.getQuantity()).isEqualTo(1);
+        assertThat(inventory.getReserved()).isEqualTo(2);
+        assertThat(cartService.getCartItems(userId)).hasSize(1);
+    }
+
+    @Test
+    void restartBackfillDoesNotReledgerSweptLines() {
+        String sku = TestProducts.uniqueSku("SWEEP");
+        testProducts.create(sku, "10.00", 5);
+        UUID userId = testUsers.create();
+        UUID otherUserId = testUsers.create();
+        cartService.addToCart(userId, sku, 3);
+
+        expireCart(userId, Instant.now().minusSeconds(1));
+        stockReservationService.sweepExpired();
+        cartService.addToCart(otherUserId, sku, 2);
+
+        //Yeniden başlatma - süresi dolan kalem tam miktarla ledger'a geri girmemeli
+        stockReservationService.backfillLedger();
+        assertThat(held(userId)).isEmpty();
+
+        assertThat(checkout(userId).applied()).isTrue();
+        Inventory inventory = testProducts.inventory(sku);
+        assertThat(inventory.getQuantity()).isZero();
+        assertThat(inventory.getReserved()).isEqualTo(2);
+        assertThat(held(otherUserId)).singleElement()
+                .satisfies(row -> assertThat(row.quantity()).isEqualTo(2));
+    }
+
+    @Test
+    void sweepRacingCheckoutNeitherLosesNorDoublesStock() throws Exception {
+        String sku = TestProducts.uniqueSku("RACE");
+        int carts = 8;
+        int perCart = 2;
+        int initial = carts * perCart + 5;
+        testProducts.create(sku, "10.00", initial);
+        List<UUID> users = new ArrayList<>();
+        for (int c = 0; c < carts; c++) {
+            UUID userId = testUsers.create();
+            cartService.addToCart(userId, sku, perCart);
+            //Hepsi şimdi dolar - sweeper ile checkout aynı kayıtları ister
+            expireCart(userId, Instant.now());
+            users.add(userId);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(carts);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean sweeping = new AtomicBoolean(true);
+        Thread sweeper = new Thread(() -> {
+            while (sweeping.get()) {
+                stockReservationService.sweepExpired();
+            }
+        });
+        try {
+            List<Future<Boolean>> checkouts = new ArrayList<>();
+            for (UUID userId : users) {
+                checkouts.add(executor.submit(() -> {
+                    start.await();
+                    return checkout(userId).applied();
+                }));
+            }
+            sweeper.start();
+            start.countDown();
+            for (Future<Boolean> checkout : checkouts) {
+                assertThat(checkout.get(60, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            sweeping.set(false);
+            sweeper.join();
+            executor.shutdownNow();
+        }
+        stockReservationService.sweepExpired();
+
+        Inventory inventory = testProducts.inventory(sku);
+        assertThat(inventory.getQuantity()).isEqualTo(initial - carts * perCart);
+        assertThat(inventory.getReserved()).isZero();
+        for (UUID userId : users) {
+            assertThat(held(userId)).isEmpty();
+        }
+    }
+
+    //Checkout'un stok adımı (OrderService ile aynı transaction sınırı)
+    private InventoryService.StockBatchResult checkout(UUID userId) {
+        return transactionTemplate.execute(status -> cartService.confirmStockReservations(
+                cartItemRepository.findByUserId(userId)));
+    }
+
+    private void expireCart(UUID userId, Instant at) {
+        jdbcTemplate.update(EXPIRE_CART_SQL, new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("at", Timestamp.from(at)));
+    }
+
+    private List<HeldRow> held(UUID userId) {
+        return jdbcTemplate.query(HELD_SQL, new MapSqlParameterSource("userId", userId), (rs, rowNum) ->
+                new HeldRow(rs.getString("sku"), rs.getInt("quantity"), rs.getTimestamp("expires_at").toInstant()));
+    }
+
+    private record HeldRow(String sku, int quantity, Instant expiresAt) {
+    }
+}
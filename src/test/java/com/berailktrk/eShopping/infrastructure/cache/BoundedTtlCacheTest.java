@@ -0,0 +1,71 @@
+package com.berailktrk.eShopping.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+//Yükleme sırasında invalidate - sadece invalidate edilen anahtarın eski sonucu cache'e yazılmaz
+class BoundedTtlCacheTest {
+
+    private final BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 100, 60_000);
+
+    @Test
+    void invalidatingAnotherKeyKeepsInFlightLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> load = loadAsync("a", loading, release);
+
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.invalidate("b");
+        release.countDown();
+
+        assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("a-1");
+        assertThat(cache.getIfPresent("a")).isEqualTo("a-1");
+    }
+
+    @Test
+    void invalidatingTheLoadingKeyDropsItsResult() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> load = loadAsync("a", loading, release);
+
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.invalidate("a");
+        //invalidate'ten sonraki okuma eski yüklemeyi beklemez, yeni değeri yükler
+        assertThat(cache.get("a", key -> key + "-2")).isEqualTo("a-2");
+        release.countDown();
+
+        assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("a-1");
+        assertThat(cache.getIfPresent("a")).isEqualTo("a-2");
+    }
+
+    @Test
+    void invalidateAllDropsEveryInFlightLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> load = loadAsync("a", loading, release);
+
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.invalidateAll();
+        release.countDown();
+
+        assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("a-1");
+        assertThat(cache.getIfPresent("a")).isNull();
+    }
+
+    private CompletableFuture<String> loadAsync(String key, CountDownLatch loading, CountDownLatch release) {
+        return CompletableFuture.supplyAsync(() -> cache.get(key, k -> {
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return k + "-1";
+        }));
+    }
+}
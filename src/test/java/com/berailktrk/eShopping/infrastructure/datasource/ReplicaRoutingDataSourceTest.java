@@ -0,0 +1,147 @@
+package com.berailktrk.eShopping.infrastructure.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+//İki ayrı H2 veritabanı (primary, replica) ile yönlendirme: readOnly -> replica, yazma -> primary,
+//gecikme eşiği aşılınca / ölçülemeyince primary, yazan kullanıcı pencere boyunca primary
+class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG_MS = 1000;
+
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate routedJdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        DataSource primary = h2("primary-" + suffix);
+        DataSource replica = h2("replica-" + suffix);
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+
+        for (JdbcTemplate jdbc : List.of(primaryJdbc, replicaJdbc)) {
+            jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+            jdbc.execute("CREATE TABLE writes (id INT)");
+        }
+        primaryJdbc.update("INSERT INTO node VALUES ('primary')");
+        replicaJdbc.update("INSERT INTO node VALUES ('replica')");
+        replicaJdbc.execute("CREATE TABLE replica_lag (lag_ms BIGINT)");
+        replicaJdbc.update("INSERT INTO replica_lag VALUES (0)");
+
+        lagMonitor = new ReplicaLagMonitor(replica, "SELECT lag_ms FROM replica_lag", MAX_LAG_MS);
+        lagMonitor.check();
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                primary, replica, lagMonitor, new ReadYourWritesTracker(60_000));
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        routedJdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        assertThat(lagMonitor.isAvailable()).isTrue();
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactionsGoToPrimary() {
+        assertThat(readWriteNode()).isEqualTo("primary");
+
+        readWrite.executeWithoutResult(status -> routedJdbc.update("INSERT INTO writes VALUES (1)"));
+        assertThat(primaryJdbc.queryForObject("SELECT COUNT(*) FROM writes", Integer.class)).isEqualTo(1);
+        assertThat(replicaJdbc.queryForObject("SELECT COUNT(*) FROM writes", Integer.class)).isZero();
+    }
+
+    @Test
+    void lagAboveThresholdFallsBackToPrimaryAndRecovers() {
+        replicaJdbc.update("UPDATE replica_lag SET lag_ms = ?", MAX_LAG_MS + 1);
+        lagMonitor.check();
+        assertThat(lagMonitor.isAvailable()).isFalse();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        replicaJdbc.update("UPDATE replica_lag SET lag_ms = 10");
+        lagMonitor.check();
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void failedLagCheckFallsBackToPrimary() {
+        replicaJdbc.execute("DROP TABLE replica_lag");
+        lagMonitor.check();
+
+        assertThat(lagMonitor.isAvailable()).isFalse();
+        assertThat(lagMonitor.getLastLagMillis()).isNull();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void userReadsOwnWritesFromPrimary() {
+        authenticate("alice@example.com");
+        readWrite.executeWithoutResult(status -> routedJdbc.update("INSERT INTO writes VALUES (1)"));
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        authenticate("bob@example.com");
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void forcedPrimaryReadsIgnoreReplica() {
+        assertThat(DataSourceRouting.onPrimary(this::readOnlyNode)).isEqualTo("primary");
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> currentNode());
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(status -> currentNode());
+    }
+
+    private String currentNode() {
+        return routedJdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static void authenticate(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, List.of()));
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
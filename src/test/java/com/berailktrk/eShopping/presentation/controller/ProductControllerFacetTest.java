@@ -0,0 +1,112 @@
+package com.berailktrk.eShopping.presentation.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.berailktrk.eShopping.application.usecase.BestSellerService;
+import com.berailktrk.eShopping.application.usecase.ProductCatalogSnapshotService;
+import com.berailktrk.eShopping.application.usecase.ProductExportService;
+import com.berailktrk.eShopping.application.usecase.ProductFacetService;
+import com.berailktrk.eShopping.application.usecase.ProductImportService;
+import com.berailktrk.eShopping.application.usecase.ProductPriceHistoryService;
+import com.berailktrk.eShopping.application.usecase.ProductPricingService;
+import com.berailktrk.eShopping.application.usecase.ProductRecommendationService;
+import com.berailktrk.eShopping.application.usecase.ProductService;
+import com.berailktrk.eShopping.application.usecase.ProductSuggestService;
+import com.berailktrk.eShopping.application.usecase.ProductViewService;
+import com.berailktrk.eShopping.presentation.dto.response.ProductFacetResponse;
+import com.berailktrk.eShopping.presentation.exception.GlobalExceptionHandler;
+import com.berailktrk.eShopping.presentation.support.ConditionalGetSupport;
+
+//Facet nitelik filtreleri attr. önekiyle gelir - page/size sayfalama parametreleriyle karışmaz
+@ExtendWith(MockitoExtension.class)
+class ProductControllerFacetTest {
+
+    @Mock
+    private ProductService productService;
+    @Mock
+    private ProductImportService productImportService;
+    @Mock
+    private ProductExportService productExportService;
+    @Mock
+    private ProductPricingService productPricingService;
+    @Mock
+    private ProductCatalogSnapshotService productCatalogSnapshotService;
+    @Mock
+    private ProductFacetService productFacetService;
+    @Mock
+    private ProductSuggestService productSuggestService;
+    @Mock
+    private ProductViewService productViewService;
+    @Mock
+    private ProductPriceHistoryService productPriceHistoryService;
+    @Mock
+    private BestSellerService bestSellerService;
+    @Mock
+    private ProductRecommendationService productRecommendationService;
+    @Mock
+    private ConditionalGetSupport conditionalGetSupport;
+
+    @InjectMocks
+    private ProductController productController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void sizeAttributeDoesNotCollideWithPageSize() throws Exception {
+        when(productFacetService.browse(any(), any(), anyInt(), anyInt())).thenReturn(ProductFacetResponse.builder().build());
+
+        mockMvc.perform(get("/api/products/facets")
+                        .param("attr.size", "XL")
+                        .param("attr.brand", "Acme", "Globex")
+                        .param("size", "20")
+                        .param("page", "1"))
+                .andExpect(status().isOk());
+
+        verify(productFacetService).browse(Map.of("size", List.of("XL"), "brand", List.of("Acme", "Globex")), null, 1, 20);
+    }
+
+    @Test
+    void priceRangeIsPassedThrough() throws Exception {
+        when(productFacetService.browse(any(), any(), anyInt(), anyInt())).thenReturn(ProductFacetResponse.builder().build());
+
+        mockMvc.perform(get("/api/products/facets").param("price", "100..250"))
+                .andExpect(status().isOk());
+
+        verify(productFacetService).browse(Map.of(), "100..250", 0, 50);
+    }
+
+    @Test
+    void pageOnlyRequestHasNoFilters() throws Exception {
+        when(productFacetService.browse(any(), isNull(), anyInt(), anyInt())).thenReturn(ProductFacetResponse.builder().build());
+
+        mockMvc.perform(get("/api/products/facets").param("size", "20"))
+                .andExpect(status().isOk());
+
+        verify(productFacetService).browse(Map.of(), null, 0, 20);
+    }
+}
@@ -0,0 +1,60 @@
+package com.berailktrk.eShopping.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+//Gömülü PostgreSQL üzerinde tam uygulama context'i - native SQL (RETURNING, ON CONFLICT, SKIP LOCKED)
+//H2'de çalışmadığı için stok, rezervasyon, parça ve kira testleri gerçek PostgreSQL ile koşar.
+//Tek bir sunucu JVM boyunca paylaşılır (kapanışta kendi shutdown hook'u ile durur); periyodik işler testlere karışmasın diye seyrek çalışacak şekilde ayarlanır
+@SpringBootTest(properties = {
+        "jwt.secret=test-secret-key-for-integration-tests-0123456789abcdef",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.hikari.connection-timeout=2000",
+        "inventory.reservation.sweep-interval-seconds=3600",
+        "inventory.sharding.maintenance-interval-seconds=3600",
+        "inventory.leasing.heartbeat-interval-seconds=3600",
+        "product.views.flush-interval-seconds=3600",
+        "product.best-sellers.flush-interval-seconds=3600",
+        "promotion.index.refresh-seconds=3600",
+        "category.tree.refresh-seconds=3600",
+        "product.catalog-snapshot.refresh-seconds=3600",
+        "product.index.refresh-seconds=3600"
+})
+public abstract class PostgresIntegrationTest {
+
+    private static EmbeddedPostgres postgres;
+
+    //PostgreSQL initdb root kullanıcısıyla çalışmaz
+    @BeforeAll
+    static void requireNonRootUser() {
+        Assumptions.assumeFalse("root".equals(System.getProperty("user.name")),
+                "Embedded PostgreSQL cannot be started as root");
+    }
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres().getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    protected static synchronized EmbeddedPostgres postgres() {
+        if (postgres == null) {
+            try {
+                postgres = EmbeddedPostgres.builder().start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Embedded PostgreSQL could not be started", e);
+            }
+        }
+        return postgres;
+    }
+}
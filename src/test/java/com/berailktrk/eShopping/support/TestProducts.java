@@ -0,0 +1,57 @@
+package com.berailktrk.eShopping.support;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.berailktrk.eShopping.domain.model.Inventory;
+import com.berailktrk.eShopping.domain.model.Product;
+import com.berailktrk.eShopping.domain.repository.InventoryRepository;
+import com.berailktrk.eShopping.domain.repository.ProductRepository;
+
+import lombok.RequiredArgsConstructor;
+
+//Entegrasyon testleri için ürün + stok kaydı - testler aynı veritabanını paylaştığı için SKU'lar benzersizdir
+@Component
+@RequiredArgsConstructor
+public class TestProducts {
+
+    private final ProductRepository productRepository;
+    private final InventoryRepository inventoryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public static String uniqueSku(String prefix) {
+        return prefix + "-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    public Product create(String sku, String price, int quantity) {
+        return create(sku, price, quantity, Map.of());
+    }
+
+    public Product create(String sku, String price, int quantity, Map<String, Object> metadata) {
+        return transactionTemplate.execute(status -> {
+            Product product = productRepository.save(Product.builder()
+                    .sku(sku)
+                    .name("Product " + sku)
+                    .description("Test product " + sku)
+                    .price(new BigDecimal(price))
+                    .metadata(metadata)
+                    .build());
+            inventoryRepository.save(Inventory.builder()
+                    .product(product)
+                    .productSku(sku)
+                    .productName(product.getName())
+                    .quantity(quantity)
+                    .reserved(0)
+                    .build());
+            return product;
+        });
+    }
+
+    public Inventory inventory(String sku) {
+        return inventoryRepository.findByProductSku(sku).orElseThrow();
+    }
+}
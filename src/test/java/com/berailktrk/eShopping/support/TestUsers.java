@@ -0,0 +1,25 @@
+package com.berailktrk.eShopping.support;
+
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.berailktrk.eShopping.domain.model.User;
+import com.berailktrk.eShopping.domain.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+//Entegrasyon testleri için müşteri kaydı (sepet testleri) - e-posta adresleri benzersizdir
+@Component
+@RequiredArgsConstructor
+public class TestUsers {
+
+    private final UserRepository userRepository;
+
+    public UUID create() {
+        return userRepository.save(User.builder()
+                .email("customer-" + UUID.randomUUID() + "@example.com")
+                .passwordHash("not-a-real-hash")
+                .build()).getId();
+    }
+}